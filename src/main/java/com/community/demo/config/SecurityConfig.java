@@ -3,6 +3,7 @@ package com.community.demo.config;
 
 import com.community.demo.jwt.ApiKeyAuthFilter;
 import com.community.demo.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -84,6 +85,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 비동기 응답(Mono/SSE) 재디스패치: 최초 요청에서 이미 인가됨 (JWT 필터는 async 디스패치에서 다시 돌지 않음)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // [수정] /auth/** 뿐만 아니라 /route/auth/** 도 permitAll
                         .requestMatchers("/auth/**", "/route/auth/**").permitAll()
                         // [수정] 다른 permitAll 경로들에도 /route/ 버전을 추가
@@ -91,8 +94,8 @@ public class SecurityConfig {
                         .requestMatchers("/error", "/route/error").permitAll()
 
                         //  (FastAPI 크롤러용)
-                        // [신규] 'ROLE_CRAWLER'만 /notices/school 에 POST 허용
-                        .requestMatchers(HttpMethod.POST, "/notices/school").hasRole("CRAWLER")
+                        // [신규] 'ROLE_CRAWLER'만 /notices/school (단건/일괄) 에 POST 허용
+                        .requestMatchers(HttpMethod.POST, "/notices/school", "/notices/school/bulk").hasRole("CRAWLER")
 
                         .requestMatchers(HttpMethod.GET, "/notices/**").permitAll()
                         .requestMatchers(HttpMethod.POST,   "/notices/**").hasAnyRole("STAFF","MANAGER","ADMIN")
@@ -115,8 +118,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PATCH, "/community/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/community/**").authenticated()
 
-                        //  enroll-timer: 평균은 공개, 나머지는 인증 필요
-                        .requestMatchers(HttpMethod.GET, "/enroll-timer/stats/average").permitAll()
+                        //  enroll-timer: 통계(평균/분포/리더보드)는 공개, 나머지는 인증 필요
+                        .requestMatchers(HttpMethod.GET, "/enroll-timer/stats/**").permitAll()
                         .requestMatchers("/enroll-timer/**").authenticated()
 
                         // (임시) 디버그: 매핑/보안 확인용(인증필요)
@@ -124,6 +127,7 @@ public class SecurityConfig {
 
                         // 챗봇 인증 필요
                         .requestMatchers(HttpMethod.POST, "/chatbot/ask").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/chatbot/ask/stream").authenticated()
                         .requestMatchers(HttpMethod.GET,  "/chatbot/history/**").authenticated()
 
                         //credits 학점정보컨트롤러
@@ -177,7 +181,8 @@ public class SecurityConfig {
                             // 람다는 '전체 경로' ( '/route' 있음 )
                             String crawlerPath = "/route/notices/school";
 
-                            if (uri.equals(crawlerPath) && method.equals(HttpMethod.POST.name())) {
+                            if ((uri.equals(crawlerPath) || uri.equals(crawlerPath + "/bulk"))
+                                    && method.equals(HttpMethod.POST.name())) {
                                 // 크롤러 경로는 ApiKeyAuthFilter 실행
                                 apiKeyAuthFilter.doFilter(request, response, chain);
                             } else {
@@ -5,7 +5,13 @@ import com.community.demo.controller.UserBusyBlockInterceptor;
 import com.community.demo.service.notice.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 import org.springframework.web.servlet.config.annotation.*;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 
 // MVC 관련 설정
@@ -24,7 +30,24 @@ public class WebConfig implements WebMvcConfigurer {    //정적 리소스 매
         String location = storage.getRootDir().toUri().toString();
         registry.addResourceHandler("/files/**")
                 .addResourceLocations(location)
-                .setCachePeriod(3600);
+                .setCachePeriod(3600)
+                // 논리 경로 → 실제 파일은 저장소가 해석 (내용 주소 저장소는 blob 으로, 로컬 저장소는 root/논리경로로).
+                // 반납된 파일이 계속 서빙되지 않도록 리소스 캐시(resourceChain(true))는 쓰지 않음
+                .resourceChain(false)
+                .addResolver(new PathResourceResolver() {
+                    @Override
+                    protected Resource getResource(String resourcePath, Resource location) {
+                        String logical = resourcePath.contains("%")
+                                ? UriUtils.decode(resourcePath, StandardCharsets.UTF_8)
+                                : resourcePath;
+                        try {
+                            Resource r = storage.loadAsResource(logical);
+                            return r.isReadable() ? r : null;
+                        } catch (IOException | SecurityException e) {
+                            return null;
+                        }
+                    }
+                });
     }
 
 
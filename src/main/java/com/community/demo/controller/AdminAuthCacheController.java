@@ -0,0 +1,29 @@
+package com.community.demo.controller;
+
+import com.community.demo.jwt.AuthPrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/auth-cache")
+public class AdminAuthCacheController {
+
+    private final AuthPrincipalCache authPrincipalCache;
+
+    // 인증 캐시 적중률, 절약한 DB 쿼리 수(초당)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(authPrincipalCache.stats());
+    }
+
+    // 전체 비우기 (권한을 DB 에서 직접 바꾼 경우 등)
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        authPrincipalCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.chat.ChatAnswerCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/chat/cache")
+public class AdminChatCacheController {
+
+    private final ChatAnswerCache chatAnswerCache;
+
+    // 답변 캐시 적중률(완전 일치/유사 질문), 절약한 FastAPI 처리 시간(초)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(chatAnswerCache.stats());
+    }
+
+    // 전체 비우기 (FastAPI 쪽 문서를 직접 바꾼 경우 등)
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        chatAnswerCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
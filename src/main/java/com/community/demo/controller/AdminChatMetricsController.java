@@ -0,0 +1,24 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.chat.ChatLatencyMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/chat/metrics")
+public class AdminChatMetricsController {
+
+    private final ChatLatencyMetrics chatLatencyMetrics;
+
+    // 챗봇 응답 건수, 최근 응답의 TTFT/전체 소요시간 분포 (avg, p50, p95, p99, max)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> metrics() {
+        return ResponseEntity.ok(chatLatencyMetrics.snapshot());
+    }
+}
@@ -0,0 +1,43 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.community.CommunityCounterReconciler;
+import com.community.demo.service.community.ReactionCounterBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/community/counters")
+public class AdminCommunityCounterController {
+
+    private final CommunityCounterReconciler counterReconciler;
+    private final ReactionCounterBuffer reactionBuffer;
+
+    // 마지막 보정 결과
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> lastRun() {
+        return ResponseEntity.ok(counterReconciler.lastRun());
+    }
+
+    // 즉시 보정 (댓글을 DB 에서 직접 지운 경우 등)
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcile() {
+        return ResponseEntity.ok(counterReconciler.reconcile());
+    }
+
+    // 좋아요/싫어요 증감 버퍼 상태 (대기 중인 글 수, flush 당 평균 행 수 등)
+    @GetMapping("/reaction-buffer")
+    public ResponseEntity<Map<String, Object>> reactionBuffer() {
+        return ResponseEntity.ok(reactionBuffer.stats());
+    }
+
+    // 대기 중인 증감 즉시 반영
+    @PostMapping("/reaction-buffer/flush")
+    public ResponseEntity<Map<String, Object>> flushReactions() {
+        int rows = reactionBuffer.flush();
+        return ResponseEntity.ok(Map.of("flushedPosts", rows));
+    }
+}
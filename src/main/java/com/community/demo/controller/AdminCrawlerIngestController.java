@@ -0,0 +1,22 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.notice.CrawlerIngestStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/notices/crawler")
+public class AdminCrawlerIngestController {
+
+    private final CrawlerIngestStats crawlerIngestStats;
+
+    // 크롤링 수집 실행별 생성/갱신/스킵/실패 건수와 파일 추가/삭제/재사용 수
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(crawlerIngestStats.stats());
+    }
+}
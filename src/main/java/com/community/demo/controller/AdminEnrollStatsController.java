@@ -0,0 +1,58 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.user.EnrollLeaderboard;
+import com.community.demo.service.user.EnrollStatsEngine;
+import com.community.demo.service.user.EnrollRecordWriteBehind;
+import com.community.demo.service.user.EnrollTimerSessionStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/enroll-stats")
+public class AdminEnrollStatsController {
+
+    private final EnrollStatsEngine enrollStatsEngine;
+    private final EnrollLeaderboard enrollLeaderboard;
+    private final EnrollTimerSessionStore sessionStore;
+    private final EnrollRecordWriteBehind recordWriter;
+
+    // 수강신청 타이머 메모리 통계 (모드별 건수/평균, 마지막 재조정 결과)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(enrollStatsEngine.stats());
+    }
+
+    // enroll_records 기준으로 즉시 재적재
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcile() {
+        return ResponseEntity.ok(enrollStatsEngine.reconcile());
+    }
+
+    // 타이머 세션 (진행 중/시작/완료/취소/만료 수)
+    @GetMapping("/sessions")
+    public ResponseEntity<Map<String, Object>> sessions() {
+        return ResponseEntity.ok(sessionStore.stats());
+    }
+
+    // 기록 쓰기 지연 큐 (대기/저장/직접 저장/배치 크기)
+    @GetMapping("/write-behind")
+    public ResponseEntity<Map<String, Object>> writeBehind() {
+        return ResponseEntity.ok(recordWriter.stats());
+    }
+
+    // 리더보드 상태 (보드 수, 모드별 사용자 수, 마지막 적재 결과)
+    @GetMapping("/leaderboard")
+    public ResponseEntity<Map<String, Object>> leaderboard() {
+        return ResponseEntity.ok(enrollLeaderboard.stats());
+    }
+
+    // enroll_records 기준으로 리더보드 즉시 재적재
+    @PostMapping("/leaderboard/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildLeaderboard() {
+        return ResponseEntity.ok(enrollLeaderboard.rebuild());
+    }
+}
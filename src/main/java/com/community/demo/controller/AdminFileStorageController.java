@@ -0,0 +1,28 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.notice.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/storage")
+public class AdminFileStorageController {
+
+    private final FileStorageService fileStorageService;
+
+    // 저장소 상태 (파일 수, blob 수, 중복 제거로 절약한 디스크 등)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(fileStorageService.stats());
+    }
+
+    // 참조 없는 blob 즉시 정리 (유예 시간은 그대로 적용)
+    @PostMapping("/gc")
+    public ResponseEntity<Map<String, Object>> gc() {
+        return ResponseEntity.ok(fileStorageService.sweep());
+    }
+}
@@ -0,0 +1,32 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.notice.NoticeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/notices/search-index")
+public class AdminNoticeSearchController {
+
+    private final NoticeSearchIndex noticeSearchIndex;
+
+    // 공지 검색 색인 상태 (문서 수, 토큰 수, 마지막 재색인 소요시간)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(noticeSearchIndex.stats());
+    }
+
+    // DB 기준 전체 재색인 (진행 중이면 409)
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        try {
+            return ResponseEntity.ok(noticeSearchIndex.rebuild());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
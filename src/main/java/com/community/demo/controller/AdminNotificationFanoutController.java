@@ -0,0 +1,43 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.notice.NotificationFanoutService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/notification-fanout")
+public class AdminNotificationFanoutController {
+
+    private final NotificationFanoutService notificationFanoutService;
+
+    // 발송 파이프라인 상태 (대기/실패 작업 수, 누적 삽입 건수, 초당 처리량)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(notificationFanoutService.stats());
+    }
+
+    // 최근 작업 20건의 진행률
+    @GetMapping("/jobs")
+    public ResponseEntity<List<Map<String, Object>>> jobs() {
+        return ResponseEntity.ok(notificationFanoutService.recentJobs());
+    }
+
+    // 실패한 작업 재시도 (남은 수신자부터)
+    @PostMapping("/jobs/{jobId}/retry")
+    public ResponseEntity<Map<String, Object>> retry(@PathVariable Long jobId) {
+        try {
+            notificationFanoutService.retry(jobId);
+            return ResponseEntity.ok(Map.of("jobId", jobId, "status", "PENDING"));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.auth.PasswordHashingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/password-hashing")
+public class AdminPasswordHashingController {
+
+    private final PasswordHashingService passwordHashingService;
+
+    // 현재 알고리즘/cost, 해싱 풀 상태, 평균 처리 시간, 거절 수, 재해싱된 기존 해시 수
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+}
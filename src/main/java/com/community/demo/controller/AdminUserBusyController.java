@@ -0,0 +1,43 @@
+package com.community.demo.controller;
+
+import com.community.demo.registry.UserBusyRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/user-busy")
+public class AdminUserBusyController {
+
+    private final UserBusyRegistry userBusyRegistry;
+
+    // 챗봇 처리 중인 사용자 목록 + 획득/거절/회수 통계
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> leases() {
+        Map<String, Object> body = new LinkedHashMap<>(userBusyRegistry.stats());
+        body.put("leases", userBusyRegistry.activeLeases());
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<Map<String, Object>> lease(@PathVariable Long userId) {
+        UserBusyRegistry.Lease lease = userBusyRegistry.find(userId);
+        if (lease == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "처리 중인 챗봇 요청이 없습니다.");
+        return ResponseEntity.ok(userBusyRegistry.describe(lease));
+    }
+
+    // 강제 해제 (사용자가 423 으로 계속 막혀 있을 때)
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<Void> forceRelease(@PathVariable Long userId) {
+        if (!userBusyRegistry.forceRelease(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "처리 중인 챗봇 요청이 없습니다.");
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
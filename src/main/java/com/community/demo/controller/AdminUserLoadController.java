@@ -0,0 +1,34 @@
+package com.community.demo.controller;
+
+import com.community.demo.service.user.RecentRingMigration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/users")
+public class AdminUserLoadController {
+
+    private final RecentRingMigration recentRingMigration;
+
+    // 예전 최근 기록 테이블이 남아 있으면 아직 옮기지 않은 사용자를 원형 버퍼 컬럼으로 즉시 이전 (기동 시 자동 실행, 예전 테이블은 유지)
+    @PostMapping("/recent-ring/migrate")
+    public ResponseEntity<Map<String, Object>> migrateRecentRing() {
+        return ResponseEntity.ok(recentRingMigration.migrate());
+    }
+
+    // 예전 테이블별 남은 사용자 수 (모두 옮겼으면 verified=true)
+    @GetMapping("/recent-ring/verify")
+    public ResponseEntity<Map<String, Object>> verifyRecentRing() {
+        return ResponseEntity.ok(recentRingMigration.verify());
+    }
+
+    // 확인이 끝난 예전 테이블 삭제 (app.enroll-timer.recent-migration.drop-legacy-tables=true 일 때만)
+    @PostMapping("/recent-ring/drop-legacy-tables")
+    public ResponseEntity<Map<String, Object>> dropLegacyRecentTables() {
+        return ResponseEntity.ok(recentRingMigration.dropLegacyTables());
+    }
+}
@@ -44,7 +44,7 @@ public class AuthController {
     // 로그인
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody @Valid LoginRequest request){
-        return loginService.login(request.getEmail(), request.getPassword());
+        return loginService.login(request.getEmail(), request.getPassword(), request.getDeviceId());
     }
 
     // 비밀번호 재설정용 인증코드 요청
@@ -65,8 +65,9 @@ public class AuthController {
     //로그아웃
     @SecurityRequirement(name = "JWT")
     @PostMapping("/logout")
-    public void logout(@RequestHeader("Authorization") String authHeader){
-        loginService.logout(authHeader);
+    public void logout(@RequestHeader("Authorization") String authHeader,
+                       @RequestHeader(value = "X-Device-Id", required = false) String deviceId){
+        loginService.logout(authHeader, deviceId);
     }
 
 
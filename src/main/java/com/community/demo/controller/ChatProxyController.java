@@ -17,14 +17,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.List;
 
-@Tag(name = "Chatbot", description = "Chat 프록시 API (Spring -> FastAPI 동기 호출)")
+@Tag(name = "Chatbot", description = "Chat 프록시 API (Spring -> FastAPI 비동기 호출, SSE 스트리밍)")
 @RestController
 @RequestMapping("/chatbot")
 @RequiredArgsConstructor
@@ -64,16 +67,43 @@ public class ChatProxyController {
             consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE, MediaType.TEXT_PLAIN_VALUE },
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<ChatResponse> ask(
+    public Mono<ResponseEntity<ChatResponse>> ask(
             @RequestBody(required = false) ChatRequest body,            // JSON 본문(선호)
             @RequestParam(value = "question", required = false) String paramQuestion,  // 쿼리/폼 파라미터 대체
             HttpServletRequest req
     ) {
+        // 비동기 처리: FastAPI 응답을 기다리는 동안 Tomcat 스레드를 반환
+        Long userId = currentUserId();
+        ChatRequest dto = resolveQuestion(body, paramQuestion, req);
+        return chatService.ask(dto, userId).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "질문-응답 스트리밍(SSE)",
+            description = "event: token (답변 조각) 반복 → event: done {id, latencyMs, ttftMs, cached}. 실패 시 event: error")
+    @PostMapping(
+            value = "/ask/stream",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE, MediaType.TEXT_PLAIN_VALUE },
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<String>> askStream(
+            @RequestBody(required = false) ChatRequest body,
+            @RequestParam(value = "question", required = false) String paramQuestion,
+            HttpServletRequest req
+    ) {
+        Long userId = currentUserId();
+        ChatRequest dto = resolveQuestion(body, paramQuestion, req);
+        return chatService.stream(dto, userId);
+    }
+
+    private Long currentUserId() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !(auth.getPrincipal() instanceof User me)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required");
         }
+        return me.getId();
+    }
 
+    private ChatRequest resolveQuestion(ChatRequest body, String paramQuestion, HttpServletRequest req) {
         // 1) JSON 본문에서 먼저 시도
         String q = (body != null) ? body.getQuestion() : null;
 
@@ -93,7 +123,7 @@ public class ChatProxyController {
                         q = raw; // text/plain 본문 자체를 질문으로 간주
                     }
                 }
-            } catch (IOException ignored) {}
+            } catch (IOException | IllegalStateException ignored) {}
         }
 
         if (q == null || q.isBlank()) {
@@ -102,7 +132,7 @@ public class ChatProxyController {
 
         ChatRequest dto = new ChatRequest();
         dto.setQuestion(q);
-        return ResponseEntity.ok(chatService.ask(dto, ((User) auth.getPrincipal()).getId()));
+        return dto;
     }
 
 
@@ -1,10 +1,12 @@
 package com.community.demo.controller;
 
+import com.community.demo.dto.common.CursorPage;
 import com.community.demo.dto.community.*;
 import com.community.demo.domain.user.User;
 import com.community.demo.service.community.CommentService;
 import com.community.demo.service.community.CommunityService;
 import com.community.demo.service.community.ReactionService;
+import com.community.demo.service.community.TagService;
 import com.community.demo.service.notice.FileStorageService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,6 +41,7 @@ public class CommunityController {
     private final CommunityService communityService;    // 커뮤니티 전반적 총괄
     private final ReactionService reactionService;      //  토글 담당
     private final CommentService commentService;        //  댓글 담당
+    private final TagService tagService;                //  태그 자동완성
     private final ObjectMapper objectMapper;
     private final FileStorageService fileStorageService;
 
@@ -122,10 +125,11 @@ public class CommunityController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
             @RequestParam(required = false) String keyword,                     // 제목/내용/태그 공통 검색
+            @RequestParam(required = false) String tag,                         // 태그 정확히 일치 필터
             @RequestParam(defaultValue = "latest") String sort                  // latest | popular
     ) {
         User me = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return ResponseEntity.ok(communityService.getAllPosts(page, size, keyword, sort, me));
+        return ResponseEntity.ok(communityService.getAllPosts(page, size, keyword, tag, sort, me));
     }
 
     // 북마크한 게시글 목록 (검색+정렬+페이징)
@@ -152,6 +156,59 @@ public class CommunityController {
         return ResponseEntity.ok(communityService.getMyPosts(page, size, keyword, sort, me));
     }
 
+    // ===== 커서 페이징 (모바일 무한 스크롤용, count 쿼리 없음). 응답의 nextCursor 를 다음 요청 cursor 로 전달 =====
+
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<CommunityResponse>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "latest") String sort                  // latest | popular
+    ) {
+        User me = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(communityService.getPostsByCursor(cursor, size, keyword, tag, sort, me));
+    }
+
+    @GetMapping("/bookmarked/feed")
+    public ResponseEntity<CursorPage<CommunityResponse>> getBookmarkedFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "latest") String sort
+    ) {
+        User me = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(communityService.getBookmarkedPostsByCursor(cursor, size, keyword, sort, me));
+    }
+
+    @GetMapping("/mine/feed")
+    public ResponseEntity<CursorPage<CommunityResponse>> getMyFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "latest") String sort
+    ) {
+        User me = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(communityService.getMyPostsByCursor(cursor, size, keyword, sort, me));
+    }
+
+    // ===== 태그 =====
+
+    // 태그 자동완성 (접두사, 글 수 많은 순)
+    @GetMapping("/tags/suggest")
+    public ResponseEntity<List<TagSuggestion>> suggestTags(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(tagService.suggest(prefix, limit));
+    }
+
+    // 인기 태그 (글 수 많은 순)
+    @GetMapping("/tags/popular")
+    public ResponseEntity<List<TagSuggestion>> popularTags(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tagService.popular(limit));
+    }
+
     // 반응 (좋아요 / 싫어요)
     @PostMapping("/{postId}/reactions")
     public ResponseEntity<Void> toggleReaction(@PathVariable Long postId, @RequestBody @Valid ReactionRequest request) {
@@ -46,7 +46,8 @@ public class EnrollTimerController {
                 res.measuredSeconds2f(),
                 res.diffVsOthersSeconds2f(),   // (내기록 - 타유저평균), 음수면 더 빠름
                 res.mode(),
-                res.finishedAt()
+                res.finishedAt(),
+                res.fasterThanPercent()
         ));
     }
 
@@ -65,6 +66,47 @@ public class EnrollTimerController {
         return ResponseEntity.ok(timerService.getAverageByMode());
     }
 
+    // 전체 분포(모드별): 중앙값, p90, 1초 단위 히스토그램
+    @Operation(summary = "전체 기록 분포(모드별, 공개)", security = {})
+    @GetMapping("/stats/distribution")
+    public ResponseEntity<DistributionResponse> distribution(@RequestParam EnrollMode mode) {
+        return ResponseEntity.ok(timerService.getDistribution(mode));
+    }
+
+    // 내 최근 기록의 전체 순위(모드별)
+    @Operation(summary = "내 최근 기록의 전체 순위(모드별)", security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/me/rank")
+    public ResponseEntity<MyRankResponse> myRank(@AuthenticationPrincipal User me,
+                                                 @RequestParam EnrollMode mode) {
+        return ResponseEntity.ok(timerService.getMyRank(me, mode));
+    }
+
+    // 리더보드(모드별, 사용자당 최고 기록): scope=ALL|TODAY, department 가 있으면 해당 학과만
+    @Operation(summary = "리더보드(모드별, 전체 기간/오늘, 학과별, 공개)", security = {})
+    @GetMapping("/stats/leaderboard")
+    public ResponseEntity<LeaderboardResponse> leaderboard(@RequestParam EnrollMode mode,
+                                                           @RequestParam(defaultValue = "ALL") String scope,
+                                                           @RequestParam(required = false) String department,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(timerService.getLeaderboard(mode, isToday(scope), department, limit));
+    }
+
+    // 내 최고 기록의 리더보드 순위(모드별)
+    @Operation(summary = "내 최고 기록의 리더보드 순위(모드별)", security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/me/best-rank")
+    public ResponseEntity<MyBestRankResponse> myBestRank(@AuthenticationPrincipal User me,
+                                                         @RequestParam EnrollMode mode,
+                                                         @RequestParam(defaultValue = "ALL") String scope,
+                                                         @RequestParam(defaultValue = "false") boolean myDepartment) {
+        return ResponseEntity.ok(timerService.getMyBestRank(me, mode, isToday(scope), myDepartment));
+    }
+
+    private static boolean isToday(String scope) {
+        if ("TODAY".equalsIgnoreCase(scope)) return true;
+        if ("ALL".equalsIgnoreCase(scope)) return false;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "scope 는 ALL 또는 TODAY 입니다.");
+    }
+
     // 내 1~5번째 기록 + 평균(모드별)
     @Operation(summary = "내 1~5번째 기록 + 평균(모드별)", security = @SecurityRequirement(name = "JWT"))
     @GetMapping("/me/summary")
@@ -2,9 +2,12 @@ package com.community.demo.controller;
 
 
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.common.CursorPage;
 import com.community.demo.dto.notice.*;
 import com.community.demo.service.notice.BookmarkService;
+import com.community.demo.service.notice.CrawlerIngestStats;
 import com.community.demo.service.notice.NoticeService;
+import com.community.demo.service.notice.SchoolNoticeBulkIngestService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,6 +23,7 @@ import org.springframework.http.*;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriUtils;
 
 import java.io.FileNotFoundException;
@@ -39,6 +43,8 @@ public class NoticeController {
 
     private final NoticeService noticeService;
     private final BookmarkService bookmarkService;
+    private final CrawlerIngestStats crawlerIngestStats;
+    private final SchoolNoticeBulkIngestService schoolNoticeBulkIngestService;
 
 
 
@@ -61,6 +67,20 @@ public class NoticeController {
         return noticeService.getFilteredNotices(departments, keyword, pageable, me);
     }
 
+    // 공지사항 목록 커서 페이징 (모바일 무한 스크롤용, count 쿼리 없음). 응답의 nextCursor 를 다음 요청 cursor 로 전달
+    @GetMapping("/feed")
+    public CursorPage<NoticeListResponse> getNoticeFeed(
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size) {
+
+        User me = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (cursor == null || cursor.isBlank()) bookmarkService.autoSubscribeToDepartmentManager(me);
+
+        return noticeService.getNoticesByCursor(departments, cursor, size, me);
+    }
+
     // id로 notice 를 조회해 첨부 이미지 목록, 첨부파일 목록 추출, 작성자가 북마크 대상인지 확인 (공지사항 상세 보기 전용 로직)
     @GetMapping("/{id}")
     public NoticeResponse getNoticeDetail(@PathVariable Long id) {
@@ -240,6 +260,7 @@ public class NoticeController {
 
     /**
      * (POST) 크롤링한 새 공지사항 '생성' 또는 '수정'
+     * 처리 결과(CREATED/UPDATED/SKIPPED)는 X-Ingest-Result 헤더로 알려줌
      */
     @PostMapping(value = "/school", consumes = {"multipart/form-data"})
     public ResponseEntity<NoticeResponse> createSchoolNotice( //  반환 타입 NoticeResponse
@@ -248,27 +269,36 @@ public class NoticeController {
                                                               @RequestPart(value = "attachments", required = false) List<MultipartFile> attachmentFiles) {
 
         try {
-            // Service는 생성/수정 시 NoticeResponse를, 변경 없을 시 null을 반환
-            NoticeResponse response = noticeService.createSchoolNotice(dto, imageFiles, attachmentFiles);
-
-            if (response == null) {
-                // [변경 없음]
-                return ResponseEntity.status(HttpStatus.OK) // 200 OK
-                        .body(null); // 혹은 "변경 사항 없음" 메시지
-            } else {
-                // [생성 또는 수정 완료]
-                // ※ 참고: 201(Created)과 200(OK)을 구분하려면 Service에서 boolean 등으로
-                // 신규/수정 여부를 추가로 반환받아야 함.
-                // 지금은 단순화를 위해 '처리 완료' 의미로 200 OK를 반환.
-                return ResponseEntity.ok(response);
-            }
+            // Service는 생성/수정 시 NoticeResponse를, 변경 없을 시 SKIPPED + null을 반환
+            SchoolNoticeIngestResult result = noticeService.createSchoolNotice(dto, imageFiles, attachmentFiles);
+
+            // [변경 없음]이면 본문 null (기존과 동일하게 200 OK)
+            return ResponseEntity.ok()
+                    .header("X-Ingest-Result", result.outcome().name())
+                    .body(result.notice());
 
         } catch (Exception e) {
-            // ... (기존 예외 처리) ...
+            crawlerIngestStats.recordFailure();
             throw new RuntimeException("공지사항 처리 중 오류 발생", e);
         }
     }
 
+    /**
+     * (POST) 크롤링 공지 일괄 '생성' 또는 '수정'
+     * manifest: SchoolNoticeBulkRequest JSON, files: 공지들이 SHA-256 으로 참조하는 파일 (같은 내용은 한 번만)
+     * 항목별 결과(CREATED/UPDATED/SKIPPED/FAILED)를 요청 순서대로 반환
+     */
+    @PostMapping(value = "/school/bulk", consumes = {"multipart/form-data"})
+    public ResponseEntity<SchoolNoticeBulkResponse> createSchoolNoticesBulk(
+            @RequestPart("manifest") SchoolNoticeBulkRequest manifest,
+            @RequestPart(value = "files", required = false) List<MultipartFile> files) {
+        try {
+            return ResponseEntity.ok(schoolNoticeBulkIngestService.ingest(manifest, files));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
 
 
 
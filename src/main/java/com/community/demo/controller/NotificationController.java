@@ -1,6 +1,7 @@
 package com.community.demo.controller;
 
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.common.CursorPage;
 import com.community.demo.dto.notice.NotificationList;
 import com.community.demo.service.notice.NoticeService;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,16 @@ public class NotificationController {
         return noticeService.getMyNotifications(me, pageable);
     }
 
+    // 알림 목록 커서 페이징 (미읽음 먼저 → 최신순, count 쿼리 없음)
+    @GetMapping("/me/feed")
+    public CursorPage<NotificationList> getMyNotificationFeed(
+            @AuthenticationPrincipal User me,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return noticeService.getMyNotificationsByCursor(me, cursor, size);
+    }
+
     // 선택 읽음 처리
     @PatchMapping("/me/read")
     public ResponseEntity<String> markAsRead(
@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -18,11 +19,14 @@ public class UserBusyBlockInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest req, HttpServletResponse res, Object handler) throws Exception {
+        // 비동기 응답(챗봇 Mono/SSE) 완료 후 재디스패치는 검사하지 않음
+        if (req.getDispatcherType() == DispatcherType.ASYNC) return true;
+
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !(auth.getPrincipal() instanceof User me)) return true; // 비로그인자는 통과(원하면 IP/세션 기준으로 확장)
 
         Long userId = me.getId();
-        String path = req.getRequestURI();
+        String path = req.getServletPath(); // context-path(/route) 제외한 경로
 
         // 챗봇 엔드포인트는 서비스에서 락 검사(중복 호출은 423). 여기선 통과.
         if (path.startsWith("/chatbot/ask")) return true;
@@ -0,0 +1,60 @@
+package com.community.demo.domain.auth;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// 리프레시 토큰 (원문은 저장하지 않고 SHA-256 해시만 저장)
+// familyId: 로그인 1회에서 시작된 재발급 체인. 이미 사용(회전)된 토큰이 다시 오면 탈취로 보고 family 전체를 폐기
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "uk_refresh_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_refresh_token_expires", columnList = "expiresAt"),
+        @Index(name = "idx_refresh_token_user_device", columnList = "userId, deviceId"),
+        @Index(name = "idx_refresh_token_family", columnList = "familyId")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String deviceId;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked = false;    // 회전(재발급에 사용) 또는 로그아웃/폐기됨
+
+    private Instant createdAt;
+
+    public RefreshToken(String tokenHash, Long userId, String deviceId, String familyId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.deviceId = deviceId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+        this.revoked = false;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+}
@@ -19,7 +19,15 @@ import java.util.Set;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "community")
+@Table(
+        name = "community",
+        indexes = {
+                // 최신순 커서 페이징 (createdAt, id) 내림차순
+                @Index(name = "idx_community_created", columnList = "created_at, id"),
+                // 인기순 (offset/커서 공통) 정렬을 인덱스 범위 스캔으로
+                @Index(name = "idx_community_popularity", columnList = "popularity_score, created_at, id")
+        }
+)
 public class Community {
 
     @Id
@@ -31,9 +39,21 @@ public class Community {
     @Column(columnDefinition = "TEXT")
     private String text;
 
+    // 아래 카운터/점수는 벌크 UPDATE 로만 바꿈 (updatable = false). 글 수정 시 엔티티 flush 가
+    // 읽어 둔 옛 값으로 동시 증감/점수 갱신을 덮어쓰지 않도록
+    @Column(updatable = false)
     private int likeCount = 0;
+    @Column(updatable = false)
     private int dislikeCount = 0;
 
+    // 댓글 수 (비정규화). CommentService 에서 원자적 증감, CommunityCounterReconciler 가 주기적으로 보정
+    @Column(name = "comment_count", nullable = false, updatable = false, columnDefinition = "int not null default 0")
+    private int commentCount = 0;
+
+    // 인기 점수 (비정규화, 인덱스 정렬용). 반응/댓글 변경 시 PopularityScorer 가 DB 에서 다시 계산
+    @Column(name = "popularity_score", nullable = false, updatable = false, columnDefinition = "double not null default 0")
+    private double popularityScore = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -50,8 +70,13 @@ public class Community {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CommunityBookmark> bookmarks = new ArrayList<>();
 
+    // 값은 TagService.normalize() 를 거친 태그. (tag, community_id) 인덱스로 태그 등치 필터
     @ElementCollection
-    @CollectionTable(name = "community_tags", joinColumns = @JoinColumn(name = "community_id"))
+    @CollectionTable(
+            name = "community_tags",
+            joinColumns = @JoinColumn(name = "community_id"),
+            indexes = @Index(name = "idx_community_tags_tag", columnList = "tag, community_id")
+    )
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
 
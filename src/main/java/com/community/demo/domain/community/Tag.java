@@ -0,0 +1,38 @@
+package com.community.demo.domain.community;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 태그 사전. 이름은 TagService.normalize() 를 거친 값만 저장 (community_tags.tag 와 같은 값).
+ * post_count 는 글 작성/수정/삭제 시 증감하고, CommunityCounterReconciler 가 community_tags 기준으로 보정
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+        name = "tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tags_name", columnNames = "name")
+)
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "post_count", nullable = false, columnDefinition = "int not null default 0")
+    private int postCount = 0;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.community.demo.domain.notice;
+
+public enum FanoutStatus {
+    PENDING,  // 대기 (또는 재시도 대기)
+    RUNNING,  // 처리 중 (owner 인스턴스의 임대가 끝나면 다른 인스턴스/재기동 후 이어서 처리)
+    DONE,     // 완료
+    FAILED    // 재시도 한도 초과
+}
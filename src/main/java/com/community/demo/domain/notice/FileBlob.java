@@ -0,0 +1,35 @@
+package com.community.demo.domain.notice;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 저장소의 실제 파일 1개 (SHA-256 기준, 디스크에는 .blobs/ab/cd/<sha256> 로 한 번만 저장).
+ * ref_count = 이 blob 을 가리키는 논리 경로(FileBlobLink) 수. 0 이 되면 유예 시간 후 GC 가 파일과 함께 삭제
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "file_blobs", indexes = @Index(name = "idx_file_blobs_ref", columnList = "ref_count"))
+public class FileBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
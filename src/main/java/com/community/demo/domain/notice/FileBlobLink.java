@@ -0,0 +1,39 @@
+package com.community.demo.domain.notice;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 논리 경로(예: "notices/attachments/공지.pdf", URL 은 /files/ + 논리 경로) → blob 매핑.
+ * 저장할 때마다 1행, 반납(release) 시 삭제되며 blob 의 ref_count 를 함께 줄임
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+        name = "file_blob_links",
+        uniqueConstraints = @UniqueConstraint(name = "uk_file_blob_links_path", columnNames = "logical_path"),
+        indexes = @Index(name = "idx_file_blob_links_sha", columnList = "sha256")
+)
+public class FileBlobLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "logical_path", nullable = false, length = 500)
+    private String logicalPath;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -17,7 +17,16 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "notices")
+@Table(
+        name = "notices",
+        indexes = {
+                // 커서 페이징 (createdAt, id) 내림차순, 학과 필터 시 학과별
+                @Index(name = "idx_notices_created", columnList = "created_at, id"),
+                @Index(name = "idx_notices_dept_created", columnList = "department, created_at, id")
+        },
+        // 크롤링 공지 재수집 시 원본 키로 기존 공지를 찾음 (제목 변경과 무관)
+        uniqueConstraints = @UniqueConstraint(name = "uk_notices_external_key", columnNames = "external_key")
+)
 public class Notice {       //공지사항 테이블
 
     @Id
@@ -58,6 +67,19 @@ public class Notice {       //공지사항 테이블
      */
     @Enumerated(EnumType.STRING)
     private NoticeType noticeType;
+
+    /**
+     * 크롤링 공지의 원본 식별 키 (게시판 글 URL/번호). 크롤러가 안 보내면 학과+제목으로 만든 키.
+     * INTERNAL 공지는 null
+     */
+    @Column(name = "external_key", length = 191)
+    private String externalKey;
+
+    /**
+     * 학생에게 보이는 내용(제목+본문)의 SHA-256. 크롤링 재수집 시 바뀐 게 있는지 비교용
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
     
 
     public void removeAttachment(Attachment attachment) {
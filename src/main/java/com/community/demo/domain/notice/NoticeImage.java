@@ -17,6 +17,10 @@ public class NoticeImage {
 
     private String imageUrl;
 
+    // 파일 내용의 SHA-256 (크롤링 재수집 시 같은 파일이면 다시 저장하지 않음). 이전에 저장된 행은 null → 처음 비교할 때 채움
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "notice_id")
     private Notice notice;
@@ -7,6 +7,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+        name = "notification",
+        indexes = {
+                // 내 알림 목록: 미읽음 먼저 → 최신순 커서 페이징
+                @Index(name = "idx_notification_receiver_read_created", columnList = "receiver_id, `read`, created_at, id")
+        }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA용 기본 생성자
 public class Notification {
@@ -0,0 +1,91 @@
+package com.community.demo.domain.notice;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 공지 알림 발송 outbox. 공지와 같은 트랜잭션에서 저장되고, 백그라운드 워커가 수신자 id 순으로 청크 단위 처리
+// lastReceiverId 는 청크 insert 와 같은 트랜잭션에서 갱신되므로 중간에 서버가 죽어도 중복/누락 없이 이어서 처리됨
+// 여러 인스턴스가 같은 작업을 돌리지 않도록 owner/leaseUntil 로 선점 (임대가 끝난 RUNNING 작업만 다른 인스턴스가 가져감)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_fanout_jobs",
+        indexes = @Index(name = "idx_fanout_status_id", columnList = "status, id"))
+public class NotificationFanoutJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long noticeId;
+
+    // 같은 수신자 집합(학과+작성자)으로 함께 발송할 나머지 공지 id ("12,13,14"). 크롤링 일괄 수집 시 사용, 보통 null
+    @Column(columnDefinition = "text")
+    private String extraNoticeIds;
+
+    @Column(nullable = false)
+    private Long authorId;          // 작성자 구독자(북마크) 대상
+
+    private String department;      // 학과 학생 대상 (null 이면 구독자만)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private FanoutStatus status = FanoutStatus.PENDING;
+
+    @Column(nullable = false)
+    private long lastReceiverId = 0L;   // 처리 완료된 마지막 수신자 id (커서)
+
+    @Column(nullable = false)
+    private long insertedCount = 0L;
+
+    private Long expectedCount;         // 최초 실행 시 계산한 수신자 수 (진행률 표시용)
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(length = 64)
+    private String owner;               // 처리 중인 인스턴스 id
+
+    private LocalDateTime leaseUntil;   // 이 시각이 지나면 다른 인스턴스가 가져갈 수 있음 (청크마다 연장)
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public NotificationFanoutJob(Long noticeId, Long authorId, String department) {
+        this.noticeId = noticeId;
+        this.authorId = authorId;
+        this.department = department;
+    }
+
+    // noticeId + extraNoticeIds
+    public List<Long> allNoticeIds() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(noticeId);
+        if (extraNoticeIds != null && !extraNoticeIds.isBlank()) {
+            for (String s : extraNoticeIds.split(",")) ids.add(Long.valueOf(s.trim()));
+        }
+        return ids;
+    }
+
+    public void setAllNoticeIds(List<Long> ids) {
+        this.noticeId = ids.get(0);
+        this.extraNoticeIds = ids.size() == 1 ? null
+                : ids.subList(1, ids.size()).stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+}
@@ -33,7 +33,10 @@ public class ChatQA {
     private String answer;
 
     @Column(name = "latency_ms")
-    private Long latencyMs;
+    private Long latencyMs;         // 전체 소요시간
+
+    @Column(name = "ttft_ms")
+    private Long ttftMs;            // 첫 토큰까지 걸린 시간 (비스트리밍 응답은 전체 소요시간과 같음)
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
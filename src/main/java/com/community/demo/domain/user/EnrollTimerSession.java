@@ -0,0 +1,41 @@
+package com.community.demo.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 진행 중인 수강신청 연습 타이머 (app.enroll-timer.session-store=jdbc 일 때 사용, 사용자당 1행).
+ * 읽기/쓰기는 JdbcEnrollTimerSessionStore 가 직접 SQL 로 하고, 엔티티는 테이블 생성용.
+ * 시각은 epoch millis 로 저장 (DB/JVM 시간대와 무관)
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "enroll_timer_sessions",
+        indexes = @Index(name = "idx_enroll_timer_sessions_expires", columnList = "expires_at_ms"))
+public class EnrollTimerSession {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 시작할 때마다 새로 발급 (다시 시작해 덮어쓴 세션과 구분)
+    @Column(nullable = false)
+    private long token;
+
+    // 시작한 인스턴스. 같은 인스턴스에서 끝내면 start_nanos 로 단조 시계 경과 시간을 계산
+    @Column(name = "instance_id", nullable = false, length = 36)
+    private String instanceId;
+
+    @Column(name = "start_nanos", nullable = false)
+    private long startNanos;
+
+    @Column(name = "started_at_ms", nullable = false)
+    private long startedAtMs;
+
+    @Column(name = "expires_at_ms", nullable = false)
+    private long expiresAtMs;
+}
@@ -0,0 +1,44 @@
+package com.community.demo.domain.user;
+
+/**
+ * 최근 기록(ms) 5개를 고정 길이 바이트 배열에 담는 원형 버퍼 (users.recent_basic_ring / recent_cart_ring).
+ * [0] 다음에 쓸 칸, [1] 채워진 칸 수, 이후 칸마다 4바이트 big-endian ms → 항상 22바이트.
+ * 새 기록은 가장 오래된 칸을 덮어씀 (앞에 끼워 넣고 뒤를 지우는 리스트 조작 없음)
+ */
+public final class RecentRing {
+
+    public static final int SLOTS = 5;
+    public static final int BYTES = 2 + SLOTS * Integer.BYTES;
+
+    private RecentRing() {
+    }
+
+    /** ms 를 추가한 새 버퍼 반환 (ring 이 null 이거나 형식이 다르면 빈 버퍼에서 시작) */
+    public static byte[] push(byte[] ring, long ms) {
+        byte[] r = (ring == null || ring.length != BYTES) ? new byte[BYTES] : ring.clone();
+        int head = Math.floorMod(r[0], SLOTS);
+        int v = (int) Math.min(Math.max(ms, 0), Integer.MAX_VALUE);
+        int off = 2 + head * Integer.BYTES;
+        r[off] = (byte) (v >>> 24);
+        r[off + 1] = (byte) (v >>> 16);
+        r[off + 2] = (byte) (v >>> 8);
+        r[off + 3] = (byte) v;
+        r[0] = (byte) ((head + 1) % SLOTS);
+        r[1] = (byte) Math.min(r[1] + 1, SLOTS);
+        return r;
+    }
+
+    /** 최신순 기록 (최대 5개) */
+    public static long[] newestFirst(byte[] ring) {
+        if (ring == null || ring.length != BYTES) return new long[0];
+        int head = Math.floorMod(ring[0], SLOTS);
+        int count = Math.min(Math.max(ring[1], 0), SLOTS);
+        long[] out = new long[count];
+        for (int k = 0; k < count; k++) {
+            int off = 2 + Math.floorMod(head - 1 - k, SLOTS) * Integer.BYTES;
+            out[k] = ((ring[off] & 0xFFL) << 24) | ((ring[off + 1] & 0xFFL) << 16)
+                    | ((ring[off + 2] & 0xFFL) << 8) | (ring[off + 3] & 0xFFL);
+        }
+        return out;
+    }
+}
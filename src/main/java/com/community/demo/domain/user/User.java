@@ -6,15 +6,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.List;
 
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "users")
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_dept_role", columnList = "department, role_type")) // 학과 학생 알림 대상 조회용
 // (선택) Hibernate 사용 시, 부전공과 복수전공이 동시에 채워지지 않도록 체크
 // @org.hibernate.annotations.Check(constraints = "(minor_department IS NULL) <> (double_major_department IS NULL)")
 public class User {
@@ -132,18 +131,14 @@ public class User {
     @Column(name = "transfer_recognized")
     private Integer transferRecognized;           // 편입인정학점 (Top-level 숫자)
 
-    // 기존 필드 (예: 최근 측정 캐시) 생략 없이 유지
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_recent_basic", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "duration_ms")
-    @OrderColumn(name = "idx")
-    private java.util.List<Long> recentBasicMs = new java.util.ArrayList<>();
+    // 최근 5개 기록 원형 버퍼 (RecentRing 형식, 최신순 조회는 RecentRing.newestFirst).
+    // 예전 user_recent_basic/cart 테이블(EAGER 컬렉션)을 대체: users 행에 같이 실려 추가 쿼리 없음.
+    // EnrollRecordWriteBehind(와 RecentRingMigration)만 JDBC 로 갱신하므로 엔티티 저장에서는 제외
+    @Column(name = "recent_basic_ring", length = RecentRing.BYTES, insertable = false, updatable = false)
+    private byte[] recentBasicRing;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_recent_cart", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "duration_ms")
-    @OrderColumn(name = "idx")
-    private java.util.List<Long> recentCartMs = new java.util.ArrayList<>();
+    @Column(name = "recent_cart_ring", length = RecentRing.BYTES, insertable = false, updatable = false)
+    private byte[] recentCartRing;
 
     public User(String username, String password, String email, String student_number, RoleType roleType, String department) {
         this.username  = username;
@@ -155,18 +150,4 @@ public class User {
         this.roleStatus = (roleType == RoleType.STUDENT) ? RoleStatus.ACTIVE : RoleStatus.PENDING;
     }
 
-    // BASIC 모드 최근5 push & trim
-    public void pushRecentBasic(long durationMs) {
-        if (recentBasicMs == null) recentBasicMs = new ArrayList<>();
-        recentBasicMs.add(0, durationMs);
-        while (recentBasicMs.size() > 5) recentBasicMs.remove(recentBasicMs.size() - 1);
-    }
-
-    // CART 모드 최근5 push & trim
-    public void pushRecentCart(long durationMs) {
-        if (recentCartMs == null) recentCartMs = new ArrayList<>();
-        recentCartMs.add(0, durationMs);
-        while (recentCartMs.size() > 5) recentCartMs.remove(recentCartMs.size() - 1);
-    }
-
 }
@@ -11,4 +11,7 @@ public class LoginRequest {
 
     @NotBlank
     private String password;
+
+    // (선택) 기기 식별자. 기기별로 리프레시 토큰을 따로 관리 (없으면 "default")
+    private String deviceId;
 }
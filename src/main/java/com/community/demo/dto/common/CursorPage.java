@@ -0,0 +1,21 @@
+package com.community.demo.dto.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 기반 목록 응답. count 쿼리 없이 size+1 건을 읽어 다음 페이지 존재 여부만 판단.
+ * nextCursor 를 그대로 다음 요청의 cursor 파라미터로 넘기면 됨 (마지막 페이지면 null)
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+    /** size+1 건 조회 결과에서 응답 조립. cursorOf 는 잘린 페이지의 마지막 원본 항목으로 커서 생성 */
+    public static <E, T> CursorPage<T> of(List<E> fetched, int size,
+                                          Function<List<E>, List<T>> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<E> page = hasNext ? fetched.subList(0, size) : fetched;
+        String next = (hasNext && !page.isEmpty()) ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(page), next, hasNext);
+    }
+}
@@ -0,0 +1,80 @@
+package com.community.demo.dto.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 불투명(opaque) 커서 값. 정렬 키들을 "v1|키1|키2|..." 로 이어 base64url 로 인코딩.
+ * 클라이언트는 내용을 해석하지 않고 받은 그대로 돌려보내야 함. 형식이 틀리면 400
+ */
+public final class PageCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEP = "|";
+
+    private final String[] parts;
+
+    private PageCursor(String[] parts) {
+        this.parts = parts;
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder(VERSION);
+        for (Object k : keys) sb.append(SEP).append(k);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 빈 값이면 null (첫 페이지) */
+    public static PageCursor decode(String token, int expectedKeys) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] p = raw.split("\\|", -1);
+            if (p.length != expectedKeys + 1 || !VERSION.equals(p[0])) throw invalid();
+            String[] keys = new String[expectedKeys];
+            System.arraycopy(p, 1, keys, 0, expectedKeys);
+            return new PageCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public long longAt(int i) {
+        try {
+            return Long.parseLong(parts[i]);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public double doubleAt(int i) {
+        try {
+            return Double.parseDouble(parts[i]);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public LocalDateTime timeAt(int i) {
+        try {
+            return LocalDateTime.parse(parts[i]);
+        } catch (DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    public boolean boolAt(int i) {
+        if ("1".equals(parts[i])) return true;
+        if ("0".equals(parts[i])) return false;
+        throw invalid();
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 값입니다.");
+    }
+}
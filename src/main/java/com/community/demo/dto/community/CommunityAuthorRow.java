@@ -0,0 +1,7 @@
+package com.community.demo.dto.community;
+
+import com.community.demo.domain.user.RoleType;
+
+// 목록 조회 시 작성자 정보를 한 번에 가져오기 위한 projection (User 엔티티 전체 로딩 회피)
+public record CommunityAuthorRow(Long id, String username, String department, RoleType roleType, String profileImageUrl) {
+}
@@ -0,0 +1,5 @@
+package com.community.demo.dto.community;
+
+// 목록 조회 시 태그를 글 id 별로 한 번에 가져오기 위한 projection
+public record CommunityTagRow(Long postId, String tag) {
+}
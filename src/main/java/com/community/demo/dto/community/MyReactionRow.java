@@ -0,0 +1,7 @@
+package com.community.demo.dto.community;
+
+import com.community.demo.domain.community.ReactionType;
+
+// 목록 조회 시 글 id 별 내 반응을 한 번에 가져오기 위한 projection
+public record MyReactionRow(Long postId, ReactionType type) {
+}
@@ -0,0 +1,5 @@
+package com.community.demo.dto.community;
+
+// 태그 자동완성/인기 태그 응답
+public record TagSuggestion(String name, int postCount) {
+}
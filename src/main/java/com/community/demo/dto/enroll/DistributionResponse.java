@@ -0,0 +1,26 @@
+package com.community.demo.dto.enroll;
+
+import com.community.demo.domain.user.EnrollMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DistributionResponse {
+    private EnrollMode mode;
+    private long count;                     // 전체 기록 수
+    private BigDecimal averageSeconds;      // 평균(초)
+    private BigDecimal medianSeconds;       // 중앙값(초, 오차 0.01초 이내)
+    private BigDecimal p90Seconds;          // 90% 기록이 이 시간 안(초)
+    private List<Bin> histogram;            // 1초 단위 구간별 기록 수 (마지막 구간은 그 이상 포함)
+
+    @Getter
+    @AllArgsConstructor
+    public static class Bin {
+        private int fromSecond;             // fromSecond 이상 fromSecond+1 미만
+        private long count;
+    }
+}
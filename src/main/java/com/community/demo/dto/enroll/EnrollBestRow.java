@@ -0,0 +1,10 @@
+package com.community.demo.dto.enroll;
+
+import com.community.demo.domain.user.EnrollMode;
+
+import java.time.Instant;
+
+// 리더보드 적재용 기록 1건 (작성자 이름/학과 포함)
+public record EnrollBestRow(EnrollMode mode, Long userId, String username, String department,
+                            Long durationMs, Instant finishedAt) {
+}
@@ -15,4 +15,5 @@ public class FinishResponse {
     private BigDecimal diffVsOthersSeconds; // 내기록 - 타유저평균 (음수면 내가 더 빠름)
     private EnrollMode mode;
     private Instant finishedAt;
+    private double fasterThanPercent;       // 다른 사용자 최고 기록 중 몇 % 보다 빠른지
 }
\ No newline at end of file
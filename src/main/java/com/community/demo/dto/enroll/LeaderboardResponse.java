@@ -0,0 +1,29 @@
+package com.community.demo.dto.enroll;
+
+import com.community.demo.domain.user.EnrollMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class LeaderboardResponse {
+    private EnrollMode mode;
+    private String scope;                   // ALL(전체 기간) / TODAY(오늘, Asia/Seoul)
+    private String department;              // null 이면 전체 학과
+    private long totalUsers;                // 보드에 기록이 있는 사용자 수
+    private List<Entry> entries;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private long rank;                  // 같은 기록이면 같은 순위
+        private String username;
+        private String department;
+        private BigDecimal bestSeconds;
+        private Instant finishedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.community.demo.dto.enroll;
+
+import com.community.demo.domain.user.EnrollMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class MyBestRankResponse {
+    private EnrollMode mode;
+    private String scope;                   // ALL / TODAY
+    private String department;              // null 이면 전체 학과 기준
+    private BigDecimal bestSeconds;         // 내 최고 기록(초)
+    private Instant finishedAt;
+    private long rank;                      // 사용자 최고 기록 기준 순위 (1 = 가장 빠름)
+    private long totalUsers;
+    private double fasterThanPercent;       // 나보다 느린 사용자 비율 (나 제외)
+}
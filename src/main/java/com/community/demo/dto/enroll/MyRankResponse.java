@@ -0,0 +1,17 @@
+package com.community.demo.dto.enroll;
+
+import com.community.demo.domain.user.EnrollMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class MyRankResponse {
+    private EnrollMode mode;
+    private BigDecimal measuredSeconds;     // 내 가장 최근 기록(초)
+    private long rank;                      // 전체 사용자 중 순위 (다른 사용자는 최고 기록 기준, 1 = 가장 빠름)
+    private long total;                     // 기록이 있는 사용자 수 (나 포함)
+    private double topPercent;              // 상위 몇 % 인지
+}
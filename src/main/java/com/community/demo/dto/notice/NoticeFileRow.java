@@ -0,0 +1,5 @@
+package com.community.demo.dto.notice;
+
+// 목록 조회 시 이미지/첨부를 공지 id 별로 한 번에 가져오기 위한 projection
+public record NoticeFileRow(Long noticeId, Long id, String url) {
+}
@@ -0,0 +1,31 @@
+package com.community.demo.dto.notice;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 크롤링 공지 일괄 수집 요청 (multipart 의 "manifest" JSON 파트).
+ * 파일 내용은 같은 요청의 "files" 파트로 한 번씩만 올리고, 각 공지는 SHA-256 으로 참조.
+ * 이미 저장된 기존 공지의 파일과 내용이 같으면 올리지 않고 해시만 보내도 됨
+ */
+@Getter
+@Setter
+public class SchoolNoticeBulkRequest {
+
+    // 처리 순서 = 목록 순서
+    private List<Item> notices = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Item extends SchoolNoticeCreateDto {
+
+        // 이미지 파일 SHA-256 (hex, 표시 순서대로)
+        private List<String> images = new ArrayList<>();
+
+        // 첨부 파일 SHA-256 (hex, 표시 순서대로)
+        private List<String> attachments = new ArrayList<>();
+    }
+}
@@ -0,0 +1,23 @@
+package com.community.demo.dto.notice;
+
+import java.util.List;
+
+/**
+ * 크롤링 공지 일괄 수집 결과. results 는 요청 목록과 같은 순서
+ */
+public record SchoolNoticeBulkResponse(int total,
+                                       int created,
+                                       int updated,
+                                       int skipped,
+                                       int failed,
+                                       long elapsedMs,
+                                       double noticesPerSec,
+                                       List<ItemResult> results) {
+
+    /**
+     * @param outcome CREATED / UPDATED / SKIPPED / FAILED
+     * @param error   FAILED 일 때 사유
+     */
+    public record ItemResult(int index, String externalKey, String outcome, Long noticeId, String error) {
+    }
+}
@@ -19,6 +19,9 @@ public class SchoolNoticeCreateDto {
     private String department;
     
 
+    // 원본 게시글 식별 키 (게시글 URL 또는 게시판 글 번호). 선택, 없으면 학과+제목으로 식별
+    private String externalKey;
+
     // 원본 게시글의 작성시간
     private LocalDateTime originalCreatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.community.demo.dto.notice;
+
+/**
+ * 크롤링 공지 1건 처리 결과.
+ * notice 는 CREATED/UPDATED 일 때만 값이 있음 (SKIPPED 면 null)
+ */
+public record SchoolNoticeIngestResult(Outcome outcome, NoticeResponse notice) {
+
+    public enum Outcome {
+        CREATED,    // 새 공지
+        UPDATED,    // 본문 또는 파일이 바뀜 → 알림 발송
+        SKIPPED     // 학생에게 보이는 변경 없음
+    }
+}
@@ -0,0 +1,5 @@
+package com.community.demo.dto.notice;
+
+// 크롤링 일괄 수집에서 학과 계정 username → id 매핑용
+public record UsernameIdRow(Long id, String username) {
+}
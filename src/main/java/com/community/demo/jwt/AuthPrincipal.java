@@ -0,0 +1,29 @@
+package com.community.demo.jwt;
+
+import com.community.demo.domain.user.RoleStatus;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+
+/**
+ * 인증 필터가 캐시하는 사용자 요약 정보 (불변).
+ * 요청마다 toUser()로 새 detached User 를 만들어 principal 로 넣으므로, 기존 컨트롤러의 (User) 캐스팅은 그대로 동작한다.
+ * 그 외 필드(학점, 최근 기록 등)가 필요한 서비스는 id 로 다시 조회해서 사용해야 한다.
+ */
+public record AuthPrincipal(Long id,
+                            String username,
+                            RoleType roleType,
+                            RoleStatus roleStatus,
+                            String department,
+                            String profileImageUrl) {
+
+    public User toUser() {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        u.setRoleType(roleType);
+        u.setRoleStatus(roleStatus);
+        u.setDepartment(department);
+        u.setProfileImageUrl(profileImageUrl);
+        return u;
+    }
+}
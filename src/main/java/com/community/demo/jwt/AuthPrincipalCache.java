@@ -0,0 +1,139 @@
+package com.community.demo.jwt;
+
+import com.community.demo.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWT 인증 시 사용하는 사용자 요약 정보 캐시 (userId → AuthPrincipal).
+ * - TTL 이 지나면 다시 DB 조회, 최대 개수를 넘으면 만료 항목 → 임의 항목 순으로 정리
+ * - 내 정보 수정/권한 승인/비밀번호 재설정 시 invalidate() 로 즉시 제거 (트랜잭션 중이면 커밋 후 한 번 더 제거)
+ * - 미스 시에는 엔티티 대신 필요한 컬럼만 projection 1회 조회
+ */
+@Slf4j
+@Component
+public class AuthPrincipalCache {
+
+    // User 엔티티 로딩 시 쿼리 수 (최근 기록이 users 행의 원형 버퍼 컬럼으로 옮겨져 users 1회)
+    private static final int ENTITY_LOAD_QUERIES = 1;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // 조회 도중 invalidate 가 일어나면 오래된 값을 다시 넣지 않도록 세대 번호로 확인
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final long startedAtMs = System.currentTimeMillis();
+    private long lastStatsAtMs = startedAtMs;   // stats() 에서만 사용 (synchronized)
+    private long lastStatsSaved = 0;
+
+    private record Entry(AuthPrincipal principal, long expiresAtNanos) {}
+
+    public AuthPrincipalCache(UserRepository userRepository,
+                              @Value("${app.auth-cache.ttl-seconds:60}") long ttlSeconds,
+                              @Value("${app.auth-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /** 캐시 또는 DB 에서 사용자 요약 정보를 가져옴. 사용자가 없으면 null */
+    public AuthPrincipal get(Long userId) {
+        long now = System.nanoTime();
+        Entry e = entries.get(userId);
+        if (e != null && now - e.expiresAtNanos() < 0) {
+            hits.increment();
+            return e.principal();
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        AuthPrincipal loaded = userRepository.findAuthPrincipalById(userId).orElse(null);
+        if (loaded == null) {
+            entries.remove(userId);
+            return null;
+        }
+        if (ttlNanos > 0 && generation.get() == gen) {
+            if (entries.size() >= maxEntries) evict(now);
+            entries.put(userId, new Entry(loaded, now + ttlNanos));
+        }
+        return loaded;
+    }
+
+    /** 사용자 정보 변경 시 호출 */
+    public void invalidate(Long userId) {
+        if (userId == null) return;
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private void evictNow(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+        invalidations.increment();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(e -> now - e.expiresAtNanos() >= 0);
+        // 만료 항목만으로 부족하면 1/10 정도를 임의로 제거
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Long> it = entries.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        long saved = h * ENTITY_LOAD_QUERIES + m * (ENTITY_LOAD_QUERIES - 1);
+        long nowMs = System.currentTimeMillis();
+
+        double sinceStartSec = Math.max(1, nowMs - startedAtMs) / 1000.0;
+        double sinceLastSec = Math.max(1, nowMs - lastStatsAtMs) / 1000.0;
+        double savedPerSecRecent = (saved - lastStatsSaved) / sinceLastSec;
+        lastStatsAtMs = nowMs;
+        lastStatsSaved = saved;
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("entries", entries.size());
+        out.put("maxEntries", maxEntries);
+        out.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        out.put("hits", h);
+        out.put("misses", m);
+        out.put("hitRate", (h + m) == 0 ? null : Math.round(h * 10000.0 / (h + m)) / 100.0); // %
+        out.put("invalidations", invalidations.sum());
+        out.put("dbQueriesSaved", saved);
+        out.put("dbQueriesSavedPerSec", Math.round(saved / sinceStartSec * 100) / 100.0);
+        out.put("dbQueriesSavedPerSecSinceLastCall", Math.round(savedPerSecRecent * 100) / 100.0);
+        return out;
+    }
+}
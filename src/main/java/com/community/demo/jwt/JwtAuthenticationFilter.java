@@ -1,7 +1,6 @@
 package com.community.demo.jwt;
 
 import com.community.demo.domain.user.User;
-import com.community.demo.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.annotation.PostConstruct;
@@ -29,7 +28,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final AuthPrincipalCache authPrincipalCache;
 
     @PostConstruct
     public void init() {
@@ -119,12 +118,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 3) 사용자 로드
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null) {
+            // 3) 사용자 로드 (요약 정보 캐시 → 미스 시 projection 1회 조회)
+            AuthPrincipal principal = authPrincipalCache.get(userId);
+            if (principal == null) {
                 reject(res, "invalid_token", "User not found"); // ★ 즉시 401
                 return;
             }
+            User user = principal.toUser();     // 요청마다 새 detached 인스턴스 (캐시 값 공유 X)
 
             // 4) 권한 구성: DB 기준 (토큰의 role 클레임을 신뢰하지 않음)
             String roleName = (user.getRoleType() != null ? user.getRoleType().name() : "USER");
@@ -11,6 +11,9 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
@@ -19,10 +22,21 @@ public class JwtUtil {
     private final String accessSecret;
     private final String refreshSecret;
 
+    // 검증 완료된 액세스 토큰 캐시 (같은 토큰 재요청 시 HMAC 재계산 생략). 0 이면 비활성
+    private final long verifiedCacheTtlMs;
+    private final int verifiedCacheMaxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedAccessTokens = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(Claims claims, long validUntilMs) {}
+
     public JwtUtil(@Value("${jwt.secret.access}") String accessSecret,
-                   @Value("${jwt.secret.refresh}") String refreshSecret) {
+                   @Value("${jwt.secret.refresh}") String refreshSecret,
+                   @Value("${app.jwt.verified-cache.ttl-seconds:30}") long verifiedCacheTtlSeconds,
+                   @Value("${app.jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
         this.accessSecret = accessSecret;
         this.refreshSecret = refreshSecret;
+        this.verifiedCacheTtlMs = Math.max(0, verifiedCacheTtlSeconds) * 1000L;
+        this.verifiedCacheMaxEntries = Math.max(1, verifiedCacheMaxEntries);
     }
 
     private final long accessExpirationMs  = 1000L * 60 * 60;        // 60분
@@ -31,6 +45,10 @@ public class JwtUtil {
     private SecretKey accessKey;
     private SecretKey refreshKey;
 
+    // 키별로 미리 만들어 둔 파서 (JwtParser 는 불변/스레드 안전)
+    private JwtParser accessParser;
+    private JwtParser refreshParser;
+
     // 기대 알고리즘을 고정(방어적)
     private static final String EXPECTED_ALG = SignatureAlgorithm.HS256.getValue(); // "HS256"
 
@@ -40,11 +58,18 @@ public class JwtUtil {
         this.accessKey  = Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8));
         this.refreshKey = Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
 
+        this.accessParser  = buildParser(accessKey);
+        this.refreshParser = buildParser(refreshKey);
+
         // 만약 Base64 인코딩 시크릿이라면 아래 방식 사용:
         // this.accessKey  = Keys.hmacShaKeyFor(Decoders.BASE64.decode(accessSecret));
         // this.refreshKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(refreshSecret));
     }
 
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
     // 액세스 토큰 생성
     public String generateAccessToken(Long userId, RoleType roleType) {
         return Jwts.builder()
@@ -60,6 +85,7 @@ public class JwtUtil {
     public String generateRefreshToken(Long userId) {
         return Jwts.builder()
                 .setSubject(String.valueOf(userId))
+                .setId(UUID.randomUUID().toString())        // 같은 초에 여러 번 발급돼도 토큰이 겹치지 않도록
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshExpirationMs))
                 .signWith(refreshKey, SignatureAlgorithm.HS256) // 알고리즘 명시
@@ -68,37 +94,61 @@ public class JwtUtil {
 
     // 액세스 토큰 유효성 검사 후 userId 반환
     public Long validateAccessToken(String token) {
-        Claims claims = parseAndVerify(token, accessKey);
+        Claims claims = parseAccessToken(token);
         return Long.parseLong(claims.getSubject());
     }
 
     // 리프레시 토큰 유효성 검사 후 userId 반환
     public Long validateRefreshToken(String token) {
-        Claims claims = parseAndVerify(token, refreshKey);
+        Claims claims = parseAndVerify(token, refreshParser);
         return Long.parseLong(claims.getSubject());
     }
 
-    // 액세스 토큰 Claims 반환(필터에서 사용)
+    // 액세스 토큰 Claims 반환(필터에서 사용). 캐시된 Claims 는 공유 인스턴스이므로 읽기 전용으로만 사용
     public Claims parseAccessToken(String token) {
-        return parseAndVerify(token, accessKey);
+        if (verifiedCacheTtlMs <= 0) {
+            return parseAndVerify(token, accessParser);
+        }
+
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedAccessTokens.get(token);   // 키 비교는 토큰 문자열 전체(해시 충돌로 오인 X)
+        if (cached != null) {
+            if (now < cached.validUntilMs()) return cached.claims();
+            verifiedAccessTokens.remove(token, cached);
+        }
+
+        Claims claims = parseAndVerify(token, accessParser);
+
+        // 캐시 유효기간은 토큰 자체의 만료 시각을 넘지 않음
+        Date exp = claims.getExpiration();
+        long validUntil = now + verifiedCacheTtlMs;
+        if (exp != null) validUntil = Math.min(validUntil, exp.getTime());
+        if (validUntil > now) {
+            if (verifiedAccessTokens.size() >= verifiedCacheMaxEntries) evictVerified(now);
+            verifiedAccessTokens.put(token, new VerifiedToken(claims, validUntil));
+        }
+        return claims;
     }
 
     // 필요시 리프레시 토큰 Claims 반환
     public Claims parseRefreshToken(String token) {
-        return parseAndVerify(token, refreshKey);
+        return parseAndVerify(token, refreshParser);
+    }
+
+    private static JwtParser buildParser(SecretKey key) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                // (선택) .requireIssuer("your-issuer")
+                // (선택) .requireAudience("your-audience")
+                .build();
     }
 
     // 공통: JWS(서명 포함)만 파싱 + 알고리즘 강제 확인
-    private Claims parseAndVerify(String token, SecretKey key) {
+    private Claims parseAndVerify(String token, JwtParser parser) {
         // (선제 차단 - 선택) 헤더에 alg:none 흔적이 보이면 즉시 거부
         rejectAlgNoneIfAny(token);
 
-        Jws<Claims> jws = Jwts.parserBuilder()
-                .setSigningKey(key)
-                // (선택) .requireIssuer("your-issuer")
-                // (선택) .requireAudience("your-audience")
-                .build()
-                .parseClaimsJws(token); // JWS만 허용(서명 필수)
+        Jws<Claims> jws = parser.parseClaimsJws(token); // JWS만 허용(서명 필수)
 
         String alg = jws.getHeader().getAlgorithm();
         if (!EXPECTED_ALG.equals(alg)) {
@@ -108,14 +158,69 @@ public class JwtUtil {
         return jws.getBody();
     }
 
+    private void evictVerified(long now) {
+        verifiedAccessTokens.values().removeIf(v -> v.validUntilMs() <= now);
+        // 만료 항목만으로 부족하면 1/10 정도를 임의로 제거
+        int excess = verifiedAccessTokens.size() - verifiedCacheMaxEntries + Math.max(1, verifiedCacheMaxEntries / 10);
+        Iterator<String> it = verifiedAccessTokens.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // ===== alg:none 선제 차단 (split/디코딩 버퍼 없이 헤더 구간을 한 글자씩 base64url 디코딩하며 검사) =====
+
+    private static final byte[] ALG_NONE = "\"alg\":\"none\"".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] ALG_NONE_FAILURE = failureTable(ALG_NONE);
+
     //  아주 가벼운 선제 차단: alg:"none" 탐지
     private void rejectAlgNoneIfAny(String token) {
-        String[] parts = token.split("\\.");
-        if (parts.length < 2) throw new JwtException("Malformed JWT");
-        String headerJson = new String(Decoders.BASE64URL.decode(parts[0]), StandardCharsets.UTF_8);
-        if (headerJson.contains("\"alg\":\"none\"")) {
-            throw new JwtException("Unsigned token rejected");
+        int dot = token.indexOf('.');
+        if (dot <= 0) throw new JwtException("Malformed JWT");
+
+        int buffer = 0;     // 누적 비트
+        int bits = 0;       // 누적 비트 수
+        int matched = 0;    // ALG_NONE 일치 길이 (KMP)
+        for (int i = 0; i < dot; i++) {
+            char c = token.charAt(i);
+            if (c == '=') break;                        // 패딩
+            int v = base64UrlValue(c);
+            if (v < 0) throw new JwtException("Malformed JWT");
+
+            buffer = (buffer << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                byte b = (byte) (buffer >> bits);
+                buffer &= (1 << bits) - 1;
+
+                while (matched > 0 && ALG_NONE[matched] != b) matched = ALG_NONE_FAILURE[matched - 1];
+                if (ALG_NONE[matched] == b) matched++;
+                if (matched == ALG_NONE.length) {
+                    throw new JwtException("Unsigned token rejected");
+                }
+            }
+        }
+    }
+
+    private static int base64UrlValue(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+
+    private static int[] failureTable(byte[] pattern) {
+        int[] f = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) k = f[k - 1];
+            if (pattern[i] == pattern[k]) k++;
+            f[i] = k;
         }
+        return f;
     }
 
 }
@@ -1,30 +1,211 @@
 package com.community.demo.registry;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 사용자별 "챗봇 처리 중" 임대(lease) 관리.
+ * - 바쁜 사용자만 맵에 존재 (release 시 제거) → 한 번이라도 챗봇을 쓴 사용자 수만큼 맵이 커지지 않음
+ * - 임대마다 소유 토큰과 만료 시각이 있어, release 가 유실돼도 만료 후에는 다음 tryAcquire 가 CAS 로 회수
+ * - 획득/해제/회수는 모두 ConcurrentHashMap 의 putIfAbsent / replace / remove(key, value) 로만 처리 (락 없음)
+ * - 백그라운드 스위퍼가 만료된 임대를 주기적으로 제거 (아무도 다시 요청하지 않는 사용자 정리)
+ */
+@Slf4j
 @Component
 public class UserBusyRegistry {
-    private final ConcurrentHashMap<Long, Semaphore> gates = new ConcurrentHashMap<>();
 
-    private Semaphore gateOf(Long userId) {
-        return gates.computeIfAbsent(userId, id -> new Semaphore(1, true)); // permit=1, 공정
+    /** 임대 1건. token 이 같아야 해제/연장 가능 */
+    public record Lease(Long userId, long token, long acquiredAtMs, long expiresAtNanos) {
+        boolean expired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
     }
 
-    /** 사용자가 바쁜 상태인지 */
+    private final ConcurrentHashMap<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicLong tokenSeq = new AtomicLong();
+    private final long leaseNanos;
+    private final long sweepIntervalSeconds;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expiredReclaimed = new LongAdder();
+    private final LongAdder forceReleased = new LongAdder();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "user-busy-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 기본 임대 시간은 FastAPI read timeout(600초)보다 약간 길게
+    public UserBusyRegistry(@Value("${app.user-busy.lease-seconds:660}") long leaseSeconds,
+                            @Value("${app.user-busy.sweep-interval-seconds:30}") long sweepIntervalSeconds) {
+        this.leaseNanos = TimeUnit.SECONDS.toNanos(Math.max(1, leaseSeconds));
+        this.sweepIntervalSeconds = Math.max(1, sweepIntervalSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeper() {
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                int n = sweep();
+                if (n > 0) log.warn("[BUSY] 만료된 임대 {}건 회수 (release 누락)", n);
+            } catch (Exception e) {
+                log.warn("[BUSY] 임대 정리 실패: {}", e.toString());
+            }
+        }, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // ===== API =====
+
+    /** 사용자가 바쁜 상태인지 (만료된 임대는 바쁘지 않은 것으로 보고 그 자리에서 제거) */
     public boolean isBusy(Long userId) {
-        return gateOf(userId).availablePermits() == 0;
+        Lease l = leases.get(userId);
+        if (l == null) return false;
+        if (l.expired(System.nanoTime())) {
+            if (leases.remove(userId, l)) expiredReclaimed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /** 즉시 획득; 실패 시 null (→ 바로 거부). 받은 Lease 로 release 해야 함 */
+    public Lease tryAcquire(Long userId) {
+        while (true) {
+            long now = System.nanoTime();
+            Lease fresh = newLease(userId, now);
+            Lease cur = leases.putIfAbsent(userId, fresh);
+            if (cur == null) {
+                acquired.increment();
+                return fresh;
+            }
+            if (!cur.expired(now)) {
+                rejected.increment();
+                return null;
+            }
+            // 만료된 임대를 CAS 로 교체. 다른 스레드가 먼저 바꿨으면 처음부터 다시
+            if (leases.replace(userId, cur, fresh)) {
+                expiredReclaimed.increment();
+                acquired.increment();
+                return fresh;
+            }
+        }
+    }
+
+    /** 반드시 finally(또는 doFinally)에서 release. 이미 만료·회수된 임대면 다른 소유자의 임대를 건드리지 않고 false */
+    public boolean release(Lease lease) {
+        if (lease == null) return false;
+        while (true) {
+            // renew() 로 만료 시각만 바뀐 임대도 같은 소유자이므로 token 으로 비교
+            Lease cur = leases.get(lease.userId());
+            if (cur == null || cur.token() != lease.token()) return false;
+            if (leases.remove(lease.userId(), cur)) {
+                released.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 긴 작업(스트리밍) 중 임대 연장. 남은 시간이 절반 이하일 때만 교체하므로 자주 불러도 됨.
+     * 연장된 Lease 를 반환하며, 이미 소유권을 잃었으면 null
+     */
+    public Lease renew(Lease lease) {
+        long now = System.nanoTime();
+        Lease cur = leases.get(lease.userId());
+        if (cur == null || cur.token() != lease.token() || cur.expired(now)) return null;
+        if (cur.expiresAtNanos() - now > leaseNanos / 2) return cur;
+        Lease extended = new Lease(cur.userId(), cur.token(), cur.acquiredAtMs(), now + leaseNanos);
+        return leases.replace(cur.userId(), cur, extended) ? extended : null;
+    }
+
+    // ===== 관리 =====
+
+    public Lease find(Long userId) {
+        Lease l = leases.get(userId);
+        return (l == null || l.expired(System.nanoTime())) ? null : l;
+    }
+
+    /** 관리자 강제 해제. 해제된 임대가 있었으면 true */
+    public boolean forceRelease(Long userId) {
+        Lease l = leases.remove(userId);
+        if (l != null) forceReleased.increment();
+        return l != null;
+    }
+
+    /** 만료된 임대 제거. 제거한 건수 반환 */
+    public int sweep() {
+        long now = System.nanoTime();
+        int n = 0;
+        for (Lease l : leases.values()) {
+            if (l.expired(now) && leases.remove(l.userId(), l)) n++;
+        }
+        expiredReclaimed.add(n);
+        return n;
+    }
+
+    public List<Map<String, Object>> activeLeases() {
+        long now = System.nanoTime();
+        long nowMs = System.currentTimeMillis();
+        List<Lease> snapshot = new ArrayList<>(leases.values());
+        snapshot.sort(Comparator.comparingLong(Lease::acquiredAtMs));
+        List<Map<String, Object>> out = new ArrayList<>(snapshot.size());
+        for (Lease l : snapshot) {
+            if (l.expired(now)) continue;
+            out.add(describe(l, now, nowMs));
+        }
+        return out;
+    }
+
+    public Map<String, Object> describe(Lease l) {
+        return describe(l, System.nanoTime(), System.currentTimeMillis());
+    }
+
+    private static Map<String, Object> describe(Lease l, long now, long nowMs) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("userId", l.userId());
+        m.put("token", l.token());
+        m.put("heldMs", nowMs - l.acquiredAtMs());
+        m.put("expiresInMs", TimeUnit.NANOSECONDS.toMillis(l.expiresAtNanos() - now));
+        return m;
     }
 
-    /** 즉시 획득; 실패 시 false (→ 바로 거부) */
-    public boolean tryAcquire(Long userId) {
-        return gateOf(userId).tryAcquire();
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("active", leases.size());
+        m.put("leaseSeconds", TimeUnit.NANOSECONDS.toSeconds(leaseNanos));
+        m.put("sweepIntervalSeconds", sweepIntervalSeconds);
+        m.put("acquired", acquired.sum());
+        m.put("rejected", rejected.sum());
+        m.put("released", released.sum());
+        m.put("expiredReclaimed", expiredReclaimed.sum());
+        m.put("forceReleased", forceReleased.sum());
+        return m;
     }
 
-    /** 반드시 finally에서 release */
-    public void release(Long userId) {
-        gateOf(userId).release();
+    private Lease newLease(Long userId, long nowNanos) {
+        return new Lease(userId, tokenSeq.incrementAndGet(), System.currentTimeMillis(), nowNanos + leaseNanos);
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BotFileRepository extends JpaRepository<BotFile, Long> {
@@ -15,4 +16,8 @@ public interface BotFileRepository extends JpaRepository<BotFile, Long> {
 
     // 정렬 조건으로 전체 가져오기 (서비스에서 그룹핑)
     List<BotFile> findAll(Sort sort);
+
+    // 마지막 문서 컬렉션 재구성 시각 (답변 캐시는 이 이후 답변만 사용)
+    @Query("select max(b.createdAt) from BotFile b")
+    LocalDateTime findLatestCreatedAt();
 }
\ No newline at end of file
@@ -5,7 +5,10 @@ import com.community.demo.domain.user.ChatQA;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +19,8 @@ public interface ChatQARepository extends JpaRepository<ChatQA, Long> {
     List<ChatQA> findTop50ByUserIdOrderByCreatedAtDesc(Long userId); // 기본 50개
 
     Optional<ChatQA> findByIdAndUserId(Long id, Long userId);
+
+    // 답변 캐시 초기화용: 기준 시각 이후 질문-응답 (최신순)
+    @Query("select q from ChatQA q where q.createdAt > :since order by q.id desc")
+    List<ChatQA> findRecentSince(@Param("since") LocalDateTime since, Pageable pageable);
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.community.demo.repository;
 
 import com.community.demo.domain.community.Community;
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.community.CommunityAuthorRow;
+import com.community.demo.dto.community.CommunityImageRow;
+import com.community.demo.dto.community.CommunityTagRow;
+import com.community.demo.dto.community.MyReactionRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,55 +13,171 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommunityRepository extends JpaRepository<Community, Long> {
 
+    /**
+     * 인기 점수 계산식 (MySQL). e = (좋아요 - 싫어요) * 2 + 댓글 수
+     * - :decay <= 0 : e 그대로 (누적 인기순)
+     * - :decay > 0  : sign(e) * log10(max(|e|, 1)) + (작성 시각 - 2025-01-01) / decay 초 (hot 랭킹)
+     *   시간 항이 작성 시각에 고정돼 있어 점수가 시간에 따라 변하지 않음 → 새 글일수록 같은 반응에서 더 위로
+     */
+    String POPULARITY_EXPR = """
+            (CASE WHEN :decay > 0
+                  THEN SIGN((like_count - dislike_count) * 2 + comment_count)
+                       * LOG10(GREATEST(ABS((like_count - dislike_count) * 2 + comment_count), 1))
+                       + (UNIX_TIMESTAMP(created_at) - 1735689600) / :decay
+                  ELSE (like_count - dislike_count) * 2 + comment_count END)""";
+
     @Modifying(flushAutomatically = true)
-    @Query("update Community c set c.likeCount = c.likeCount + :delta where c.id = :postId")
-    int bumpLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+    @Query("update Community c set c.commentCount = c.commentCount + :delta where c.id = :postId")
+    int bumpCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
 
     @Modifying(flushAutomatically = true)
-    @Query("update Community c set c.dislikeCount = c.dislikeCount + :delta where c.id = :postId")
-    int bumpDislikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+    @Query(value = "update community set popularity_score = " + POPULARITY_EXPR + " where id = :postId", nativeQuery = true)
+    int refreshPopularityScore(@Param("postId") Long postId, @Param("decay") double decaySeconds);
 
-    // 최신순
+    // 최신순. 태그/북마크 조건은 EXISTS 로 (조인으로 행이 늘어나 DISTINCT 가 필요하지 않도록)
+    // :tag 는 정규화된 태그 등치 필터 (idx_community_tags_tag)
     @Query("""
-        SELECT DISTINCT c FROM Community c
-        LEFT JOIN c.tags t
-        LEFT JOIN CommunityBookmark b ON b.post = c AND b.user = :bookmarkUser
+        SELECT c FROM Community c
         WHERE
-            (:keyword IS NULL OR :keyword = '' 
+            (:keyword IS NULL OR :keyword = ''
                 OR LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
                 OR LOWER(c.text)  LIKE LOWER(CONCAT('%', :keyword, '%'))
-                OR LOWER(t)       LIKE LOWER(CONCAT('%', :keyword, '%')))
+                OR EXISTS (SELECT 1 FROM Community c2 JOIN c2.tags t
+                            WHERE c2.id = c.id AND LOWER(t) LIKE LOWER(CONCAT('%', :keyword, '%'))))
+        AND (:tag IS NULL OR EXISTS (SELECT 1 FROM Community c3 JOIN c3.tags tt
+                                      WHERE c3.id = c.id AND tt = :tag))
         AND (:authorId IS NULL OR c.author.id = :authorId)
-        AND (:onlyBookmarked = false OR b.id IS NOT NULL)
-        ORDER BY c.createdAt DESC
+        AND (:onlyBookmarked = false OR EXISTS (SELECT 1 FROM CommunityBookmark b
+                                                 WHERE b.post.id = c.id AND b.user = :bookmarkUser))
+        ORDER BY c.createdAt DESC, c.id DESC
         """)
     Page<Community> searchLatestFlexible(@Param("keyword") String keyword,
+                                         @Param("tag") String tag,                      // 태그 필터 (null 가능)
                                          @Param("authorId") Long authorId,              // 내 글 필터 (null 가능)
                                          @Param("bookmarkUser") User bookmarkUser,      // 북마크 필터용 유저 (null 가능)
                                          @Param("onlyBookmarked") boolean onlyBookmarked,
                                          Pageable pageable);
 
-    // 인기순
+    // 인기순: 저장된 popularity_score 내림차순 (idx_community_popularity).
+    // 태그/북마크 조건은 EXISTS 로 걸어 DISTINCT + 조인 정렬 없이 인덱스 순서대로 읽을 수 있게 함
     @Query("""
-        SELECT DISTINCT c FROM Community c
-        LEFT JOIN c.tags t
-        LEFT JOIN CommunityBookmark b ON b.post = c AND b.user = :bookmarkUser
+        SELECT c FROM Community c
         WHERE
-            (:keyword IS NULL OR :keyword = '' 
+            (:keyword IS NULL OR :keyword = ''
                 OR LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
                 OR LOWER(c.text)  LIKE LOWER(CONCAT('%', :keyword, '%'))
-                OR LOWER(t)       LIKE LOWER(CONCAT('%', :keyword, '%')))
+                OR EXISTS (SELECT 1 FROM Community c2 JOIN c2.tags t
+                            WHERE c2.id = c.id AND LOWER(t) LIKE LOWER(CONCAT('%', :keyword, '%'))))
+        AND (:tag IS NULL OR EXISTS (SELECT 1 FROM Community c3 JOIN c3.tags tt
+                                      WHERE c3.id = c.id AND tt = :tag))
         AND (:authorId IS NULL OR c.author.id = :authorId)
-        AND (:onlyBookmarked = false OR b.id IS NOT NULL)
-        ORDER BY (c.likeCount - c.dislikeCount) DESC, c.createdAt DESC
+        AND (:onlyBookmarked = false OR EXISTS (SELECT 1 FROM CommunityBookmark b
+                                                 WHERE b.post.id = c.id AND b.user = :bookmarkUser))
+        ORDER BY c.popularityScore DESC, c.createdAt DESC, c.id DESC
         """)
     Page<Community> searchPopularFlexible(@Param("keyword") String keyword,
+                                          @Param("tag") String tag,
                                           @Param("authorId") Long authorId,
                                           @Param("bookmarkUser") User bookmarkUser,
                                           @Param("onlyBookmarked") boolean onlyBookmarked,
                                           Pageable pageable);
+
+    // ===== 목록 조회용 일괄 로딩: 페이지 단위로 쿼리 1회씩 (글마다 lazy 로딩/exists 하지 않도록) =====
+
+    @Query("""
+        SELECT DISTINCT new com.community.demo.dto.community.CommunityAuthorRow(a.id, a.username, a.department, a.roleType, a.profileImageUrl)
+        FROM Community c JOIN c.author a
+        WHERE c.id IN :postIds
+        """)
+    List<CommunityAuthorRow> findAuthorRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+        SELECT new com.community.demo.dto.community.CommunityImageRow(i.post.id, i.id, i.imageUrl)
+        FROM CommunityImage i
+        WHERE i.post.id IN :postIds
+        ORDER BY i.id ASC
+        """)
+    List<CommunityImageRow> findImageRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+        SELECT new com.community.demo.dto.community.CommunityTagRow(c.id, t)
+        FROM Community c JOIN c.tags t
+        WHERE c.id IN :postIds
+        """)
+    List<CommunityTagRow> findTagRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+        SELECT b.post.id FROM CommunityBookmark b
+        WHERE b.user.id = :userId AND b.post.id IN :postIds
+        """)
+    List<Long> findBookmarkedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+        SELECT new com.community.demo.dto.community.MyReactionRow(r.post.id, r.type)
+        FROM Reaction r
+        WHERE r.user.id = :userId AND r.post.id IN :postIds
+        """)
+    List<MyReactionRow> findMyReactionRows(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    // ===== 커서(keyset) 페이징: OFFSET/count 없이 (정렬키 < 커서) 조건 + LIMIT =====
+
+    @Query("""
+        SELECT c FROM Community c
+        WHERE
+            (:keyword IS NULL OR :keyword = ''
+                OR LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(c.text)  LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR EXISTS (SELECT 1 FROM Community c2 JOIN c2.tags t
+                            WHERE c2.id = c.id AND LOWER(t) LIKE LOWER(CONCAT('%', :keyword, '%'))))
+        AND (:tag IS NULL OR EXISTS (SELECT 1 FROM Community c3 JOIN c3.tags tt
+                                      WHERE c3.id = c.id AND tt = :tag))
+        AND (:authorId IS NULL OR c.author.id = :authorId)
+        AND (:bookmarkUserId IS NULL OR EXISTS (SELECT 1 FROM CommunityBookmark b
+                                                 WHERE b.post.id = c.id AND b.user.id = :bookmarkUserId))
+        AND (:cursorId IS NULL
+                OR c.createdAt < :cursorAt
+                OR (c.createdAt = :cursorAt AND c.id < :cursorId))
+        ORDER BY c.createdAt DESC, c.id DESC
+        """)
+    List<Community> findLatestAfter(@Param("keyword") String keyword,
+                                    @Param("tag") String tag,
+                                    @Param("authorId") Long authorId,
+                                    @Param("bookmarkUserId") Long bookmarkUserId,
+                                    @Param("cursorAt") LocalDateTime cursorAt,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable limit);
+
+    @Query("""
+        SELECT c FROM Community c
+        WHERE
+            (:keyword IS NULL OR :keyword = ''
+                OR LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(c.text)  LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR EXISTS (SELECT 1 FROM Community c2 JOIN c2.tags t
+                            WHERE c2.id = c.id AND LOWER(t) LIKE LOWER(CONCAT('%', :keyword, '%'))))
+        AND (:tag IS NULL OR EXISTS (SELECT 1 FROM Community c3 JOIN c3.tags tt
+                                      WHERE c3.id = c.id AND tt = :tag))
+        AND (:authorId IS NULL OR c.author.id = :authorId)
+        AND (:bookmarkUserId IS NULL OR EXISTS (SELECT 1 FROM CommunityBookmark b
+                                                 WHERE b.post.id = c.id AND b.user.id = :bookmarkUserId))
+        AND (:cursorId IS NULL
+                OR c.popularityScore < :cursorScore
+                OR (c.popularityScore = :cursorScore
+                    AND (c.createdAt < :cursorAt OR (c.createdAt = :cursorAt AND c.id < :cursorId))))
+        ORDER BY c.popularityScore DESC, c.createdAt DESC, c.id DESC
+        """)
+    List<Community> findPopularAfter(@Param("keyword") String keyword,
+                                     @Param("tag") String tag,
+                                     @Param("authorId") Long authorId,
+                                     @Param("bookmarkUserId") Long bookmarkUserId,
+                                     @Param("cursorScore") Double cursorScore,
+                                     @Param("cursorAt") LocalDateTime cursorAt,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable limit);
 }
@@ -2,17 +2,39 @@ package com.community.demo.repository;
 
 import com.community.demo.domain.user.EnrollMode;
 import com.community.demo.domain.user.EnrollRecord;
+import com.community.demo.dto.enroll.EnrollBestRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface EnrollRecordRepository extends JpaRepository<EnrollRecord, Long> {
     List<EnrollRecord> findTop5ByUserIdAndModeOrderByFinishedAtDesc(Long userId, EnrollMode mode);
 
-    @Query("select avg(r.durationMs) from EnrollRecord r where r.mode = :mode")
-    Double averageByMode(EnrollMode mode);
-
 //    @Query("select avg(r.durationMs) from EnrollRecord r where r.mode = :mode and r.user.id <> :userId")
 //    Double averageByModeExcludingUser(EnrollMode mode, Long userId);
+
+    // 리더보드 적재 기준점: 지금까지 저장된 가장 큰 id (없으면 0)
+    @Query("select coalesce(max(r.id), 0) from EnrollRecord r")
+    long findMaxId();
+
+    // 리더보드 적재: id <= maxId 기록 중 (사용자, 모드)별 최고 기록 (같은 최고 기록이 여러 건이면 모두 반환 → 적재 쪽에서 먼저 낸 기록만 남김)
+    @Query("""
+        select new com.community.demo.dto.enroll.EnrollBestRow(r.mode, u.id, u.username, u.department, r.durationMs, r.finishedAt)
+        from EnrollRecord r join r.user u
+        where r.id <= :maxId
+          and r.durationMs = (select min(r2.durationMs) from EnrollRecord r2
+                              where r2.user = r.user and r2.mode = r.mode and r2.id <= :maxId)
+        """)
+    List<EnrollBestRow> findBestRowsPerUserAndMode(@Param("maxId") long maxId);
+
+    // 리더보드 적재: id <= maxId 기록 중 since 이후 기록 전체 (오늘 보드용)
+    @Query("""
+        select new com.community.demo.dto.enroll.EnrollBestRow(r.mode, u.id, u.username, u.department, r.durationMs, r.finishedAt)
+        from EnrollRecord r join r.user u
+        where r.finishedAt >= :since and r.id <= :maxId
+        """)
+    List<EnrollBestRow> findRowsFinishedSince(@Param("since") Instant since, @Param("maxId") long maxId);
 }
@@ -3,14 +3,19 @@ package com.community.demo.repository;
 import com.community.demo.domain.notice.Notice;
 import com.community.demo.domain.notice.NoticeType;
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.NoticeAuthorRow;
+import com.community.demo.dto.notice.NoticeFileRow;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -112,12 +117,95 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
                                           Pageable pageable);
 
 
+    // 알림 발송 작업 시작 시 아직 남아 있는 공지 id
+    @Query("select n.id from Notice n where n.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 크롤링 원본 키로 공지사항을 조회합니다. (재수집 시 기존 공지 식별, uk_notices_external_key)
+     */
+    Optional<Notice> findByExternalKey(String externalKey);
+
+    // 일괄 수집: 청크의 원본 키로 기존 공지를 한 번에 조회
+    List<Notice> findByExternalKeyIn(Collection<String> externalKeys);
+
+    // 일괄 수집: 원본 키가 없는 이전 공지를 제목으로 한 번에 조회
+    List<Notice> findByNoticeTypeAndExternalKeyIsNullAndTitleIn(NoticeType noticeType, Collection<String> titles);
+
+    // 변경 없는 재수집에서 비어 있던 원본 키/본문 해시만 채움 (벌크 UPDATE 라 @PreUpdate 의 updatedAt 갱신 없음)
+    @Modifying(flushAutomatically = true)
+    @Query("update Notice n set n.externalKey = :externalKey, n.contentHash = :contentHash where n.id = :id")
+    int updateFingerprint(@Param("id") Long id,
+                          @Param("externalKey") String externalKey,
+                          @Param("contentHash") String contentHash);
+
     /**
-     * '제목'과 '타입'으로 공지사항을 조회합니다. (Update 로직에서 사용)
+     * 원본 키가 아직 없는(키 도입 이전에 저장된) 공지를 '제목'과 '타입'으로 조회합니다.
+     * 찾으면 호출자가 원본 키를 채워 두므로 이후에는 findByExternalKey 로만 찾습니다.
      * @param title 공지사항 제목
      * @param noticeType 공지사항 타입 (SCHOOL)
-     * @return
      */
-    Optional<Notice> findByTitleAndNoticeType(String title, NoticeType noticeType);
+    Optional<Notice> findFirstByTitleAndNoticeTypeAndExternalKeyIsNullOrderByIdDesc(String title, NoticeType noticeType);
+
+    // ===== 목록 조회용 일괄 로딩: 페이지 단위로 쿼리 1회씩 (행마다 lazy 로딩하지 않도록) =====
+
+    @Query("""
+    select distinct new com.community.demo.dto.notice.NoticeAuthorRow(a.id, a.username, a.department, a.roleType, a.profileImageUrl)
+    from Notice n join n.author a
+    where n.id in :noticeIds
+    """)
+    List<NoticeAuthorRow> findAuthorRowsByNoticeIds(@Param("noticeIds") Collection<Long> noticeIds);
+
+    @Query("""
+    select new com.community.demo.dto.notice.NoticeFileRow(i.notice.id, i.id, i.imageUrl)
+    from NoticeImage i
+    where i.notice.id in :noticeIds
+    order by i.id asc
+    """)
+    List<NoticeFileRow> findImageRowsByNoticeIds(@Param("noticeIds") Collection<Long> noticeIds);
+
+    @Query("""
+    select new com.community.demo.dto.notice.NoticeFileRow(f.notice.id, f.id, f.fileUrl)
+    from Attachment f
+    where f.notice.id in :noticeIds
+    order by f.id asc
+    """)
+    List<NoticeFileRow> findAttachmentRowsByNoticeIds(@Param("noticeIds") Collection<Long> noticeIds);
+
+    // 검색 색인 후보 확인용: 후보 id 중 목록 검색(LIKE)과 같은 조건에 실제로 맞는 id
+    @Query("""
+    select n.id from Notice n
+    where n.id in :ids
+      and ( lower(n.title) like lower(concat('%', :keyword, '%'))
+            or lower(n.text)  like lower(concat('%', :keyword, '%')) )
+    """)
+    List<Long> findIdsMatchingKeyword(@Param("ids") Collection<Long> ids, @Param("keyword") String keyword);
+
+    // 검색 색인 전체 건수용: 후보 id 중 같은 조건에 맞는 개수 (페이지에 필요 없는 나머지 후보)
+    @Query("""
+    select count(n) from Notice n
+    where n.id in :ids
+      and ( lower(n.title) like lower(concat('%', :keyword, '%'))
+            or lower(n.text)  like lower(concat('%', :keyword, '%')) )
+    """)
+    long countIdsMatchingKeyword(@Param("ids") Collection<Long> ids, @Param("keyword") String keyword);
+
+    // 검색 색인 재구성용: id 기준 키셋 배치 조회
+    @Query("select n from Notice n where n.id > :afterId order by n.id asc")
+    List<Notice> findBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 커서(keyset) 페이징: (createdAt, id) 내림차순, count 쿼리 없음. 인덱스 idx_notices_created / idx_notices_dept_created
+    @Query("""
+    select n from Notice n
+    where (:departments is null or n.department in :departments)
+      and (:cursorId is null
+           or n.createdAt < :cursorAt
+           or (n.createdAt = :cursorAt and n.id < :cursorId))
+    order by n.createdAt desc, n.id desc
+    """)
+    List<Notice> findLatestAfter(@Param("departments") List<String> departments,
+                                 @Param("cursorAt") LocalDateTime cursorAt,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable limit);
 
 }
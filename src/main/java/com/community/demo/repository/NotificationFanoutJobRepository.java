@@ -0,0 +1,51 @@
+package com.community.demo.repository;
+
+import com.community.demo.domain.notice.FanoutStatus;
+import com.community.demo.domain.notice.NotificationFanoutJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationFanoutJobRepository extends JpaRepository<NotificationFanoutJob, Long> {
+
+    // 처리 대상 작업 id 를 오래된 순으로: 대기 중이거나, 처리 중이지만 임대가 끝난(인스턴스가 죽은) 작업
+    @Query("""
+    select j.id from NotificationFanoutJob j
+    where j.status = com.community.demo.domain.notice.FanoutStatus.PENDING
+       or (j.status = com.community.demo.domain.notice.FanoutStatus.RUNNING
+           and (j.leaseUntil is null or j.leaseUntil < :now))
+    order by j.id asc
+    """)
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable limit);
+
+    // 선점: 위 조건을 만족할 때만 RUNNING + 소유자/임대 기록. 1행이 바뀐 인스턴스만 처리 (동시에 시도해도 한 곳만 성공)
+    @Modifying
+    @Query("""
+    update NotificationFanoutJob j
+       set j.status = com.community.demo.domain.notice.FanoutStatus.RUNNING,
+           j.owner = :owner, j.leaseUntil = :leaseUntil
+     where j.id = :id
+       and (j.status = com.community.demo.domain.notice.FanoutStatus.PENDING
+            or (j.status = com.community.demo.domain.notice.FanoutStatus.RUNNING
+                and (j.leaseUntil is null or j.leaseUntil < :now)))
+    """)
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 청크 트랜잭션용: 작업 행을 잠그고 읽음 (선점 확인·커서 갱신이 끝날 때까지 다른 인스턴스의 선점/청크가 대기)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from NotificationFanoutJob j where j.id = :id")
+    Optional<NotificationFanoutJob> findByIdForUpdate(@Param("id") Long id);
+
+    List<NotificationFanoutJob> findTop20ByOrderByIdDesc();
+
+    long countByStatus(FanoutStatus status);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -64,10 +65,20 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     int markAsReadByReceiverAndNotice(@Param("receiver") User receiver,
                                       @Param("noticeId") Long noticeId);
 
-
-
-    
-
-
-
+    // 커서(keyset) 페이징: 미읽음 먼저 → 최신순. (read, createdAt, id) 를 커서로 사용, count 쿼리 없음
+    @EntityGraph(attributePaths = {"notice", "notice.author"})
+    @Query("""
+        select n from Notification n
+        where n.receiver.id = :receiverId
+          and (:cursorId is null
+               or (:cursorRead = false and n.read = true)
+               or (n.read = :cursorRead
+                   and (n.createdAt < :cursorAt or (n.createdAt = :cursorAt and n.id < :cursorId))))
+        order by n.read asc, n.createdAt desc, n.id desc
+    """)
+    List<Notification> findUnreadFirstAfter(@Param("receiverId") Long receiverId,
+                                            @Param("cursorRead") Boolean cursorRead,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable limit);
 }
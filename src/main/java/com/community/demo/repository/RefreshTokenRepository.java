@@ -0,0 +1,37 @@
+package com.community.demo.repository;
+
+import com.community.demo.domain.auth.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 회전: 아직 사용되지 않은 토큰만 1건 폐기 (동시 재발급/다중 인스턴스에서도 한 요청만 성공)
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.tokenHash = :hash and t.revoked = false")
+    int consume(@Param("hash") String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.userId = :userId and t.revoked = false")
+    int revokeAllOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.userId = :userId and t.deviceId = :deviceId and t.revoked = false")
+    int revokeDevice(@Param("userId") Long userId, @Param("deviceId") String deviceId);
+
+    // 만료 행 일괄 삭제 (한 번에 limit 건씩 — 긴 락 방지)
+    @Modifying
+    @Query(value = "delete from refresh_tokens where expires_at < :now limit :limit", nativeQuery = true)
+    int purgeExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
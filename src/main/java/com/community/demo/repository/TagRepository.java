@@ -0,0 +1,17 @@
+package com.community.demo.repository;
+
+import com.community.demo.domain.community.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    Optional<Tag> findByName(String name);
+
+    // 자동완성 트라이 적재용 (글이 하나도 없는 태그는 제외)
+    @Query("SELECT t FROM Tag t WHERE t.postCount > 0")
+    List<Tag> findAllInUse();
+}
@@ -2,10 +2,14 @@ package com.community.demo.repository;
 
 import com.community.demo.domain.user.RoleType;
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.UsernameIdRow;
+import com.community.demo.jwt.AuthPrincipal;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     List<User> findByDepartmentAndRoleType(@NotBlank String department, RoleType roleType);
 
+    // JWT 인증용 요약 정보 (필요한 컬럼만 1회 조회)
+    @Query("""
+        select new com.community.demo.jwt.AuthPrincipal(u.id, u.username, u.roleType, u.roleStatus, u.department, u.profileImageUrl)
+        from User u
+        where u.id = :id
+        """)
+    Optional<AuthPrincipal> findAuthPrincipalById(@Param("id") Long id);
+
+    // 크롤링 일괄 수집: 학과 계정(username = 학과명) id 를 한 번에 조회 (엔티티 로딩 없음)
+    @Query("""
+        select new com.community.demo.dto.notice.UsernameIdRow(u.id, u.username)
+        from User u
+        where u.username in :usernames
+        """)
+    List<UsernameIdRow> findIdRowsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
 }
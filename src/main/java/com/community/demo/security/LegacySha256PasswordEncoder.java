@@ -0,0 +1,52 @@
+package com.community.demo.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 기존 방식(솔트 없는 SHA-256 hex) 검증 전용 인코더.
+ * {id} 접두어가 없는 예전 해시를 검증하는 데만 쓰이고, 로그인 성공 시 현재 알고리즘으로 재해싱된다.
+ */
+public class LegacySha256PasswordEncoder implements PasswordEncoder {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return toHex(sha256(rawPassword.toString()));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() != 64) return false;
+        byte[] expected = encode(rawPassword).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = encodedPassword.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);    // 상수 시간 비교
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return true;    // 항상 재해싱 대상
+    }
+
+    private static byte[] sha256(String raw) {
+        try {
+            // 기존 PasswordUtil 과 동일하게 플랫폼 기본 charset 사용 (기존 해시와 호환)
+            return MessageDigest.getInstance("SHA-256").digest(raw.getBytes());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            out[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(out);
+    }
+}
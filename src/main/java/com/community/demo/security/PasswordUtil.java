@@ -1,21 +0,0 @@
-package com.community.demo.security;
-
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-
-public class PasswordUtil {
-
-    public static String hashPassword(String password){ // 패스워드 해싱 SHA - 256 사용
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(password.getBytes());
-            StringBuffer sb = new StringBuffer();
-            for (byte b : hash) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-    }
-}
@@ -0,0 +1,90 @@
+package com.community.demo.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 인코더. 저장 형식: iterations$salt(base64)$hash(base64)
+ * 반복 횟수를 해시와 함께 저장하므로 cost 를 올려도 기존 해시는 그대로 검증되고,
+ * 설정값보다 낮은 반복 횟수로 만든 해시는 upgradeEncoding()=true 로 로그인 시 재해싱된다.
+ */
+public class Pbkdf2Sha256PasswordEncoder implements PasswordEncoder {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final Base64.Encoder B64 = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getDecoder();
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2Sha256PasswordEncoder(int iterations) {
+        if (iterations < 1) throw new IllegalArgumentException("iterations must be positive");
+        this.iterations = iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+        return iterations + "$" + B64.encodeToString(salt) + "$" + B64.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Parsed p = parse(encodedPassword);
+        if (p == null) return false;
+        byte[] actual = derive(rawPassword, p.salt(), p.iterations());
+        return MessageDigest.isEqual(p.hash(), actual);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Parsed p = parse(encodedPassword);
+        return p == null || p.iterations() < iterations;
+    }
+
+    private record Parsed(int iterations, byte[] salt, byte[] hash) {}
+
+    private static Parsed parse(String encoded) {
+        if (encoded == null) return null;
+        int a = encoded.indexOf('$');
+        int b = (a < 0) ? -1 : encoded.indexOf('$', a + 1);
+        if (a <= 0 || b < 0) return null;
+        try {
+            return new Parsed(
+                    Integer.parseInt(encoded, 0, a, 10),
+                    B64D.decode(encoded.substring(a + 1, b)),
+                    B64D.decode(encoded.substring(b + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] derive(CharSequence raw, byte[] salt, int iterations) {
+        char[] chars = raw.toString().toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 unavailable", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.community.demo.service.auth;
+
+import com.community.demo.domain.auth.RefreshToken;
+import com.community.demo.repository.RefreshTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB(refresh_tokens) 기반 리프레시 토큰 저장소.
+ * - 토큰 원문 대신 SHA-256 해시만 저장 (unique 인덱스로 조회)
+ * - 회전은 "revoked=false 인 행만 revoked=true 로" 조건부 UPDATE 1회로 처리 → 여러 인스턴스에서도 한 번만 성공
+ * - 앞단 캐시는 토큰의 불변 정보(사용자/기기/family/만료)만 보관. 유효 여부는 항상 DB 의 조건부 UPDATE 가 결정
+ * - 만료 행은 주기적으로 limit 단위 일괄 삭제
+ */
+@Slf4j
+@Component
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private static final int PURGE_BATCH = 5000;
+
+    private final RefreshTokenRepository repository;
+    private final TransactionTemplate tx;
+    private final int cacheMaxEntries;
+    private final long purgeIntervalMinutes;
+
+    private final ConcurrentHashMap<String, Consumed> metaByHash = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "refresh-token-purge");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public JpaRefreshTokenStore(RefreshTokenRepository repository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.refresh-token.cache-max-entries:20000}") int cacheMaxEntries,
+                                @Value("${app.refresh-token.purge-interval-minutes:60}") long purgeIntervalMinutes) {
+        this.repository = repository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.cacheMaxEntries = Math.max(1, cacheMaxEntries);
+        this.purgeIntervalMinutes = Math.max(1, purgeIntervalMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurger() {
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                int n = purgeExpired();
+                if (n > 0) log.info("[REFRESH] 만료 토큰 {}건 삭제", n);
+            } catch (Exception e) {
+                log.warn("[REFRESH] 만료 토큰 삭제 실패: {}", e.toString());
+            }
+        }, 1, purgeIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    @Transactional
+    public void save(Long userId, String deviceId, String familyId, String refreshToken, Instant expiresAt) {
+        String hash = hash(refreshToken);
+        repository.save(new RefreshToken(hash, userId, deviceId, familyId, expiresAt));
+        cache(hash, new Consumed(userId, deviceId, familyId, expiresAt));
+    }
+
+    @Override
+    @Transactional
+    public Optional<Consumed> consume(String refreshToken) {
+        String hash = hash(refreshToken);
+
+        if (repository.consume(hash) == 1) {
+            Consumed meta = metaByHash.remove(hash);     // 소비된 토큰은 더 이상 캐시할 필요 없음
+            if (meta == null) {
+                meta = repository.findByTokenHash(hash)
+                        .map(t -> new Consumed(t.getUserId(), t.getDeviceId(), t.getFamilyId(), t.getExpiresAt()))
+                        .orElse(null);
+            }
+            if (meta == null || !meta.expiresAt().isAfter(Instant.now())) return Optional.empty();
+            return Optional.of(meta);
+        }
+
+        // 소비 실패: 모르는 토큰이거나 이미 회전/폐기된 토큰
+        metaByHash.remove(hash);
+        Optional<RefreshToken> existing = repository.findByTokenHash(hash);
+        if (existing.isPresent()) {
+            RefreshToken t = existing.get();
+            int revoked = repository.revokeFamily(t.getFamilyId());
+            log.warn("[REFRESH] 이미 사용된 리프레시 토큰 재사용 감지 userId={} device={} → family 폐기 {}건",
+                    t.getUserId(), t.getDeviceId(), revoked);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @Transactional
+    public void revokeDevice(Long userId, String deviceId) {
+        repository.revokeDevice(userId, deviceId);
+        metaByHash.values().removeIf(m -> m.userId().equals(userId) && m.deviceId().equals(deviceId));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        repository.revokeAllOfUser(userId);
+        metaByHash.values().removeIf(m -> m.userId().equals(userId));
+    }
+
+    @Override
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        metaByHash.values().removeIf(m -> !m.expiresAt().isAfter(now));
+
+        int total = 0;
+        while (true) {
+            Integer n = tx.execute(status -> repository.purgeExpired(now, PURGE_BATCH));
+            if (n == null || n == 0) break;
+            total += n;
+            if (n < PURGE_BATCH) break;
+        }
+        return total;
+    }
+
+    private void cache(String hash, Consumed meta) {
+        if (metaByHash.size() >= cacheMaxEntries) {
+            Instant now = Instant.now();
+            metaByHash.values().removeIf(m -> !m.expiresAt().isAfter(now));
+            // 그래도 가득 차 있으면 1/10 정도를 임의로 제거 (캐시는 조회 최적화용이라 빠져도 DB 에서 다시 읽음)
+            int excess = metaByHash.size() - cacheMaxEntries + Math.max(1, cacheMaxEntries / 10);
+            Iterator<String> it = metaByHash.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        metaByHash.put(hash, meta);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
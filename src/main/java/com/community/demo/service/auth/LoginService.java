@@ -4,18 +4,18 @@ import com.community.demo.domain.auth.EmailAuthCode;
 import com.community.demo.domain.user.RoleStatus;
 import com.community.demo.domain.user.RoleType;
 import com.community.demo.domain.user.User;
+import com.community.demo.jwt.AuthPrincipalCache;
 import com.community.demo.jwt.JwtUtil;
 import com.community.demo.repository.EmailAuthCodeRepository;
 import com.community.demo.repository.UserRepository;
-import com.community.demo.security.PasswordUtil;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class LoginService {
@@ -24,17 +24,24 @@ public class LoginService {
     private final JwtUtil jwtUtil;
     private final EmailAuthCodeRepository emailAuthCodeRepository;
     private final EmailService emailService;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final PasswordHashingService passwordHashingService;
 
 
-    // 메모리 기반 Refresh Token 저장소 (실제 서비스에선 DB 또는 Redis)
-    private final Map<Long, String> refreshTokenStore = new ConcurrentHashMap<>();
+    // Refresh Token 저장소 (DB 기반, 기기별 발급 + 회전)
+    private final RefreshTokenStore refreshTokenStore;
 
 
-    public LoginService(UserRepository userRepository, JwtUtil jwtUtil, EmailAuthCodeRepository emailAuthCodeRepository, EmailService emailService) {
+    public LoginService(UserRepository userRepository, JwtUtil jwtUtil, EmailAuthCodeRepository emailAuthCodeRepository, EmailService emailService,
+                        AuthPrincipalCache authPrincipalCache, PasswordHashingService passwordHashingService,
+                        RefreshTokenStore refreshTokenStore) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
         this.emailAuthCodeRepository = emailAuthCodeRepository;
         this.emailService = emailService;
+        this.authPrincipalCache = authPrincipalCache;
+        this.passwordHashingService = passwordHashingService;
+        this.refreshTokenStore = refreshTokenStore;
     }
 
     private boolean isValidEmail(String email) {    //이메일 형식은 ~~@yiu.ac.kr 형식 고정
@@ -118,12 +125,12 @@ public class LoginService {
             throw new IllegalStateException("이메일 인증이 완료되지 않았습니다.");
         }
 
-        String hashedPassword = PasswordUtil.hashPassword(password);
+        String hashedPassword = passwordHashingService.encode(password);
         User user = new User(username, hashedPassword, email, student_number, roleType, department);
         userRepository.save(user);
     }
 
-    public ResponseEntity<?> login(String email, String password) {
+    public ResponseEntity<?> login(String email, String password, String deviceId) {
 
         // 사용자를 찾고, 없을 경우 Optional로 받습니다.
         Optional<User> optionalUser = userRepository.findByEmail(email);
@@ -136,19 +143,29 @@ public class LoginService {
         }
 
         User user = optionalUser.get();
-        String hashedPassword = PasswordUtil.hashPassword(password);
 
         // 비밀번호가 일치하지 않을 경우 401 Unauthorized 응답을 반환
-        if (!user.getPassword().equals(hashedPassword)) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED) // 401 Unauthorized 상태 코드
                     .body("비밀번호가 일치하지 않습니다.");
         }
 
+        // 기존 SHA-256 해시(또는 낮은 cost)면 방금 확인한 평문으로 현재 알고리즘 해시로 교체
+        if (passwordHashingService.needsUpgrade(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+            userRepository.save(user);
+            passwordHashingService.recordUpgrade();
+        }
+
         // 로그인 성공 시 토큰과 함께 200 OK 응답을 반환
         String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getRoleType());
         String refreshToken = jwtUtil.generateRefreshToken(user.getId());
-        refreshTokenStore.put(user.getId(), refreshToken);
+
+        // 같은 기기의 기존 세션은 폐기하고 새 family 로 발급 (다른 기기 세션은 유지)
+        String device = normalizeDeviceId(deviceId);
+        refreshTokenStore.revokeDevice(user.getId(), device);
+        refreshTokenStore.save(user.getId(), device, UUID.randomUUID().toString(), refreshToken, refreshExpiresAt());
 
         Map<String, String> tokens = Map.of(
                 "accessToken", accessToken,
@@ -160,14 +177,16 @@ public class LoginService {
 
 
     //로그아웃
-    public void logout(String authHeader) {
+    public void logout(String authHeader, String deviceId) {
         if(authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인 상태 아님");
         }
 
         String token = authHeader.substring(7); // substring 으로 token 에서 "Bearer " 제거
         Long userId = jwtUtil.validateAccessToken(token);
-        refreshTokenStore.remove(userId);   //refresh Token 제거
+        // refresh Token 제거: 기기 지정 시 해당 기기만, 아니면 전체 기기
+        if (deviceId == null || deviceId.isBlank()) refreshTokenStore.revokeAll(userId);
+        else refreshTokenStore.revokeDevice(userId, normalizeDeviceId(deviceId));
 
     }
     public void resetPassword(String rawEmail, String newPassword) {
@@ -188,8 +207,10 @@ public class LoginService {
         }
 
         // 4. 변경
-        user.setPassword(PasswordUtil.hashPassword(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getId());
+        refreshTokenStore.revokeAll(user.getId());  // 비밀번호 변경 시 모든 기기 로그아웃
     }
 
 
@@ -198,10 +219,10 @@ public class LoginService {
     public Map<String, String> reissue(String refreshToken) {
         Long userId = jwtUtil.validateRefreshToken(refreshToken);
 
-        String savedRefreshToken = refreshTokenStore.get(userId);
-        if (savedRefreshToken == null || !savedRefreshToken.equals(refreshToken)) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "REFRESH 토큰이 일치하지 않음");
-        }
+        // 저장소에서 1회 소비(회전). 이미 사용된 토큰이면 저장소가 family 전체를 폐기함
+        RefreshTokenStore.Consumed consumed = refreshTokenStore.consume(refreshToken)
+                .filter(c -> c.userId().equals(userId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "REFRESH 토큰이 일치하지 않음"));
 
         // userId 로부터 User 조회 (roleType 을 얻기 위해)
         User user = userRepository.findById(userId)
@@ -211,8 +232,8 @@ public class LoginService {
         String newAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getRoleType());
         String newRefreshToken = jwtUtil.generateRefreshToken(user.getId());
 
-        refreshTokenStore.remove(userId);  // 기존 토큰 제거
-        refreshTokenStore.put(userId, newRefreshToken);  // 새 토큰 저장
+        // 같은 기기/family 로 새 토큰 저장 (기존 토큰은 consume 에서 이미 폐기됨)
+        refreshTokenStore.save(userId, consumed.deviceId(), consumed.familyId(), newRefreshToken, refreshExpiresAt());
 
         return Map.of(
                 "accessToken", newAccessToken,
@@ -221,6 +242,16 @@ public class LoginService {
     }
 
     
+    private Instant refreshExpiresAt() {
+        return Instant.now().plusMillis(jwtUtil.getRefreshExpirationMs());
+    }
+
+    private static String normalizeDeviceId(String deviceId) {
+        if (deviceId == null || deviceId.isBlank()) return RefreshTokenStore.DEFAULT_DEVICE;
+        String d = deviceId.trim();
+        return d.length() > 100 ? d.substring(0, 100) : d;
+    }
+
     //관리자 승인 API 예시버전. 로그인 컨트롤러에서 API 추가 필요, 로직 수정 더 필요
     @PatchMapping("/admin/approve/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -229,6 +260,7 @@ public class LoginService {
                 .orElseThrow(() -> new NoSuchElementException("user"));
         user.setRoleStatus(RoleStatus.ACTIVE);
         userRepository.save(user);
+        authPrincipalCache.invalidate(userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,152 @@
+package com.community.demo.service.auth;
+
+import com.community.demo.security.LegacySha256PasswordEncoder;
+import com.community.demo.security.Pbkdf2Sha256PasswordEncoder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비밀번호 해싱 서비스.
+ * - 알고리즘은 app.password.algorithm 으로 선택 (pbkdf2-sha256 / bcrypt), 저장값은 "{id}해시" 형식
+ * - {id} 가 없는 기존 SHA-256 hex 해시도 검증하며, needsUpgrade()가 true 면 로그인 성공 시 재해싱
+ * - 해싱은 전용 bounded 풀에서 실행: 학기 초 로그인 폭주 시에도 CPU 를 쓰는 작업 수가 제한되고,
+ *   대기열이 가득 차면 요청 스레드를 붙잡아 두지 않고 즉시 503 으로 거절
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final String algorithm;
+    private final int pbkdf2Iterations;
+    private final int bcryptStrength;
+    private final int threads;
+    private final DelegatingPasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+
+    // ===== 메트릭 =====
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upgraded = new LongAdder();
+
+    public PasswordHashingService(@Value("${app.password.algorithm:pbkdf2-sha256}") String algorithm,
+                                  @Value("${app.password.pbkdf2.iterations:210000}") int pbkdf2Iterations,
+                                  @Value("${app.password.bcrypt.strength:10}") int bcryptStrength,
+                                  @Value("${app.password.hash-threads:0}") int hashThreads,
+                                  @Value("${app.password.hash-queue:64}") int hashQueue) {
+        this.algorithm = algorithm;
+        this.pbkdf2Iterations = pbkdf2Iterations;
+        this.bcryptStrength = bcryptStrength;
+
+        Map<String, PasswordEncoder> encoders = supportedEncoders(pbkdf2Iterations, bcryptStrength);
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("지원하지 않는 비밀번호 알고리즘: " + algorithm + " (지원: " + encoders.keySet() + ")");
+        }
+        this.encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        this.encoder.setDefaultPasswordEncoderForMatches(new LegacySha256PasswordEncoder()); // {id} 없는 기존 해시
+
+        // 기본값: 코어 수의 절반 (최소 1) — 나머지 코어는 일반 요청 처리에 남겨 둠
+        this.threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, hashQueue)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static Map<String, PasswordEncoder> supportedEncoders(int pbkdf2Iterations, int bcryptStrength) {
+        Map<String, PasswordEncoder> m = new HashMap<>();
+        m.put("pbkdf2-sha256", new Pbkdf2Sha256PasswordEncoder(pbkdf2Iterations));
+        m.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // ===== API =====
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) return false;
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 현재 알고리즘/cost 가 아닌 해시인지 (기존 SHA-256, 낮은 반복 횟수 등). 계산 없이 형식만 확인
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public void recordUpgrade() {
+        upgraded.increment();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> f;
+        try {
+            f = pool.submit(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    totalNanos.add(System.nanoTime() - t0);
+                    operations.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            f.cancel(true);
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // ===== 관리 =====
+
+    public Map<String, Object> stats() {
+        long ops = operations.sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("algorithm", algorithm);
+        m.put("pbkdf2Iterations", pbkdf2Iterations);
+        m.put("bcryptStrength", bcryptStrength);
+        m.put("threads", threads);
+        m.put("active", pool.getActiveCount());
+        m.put("queued", pool.getQueue().size());
+        m.put("queueCapacity", pool.getQueue().size() + pool.getQueue().remainingCapacity());
+        m.put("operations", ops);
+        m.put("avgMs", ops == 0 ? null : Math.round(totalNanos.sum() / (double) ops / 10_000.0) / 100.0);
+        m.put("rejected", rejected.sum());
+        m.put("legacyHashesUpgraded", upgraded.sum());
+        return m;
+    }
+}
@@ -0,0 +1,32 @@
+package com.community.demo.service.auth;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 리프레시 토큰 저장소.
+ * 토큰은 (사용자, 기기) 단위로 발급되고, 재발급할 때마다 같은 family 안에서 새 토큰으로 회전된다.
+ */
+public interface RefreshTokenStore {
+
+    String DEFAULT_DEVICE = "default";
+
+    /** 발급된 리프레시 토큰 등록 */
+    void save(Long userId, String deviceId, String familyId, String refreshToken, Instant expiresAt);
+
+    /**
+     * 재발급용으로 토큰을 1회 소비(회전).
+     * 처음 쓰이는 유효한 토큰이면 소유 정보를 반환하고, 모르는 토큰이면 empty.
+     * 이미 소비된 토큰이 다시 오면 탈취로 보고 같은 family 전체를 폐기한 뒤 empty.
+     */
+    Optional<Consumed> consume(String refreshToken);
+
+    void revokeDevice(Long userId, String deviceId);
+
+    void revokeAll(Long userId);
+
+    /** 만료된 토큰 삭제, 삭제 건수 반환 */
+    int purgeExpired();
+
+    record Consumed(Long userId, String deviceId, String familyId, Instant expiresAt) {}
+}
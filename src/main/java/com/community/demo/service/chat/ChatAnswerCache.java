@@ -0,0 +1,300 @@
+package com.community.demo.service.chat;
+
+import com.community.demo.domain.user.ChatQA;
+import com.community.demo.repository.BotFileRepository;
+import com.community.demo.repository.ChatQARepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 챗봇 답변 캐시 (FastAPI 호출 앞단).
+ * - 1단계: 정규화한 질문(NFKC, 소문자, 공백/문장부호 제거) 완전 일치
+ * - 2단계: 최근 질문들과 문자 n-gram Jaccard 유사도 비교, 임계값 이상이면 가장 비슷한 답변 재사용
+ * - TTL, 최대 개수(LRU) 제한. 챗봇 문서 컬렉션 재구성(saveAndForward) 시 전체 무효화
+ * - 기동 시 최근 ChatQA(마지막 재구성 이후 + TTL 이내)로 채움
+ */
+@Slf4j
+@Component
+public class ChatAnswerCache {
+
+    // 이보다 짧은 질문은 유사도 비교 없이 완전 일치만 ("학점?" 같은 짧은 질문은 오탐 위험이 큼)
+    private static final int MIN_FUZZY_LENGTH = 6;
+
+    private final ChatQARepository chatQARepository;
+    private final BotFileRepository botFileRepository;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final int ngram;
+    private final double threshold;
+
+    // 접근 순서 LinkedHashMap = LRU. 아래 필드는 this 로 보호
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // 조회(FastAPI 호출) 도중 무효화가 일어나면 이전 문서 기준 답변을 넣지 않도록 세대 번호로 확인
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder similarHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder savedMs = new LongAdder();
+
+    /** 캐시 적중 결과. similarity 는 완전 일치면 1.0 */
+    public record Hit(String answer, Long sourceQaId, double similarity, long fastApiMs) {}
+
+    private static final class Entry {
+        final String answer;
+        final Long sourceQaId;
+        final int[] grams;          // 정렬된 n-gram 해시 (중복 제거)
+        final long expiresAtNanos;
+        long fastApiMs;             // 원래 FastAPI 응답에 걸린 시간 (절약 시간 계산용)
+
+        Entry(String answer, Long sourceQaId, int[] grams, long expiresAtNanos, long fastApiMs) {
+            this.answer = answer;
+            this.sourceQaId = sourceQaId;
+            this.grams = grams;
+            this.expiresAtNanos = expiresAtNanos;
+            this.fastApiMs = fastApiMs;
+        }
+    }
+
+    public ChatAnswerCache(ChatQARepository chatQARepository,
+                           BotFileRepository botFileRepository,
+                           @Value("${app.chat-cache.enabled:true}") boolean enabled,
+                           @Value("${app.chat-cache.ttl-minutes:1440}") long ttlMinutes,
+                           @Value("${app.chat-cache.max-entries:5000}") int maxEntries,
+                           @Value("${app.chat-cache.ngram:2}") int ngram,
+                           @Value("${app.chat-cache.similarity-threshold:0.85}") double threshold) {
+        this.chatQARepository = chatQARepository;
+        this.botFileRepository = botFileRepository;
+        this.enabled = enabled && ttlMinutes > 0;
+        this.ttlNanos = Duration.ofMinutes(Math.max(0, ttlMinutes)).toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ngram = Math.max(1, ngram);
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("app.chat-cache.similarity-threshold 는 (0, 1] 범위여야 합니다: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    // ===== 조회/저장 =====
+
+    /** 캐시된 답변. 없으면 null */
+    public Hit lookup(String question) {
+        if (!enabled) return null;
+        String key = normalize(question);
+        if (key.isEmpty()) return null;
+
+        long now = System.nanoTime();
+        Hit hit = null;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null && now - e.expiresAtNanos >= 0) {
+                entries.remove(key);
+                e = null;
+            }
+            if (e != null) {
+                hit = new Hit(e.answer, e.sourceQaId, 1.0, e.fastApiMs);
+            } else if (key.length() >= MIN_FUZZY_LENGTH) {
+                hit = mostSimilar(grams(key), now);
+            }
+        }
+
+        if (hit == null) {
+            misses.increment();
+        } else {
+            (hit.similarity() >= 1.0 ? exactHits : similarHits).increment();
+            savedMs.add(hit.fastApiMs());
+        }
+        return hit;
+    }
+
+    // FastAPI 호출 전에 받아 두고 put() 에 넘김
+    public long generation() {
+        return generation.get();
+    }
+
+    /** FastAPI 답변 저장. 호출 이후 무효화가 있었으면(gen 불일치) 버림 */
+    public void put(String question, String answer, Long qaId, long fastApiMs, long gen) {
+        if (!enabled || answer == null || answer.isBlank()) return;
+        String key = normalize(question);
+        if (key.isEmpty()) return;
+        synchronized (this) {
+            if (generation.get() != gen) return;
+            entries.put(key, new Entry(answer, qaId, grams(key), System.nanoTime() + ttlNanos, fastApiMs));
+            trim(System.nanoTime());
+        }
+    }
+
+    /** 문서 컬렉션이 바뀌어 기존 답변이 틀릴 수 있을 때. 트랜잭션 중이면 커밋 후 한 번 더 비움 */
+    public void invalidateAll() {
+        clearNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clearNow();
+                }
+            });
+        }
+    }
+
+    private synchronized void clearNow() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    // 가장 비슷한 항목. 크기 비율이 임계값보다 작으면 Jaccard 상한도 그보다 작으므로 교집합 계산 생략
+    private Hit mostSimilar(int[] q, long now) {
+        Entry best = null;
+        double bestSim = threshold;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry e = it.next();
+            if (now - e.expiresAtNanos >= 0) {
+                it.remove();
+                continue;
+            }
+            int a = q.length, b = e.grams.length;
+            if (Math.min(a, b) < bestSim * Math.max(a, b)) continue;
+            double sim = jaccard(q, e.grams);
+            if (sim >= bestSim) {
+                best = e;
+                bestSim = sim;
+            }
+        }
+        if (best == null) return null;
+        return new Hit(best.answer, best.sourceQaId, Math.min(bestSim, 0.9999), best.fastApiMs);
+    }
+
+    private void trim(long now) {
+        if (entries.size() <= maxEntries) return;
+        entries.values().removeIf(e -> now - e.expiresAtNanos >= 0);
+        // 만료 항목만으로 부족하면 가장 오래 안 쓰인 것부터 제거
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // ===== 기동 시 채우기 =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        try {
+            LocalDateTime since = LocalDateTime.now().minusNanos(ttlNanos);
+            LocalDateTime lastRebuild = botFileRepository.findLatestCreatedAt();
+            if (lastRebuild != null && lastRebuild.isAfter(since)) since = lastRebuild;
+
+            long gen = generation.get();
+            List<ChatQA> recent = chatQARepository.findRecentSince(since, PageRequest.of(0, maxEntries));
+            int loaded = 0;
+            synchronized (this) {
+                if (generation.get() != gen) return;
+                long now = System.nanoTime();
+                LocalDateTime wallNow = LocalDateTime.now();
+                // 최신순으로 읽으므로 같은 질문은 가장 최근 답변이 남음
+                for (ChatQA qa : recent) {
+                    String key = normalize(qa.getQuestion());
+                    if (key.isEmpty() || qa.getAnswer() == null || qa.getAnswer().isBlank()) continue;
+                    long fastApiMs = qa.getLatencyMs() == null ? 0 : qa.getLatencyMs();
+                    Entry existing = entries.get(key);
+                    if (existing != null) {
+                        // 캐시 적중으로 저장된 행은 latency 가 0 에 가까우므로 원래 FastAPI 시간을 유지
+                        existing.fastApiMs = Math.max(existing.fastApiMs, fastApiMs);
+                        continue;
+                    }
+                    long ageNanos = qa.getCreatedAt() == null ? 0 : Duration.between(qa.getCreatedAt(), wallNow).toNanos();
+                    entries.put(key, new Entry(qa.getAnswer(), qa.getId(), grams(key), now + ttlNanos - ageNanos, fastApiMs));
+                    loaded++;
+                }
+            }
+            log.info("챗봇 답변 캐시 채움: {}건 (기준 {})", loaded, since);
+        } catch (Exception e) {
+            log.warn("챗봇 답변 캐시 초기화 실패 (빈 캐시로 시작): {}", e.getMessage());
+        }
+    }
+
+    // ===== 유틸 =====
+
+    static String normalize(String question) {
+        if (question == null) return "";
+        String s = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase();
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) sb.appendCodePoint(cp);
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+    private int[] grams(String key) {
+        if (key.length() <= ngram) return new int[]{key.hashCode()};
+        int[] out = new int[key.length() - ngram + 1];
+        for (int i = 0; i < out.length; i++) out[i] = key.substring(i, i + ngram).hashCode();
+        Arrays.sort(out);
+        int n = 0;
+        for (int i = 0; i < out.length; i++) {
+            if (i == 0 || out[i] != out[i - 1]) out[n++] = out[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // 정렬된 두 배열의 교집합 크기로 Jaccard 계산
+    private static double jaccard(int[] a, int[] b) {
+        int i = 0, j = 0, inter = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) { inter++; i++; j++; }
+            else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return inter / (double) (a.length + b.length - inter);
+    }
+
+    // ===== 관리 =====
+
+    public Map<String, Object> stats() {
+        long exact = exactHits.sum();
+        long similar = similarHits.sum();
+        long miss = misses.sum();
+        long total = exact + similar + miss;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("entries", size);
+        out.put("maxEntries", maxEntries);
+        out.put("ttlMinutes", ttlNanos / 60_000_000_000L);
+        out.put("ngram", ngram);
+        out.put("similarityThreshold", threshold);
+        out.put("exactHits", exact);
+        out.put("similarHits", similar);
+        out.put("misses", miss);
+        out.put("hitRate", total == 0 ? null : Math.round((exact + similar) * 10000.0 / total) / 100.0); // %
+        out.put("invalidations", invalidations.sum());
+        out.put("fastApiSecondsSaved", Math.round(savedMs.sum() / 10.0) / 100.0);
+        return out;
+    }
+}
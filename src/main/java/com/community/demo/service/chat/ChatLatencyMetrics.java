@@ -0,0 +1,81 @@
+package com.community.demo.service.chat;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 챗봇 응답 지연 메트릭.
+ * 최근 N건(링 버퍼)의 TTFT(첫 토큰까지)·전체 소요시간으로 평균/p50/p95/p99 를 계산하고, 누적 건수는 카운터로 유지.
+ */
+@Component
+public class ChatLatencyMetrics {
+
+    private static final int WINDOW = 1024;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder streamed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejectedBusy = new LongAdder();
+
+    private final long[] totalMs = new long[WINDOW];
+    private final long[] ttftMs = new long[WINDOW];
+    private int totalCount = 0;     // 이 아래 필드는 this 로 보호
+    private int ttftCount = 0;
+
+    public void recordCompleted(long total, Long ttft, boolean stream) {
+        completed.increment();
+        if (stream) streamed.increment();
+        synchronized (this) {
+            totalMs[totalCount++ % WINDOW] = total;
+            if (ttft != null) ttftMs[ttftCount++ % WINDOW] = ttft;
+        }
+    }
+
+    public void recordFailure() {
+        failed.increment();
+    }
+
+    public void recordBusyRejected() {
+        rejectedBusy.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        long[] total;
+        long[] ttft;
+        synchronized (this) {
+            total = Arrays.copyOf(totalMs, Math.min(totalCount, WINDOW));
+            ttft = Arrays.copyOf(ttftMs, Math.min(ttftCount, WINDOW));
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("completed", completed.sum());
+        m.put("streamed", streamed.sum());
+        m.put("failed", failed.sum());
+        m.put("rejectedBusy", rejectedBusy.sum());
+        m.put("window", WINDOW);
+        m.put("totalMs", summarize(total));
+        m.put("timeToFirstTokenMs", summarize(ttft));
+        return m;
+    }
+
+    private static Map<String, Object> summarize(long[] samples) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("samples", samples.length);
+        if (samples.length == 0) return m;
+        Arrays.sort(samples);
+        m.put("avg", Math.round(Arrays.stream(samples).average().orElse(0)));
+        m.put("p50", percentile(samples, 0.50));
+        m.put("p95", percentile(samples, 0.95));
+        m.put("p99", percentile(samples, 0.99));
+        m.put("max", samples[samples.length - 1]);
+        return m;
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        int idx = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+}
@@ -8,22 +8,28 @@ import com.community.demo.dto.chat.ChatRequest;
 import com.community.demo.dto.chat.ChatResponse;
 import com.community.demo.registry.UserBusyRegistry;
 import com.community.demo.repository.ChatQARepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -34,64 +40,202 @@ public class ChatProxyService {
     private final ChatQARepository chatQARepo;
     private final EntityManager em;
 
+    private final ChatLatencyMetrics metrics;
+    private final ChatAnswerCache answerCache;
+
     @Value("${app.fastapi.path}")
     private String fastApiChatPath;
 
-    public ChatResponse ask(ChatRequest req, Long userId) {
-        long t0 = System.currentTimeMillis();
+    // FastAPI 스트리밍 엔드포인트 (text/event-stream, data 마다 토큰 조각, 마지막에 [DONE] 선택)
+    @Value("${app.fastapi.stream-path:/api/v1/chat/chat/stream}")
+    private String fastApiStreamPath;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String STREAM_DONE = "[DONE]";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_STRING =
+            new ParameterizedTypeReference<>() {};
+
+    /**
+     * 질문-응답 (비동기). Tomcat 스레드를 붙잡지 않도록 Mono 로 반환하고,
+     * FastAPI 응답을 받은 뒤 ChatQA 저장(JPA, 블로킹)은 boundedElastic 에서 수행.
+     * 같은/비슷한 질문의 답변이 캐시에 있으면 FastAPI 를 호출하지 않음.
+     */
+    public Mono<ChatResponse> ask(ChatRequest req, Long userId) {
+        long t0 = System.nanoTime();
+        ChatAnswerCache.Hit hit = answerCache.lookup(req.getQuestion());
+        if (hit != null) {
+            // 캐시 적중: FastAPI 호출 없이 기록만 남김 (락 불필요)
+            return Mono.fromCallable(() -> {
+                        long latency = elapsedMs(t0);
+                        save(userId, req.getQuestion(), hit.answer(), latency, latency);
+                        return new ChatResponse(hit.answer(), latency);
+                    })
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        UserBusyRegistry.Lease lease = acquireOrThrow(userId);
+        Runnable release = () -> busy.release(lease);
+        long gen = answerCache.generation();
+
+        return fastApiWebClient.post()
+                .uri(fastApiChatPath) // "/api/v1/chat/chat"
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new FastApiQuestion(req.getQuestion()))
+                .exchangeToMono(res -> {
+                    if (res.statusCode().is2xxSuccessful()) {
+                        return res.bodyToMono(String.class);
+                    } else {
+                        return res.bodyToMono(String.class).defaultIfEmpty("")
+                                .flatMap(body -> Mono.error(new ResponseStatusException(
+                                        HttpStatus.BAD_GATEWAY,
+                                        "FastAPI " + res.statusCode() + " body=" + body)));
+                    }
+                })
+                .map(raw -> {
+                    // JSON 파싱
+                    String answer;
+                    try {
+                        answer = MAPPER.readTree(raw).path("answer").asText(null);
+                    } catch (Exception e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                                "FastAPI returned non-JSON or unexpected JSON: " + raw, e);
+                    }
+                    if (answer == null) {
+                        throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                                "FastAPI JSON missing 'answer' field: " + raw);
+                    }
+                    return answer;
+                })
+                .publishOn(Schedulers.boundedElastic())
+                .map(answer -> {
+                    long latency = elapsedMs(t0);
+                    // 비스트리밍은 답변 전체가 한 번에 오므로 TTFT = 전체 소요시간
+                    ChatQA saved = save(userId, req.getQuestion(), answer, latency, latency);
+                    metrics.recordCompleted(latency, latency, false);
+                    answerCache.put(req.getQuestion(), answer, saved.getId(), latency, gen);
+                    return new ChatResponse(answer, latency);
+                })
+                .onErrorMap(ChatProxyService::toGatewayError)
+                .doOnError(e -> metrics.recordFailure())
+                // 결과가 클라이언트로 전달(async 재디스패치)되기 전에 락 해제
+                .doOnTerminate(release)
+                .doOnCancel(release);
+    }
+
+    /**
+     * 스트리밍 질문-응답 (SSE). FastAPI 스트리밍 엔드포인트의 SSE data 를 받는 즉시 "token" 이벤트로 전달하고,
+     * 스트림이 끝나면 ChatQA 를 저장한 뒤 "done" 이벤트(id, latencyMs, ttftMs)를 보냄. 실패 시 "error" 이벤트.
+     */
+    public Flux<ServerSentEvent<String>> stream(ChatRequest req, Long userId) {
+        long t0 = System.nanoTime();
+        ChatAnswerCache.Hit hit = answerCache.lookup(req.getQuestion());
+        if (hit != null) {
+            // 캐시 적중: 답변 전체를 token 이벤트 1개로 보내고 done
+            return Flux.concat(
+                            Mono.just(ServerSentEvent.builder(hit.answer()).event("token").build()),
+                            Mono.fromCallable(() -> {
+                                long latency = elapsedMs(t0);
+                                ChatQA saved = save(userId, req.getQuestion(), hit.answer(), latency, latency);
+                                return doneEvent(saved.getId(), latency, latency, true);
+                            }).subscribeOn(Schedulers.boundedElastic()));
+        }
+
+        UserBusyRegistry.Lease lease = acquireOrThrow(userId);
+        Runnable release = () -> busy.release(lease);
+        long gen = answerCache.generation();
+        AtomicLong ttft = new AtomicLong(-1);
+        StringBuilder answer = new StringBuilder();     // onNext 는 순차 호출되므로 동기화 불필요
+
+        Flux<ServerSentEvent<String>> tokens = fastApiWebClient.post()
+                .uri(fastApiStreamPath)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(new FastApiQuestion(req.getQuestion()))
+                .exchangeToFlux(res -> {
+                    if (res.statusCode().is2xxSuccessful()) {
+                        return res.bodyToFlux(SSE_STRING);
+                    }
+                    return res.bodyToMono(String.class).defaultIfEmpty("")
+                            .flatMapMany(body -> Flux.error(new ResponseStatusException(
+                                    HttpStatus.BAD_GATEWAY,
+                                    "FastAPI " + res.statusCode() + " body=" + body)));
+                })
+                .map(ev -> ev.data() == null ? "" : ev.data())
+                .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                .filter(data -> !data.isEmpty())
+                .doOnNext(data -> {
+                    ttft.compareAndSet(-1, elapsedMs(t0));
+                    answer.append(data);
+                    busy.renew(lease);  // 토큰이 계속 오는 동안은 임대 만료로 락이 풀리지 않게 연장
+                })
+                .map(data -> ServerSentEvent.builder(data).event("token").build());
+
+        Mono<ServerSentEvent<String>> done = Mono.fromCallable(() -> {
+                    long latency = elapsedMs(t0);
+                    Long firstToken = ttft.get() < 0 ? null : ttft.get();
+                    ChatQA saved = save(userId, req.getQuestion(), answer.toString(), latency, firstToken);
+                    metrics.recordCompleted(latency, firstToken, true);
+                    answerCache.put(req.getQuestion(), answer.toString(), saved.getId(), latency, gen);
+                    return doneEvent(saved.getId(), latency, firstToken, false);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
 
-        if (!busy.tryAcquire(userId)) {
+        return tokens.concatWith(done)
+                .onErrorResume(e -> {
+                    metrics.recordFailure();
+                    Throwable mapped = toGatewayError(e);
+                    String reason = (mapped instanceof ResponseStatusException rse && rse.getReason() != null)
+                            ? rse.getReason() : String.valueOf(mapped.getMessage());
+                    return Flux.just(ServerSentEvent.builder(reason).event("error").build());
+                })
+                .doOnTerminate(release)
+                .doOnCancel(release);   // 클라이언트가 연결을 끊으면 FastAPI 요청도 취소되고 락 해제
+    }
+
+    private static ServerSentEvent<String> doneEvent(Long qaId, long latencyMs, Long ttftMs, boolean cached)
+            throws JsonProcessingException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", qaId);
+        summary.put("latencyMs", latencyMs);
+        summary.put("ttftMs", ttftMs);
+        summary.put("cached", cached);
+        return ServerSentEvent.builder(MAPPER.writeValueAsString(summary)).event("done").build();
+    }
+
+    // 사용자별 동시 질문 1건 제한. release 는 소유 토큰으로 비교하므로 여러 번 불려도 한 번만 해제됨
+    private UserBusyRegistry.Lease acquireOrThrow(Long userId) {
+        UserBusyRegistry.Lease lease = busy.tryAcquire(userId);
+        if (lease == null) {
+            metrics.recordBusyRejected();
             throw new ResponseStatusException(HttpStatus.LOCKED, "Chat in progress for this user");
         }
-        try {
-            String raw = fastApiWebClient.post()
-                    .uri(fastApiChatPath) // "/api/v1/chat/chat"
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(new FastApiQuestion(req.getQuestion()))
-                    .exchangeToMono(res -> {
-                        if (res.statusCode().is2xxSuccessful()) {
-                            return res.bodyToMono(String.class);
-                        } else {
-                            return res.bodyToMono(String.class).defaultIfEmpty("")
-                                    .flatMap(body -> Mono.error(new ResponseStatusException(
-                                            HttpStatus.BAD_GATEWAY,
-                                            "FastAPI " + res.statusCode() + " body=" + body)));
-                        }
-                    })
-                    .block();
-
-            long latency = System.currentTimeMillis() - t0;
-
-            // JSON 파싱
-            var mapper = new ObjectMapper();
-            String answer;
-            try {
-                answer = mapper.readTree(raw).path("answer").asText(null);
-            } catch (Exception e) {
-                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
-                        "FastAPI returned non-JSON or unexpected JSON: " + raw, e);
-            }
-            if (answer == null) {
-                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
-                        "FastAPI JSON missing 'answer' field: " + raw);
-            }
-
-            // 저장
-            var userRef = em.getReference(User.class, userId);
-            chatQARepo.save(new ChatQA(userRef, req.getQuestion(), answer, latency));
-
-            return new ChatResponse(answer, latency);
-
-        } catch (io.netty.handler.timeout.ReadTimeoutException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "FastAPI read timeout", e);
-        } catch (WebClientRequestException e) {
+        return lease;
+    }
+
+    private ChatQA save(Long userId, String question, String answer, long latencyMs, Long ttftMs) {
+        var userRef = em.getReference(User.class, userId);
+        ChatQA qa = new ChatQA(userRef, question, answer, latencyMs);
+        qa.setTtftMs(ttftMs);
+        return chatQARepo.save(qa);
+    }
+
+    private static long elapsedMs(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000L;
+    }
+
+    private static Throwable toGatewayError(Throwable e) {
+        if (e instanceof ResponseStatusException) return e;
+        if (e instanceof io.netty.handler.timeout.ReadTimeoutException
+                || e.getCause() instanceof io.netty.handler.timeout.ReadTimeoutException) {
+            return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "FastAPI read timeout", e);
+        }
+        if (e instanceof WebClientRequestException) {
             // 연결 자체가 안될 때 (호스트/포트/도커 네트워크 오류)
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+            return new ResponseStatusException(HttpStatus.BAD_GATEWAY,
                     "Cannot connect to FastAPI: " + e.getMessage(), e);
-        } finally {
-            busy.release(userId);
         }
+        return e;
     }
 
     // === 질문 목록(질문만) ===
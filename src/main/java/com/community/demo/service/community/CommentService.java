@@ -27,6 +27,7 @@ public class CommentService {
     private final CommentRepository commentRepo;
     private final CommunityRepository communityRepo;
     private final PublicUrlResolver url;
+    private final PopularityScorer popularityScorer;
 
     // 댓글 목록 (페이징)
     @Transactional(readOnly = true)
@@ -62,6 +63,8 @@ public class CommentService {
         c.setAuthor(me);
         c.setContent(content);
         commentRepo.save(c);
+        communityRepo.bumpCommentCount(postId, 1);
+        popularityScorer.refresh(postId);
 
         return new CommentResponse(c.getId(), c.getAuthor().getId(), c.getContent(), c.getAuthor().getUsername(), c.getAuthor().getDepartment(), c.getAuthor().getProfileImageUrl(), c.getCreatedAt(), c.getUpdatedAt());
     }
@@ -108,6 +111,9 @@ public class CommentService {
             throw new AccessDeniedException("삭제 권한 없음");
         }
 
+        Long postId = c.getPost().getId();
         commentRepo.delete(c);
+        communityRepo.bumpCommentCount(postId, -1);
+        popularityScorer.refresh(postId);
     }
 }
@@ -0,0 +1,215 @@
+package com.community.demo.service.community;
+
+import com.community.demo.repository.CommunityRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 커뮤니티 비정규화 카운터 보정 작업.
+ * community.comment_count 를 comments 테이블 실제 개수와, like_count/dislike_count 를 reactions 테이블과 비교해
+ * 어긋난 행만 일괄 수정하고, 이어서 popularity_score 를 현재 카운터/decay 설정으로 다시 계산 (점수가 다른 행만).
+ * 반응 카운터는 커밋됐지만 아직 버퍼에서 반영 전인 증감을 두 번 세지 않도록 두 번 비교:
+ * 1차로 어긋난 글을 모으고, 다른 인스턴스 버퍼까지 flush 될 만큼(flush 주기 x2) 기다린 뒤
+ * 이 인스턴스 버퍼를 비운 상태(runExclusive)에서 다시 비교해 값이 그대로이고 반영 전 증감이 없는 글만 고침
+ * 마지막으로 태그 사전의 글 수(tags.post_count)를 community_tags 기준으로 보정 (TagService).
+ * id 구간별 UPDATE ... JOIN 1회씩 실행 (구간마다 자동 커밋, 긴 락 방지)
+ */
+@Slf4j
+@Service
+public class CommunityCounterReconciler {
+
+    // 구간 [from, to] 안에서 실제 댓글 수와 다른 행만 수정
+    private static final String RECONCILE_COMMENTS_SQL = """
+            update community c
+              left join (select post_id, count(*) as cnt from comments
+                          where post_id between ? and ? group by post_id) x
+                on x.post_id = c.id
+               set c.comment_count = coalesce(x.cnt, 0)
+             where c.id between ? and ?
+               and c.comment_count <> coalesce(x.cnt, 0)
+            """;
+
+    // 구간 [from, to] 안에서 reactions 집계와 다른 좋아요/싫어요 카운터 (비정상 종료로 유실된 버퍼 증감 복구용)
+    private static final String REACTION_DIFF_SQL = """
+            select c.id, coalesce(x.likes, 0) as likes, coalesce(x.dislikes, 0) as dislikes,
+                   c.like_count, c.dislike_count
+              from community c
+              left join (select post_id,
+                                sum(case when type = 'LIKE' then 1 else 0 end) as likes,
+                                sum(case when type = 'DISLIKE' then 1 else 0 end) as dislikes
+                           from reactions
+                          where post_id between ? and ? group by post_id) x
+                on x.post_id = c.id
+             where c.id between ? and ?
+               and (c.like_count <> coalesce(x.likes, 0) or c.dislike_count <> coalesce(x.dislikes, 0))
+            """;
+    // 비교한 뒤 카운터가 바뀌지 않았을 때만
+    private static final String FIX_REACTIONS_SQL =
+            "update community set like_count = ?, dislike_count = ? where id = ? and like_count = ? and dislike_count = ?";
+
+    /** reactions 집계(likes, dislikes)와 저장된 카운터가 다른 글 1개 */
+    record ReactionDiff(long postId, int likes, int dislikes, int storedLikes, int storedDislikes) {
+    }
+
+    // 구간 [from, to] 안에서 저장된 인기 점수가 계산식과 다른 행만 수정 (카운터 보정 이후 / decay 설정 변경 시)
+    private static final String POPULARITY_SQL_EXPR = CommunityRepository.POPULARITY_EXPR.replace(":decay", "?");
+    private static final String RECONCILE_POPULARITY_SQL =
+            "update community set popularity_score = " + POPULARITY_SQL_EXPR +
+            " where id between ? and ? and abs(popularity_score - " + POPULARITY_SQL_EXPR + ") > 1e-9";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PopularityScorer popularityScorer;
+    private final ReactionCounterBuffer reactionBuffer;
+    private final TagService tagService;
+    private final int batchSize;
+    private final long intervalMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "community-counter-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CommunityCounterReconciler(JdbcTemplate jdbcTemplate,
+                                      PopularityScorer popularityScorer,
+                                      ReactionCounterBuffer reactionBuffer,
+                                      TagService tagService,
+                                      @Value("${app.community.reconcile.batch-size:5000}") int batchSize,
+                                      @Value("${app.community.reconcile.interval-minutes:1440}") long intervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.popularityScorer = popularityScorer;
+        this.reactionBuffer = reactionBuffer;
+        this.tagService = tagService;
+        this.batchSize = Math.max(100, batchSize);
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    // 기동 직후 1회 (컬럼이 새로 추가된 경우 0 으로 채워져 있으므로) + 주기 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (intervalMinutes <= 0) return;
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                log.warn("[COUNTER] 커뮤니티 카운터 보정 실패: {}", e.toString());
+            }
+        }, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /** 전체 보정. 이미 실행 중이면 409 */
+    public Map<String, Object> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "카운터 보정이 이미 실행 중입니다.");
+        }
+        try {
+            long t0 = System.nanoTime();
+            Long maxId = jdbcTemplate.queryForObject("select max(id) from community", Long.class);
+            double decay = popularityScorer.decaySeconds();
+            long fixed = 0;
+            long reactionsFixed = 0;
+            long scoresFixed = 0;
+            int batches = 0;
+            if (maxId != null) {
+                // 1) 댓글 수 + 반응 카운터 1차 비교
+                Map<Long, ReactionDiff> suspects = new LinkedHashMap<>();
+                for (long from = 1; from <= maxId; from += batchSize) {
+                    long to = from + batchSize - 1;
+                    fixed += jdbcTemplate.update(RECONCILE_COMMENTS_SQL, from, to, from, to);
+                    for (ReactionDiff d : reactionDiffs(from, to)) suspects.put(d.postId(), d);
+                    batches++;
+                }
+                // 2) 버퍼들이 flush 될 시간을 준 뒤, 1차와 같은 차이가 남은 글만 수정
+                if (!suspects.isEmpty()) {
+                    Thread.sleep(2 * reactionBuffer.flushIntervalMs());
+                    reactionsFixed = fixReactions(suspects);
+                }
+                // 3) 인기 점수
+                for (long from = 1; from <= maxId; from += batchSize) {
+                    scoresFixed += jdbcTemplate.update(RECONCILE_POPULARITY_SQL, decay, decay, from, from + batchSize - 1, decay, decay);
+                }
+            }
+            int tagsFixed = tagService.reconcile();
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("finishedAt", LocalDateTime.now());
+            m.put("batches", batches);
+            m.put("commentCountFixed", fixed);
+            m.put("reactionCountFixed", reactionsFixed);
+            m.put("popularityScoreFixed", scoresFixed);
+            m.put("tagCountFixed", tagsFixed);
+            m.put("elapsedMs", (System.nanoTime() - t0) / 1_000_000L);
+            lastRun = m;
+            if (fixed > 0 || reactionsFixed > 0 || scoresFixed > 0 || tagsFixed > 0) {
+                log.info("[COUNTER] comment_count 보정 {}건, like/dislike_count 보정 {}건, popularity_score 보정 {}건, 태그 보정 {}건",
+                        fixed, reactionsFixed, scoresFixed, tagsFixed);
+            }
+            return m;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("카운터 보정 중단", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<ReactionDiff> reactionDiffs(long from, long to) {
+        return jdbcTemplate.query(REACTION_DIFF_SQL, (rs, i) -> new ReactionDiff(
+                rs.getLong("id"), rs.getInt("likes"), rs.getInt("dislikes"),
+                rs.getInt("like_count"), rs.getInt("dislike_count")), from, to, from, to);
+    }
+
+    // 1차 후보가 있는 구간만 다시 비교 (후보는 보통 몇 건뿐)
+    private long fixReactions(Map<Long, ReactionDiff> suspects) {
+        TreeSet<Long> ranges = new TreeSet<>();
+        for (long id : suspects.keySet()) ranges.add((id - 1) / batchSize);
+        long n = 0;
+        for (long r : ranges) {
+            long from = r * batchSize + 1, to = from + batchSize - 1;
+            n += reactionBuffer.runExclusive(settled -> {
+                List<Object[]> args = new ArrayList<>();
+                for (ReactionDiff d : reactionDiffs(from, to)) {
+                    if (d.equals(suspects.get(d.postId())) && settled.test(d.postId())) {
+                        args.add(new Object[]{d.likes(), d.dislikes(), d.postId(), d.storedLikes(), d.storedDislikes()});
+                    }
+                }
+                long updated = 0;
+                if (!args.isEmpty()) {
+                    for (int c : jdbcTemplate.batchUpdate(FIX_REACTIONS_SQL, args)) updated += Math.max(c, 0);
+                }
+                return updated;
+            });
+        }
+        return n;
+    }
+
+    public Map<String, Object> lastRun() {
+        Map<String, Object> m = new LinkedHashMap<>(lastRun);
+        m.put("running", running.get());
+        m.put("intervalMinutes", intervalMinutes);
+        m.put("batchSize", batchSize);
+        return m;
+    }
+}
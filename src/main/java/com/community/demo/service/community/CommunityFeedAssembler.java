@@ -0,0 +1,81 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.Community;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.community.*;
+import com.community.demo.repository.CommunityRepository;
+import com.community.demo.service.user.PublicUrlResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 커뮤니티 목록 응답 조립.
+ * 페이지의 글 id 목록으로 작성자/이미지/태그/내 북마크/내 반응을 각각 쿼리 1회씩 가져와 조립하므로,
+ * 페이지 크기와 상관없이 (목록 + count) 2회 + 5회로 고정된다. 글 엔티티의 lazy 연관은 건드리지 않음.
+ * 댓글 수는 community.comment_count 컬럼을 그대로 사용, 좋아요/싫어요 수는 ReactionCounterBuffer 의 미반영 증감을 더함.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommunityFeedAssembler {
+
+    private final CommunityRepository communityRepository;
+    private final PublicUrlResolver url;
+    private final ReactionCounterBuffer reactionBuffer;
+
+    public Page<CommunityResponse> toPage(Page<Community> page, User me) {
+        return new PageImpl<>(toResponses(page.getContent(), me), page.getPageable(), page.getTotalElements());
+    }
+
+    public List<CommunityResponse> toResponses(List<Community> posts, User me) {
+        if (posts.isEmpty()) return List.of();
+
+        List<Long> postIds = posts.stream().map(Community::getId).toList();
+
+        Map<Long, CommunityAuthorRow> authors = communityRepository.findAuthorRowsByPostIds(postIds).stream()
+                .collect(Collectors.toMap(CommunityAuthorRow::id, a -> a, (a, b) -> a));
+
+        Map<Long, List<ImageItemResponse>> images = communityRepository.findImageRowsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(CommunityImageRow::postId,
+                        Collectors.mapping(r -> new ImageItemResponse(r.id(), url.toAbsolute(r.url())), Collectors.toList())));
+
+        Map<Long, List<String>> tags = communityRepository.findTagRowsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(CommunityTagRow::postId,
+                        Collectors.mapping(CommunityTagRow::tag, Collectors.toList())));
+
+        Set<Long> bookmarked = new HashSet<>(communityRepository.findBookmarkedPostIds(me.getId(), postIds));
+
+        Map<Long, String> myReactions = communityRepository.findMyReactionRows(me.getId(), postIds).stream()
+                .collect(Collectors.toMap(MyReactionRow::postId, r -> r.type().name(), (a, b) -> a));
+
+        return posts.stream().map(post -> {
+            // getAuthor().getId() 는 프록시 초기화 없이 FK 값만 읽음
+            Long authorId = post.getAuthor().getId();
+            CommunityAuthorRow author = authors.get(authorId);
+
+            return new CommunityResponse(
+                    post.getId(),
+                    post.getTitle(),
+                    post.getText(),
+                    authorId,
+                    author != null ? author.username() : null,
+                    author != null ? author.department() : null,
+                    author != null && author.roleType() != null ? author.roleType().name() : null,
+                    url.toAbsolute(author != null ? author.profileImageUrl() : null),
+                    post.getCreatedAt(),
+                    post.getUpdatedAt(),
+                    images.getOrDefault(post.getId(), List.of()),
+                    new ArrayList<>(tags.getOrDefault(post.getId(), List.of())),
+                    reactionBuffer.likeCount(post.getId(), post.getLikeCount()),        // + 미반영 증감
+                    reactionBuffer.dislikeCount(post.getId(), post.getDislikeCount()),
+                    post.getCommentCount(),                 // 비정규화 컬럼
+                    bookmarked.contains(post.getId()),
+                    myReactions.get(post.getId())
+            );
+        }).toList();
+    }
+}
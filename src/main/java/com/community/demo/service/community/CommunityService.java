@@ -5,6 +5,8 @@ import com.community.demo.domain.community.CommunityImage;
 import com.community.demo.domain.community.Reaction;
 import com.community.demo.domain.user.RoleType;
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.common.CursorPage;
+import com.community.demo.dto.common.PageCursor;
 import com.community.demo.dto.community.CommunityResponse;
 import com.community.demo.domain.community.Community;
 import com.community.demo.dto.community.CommunityUpdateRequest;
@@ -25,7 +27,6 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -35,15 +36,20 @@ public class CommunityService {
     private final CommunityRepository communityRepository;
     private final CommunityImageRepository imageRepository;
     private final CommunityBookmarkRepository bookmarkRepository;
-    private final CommentRepository commentRepository;
     private final ReactionRepository reactionRepository;
     private final FileStorageService fileStorageService;
     private final PublicUrlResolver url;
+    private final CommunityFeedAssembler feedAssembler;
+    private final PopularityScorer popularityScorer;
+    private final ReactionCounterBuffer reactionBuffer;
+    private final TagService tagService;
 
     // 권한 체크: ADMIN / MANAGER 이면 항상 허용, 아니면 작성자 본인만 허용
     private static final EnumSet<RoleType> CAN_EDIT_ANY =
             EnumSet.of(RoleType.ADMIN, RoleType.MANAGER);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
 
     // 공용 파일 저장 서비스 사용
     private final FileStorageService fileStorage;
@@ -51,8 +57,10 @@ public class CommunityService {
     // 글 작성
     public CommunityResponse createPost(String title, String text, List<String> tags, List<MultipartFile> images, User me) {
         Community post = new Community(title, text, me);
-        if (tags != null) post.setTags(new HashSet<>(tags));
+        if (tags != null) post.setTags(TagService.normalizeAll(tags));
         communityRepository.save(post);
+        tagService.applyChange(Set.of(), post.getTags());
+        popularityScorer.refresh(post.getId());     // hot 랭킹이면 작성 시각 항이 있으므로 생성 시에도 계산
 
         saveImages(images, post);
 
@@ -77,7 +85,11 @@ public class CommunityService {
         // 1) 부분 수정 (null이 아닐 때만 갱신)
         if (dto.getTitle() != null) post.setTitle(dto.getTitle());
         if (dto.getText() != null)  post.setText(dto.getText());
-        if (dto.getTags() != null)  post.setTags(new HashSet<>(dto.getTags()));
+        if (dto.getTags() != null) {
+            Set<String> before = new HashSet<>(post.getTags());
+            post.setTags(TagService.normalizeAll(dto.getTags()));
+            tagService.applyChange(before, post.getTags());
+        }
 
         // 2) 기존 이미지 중 '삭제 대상'만 제거
         Set<Long> removeIds = new HashSet<>(Optional.ofNullable(dto.getRemoveImageIds()).orElse(List.of()));
@@ -88,9 +100,7 @@ public class CommunityService {
                     .toList();
 
             for (CommunityImage img : toRemove) {
-                // (선택) 물리 파일도 삭제하고 싶다면 여기서 삭제
-                // String logical = stripPublicPrefix(img.getImageUrl());
-                // Files.deleteIfExists(fileStorage.resolve(logical));
+                fileStorageService.release(img.getImageUrl());  // 참조 카운트 저장소면 blob 참조 반납 (GC 대상)
                 post.removeImage(img);  // orphanRemoval=true면 DB 삭제
             }
         }
@@ -162,29 +172,23 @@ public class CommunityService {
         post.getImages().size();
         post.getBookmarks().size();
 
+        tagService.applyChange(new HashSet<>(post.getTags()), Set.of());
+        post.getImages().forEach(img -> fileStorageService.release(img.getImageUrl()));
         communityRepository.delete(post);
-
-        // 주의: 실제 파일 삭제까지 원한다면,
-        // post.getImages()를 돌며 fileStorage.resolve(url에서 "/files/" 제거한 논리경로)로 실제 파일을 찾아 삭제하는 로직을 추가할 수 있음.
     }
 
 
     // 전체 조회 (페이징)
     @Transactional(readOnly = true)
-    public Page<CommunityResponse> getAllPosts(int page, int size, String keyword, String sort, User me) {
+    public Page<CommunityResponse> getAllPosts(int page, int size, String keyword, String tag, String sort, User me) {
         Pageable pageable = PageRequest.of(page, size); // ORDER BY는 JPQL에서 처리
+        String t = TagService.normalize(tag);           // 저장된 태그와 같은 규칙으로 정규화 후 등치 비교
         Page<Community> result = "popular".equalsIgnoreCase(sort)
-                ? communityRepository.searchPopularFlexible(keyword, null, null, false, pageable)
-                : communityRepository.searchLatestFlexible(keyword, null, null, false, pageable);
-
-        return result.map(post -> {
-            CommunityResponse res = toResponse(post, me);
-            String my = reactionRepository.findByPostIdAndUserId(post.getId(), me.getId())
-                    .map(r -> r.getType().name())
-                    .orElse(null);
-            res.setMyReaction(my);
-            return res;
-        });
+                ? communityRepository.searchPopularFlexible(keyword, t, null, null, false, pageable)
+                : communityRepository.searchLatestFlexible(keyword, t, null, null, false, pageable);
+
+        // 댓글 수/북마크/내 반응/이미지/태그/작성자를 페이지 단위로 일괄 조회
+        return feedAssembler.toPage(result, me);
     }
 
     // 내가 북마크한 글 조회
@@ -192,20 +196,10 @@ public class CommunityService {
     public Page<CommunityResponse> getBookmarkedPosts(int page, int size, String keyword, String sort, User me) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Community> result = "popular".equalsIgnoreCase(sort)
-                ? communityRepository.searchPopularFlexible(keyword, null, me, true, pageable)
-                : communityRepository.searchLatestFlexible(keyword, null, me, true, pageable);
-
-        // 배치로 내 반응 미리 조회
-        List<Community> posts = result.getContent();
-        Map<Long, String> myReactions = reactionRepository.findByUserAndPostIn(me, posts).stream()
-                .collect(Collectors.toMap(r -> r.getPost().getId(), r -> r.getType().name()));
+                ? communityRepository.searchPopularFlexible(keyword, null, null, me, true, pageable)
+                : communityRepository.searchLatestFlexible(keyword, null, null, me, true, pageable);
 
-        // Page.map을 그대로 쓰면 content를 다시 읽으므로, 직접 재조립
-        List<CommunityResponse> content = posts.stream()
-                .map(p -> toResponse(p, me, myReactions.get(p.getId())))
-                .toList();
-
-        return new PageImpl<>(content, pageable, result.getTotalElements());
+        return feedAssembler.toPage(result, me);
     }
 
     // 내가 작성한 글 조회
@@ -213,18 +207,54 @@ public class CommunityService {
     public Page<CommunityResponse> getMyPosts(int page, int size, String keyword, String sort, User me) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Community> result = "popular".equalsIgnoreCase(sort)
-                ? communityRepository.searchPopularFlexible(keyword, me.getId(), null, false, pageable)
-                : communityRepository.searchLatestFlexible(keyword, me.getId(), null, false, pageable);
+                ? communityRepository.searchPopularFlexible(keyword, null, me.getId(), null, false, pageable)
+                : communityRepository.searchLatestFlexible(keyword, null, me.getId(), null, false, pageable);
 
-        List<Community> posts = result.getContent();
-        Map<Long, String> myReactions = reactionRepository.findByUserAndPostIn(me, posts).stream()
-                .collect(Collectors.toMap(r -> r.getPost().getId(), r -> r.getType().name()));
+        return feedAssembler.toPage(result, me);
+    }
 
-        List<CommunityResponse> content = posts.stream()
-                .map(p -> toResponse(p, me, myReactions.get(p.getId())))
-                .toList();
+    // ===== 커서(keyset) 페이징: 모바일 무한 스크롤용, count 쿼리 없음 =====
+    // latest 커서 = (createdAt, id), popular 커서 = (popularityScore, createdAt, id)
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommunityResponse> getPostsByCursor(String cursor, int size, String keyword, String tag, String sort, User me) {
+        return cursorPage(cursor, size, keyword, TagService.normalize(tag), sort, null, null, me);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommunityResponse> getBookmarkedPostsByCursor(String cursor, int size, String keyword, String sort, User me) {
+        return cursorPage(cursor, size, keyword, null, sort, null, me.getId(), me);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommunityResponse> getMyPostsByCursor(String cursor, int size, String keyword, String sort, User me) {
+        return cursorPage(cursor, size, keyword, null, sort, me.getId(), null, me);
+    }
+
+    private CursorPage<CommunityResponse> cursorPage(String cursor, int size, String keyword, String tag, String sort,
+                                                     Long authorId, Long bookmarkUserId, User me) {
+        int n = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, n + 1);      // 1건 더 읽어 다음 페이지 존재 여부 판단
+        String kw = (keyword != null && !keyword.isBlank()) ? keyword : null;
+
+        if ("popular".equalsIgnoreCase(sort)) {
+            PageCursor c = PageCursor.decode(cursor, 3);
+            List<Community> rows = communityRepository.findPopularAfter(kw, tag, authorId, bookmarkUserId,
+                    c == null ? null : c.doubleAt(0),
+                    c == null ? null : c.timeAt(1),
+                    c == null ? null : c.longAt(2),
+                    limit);
+            return CursorPage.of(rows, n, posts -> feedAssembler.toResponses(posts, me),
+                    p -> PageCursor.encode(p.getPopularityScore(), p.getCreatedAt(), p.getId()));
+        }
 
-        return new PageImpl<>(content, pageable, result.getTotalElements());
+        PageCursor c = PageCursor.decode(cursor, 2);
+        List<Community> rows = communityRepository.findLatestAfter(kw, tag, authorId, bookmarkUserId,
+                c == null ? null : c.timeAt(0),
+                c == null ? null : c.longAt(1),
+                limit);
+        return CursorPage.of(rows, n, posts -> feedAssembler.toResponses(posts, me),
+                p -> PageCursor.encode(p.getCreatedAt(), p.getId()));
     }
 
     // 단일 글 조회
@@ -274,7 +304,7 @@ public class CommunityService {
                 ))
                 .toList();
 
-        int commentCount = commentRepository.countByPostId(post.getId());
+        int commentCount = post.getCommentCount();     // 비정규화 컬럼 (count 쿼리 없음)
         boolean isBookmarked = bookmarkRepository.existsByUserAndPost(me, post);
 
         // 작성자 프로필 (절대 URL 변환 + null 안전)
@@ -295,8 +325,8 @@ public class CommunityService {
                 post.getUpdatedAt(),
                 images,
                 new ArrayList<>(post.getTags()),
-                post.getLikeCount(),
-                post.getDislikeCount(),
+                reactionBuffer.likeCount(post.getId(), post.getLikeCount()),
+                reactionBuffer.dislikeCount(post.getId(), post.getDislikeCount()),
                 commentCount,
                 isBookmarked,
                 myReaction
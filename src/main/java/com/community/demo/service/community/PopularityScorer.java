@@ -0,0 +1,34 @@
+package com.community.demo.service.community;
+
+import com.community.demo.repository.CommunityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * community.popularity_score 갱신.
+ * 계산식은 CommunityRepository.POPULARITY_EXPR (DB 에서 현재 카운터 값으로 계산하므로 동시 증감과 어긋나지 않음).
+ * app.community.popularity.decay-seconds 가 0 이면 누적 인기순, 양수면 그 초마다 log10 한 단계씩 새 글에 가산(hot)
+ */
+@Component
+public class PopularityScorer {
+
+    private final CommunityRepository communityRepository;
+    private final double decaySeconds;
+
+    public PopularityScorer(CommunityRepository communityRepository,
+                            @Value("${app.community.popularity.decay-seconds:0}") double decaySeconds) {
+        this.communityRepository = communityRepository;
+        this.decaySeconds = Math.max(0, decaySeconds);
+    }
+
+    /** 카운터(좋아요/싫어요/댓글) 변경 직후 같은 트랜잭션에서 호출 */
+    @Transactional
+    public void refresh(Long postId) {
+        communityRepository.refreshPopularityScore(postId, decaySeconds);
+    }
+
+    public double decaySeconds() {
+        return decaySeconds;
+    }
+}
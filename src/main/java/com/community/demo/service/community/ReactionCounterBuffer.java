@@ -0,0 +1,245 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.ReactionType;
+import com.community.demo.repository.CommunityRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * 좋아요/싫어요 카운터 증감 모아 쓰기.
+ * - 반응 행(reactions) 저장은 요청 트랜잭션에서 바로 하고, community 카운터 증감만 글 id 별로 메모리에 합산
+ *   (ConcurrentHashMap.merge → 글마다 독립적으로 원자 합산, 인기 글 1행에 요청마다 UPDATE 가 몰리지 않음)
+ * - 주기적으로 한 트랜잭션에서 글 id 오름차순 배치 UPDATE (락 순서 고정으로 교착 방지) + 인기 점수 재계산
+ * - 종료 시 남은 증감을 flush. 비정상 종료로 유실된 증감은 CommunityCounterReconciler 가 reactions 테이블 기준으로 복구
+ * - 보정은 runExclusive() 안에서: 반응 행은 이미 커밋됐는데 증감이 아직 반영 전인 글(커밋 대기/afterCommit 대기/버퍼)은
+ *   settled 검사에서 빠지므로 reactions 집계로 덮어쓴 뒤 증감이 한 번 더 더해지지 않음
+ */
+@Slf4j
+@Component
+public class ReactionCounterBuffer {
+
+    private static final String BUMP_SQL =
+            "update community set like_count = like_count + ?, dislike_count = dislike_count + ? where id = ?";
+    private static final String SCORE_SQL =
+            "update community set popularity_score = " + CommunityRepository.POPULARITY_EXPR.replace(":decay", "?")
+                    + " where id = ?";
+
+    /** 글 1개의 미반영 증감 */
+    public record Delta(int likes, int dislikes) {
+        Delta plus(Delta o) {
+            return new Delta(likes + o.likes, dislikes + o.dislikes);
+        }
+
+        boolean isZero() {
+            return likes == 0 && dislikes == 0;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final PopularityScorer popularityScorer;
+    private final long flushIntervalMs;
+
+    private final ConcurrentHashMap<Long, Delta> pending = new ConcurrentHashMap<>();
+    // 증감을 기록했지만 아직 끝나지 않은 트랜잭션 수 (글 id 별). 반응 행은 커밋 때 쓰이므로 기록 시점이 항상 먼저
+    private final ConcurrentHashMap<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    // runExclusive 실행 중에 새로 기록된 글 id (보정 대상에서 제외)
+    private volatile Set<Long> touchedDuringReconcile;
+    // flush 와 보정(reconcile)이 동시에 돌지 않도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "reaction-counter-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ReactionCounterBuffer(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 PopularityScorer popularityScorer,
+                                 @Value("${app.community.reaction-flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.popularityScorer = popularityScorer;
+        this.flushIntervalMs = Math.max(100, flushIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFlusher() {
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                log.warn("[REACTION] 카운터 flush 실패 (다음 주기에 재시도): {}", e.toString());
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("[REACTION] 종료 시 카운터 flush 실패 (다음 기동 시 보정): {}", e.toString());
+        }
+    }
+
+    // ===== 기록 =====
+
+    /** 반응 증감 기록. 트랜잭션 안이면 커밋된 경우에만 반영 */
+    public void record(Long postId, ReactionType type, int delta) {
+        Delta d = (type == ReactionType.LIKE) ? new Delta(delta, 0) : new Delta(0, delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.merge(postId, 1, Integer::sum);
+            touch(postId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(postId, d);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.computeIfPresent(postId, (id, n) -> n <= 1 ? null : n - 1);
+                }
+            });
+        } else {
+            touch(postId);
+            add(postId, d);
+        }
+    }
+
+    // inFlight 증가 뒤에 읽음: 보정 쪽은 touched 를 먼저 설치한 뒤 inFlight 를 보므로 둘 중 하나에는 반드시 잡힘
+    private void touch(Long postId) {
+        Set<Long> touched = touchedDuringReconcile;
+        if (touched != null) touched.add(postId);
+    }
+
+    private void add(Long postId, Delta d) {
+        pending.merge(postId, d, Delta::plus);
+        recorded.increment();
+    }
+
+    // 응답용 카운트: DB 값 + 아직 flush 되지 않은 증감 (자기 클릭이 바로 보이도록)
+    public int likeCount(Long postId, int stored) {
+        Delta d = pending.get(postId);
+        return d == null ? stored : stored + d.likes();
+    }
+
+    public int dislikeCount(Long postId, int stored) {
+        Delta d = pending.get(postId);
+        return d == null ? stored : stored + d.dislikes();
+    }
+
+    // ===== flush =====
+
+    /** 모인 증감을 DB 에 반영. 반영한 글 수 반환 */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 남은 증감을 먼저 반영한 뒤, flush 가 끼어들지 않는 상태에서 action 실행 (카운터 보정용).
+     * action 에 넘기는 settled(postId) 가 false 인 글은 반영 전 증감이 있거나 그 사이 새로 기록된 글이므로
+     * reactions 집계로 덮어쓰면 안 됨. 집계 SELECT 가 끝난 뒤(행마다) 검사할 것
+     */
+    public <T> T runExclusive(Function<LongPredicate, T> action) {
+        flushLock.lock();
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringReconcile = touched;
+        try {
+            flushLocked();
+            Set<Long> busy = new HashSet<>(inFlight.keySet());
+            busy.addAll(pending.keySet());
+            return action.apply(postId -> !busy.contains(postId) && !touched.contains(postId));
+        } finally {
+            touchedDuringReconcile = null;
+            flushLock.unlock();
+        }
+    }
+
+    public long flushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    private int flushLocked() {
+        if (pending.isEmpty()) return 0;
+
+        // 글 id 오름차순으로 꺼냄 (remove 는 merge 와 원자적으로 교차하므로 증감 유실 없음)
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        Collections.sort(ids);
+        Map<Long, Delta> batch = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Delta d = pending.remove(id);
+            if (d != null && !d.isZero()) batch.put(id, d);
+        }
+        if (batch.isEmpty()) return 0;
+
+        List<Object[]> bumps = new ArrayList<>(batch.size());
+        List<Object[]> scores = new ArrayList<>(batch.size());
+        double decay = popularityScorer.decaySeconds();
+        batch.forEach((id, d) -> {
+            bumps.add(new Object[]{d.likes(), d.dislikes(), id});
+            scores.add(new Object[]{decay, decay, id});
+        });
+
+        try {
+            tx.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(BUMP_SQL, bumps);
+                jdbcTemplate.batchUpdate(SCORE_SQL, scores);
+            });
+        } catch (RuntimeException e) {
+            // 실패하면 증감을 되돌려 놓고 다음 주기에 다시 시도
+            batch.forEach((id, d) -> pending.merge(id, d, Delta::plus));
+            failures.increment();
+            throw e;
+        }
+        flushes.increment();
+        flushedRows.add(batch.size());
+        return batch.size();
+    }
+
+    public Map<String, Object> stats() {
+        long f = flushes.sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("flushIntervalMs", flushIntervalMs);
+        m.put("pendingPosts", pending.size());
+        m.put("inFlightPosts", inFlight.size());
+        m.put("recorded", recorded.sum());
+        m.put("flushes", f);
+        m.put("flushedRows", flushedRows.sum());
+        m.put("avgRowsPerFlush", f == 0 ? null : Math.round(flushedRows.sum() * 100.0 / f) / 100.0);
+        m.put("failures", failures.sum());
+        return m;
+    }
+}
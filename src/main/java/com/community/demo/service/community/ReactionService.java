@@ -1,6 +1,5 @@
 package com.community.demo.service.community;
 
-import com.community.demo.domain.community.Community;
 import com.community.demo.domain.community.Reaction;
 import com.community.demo.domain.community.ReactionType;
 import com.community.demo.domain.user.User;
@@ -19,18 +18,24 @@ public class ReactionService {
 
     private final ReactionRepository reactionRepository;
     private final CommunityRepository communityRepository;
+    private final ReactionCounterBuffer counterBuffer;
 
-    /** 토글: 없으면 추가, 같은 타입이면 취소, 다른 타입이면 교체 */
+    /**
+     * 토글: 없으면 추가, 같은 타입이면 취소, 다른 타입이면 교체.
+     * reactions 행은 바로 저장하고, community 카운터/인기 점수는 ReactionCounterBuffer 가 모아서 주기적으로 반영
+     * (인기 글 1행에 요청마다 UPDATE 가 몰려 행 락 경합/교착이 나지 않도록)
+     */
     @Transactional
     public void toggle(Long postId, User me, ReactionType newType) {
-        Community post = communityRepository.findById(postId)
-                .orElseThrow(() -> new NoSuchElementException("post"));
+        if (!communityRepository.existsById(postId)) {
+            throw new NoSuchElementException("post");
+        }
 
         Optional<Reaction> opt = reactionRepository.findByPostIdAndUserId(postId, me.getId());
 
         if (opt.isEmpty()) {                 // 첫 투표
-            reactionRepository.save(new Reaction(post, me, newType));
-            applyCounter(postId, newType, +1);
+            reactionRepository.save(new Reaction(communityRepository.getReferenceById(postId), me, newType));
+            counterBuffer.record(postId, newType, +1);
             return;
         }
 
@@ -39,24 +44,15 @@ public class ReactionService {
 
         if (oldType == newType) {            // 같은 버튼 → 취소
             reactionRepository.delete(r);
-            applyCounter(postId, newType, -1);
+            counterBuffer.record(postId, newType, -1);
             return;
         }
 
-        //  다른 버튼 → 교체: 타입 변경을 "먼저" 확정 저장
+        //  다른 버튼 → 교체
         r.setType(newType);
-        reactionRepository.save(r);          // 또는 entityManager.flush()
-
-        // 그런 다음 카운터 벌크 업데이트 (벌크가 컨텍스트 clear 하지 않도록 1번에서 수정)
-        applyCounter(postId, oldType, -1);
-        applyCounter(postId, newType, +1);
-    }
+        reactionRepository.save(r);
 
-    private void applyCounter(Long postId, ReactionType type, int delta) {
-        if (type == ReactionType.LIKE) {
-            communityRepository.bumpLikeCount(postId, delta);
-        } else {
-            communityRepository.bumpDislikeCount(postId, delta);
-        }
+        counterBuffer.record(postId, oldType, -1);
+        counterBuffer.record(postId, newType, +1);
     }
 }
@@ -0,0 +1,249 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.Tag;
+import com.community.demo.dto.community.TagSuggestion;
+import com.community.demo.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 태그 사전/자동완성/태그별 글 수.
+ * - 태그는 normalize() 를 거친 값으로만 저장 (community_tags.tag, tags.name 동일) → 태그 필터는 인덱스 등치 검색
+ * - tags.post_count 는 글 작성/수정/삭제 트랜잭션 안에서 증감, 메모리 카운트/트라이는 커밋 후 반영
+ * - 자동완성은 메모리 접두사 트라이에서 글 수 상위 N개 (DB 조회 없음)
+ * - 재적재(load)는 새 트라이/카운트를 옆에서 만든 뒤 volatile 참조로 교체. 만드는 동안에도 자동완성은 이전 사전으로 응답
+ */
+@Slf4j
+@Service
+public class TagService {
+
+    public static final int MAX_TAG_LENGTH = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final long COMMIT_GATE_PARK_NANOS = 200_000;
+
+    private static final String INCREMENT_SQL =
+            "insert into tags (name, post_count, created_at) values (?, 1, now(6)) " +
+            "on duplicate key update post_count = post_count + 1";
+    private static final String DECREMENT_SQL =
+            "update tags set post_count = post_count - 1 where name = ? and post_count > 0";
+
+    // community_tags 에는 있는데 사전에 없는 태그 추가 → 실제 글 수와 다른 행만 수정
+    private static final String INSERT_MISSING_SQL = """
+            insert ignore into tags (name, post_count, created_at)
+            select distinct tag, 0, now(6) from community_tags
+            """;
+    private static final String RECONCILE_COUNTS_SQL = """
+            update tags t
+              left join (select tag, count(*) as cnt from community_tags group by tag) x
+                on x.tag = t.name
+               set t.post_count = coalesce(x.cnt, 0)
+             where t.post_count <> coalesce(x.cnt, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TagRepository tagRepository;
+
+    /** 자동완성 사전 (트라이 + 태그별 글 수). load() 가 통째로 교체 */
+    private record Dictionary(TagTrie trie, ConcurrentHashMap<String, Integer> counts) {
+    }
+
+    private volatile Dictionary dictionary = new Dictionary(new TagTrie(), new ConcurrentHashMap<>());
+
+    // 읽기 락 = 커밋했지만 아직 메모리에 반영하지 않은 트랜잭션 (beforeCommit ~ afterCompletion).
+    // load() 는 쓰기 락을 잡고 스냅샷 조회 + 교체 → 스냅샷에 들어간 증감은 이전 사전에, 이후 증감은 새 사전에만 반영됨
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    public TagService(JdbcTemplate jdbcTemplate, TagRepository tagRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tagRepository = tagRepository;
+    }
+
+    // ===== 정규화 =====
+
+    /** NFKC → 앞의 '#' 제거 → 소문자 → 공백 1칸으로 → 최대 50자. 비면 null */
+    public static String normalize(String raw) {
+        if (raw == null) return null;
+        String s = Normalizer.normalize(raw, Normalizer.Form.NFKC).strip();
+        while (s.startsWith("#")) s = s.substring(1).stripLeading();
+        s = s.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        if (s.length() > MAX_TAG_LENGTH) s = s.substring(0, MAX_TAG_LENGTH).stripTrailing();
+        return s.isEmpty() ? null : s;
+    }
+
+    /** 정규화 + 중복 제거 (입력 순서 유지) */
+    public static Set<String> normalizeAll(Collection<String> raw) {
+        Set<String> out = new LinkedHashSet<>();
+        if (raw == null) return out;
+        for (String r : raw) {
+            String n = normalize(r);
+            if (n != null) out.add(n);
+        }
+        return out;
+    }
+
+    // ===== 증감 =====
+
+    /** 글의 태그가 before → after 로 바뀜. 호출자의 트랜잭션 안에서 tags.post_count 증감 */
+    public void applyChange(Set<String> before, Set<String> after) {
+        // 이름순으로 잠가 동시 수정 간 교착 방지
+        SortedSet<String> added = new TreeSet<>(after);
+        added.removeAll(before);
+        SortedSet<String> removed = new TreeSet<>(before);
+        removed.removeAll(after);
+        if (added.isEmpty() && removed.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeCounts(added, removed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean gated;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    enterCommit();
+                    gated = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    applyInMemory(added, removed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (gated) {
+                        gated = false;
+                        commitGate.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            // 자동 커밋: 문장 실행과 메모리 반영 사이에 재적재 스냅샷이 끼지 않도록 함께 묶음
+            enterCommit();
+            try {
+                writeCounts(added, removed);
+                applyInMemory(added, removed);
+            } finally {
+                commitGate.readLock().unlock();
+            }
+        }
+    }
+
+    // 재적재가 쓰기 락을 기다리는 중이어도 끼어들어 잡음 (tryLock 은 대기 중인 쓰기 락을 앞지름).
+    // 줄을 서면, 먼저 커밋 중인 트랜잭션이 이 트랜잭션의 행 잠금을 기다리는 동안 재적재와 맞물려 멈출 수 있음.
+    // 실패하는 건 재적재가 실제로 스냅샷을 읽는 짧은 동안뿐
+    private void enterCommit() {
+        while (!commitGate.readLock().tryLock()) {
+            LockSupport.parkNanos(COMMIT_GATE_PARK_NANOS);
+        }
+    }
+
+    private void writeCounts(SortedSet<String> added, SortedSet<String> removed) {
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, added.stream().map(t -> new Object[]{t}).toList());
+        }
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DECREMENT_SQL, removed.stream().map(t -> new Object[]{t}).toList());
+        }
+    }
+
+    private void applyInMemory(Set<String> added, Set<String> removed) {
+        Dictionary d = dictionary;
+        for (String t : added) {
+            if (d.counts().merge(t, 1, Integer::sum) == 1) d.trie().insert(t);
+        }
+        // 0 이 된 태그는 트라이에 남겨 두고 자동완성에서만 제외 (다시 쓰이면 그대로 재사용, 다음 재적재 때 빠짐)
+        for (String t : removed) d.counts().computeIfPresent(t, (k, v) -> v <= 1 ? null : v - 1);
+    }
+
+    // ===== 조회 =====
+
+    /** 접두사 자동완성 (글 수 많은 순). 접두사가 비면 인기 태그 */
+    public List<TagSuggestion> suggest(String prefix, int limit) {
+        String p = normalize(prefix);
+        int n = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        Dictionary d = dictionary;
+        Map<String, Integer> counts = d.counts();
+        return d.trie().topByPrefix(p == null ? "" : p, n, t -> counts.getOrDefault(t, 0)).stream()
+                .map(t -> new TagSuggestion(t, counts.getOrDefault(t, 0)))
+                .toList();
+    }
+
+    public List<TagSuggestion> popular(int limit) {
+        return suggest(null, limit);
+    }
+
+    public int countOf(String tag) {
+        return dictionary.counts().getOrDefault(tag, 0);
+    }
+
+    // ===== 적재/보정 =====
+
+    /** tags 기준으로 새 사전을 만들어 교체 (호출 스레드가 트랜잭션 안에서 태그를 바꾸는 중이면 안 됨) */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        TagTrie trie = new TagTrie();
+        ConcurrentHashMap<String, Integer> counts = new ConcurrentHashMap<>();
+        // 조회 + 사전 생성 동안만 태그 변경 커밋을 멈춤 (사용 중인 태그 수만큼, 보통 수 ms)
+        commitGate.writeLock().lock();
+        try {
+            List<Tag> tags = tagRepository.findAllInUse();
+            for (Tag t : tags) {
+                counts.put(t.getName(), t.getPostCount());
+                trie.insert(t.getName());
+            }
+            dictionary = new Dictionary(trie, counts);
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+        log.info("[TAG] 태그 {}개 적재", counts.size());
+    }
+
+    /**
+     * community_tags 기준으로 사전/글 수 보정 후 메모리 재적재. 수정한 행 수 반환.
+     * 정규화 이전에 저장된 태그 값도 여기서 정규화 값으로 바꿈
+     */
+    public int reconcile() {
+        int fixed = normalizeLegacyTags();
+        jdbcTemplate.update(INSERT_MISSING_SQL);
+        fixed += jdbcTemplate.update(RECONCILE_COUNTS_SQL);
+        load();
+        return fixed;
+    }
+
+    private int normalizeLegacyTags() {
+        // 컬럼 기본 collation 은 대소문자를 구분하지 않으므로 바이너리 비교로 원래 값을 정확히 골라냄
+        int n = 0;
+        for (String raw : jdbcTemplate.queryForList(
+                "select distinct convert(tag using utf8mb4) collate utf8mb4_bin from community_tags", String.class)) {
+            String norm = normalize(raw);
+            if (Objects.equals(raw, norm)) continue;
+            if (norm != null) {
+                // 같은 글에 정규화 값이 이미 있으면 (PK 충돌) 그 행은 건너뛰고 아래에서 원래 값만 삭제
+                n += jdbcTemplate.update("update ignore community_tags set tag = ? " +
+                        "where convert(tag using utf8mb4) collate utf8mb4_bin = ?", norm, raw);
+            }
+            n += jdbcTemplate.update("delete from community_tags " +
+                    "where convert(tag using utf8mb4) collate utf8mb4_bin = ?", raw);
+        }
+        return n;
+    }
+
+    public Map<String, Object> stats() {
+        Dictionary d = dictionary;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("tagsInUse", d.counts().size());
+        m.put("trieWords", d.trie().size());
+        return m;
+    }
+}
@@ -0,0 +1,88 @@
+package com.community.demo.service.community;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * 태그 이름 접두사 트라이 (자동완성용).
+ * 노드는 문자 단위, 끝 노드에 태그 이름을 보관. 읽기(자동완성)는 동시에, 삽입은 쓰기 락으로 직렬화.
+ * 지우지 않음: 글 수가 0 이 된 태그는 자동완성에서만 빠지고, 재적재 때 새 트라이로 통째로 교체됨.
+ * 글 수는 트라이에 두지 않고 호출자가 넘긴 함수로 조회 (증감마다 트라이를 잠그지 않도록)
+ */
+class TagTrie {
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        String word;
+    }
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    void insert(String word) {
+        lock.writeLock().lock();
+        try {
+            Node n = root;
+            for (int i = 0; i < word.length(); i++) {
+                n = n.children.computeIfAbsent(word.charAt(i), c -> new Node());
+            }
+            if (n.word == null) size++;
+            n.word = word;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** prefix 로 시작하는 단어 중 weight 가 큰 순서로 최대 limit 개 (weight <= 0 인 단어는 제외) */
+    List<String> topByPrefix(String prefix, int limit, ToIntFunction<String> weight) {
+        if (limit <= 0) return List.of();
+        // 최소 힙으로 상위 limit 개만 유지 (가중치는 한 번만 읽어 고정, 같으면 이름순)
+        Comparator<Scored> order = Comparator.comparingInt(Scored::weight)
+                .thenComparing(Scored::word, Comparator.reverseOrder());
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, order);
+
+        lock.readLock().lock();
+        try {
+            Node n = root;
+            for (int i = 0; i < prefix.length() && n != null; i++) {
+                n = n.children.get(prefix.charAt(i));
+            }
+            if (n == null) return List.of();
+
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(n);
+            while (!stack.isEmpty()) {
+                Node cur = stack.pop();
+                if (cur.word != null) {
+                    int w = weight.applyAsInt(cur.word);
+                    if (w > 0) {
+                        top.offer(new Scored(cur.word, w));
+                        if (top.size() > limit) top.poll();
+                    }
+                }
+                for (Node child : cur.children.values()) stack.push(child);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Scored> sorted = new ArrayList<>(top);
+        sorted.sort(order.reversed());
+        return sorted.stream().map(Scored::word).toList();
+    }
+
+    private record Scored(String word, int weight) {
+    }
+}
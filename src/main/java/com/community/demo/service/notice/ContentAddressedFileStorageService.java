@@ -0,0 +1,427 @@
+package com.community.demo.service.notice;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소(SHA-256) 기반 중복 제거 파일 저장소. app.storage.mode=content-addressed 일 때 사용.
+ * - 업로드는 스트리밍으로 임시 파일에 쓰면서 해시 계산 → 같은 내용의 blob 이 이미 있으면 임시 파일만 버림
+ * - blob 은 {root}/.blobs/ab/cd/<sha256> 에 한 번만 저장, 논리 경로(기존 URL 형식 그대로)는 file_blob_links 로 매핑
+ * - file_blobs.ref_count = 링크 수. release() 로 0 이 된 blob 과, DB 에 없는 고아 blob 은 백그라운드 GC 가 삭제
+ * - GC 는 blob 파일 수정 시각이 유예 시간(grace) 이내면 건드리지 않음: 저장 중인 업로드는 blob 을 touch 한 뒤
+ *   커밋하므로, 커밋 전 ref_count 가 0 으로 보이는 동안에도 지워지지 않음
+ * - 매핑이 없는 논리 경로는 기존처럼 {root}/논리경로 파일로 해석 (이 모드 이전에 저장된 파일)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "content-addressed")
+public class ContentAddressedFileStorageService extends LocalFileStorageService {
+
+    private static final String BLOB_DIR = ".blobs";
+    private static final String INCOMING_DIR = "incoming";
+    private static final int LOCK_STRIPES = 64;
+    private static final int PATH_CACHE_SIZE = 10_000;
+    private static final int GC_BATCH = 1000;
+
+    private static final String REF_SQL =
+            "insert into file_blobs (sha256, size, ref_count, created_at) values (?, ?, 1, now(6)) " +
+            "on duplicate key update ref_count = ref_count + 1";
+    private static final String UNREF_SQL =
+            "update file_blobs set ref_count = ref_count - 1 where sha256 = ? and ref_count > 0";
+    private static final String LINK_SQL =
+            "insert into file_blob_links (logical_path, sha256, created_at) values (?, ?, now(6))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long graceMillis;
+    private final long gcIntervalMinutes;
+
+    // blob 단위 파일 작업(존재 확인/이동/삭제) 직렬화용 락 줄무늬. DB 쓰기는 이 락 밖에서 수행
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    // 논리 경로 → sha256 (링크는 생성 후 바뀌지 않으므로 삭제 시에만 무효화).
+    // 트랜잭션 안에서는 커밋된 뒤에만 채움: 롤백된 링크가 남으면 같은 이름을 다시 쓸 때 다른 blob 을 가리킴
+    private final Map<String, String> shaByPath = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > PATH_CACHE_SIZE;
+        }
+    };
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder dedupHits = new LongAdder();
+    private final LongAdder bytesDeduped = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder gcBlobsDeleted = new LongAdder();
+    private final LongAdder gcBytesFreed = new LongAdder();
+    private final LongAdder gcOrphansDeleted = new LongAdder();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastSweep = Map.of();
+
+    private final ScheduledExecutorService gc = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "file-blob-gc");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ContentAddressedFileStorageService(JdbcTemplate jdbcTemplate,
+                                              @Value("${app.storage.gc-grace-minutes:60}") long graceMinutes,
+                                              @Value("${app.storage.gc-interval-minutes:60}") long gcIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.graceMillis = TimeUnit.MINUTES.toMillis(Math.max(1, graceMinutes));
+        this.gcIntervalMinutes = gcIntervalMinutes;
+        for (int i = 0; i < LOCK_STRIPES; i++) stripes[i] = new Object();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startGc() {
+        if (gcIntervalMinutes <= 0) return;
+        gc.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (Exception e) {
+                log.warn("[BLOB] GC 실패: {}", e.toString());
+            }
+        }, gcIntervalMinutes, gcIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gc.shutdownNow();
+    }
+
+    // ===== 저장 =====
+
+    @Override
+    public StoredFile store(MultipartFile file, String subDir) {
+        String filename = lowerExt(sanitize(file.getOriginalFilename()));
+        String dir = (subDir == null || subDir.isBlank()) ? "" : subDir.replace('\\', '/');
+        if (!getRootDir().resolve(dir).normalize().startsWith(getRootDir())) {
+            throw new SecurityException("Invalid subDir outside root");
+        }
+
+        try {
+            // 1) 임시 파일에 스트리밍 저장하면서 해시 계산
+            Path incoming = blobRoot().resolve(INCOMING_DIR).resolve(UUID.randomUUID() + ".part");
+            StreamingFileWriter.Written w;
+            try (InputStream in = file.getInputStream()) {
+                w = StreamingFileWriter.write(in, incoming);
+            }
+            String sha = w.sha256();
+
+            // 2) 같은 내용이 이미 있으면 임시 파일을 버리고 기존 blob 을 touch (GC 유예), 없으면 blob 으로 이동
+            Path blob = blobPath(sha);
+            boolean deduped;
+            synchronized (stripe(sha)) {
+                if (Files.exists(blob)) {
+                    Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+                    Files.deleteIfExists(incoming);
+                    deduped = true;
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    try {
+                        Files.move(incoming, blob, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(incoming, blob);
+                    }
+                    deduped = false;
+                }
+            }
+
+            // 3) 참조 카운트 + 논리 경로 매핑 (호출자의 트랜잭션이 있으면 같이 커밋/롤백)
+            jdbcTemplate.update(REF_SQL, sha, w.size());
+            String logical = insertLink(dir, filename, sha);
+
+            stored.increment();
+            if (deduped) {
+                dedupHits.increment();
+                bytesDeduped.add(w.size());
+            }
+            return new StoredFile(logical, w.size(), sha);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장 실패", e);
+        }
+    }
+
+    // 논리 경로는 기존과 같은 규칙(dir/이름, 충돌 시 이름(1).ext). 기존 디스크 파일 이름과도 겹치지 않게
+    private String insertLink(String dir, String filename, String sha) {
+        int dot = filename.lastIndexOf('.');
+        String base = (dot < 0) ? filename : filename.substring(0, dot);
+        String ext = (dot < 0) ? "" : filename.substring(dot);
+        String prefix = dir.isEmpty() ? "" : dir + "/";
+
+        for (int i = 0; ; i++) {
+            String logical = prefix + (i == 0 ? filename : base + "(" + i + ")" + ext);
+            if (Files.exists(getRootDir().resolve(logical))) continue;
+            try {
+                jdbcTemplate.update(LINK_SQL, logical, sha);
+                cachePut(logical, sha);                     // 커밋 후
+                return logical;
+            } catch (DuplicateKeyException e) {
+                // 이미 쓰인 이름 → 다음 번호
+            }
+        }
+    }
+
+    // ===== 조회 =====
+
+    @Override
+    public Path resolve(String storagePath) {
+        String sha = lookupSha(storagePath);
+        return (sha != null) ? blobPath(sha) : super.resolve(storagePath);
+    }
+
+    @Override
+    public Resource loadAsResource(String storagePath) throws IOException {
+        String sha = lookupSha(storagePath);
+        if (sha == null) return super.loadAsResource(storagePath);
+
+        Path blob = blobPath(sha);
+        if (!Files.exists(blob)) throw new NoSuchFileException(storagePath);
+        // 파일명(확장자)으로 Content-Type 을 정하므로 blob 이름 대신 논리 경로의 파일명을 노출
+        String name = Paths.get(storagePath).getFileName().toString();
+        return new FileSystemResource(blob) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        };
+    }
+
+    // 링크 테이블에 이미 있는 해시를 그대로 사용 (파일을 다시 읽지 않음). 이전 방식으로 저장된 파일만 직접 계산
+    @Override
+    public String contentHash(String storagePath) {
+        String logical = storagePath.startsWith("/files/") ? storagePath.substring("/files/".length()) : storagePath;
+        String sha = lookupSha(logical);
+        return (sha != null) ? sha : super.contentHash(logical);
+    }
+
+    private String lookupSha(String storagePath) {
+        if (storagePath == null || storagePath.isBlank()) return null;
+        synchronized (shaByPath) {
+            String cached = shaByPath.get(storagePath);
+            if (cached != null) return cached;
+        }
+        List<String> rows = jdbcTemplate.queryForList(
+                "select sha256 from file_blob_links where logical_path = ?", String.class, storagePath);
+        if (rows.isEmpty()) return null;
+        cachePut(storagePath, rows.get(0));
+        return rows.get(0);
+    }
+
+    // 호출자의 트랜잭션이 있으면 커밋된 뒤에 캐시 (롤백되면 버림)
+    private void cachePut(String logical, String sha) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheNow(logical, sha);
+                }
+            });
+        } else {
+            cacheNow(logical, sha);
+        }
+    }
+
+    private void cacheNow(String logical, String sha) {
+        synchronized (shaByPath) {
+            shaByPath.put(logical, sha);
+        }
+    }
+
+    private void cacheRemove(String logical) {
+        synchronized (shaByPath) {
+            shaByPath.remove(logical);
+        }
+    }
+
+    // ===== 반납 =====
+
+    @Override
+    public void release(String storagePath) {
+        if (storagePath == null) return;
+        String logical = storagePath.startsWith("/files/") ? storagePath.substring("/files/".length()) : storagePath;
+        String sha = lookupSha(logical);
+        if (sha == null) return;                           // 이 모드 이전 파일 / 외부 URL
+
+        if (jdbcTemplate.update("delete from file_blob_links where logical_path = ?", logical) == 1) {
+            jdbcTemplate.update(UNREF_SQL, sha);
+            released.increment();
+        }
+        cacheRemove(logical);
+        // 커밋 전까지 다른 요청이 아직 남아 있는 링크를 다시 캐시할 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 무효화
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cacheRemove(logical);
+                }
+            });
+        }
+    }
+
+    // ===== GC =====
+
+    /** ref_count 0 인 blob 과 DB 에 없는 고아 blob/임시 파일 중 유예 시간이 지난 것 삭제 */
+    @Override
+    public Map<String, Object> sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return Map.of("skipped", "GC 가 이미 실행 중입니다.");
+        }
+        try {
+            long t0 = System.nanoTime();
+            long cutoff = System.currentTimeMillis() - graceMillis;
+            int blobsDeleted = 0;
+            long bytesFreed = 0;
+
+            // 1) 참조가 없어진 blob
+            List<Map<String, Object>> unreferenced = jdbcTemplate.queryForList(
+                    "select sha256, size from file_blobs where ref_count <= 0 limit " + GC_BATCH);
+            for (Map<String, Object> row : unreferenced) {
+                String sha = (String) row.get("sha256");
+                long size = ((Number) row.get("size")).longValue();
+                Path blob = blobPath(sha);
+                if (modifiedAfter(blob, cutoff)) continue;          // 최근에 다시 저장(touch)된 blob
+                if (jdbcTemplate.update("delete from file_blobs where sha256 = ? and ref_count <= 0", sha) != 1) continue;
+                // 행을 지운 뒤 같은 내용이 다시 저장됐으면 (touch 후 REF 로 행이 다시 생김) 파일은 남김.
+                // 남은 파일은 행이 없으면 다음 GC 에서 고아로 정리됨
+                synchronized (stripe(sha)) {
+                    if (modifiedAfter(blob, cutoff) || blobRowExists(sha)) continue;
+                    if (Files.deleteIfExists(blob)) {
+                        blobsDeleted++;
+                        bytesFreed += size;
+                    }
+                }
+            }
+
+            // 2) DB 행이 없는 blob (저장 후 트랜잭션 롤백 등) + 남은 임시 파일
+            int orphans = 0;
+            Set<String> known = new HashSet<>(jdbcTemplate.queryForList("select sha256 from file_blobs", String.class));
+            Path root = blobRoot();
+            if (Files.isDirectory(root)) {
+                List<Path> files;
+                try (Stream<Path> s = Files.walk(root, 3)) {
+                    files = s.filter(Files::isRegularFile).toList();
+                }
+                for (Path f : files) {
+                    if (modifiedAfter(f, cutoff)) continue;
+                    boolean temp = f.getParent().getFileName().toString().equals(INCOMING_DIR);
+                    String sha = f.getFileName().toString();
+                    if (!temp && known.contains(sha)) continue;
+                    synchronized (stripe(sha)) {
+                        if (modifiedAfter(f, cutoff)) continue;
+                        long size = Files.size(f);
+                        if (Files.deleteIfExists(f)) {
+                            orphans++;
+                            bytesFreed += size;
+                        }
+                    }
+                }
+            }
+
+            gcBlobsDeleted.add(blobsDeleted);
+            gcOrphansDeleted.add(orphans);
+            gcBytesFreed.add(bytesFreed);
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("finishedAt", LocalDateTime.now());
+            m.put("blobsDeleted", blobsDeleted);
+            m.put("orphansDeleted", orphans);
+            m.put("bytesFreed", bytesFreed);
+            m.put("elapsedMs", (System.nanoTime() - t0) / 1_000_000L);
+            lastSweep = m;
+            if (blobsDeleted > 0 || orphans > 0) {
+                log.info("[BLOB] GC: blob {}개, 고아 파일 {}개 삭제 ({} bytes)", blobsDeleted, orphans, bytesFreed);
+            }
+            return m;
+        } catch (IOException e) {
+            throw new RuntimeException("blob GC 실패", e);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private boolean blobRowExists(String sha) {
+        Integer n = jdbcTemplate.queryForObject("select count(*) from file_blobs where sha256 = ?", Integer.class, sha);
+        return n != null && n > 0;
+    }
+
+    // ===== 관리 =====
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> blobs = jdbcTemplate.queryForMap(
+                "select count(*) as cnt, coalesce(sum(size), 0) as bytes from file_blobs where ref_count > 0");
+        Map<String, Object> links = jdbcTemplate.queryForMap("""
+                select count(*) as cnt, coalesce(sum(b.size), 0) as bytes
+                  from file_blob_links l join file_blobs b on b.sha256 = l.sha256
+                """);
+        long physical = ((Number) blobs.get("bytes")).longValue();
+        long logical = ((Number) links.get("bytes")).longValue();
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("mode", "content-addressed");
+        m.put("rootDir", getRootDir().toString());
+        m.put("files", ((Number) links.get("cnt")).longValue());
+        m.put("blobs", ((Number) blobs.get("cnt")).longValue());
+        m.put("logicalBytes", logical);
+        m.put("physicalBytes", physical);
+        m.put("diskSavedBytes", Math.max(0, logical - physical));
+        m.put("storedSinceStart", stored.sum());
+        m.put("dedupHitsSinceStart", dedupHits.sum());
+        m.put("bytesDedupedSinceStart", bytesDeduped.sum());
+        m.put("releasedSinceStart", released.sum());
+        m.put("gcBlobsDeleted", gcBlobsDeleted.sum());
+        m.put("gcOrphansDeleted", gcOrphansDeleted.sum());
+        m.put("gcBytesFreed", gcBytesFreed.sum());
+        m.put("gcGraceMinutes", TimeUnit.MILLISECONDS.toMinutes(graceMillis));
+        m.put("lastSweep", lastSweep);
+        return m;
+    }
+
+    // ===== 경로 =====
+
+    private Path blobRoot() {
+        return getRootDir().resolve(BLOB_DIR);
+    }
+
+    private Path blobPath(String sha) {
+        return blobRoot().resolve(sha.substring(0, 2)).resolve(sha.substring(2, 4)).resolve(sha);
+    }
+
+    private Object stripe(String key) {
+        return stripes[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static boolean modifiedAfter(Path p, long cutoffMillis) throws IOException {
+        try {
+            return Files.getLastModifiedTime(p).toMillis() > cutoffMillis;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+}
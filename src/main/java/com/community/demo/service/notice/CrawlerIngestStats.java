@@ -0,0 +1,125 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.dto.notice.SchoolNoticeIngestResult.Outcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 크롤링 공지 수집 결과 집계 (관리자용).
+ * 크롤러는 공지를 1건씩 보내므로, 마지막 요청 후 run-gap-seconds 이상 조용하면 다음 요청부터 새 실행(run)으로 본다.
+ * 실행마다 생성/갱신/스킵/실패 건수와 파일 추가/삭제/재사용 수를 세고, 최근 실행 20개를 보관.
+ * 트랜잭션 안에서 기록하면 커밋된 경우에만 반영
+ */
+@Component
+public class CrawlerIngestStats {
+
+    private static final int MAX_RECENT_RUNS = 20;
+
+    private final long runGapMs;
+
+    // 집계는 요청 빈도가 낮으므로 (공지 1건당 1회) 단순 동기화
+    private Run current;
+    private final Deque<Run> recent = new ArrayDeque<>();
+    private final Run total = new Run(System.currentTimeMillis());
+
+    public CrawlerIngestStats(@Value("${app.crawler.run-gap-seconds:300}") long runGapSeconds) {
+        this.runGapMs = Math.max(1, runGapSeconds) * 1000;
+    }
+
+    /** 공지 1건 처리 결과 기록 */
+    public void record(Outcome outcome, int filesAdded, int filesRemoved, int filesKept) {
+        Runnable apply = () -> apply(outcome, filesAdded, filesRemoved, filesKept);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /** 처리 중 예외로 롤백된 요청 */
+    public synchronized void recordFailure() {
+        long now = System.currentTimeMillis();
+        runAt(now).failed++;
+        total.failed++;
+    }
+
+    private synchronized void apply(Outcome outcome, int filesAdded, int filesRemoved, int filesKept) {
+        long now = System.currentTimeMillis();
+        for (Run r : List.of(runAt(now), total)) {
+            switch (outcome) {
+                case CREATED -> r.created++;
+                case UPDATED -> r.updated++;
+                case SKIPPED -> r.skipped++;
+            }
+            r.filesAdded += filesAdded;
+            r.filesRemoved += filesRemoved;
+            r.filesKept += filesKept;
+            r.lastAtMs = now;
+        }
+    }
+
+    // 현재 실행 (공백이 길었으면 이전 실행을 닫고 새로 시작)
+    private Run runAt(long now) {
+        if (current == null || now - current.lastAtMs > runGapMs) {
+            if (current != null) {
+                recent.addFirst(current);
+                while (recent.size() > MAX_RECENT_RUNS) recent.removeLast();
+            }
+            current = new Run(now);
+        }
+        current.lastAtMs = now;
+        return current;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("runGapSeconds", runGapMs / 1000);
+        m.put("currentRun", current == null ? null : current.toMap());
+        List<Map<String, Object>> runs = new ArrayList<>(recent.size());
+        for (Run r : recent) runs.add(r.toMap());
+        m.put("recentRuns", runs);
+        m.put("total", total.toMap());
+        return m;
+    }
+
+    private static final class Run {
+        final long startedAtMs;
+        long lastAtMs;
+        long created, updated, skipped, failed;
+        long filesAdded, filesRemoved, filesKept;
+
+        Run(long startedAtMs) {
+            this.startedAtMs = startedAtMs;
+            this.lastAtMs = startedAtMs;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("startedAt", Instant.ofEpochMilli(startedAtMs).toString());
+            m.put("lastAt", Instant.ofEpochMilli(lastAtMs).toString());
+            m.put("created", created);
+            m.put("updated", updated);
+            m.put("skipped", skipped);
+            m.put("failed", failed);
+            m.put("filesAdded", filesAdded);
+            m.put("filesRemoved", filesRemoved);
+            m.put("filesKept", filesKept);
+            return m;
+        }
+    }
+}
@@ -4,11 +4,19 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 
 public interface FileStorageService {   // 파일 저장 인터페이스 정의
     // subDir 예: "community/images", "notices/attachments" 등. null 또는 "" 이면 루트에 저장
-    String save(MultipartFile file, String subDir);
+    default String save(MultipartFile file, String subDir) {
+        return store(file, subDir).storagePath();
+    }
+
+    // save 와 같지만 크기/SHA-256 도 함께 반환 (업로드를 힙에 올리지 않고 스트리밍 저장)
+    StoredFile store(MultipartFile file, String subDir);
 
     // 저장된 논리 경로(예: "community/images/uuid_name.jpg")로 Resource 로드
     Resource loadAsResource(String storagePath) throws IOException;
@@ -18,4 +26,30 @@ public interface FileStorageService {   // 파일 저장 인터페이스 정의
 
     // 정적 리소스 매핑 시 사용할 루트 디렉터리
     Path getRootDir();
+
+    // 저장된 파일 내용의 SHA-256 ("/files/" 접두어 허용). 파일이 없으면 null
+    default String contentHash(String storagePath) {
+        String logical = storagePath.startsWith("/files/") ? storagePath.substring("/files/".length()) : storagePath;
+        Path p = resolve(logical);
+        if (!Files.isRegularFile(p)) return null;
+        try (InputStream in = Files.newInputStream(p)) {
+            return StreamingFileWriter.sha256(in);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 더 이상 쓰지 않는 논리 경로 반납 ("/files/" 접두어 허용). 참조 카운트를 쓰는 구현만 실제로 정리
+    default void release(String storagePath) {
+    }
+
+    // 저장소 상태 (관리자용)
+    default Map<String, Object> stats() {
+        return Map.of("mode", "local", "rootDir", getRootDir().toString());
+    }
+
+    // 참조 없는 파일 정리 (관리자용). 정리 대상이 없는 구현은 빈 결과
+    default Map<String, Object> sweep() {
+        return Map.of("mode", "local", "skipped", "참조 카운트를 쓰지 않는 저장소");
+    }
 }
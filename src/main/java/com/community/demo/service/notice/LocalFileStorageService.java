@@ -3,13 +3,17 @@ package com.community.demo.service.notice;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.system.ApplicationHome;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.*;
 import java.text.Normalizer;
@@ -17,6 +21,7 @@ import java.util.regex.Pattern;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "app.storage.mode", havingValue = "local", matchIfMissing = true)
 public class LocalFileStorageService implements FileStorageService {    // 파일 저장 구현체 클래스,로컬 저장으로 일단 정의해봤음
 
 
@@ -31,7 +36,7 @@ public class LocalFileStorageService implements FileStorageService {    // 파
     // 허용: 유니코드 문자(\p{L}), 숫자(\p{N}), 공백(\p{Zs}), 그리고 . _ - ( ) [ ]
     private static final Pattern DISALLOWED     = Pattern.compile("[^\\p{L}\\p{N}\\p{Zs}._()\\[\\]-]");
 
-    private String sanitize(String original) {
+    protected String sanitize(String original) {
         if (original == null || original.isBlank()) return "file";
 
         // 경로 분리자 제거 (브라우저가 C:\fakepath\... 보낼 때 대비)
@@ -81,7 +86,7 @@ public class LocalFileStorageService implements FileStorageService {    // 파
     }
 
     @Override
-    public String save(MultipartFile file, String subDir) {
+    public StoredFile store(MultipartFile file, String subDir) {
         try {
             String safeOriginal = sanitize(file.getOriginalFilename());
             String filename = lowerExt(safeOriginal);
@@ -95,22 +100,46 @@ public class LocalFileStorageService implements FileStorageService {    // 파
             }
             Files.createDirectories(targetDir);
 
-            // 충돌 시 파일명 뒤에 (1), (2) 붙임
-            String uniqueName = uniquify(targetDir, filename);
-            Path target = targetDir.resolve(uniqueName).normalize();
-
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            //논리경로 반환
-            return (subDir == null || subDir.isBlank())
-                    ? uniqueName
-                    : subDir.replace('\\', '/') + "/" + uniqueName;
+            // 임시 파일에 스트리밍 저장 후 원자적 이동. 충돌 시 파일명 뒤에 (1), (2) 붙임
+            // (동시에 같은 이름을 고른 요청이 먼저 이동했으면 다음 이름으로 다시 시도)
+            for (int attempt = 0; ; attempt++) {
+                String uniqueName = uniquify(targetDir, filename);
+                Path target = targetDir.resolve(uniqueName).normalize();
+                try (InputStream in = file.getInputStream()) {
+                    StreamingFileWriter.Written w = StreamingFileWriter.write(in, target);
+                    //논리경로 반환
+                    String logical = (subDir == null || subDir.isBlank())
+                            ? uniqueName
+                            : subDir.replace('\\', '/') + "/" + uniqueName;
+                    deleteOnRollback(target);
+                    return new StoredFile(logical, w.size(), w.sha256());
+                } catch (FileAlreadyExistsException e) {
+                    if (attempt >= 5) throw e;
+                }
+            }
 
         } catch (IOException e) {
             throw new RuntimeException("파일 저장 실패", e);
         }
     }
 
-    private String lowerExt(String name) {
+    // 트랜잭션 안에서 저장했는데 롤백되면 파일을 가리킬 행이 없으므로 삭제 (일괄 수집 청크 재시도 등)
+    private void deleteOnRollback(Path target) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) return;
+                try {
+                    Files.deleteIfExists(target);
+                } catch (IOException e) {
+                    log.warn("롤백된 업로드 파일 삭제 실패: {} ({})", target, e.toString());
+                }
+            }
+        });
+    }
+
+    protected String lowerExt(String name) {
         if (name == null) return "file";
         int dot = name.lastIndexOf('.');
         if (dot < 0) return name;
@@ -0,0 +1,416 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.repository.NoticeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 공지사항 검색용 인메모리 역색인.
+ * - 제목/본문 전체를 2-gram(한글 음절 단위 포함)으로 잘라 색인하고, 학과/작성자는 필터(facet)로 보관.
+ *   2-gram 은 UTF-16 두 글자를 int 하나로 묶은 코드로 저장 (문서마다 문자열 객체를 만들지 않음)
+ * - 공지 생성/수정/삭제 및 크롤링 upsert 시 트랜잭션 커밋 이후 증분 반영
+ * - 기동 시(백그라운드) 및 관리자 명령으로 DB 에서 전체 재색인
+ * 색인은 후보만 좁히고, 후보는 기존 LIKE 검색과 같은 조건으로 DB 에서 확인하므로 결과 집합과 순서가 LIKE 경로와 같다.
+ * 확인은 최신순으로 요청한 페이지가 찰 때까지만 하고, 나머지 후보는 같은 조건의 count 쿼리로 세므로 전체 건수도 LIKE 경로와 같다.
+ * 흔한 검색어라도 첫 페이지는 보통 확인 쿼리 1회 + count 쿼리 1회로 끝난다.
+ * 결과는 항상 최신순(LATEST_FIRST_SORT)이므로 다른 정렬의 목록은 호출 측이 기존 쿼리를 쓴다.
+ * 색인이 준비되지 않았거나 2글자 미만 검색어면 search()가 null 을 반환하고, 호출 측은 기존 LIKE 쿼리로 대체한다.
+ */
+@Slf4j
+@Component
+public class NoticeSearchIndex {
+
+    private static final int VERIFY_CHUNK = 1000;  // 후보 확인 쿼리 1회당 IN 목록 최대 크기
+    private static final int VERIFY_MIN = 50;      // 첫 후보 확인 쿼리의 최소 크기 (대부분 맞으므로 페이지보다 조금 넉넉히)
+    private static final int COUNT_CHUNK = 5000;   // 나머지 후보 count 쿼리 1회당 IN 목록 최대 크기 (id 만 보내므로 확인보다 크게)
+
+    /** 색인 검색 결과의 순서 = 공지 목록 컨트롤러의 정렬 */
+    public static final Sort LATEST_FIRST_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    // 목록 검색(LIKE)의 정렬과 같음: createdAt DESC, id DESC
+    private static final Comparator<Candidate> LATEST_FIRST =
+            Comparator.comparingLong(Candidate::createdAt).thenComparingLong(Candidate::id).reversed();
+
+    private final NoticeRepository noticeRepository;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();                           // lock 으로 보호
+    private final List<Consumer<IndexState>> pendingOps = new ArrayList<>(); // 재색인 중 들어온 증분 작업 (lock 으로 보호)
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private volatile boolean ready = false;
+    private volatile long lastRebuildMs = -1;
+
+    public NoticeSearchIndex(NoticeRepository noticeRepository,
+                             @Value("${app.notice-search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.noticeRepository = noticeRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    // ===== 증분 반영 =====
+
+    // 공지 생성/수정 시 호출 (현재 값으로 스냅샷을 떠서 커밋 이후 색인)
+    public void index(Notice notice) {
+        if (notice == null || notice.getId() == null) return;
+        IndexedNotice doc = IndexedNotice.of(notice);
+        afterCommit(() -> apply(s -> s.put(doc)));
+    }
+
+    // 공지 삭제 시 호출
+    public void remove(Long noticeId) {
+        if (noticeId == null) return;
+        afterCommit(() -> apply(s -> s.remove(noticeId)));
+    }
+
+    private void apply(Consumer<IndexState> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(state);
+            if (rebuilding.get()) pendingOps.add(op); // 새 인덱스에도 재적용
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ===== 검색 =====
+
+    /** 검색 결과 한 페이지와 검색어에 맞는 전체 건수 */
+    public record Hits(List<Long> ids, long total) {}
+
+    /**
+     * 검색어가 제목 또는 본문에 포함된 공지 중 [offset, offset + limit) 범위의 id 를 작성일 DESC, id DESC 순으로 반환
+     * (LIKE 검색과 같은 결과/순서). 후보는 최신순으로 이 범위가 찰 때까지만 DB 에서 확인하고, 남은 후보는 개수만 센다.
+     * @param departments null 이면 학과 필터 없음
+     * @param authorIds   null 이면 작성자 필터 없음
+     * @return 색인으로 처리할 수 없으면 null (호출 측에서 DB LIKE 로 대체)
+     */
+    public Hits search(String keyword, Collection<String> departments, Collection<Long> authorIds,
+                       long offset, int limit) {
+        if (!ready) return null;
+        int[] grams = queryGrams(keyword);
+        if (grams == null) return null;
+
+        Set<String> deptFilter = (departments == null) ? null : new HashSet<>(departments);
+        Set<Long> authorFilter = (authorIds == null) ? null : new HashSet<>(authorIds);
+
+        List<Candidate> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = state.candidates(grams, deptFilter, authorFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+        candidates.sort(LATEST_FIRST);
+
+        // 2-gram 이 모두 있어도 검색어가 이어져 있지는 않을 수 있음 (예: "가나 나다" 와 "가나다").
+        // 최신 후보부터 LIKE 와 같은 조건으로 확인 (삭제/수정이 아직 색인에 반영되지 않은 공지도 여기서 걸러짐)
+        long wanted = Math.max(0, offset) + Math.max(0, limit);
+        List<Long> matched = new ArrayList<>();
+        int checked = 0;
+        int n = VERIFY_MIN;
+        while (matched.size() < wanted && checked < candidates.size()) {
+            n = (int) Math.min(VERIFY_CHUNK, Math.max(wanted - matched.size(), n));
+            List<Long> ids = candidates.subList(checked, Math.min(checked + n, candidates.size())).stream()
+                    .map(Candidate::id)
+                    .toList();
+            Set<Long> ok = new HashSet<>(noticeRepository.findIdsMatchingKeyword(ids, keyword));
+            for (Long id : ids) {
+                if (ok.contains(id)) matched.add(id);
+            }
+            checked += ids.size();
+            n *= 2;     // 걸러지는 후보가 많은 검색어(여러 단어 등)는 다음 확인 범위를 넓힘
+        }
+
+        // 확인하지 않은 후보에도 걸러질 것이 있으므로 같은 조건으로 개수만 셈
+        long total = matched.size();
+        for (int i = checked; i < candidates.size(); i += COUNT_CHUNK) {
+            List<Long> ids = candidates.subList(i, Math.min(i + COUNT_CHUNK, candidates.size())).stream()
+                    .map(Candidate::id)
+                    .toList();
+            total += noticeRepository.countIdsMatchingKeyword(ids, keyword);
+        }
+
+        int from = (int) Math.min(Math.max(0, offset), matched.size());
+        int to = (int) Math.min(wanted, matched.size());
+        return new Hits(List.copyOf(matched.subList(from, to)), total);
+    }
+
+    /** 검색 결과 전체 (모든 후보를 확인). 색인으로 처리할 수 없으면 null */
+    public List<Long> search(String keyword, Collection<String> departments, Collection<Long> authorIds) {
+        Hits hits = search(keyword, departments, authorIds, 0, Integer.MAX_VALUE);
+        return (hits == null) ? null : hits.ids();
+    }
+
+    // ===== 재색인 =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread t = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("[NOTICE-SEARCH] 기동 시 재색인 실패 (LIKE 검색으로 동작)", e);
+            }
+        }, "notice-search-rebuild");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** DB 의 전체 공지를 id 순으로 배치 조회해 새 인덱스를 만든 뒤 교체 */
+    public Map<String, Object> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 재색인이 진행 중입니다.");
+        }
+        long t0 = System.currentTimeMillis();
+        try {
+            IndexState fresh = new IndexState();
+            long afterId = 0L;
+            while (true) {
+                List<Notice> batch = noticeRepository.findBatchAfterId(afterId, PageRequest.of(0, rebuildBatchSize));
+                if (batch.isEmpty()) break;
+                for (Notice n : batch) {
+                    fresh.put(IndexedNotice.of(n));
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingOps.forEach(op -> op.accept(fresh));
+                pendingOps.clear();
+                state = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            lastRebuildMs = System.currentTimeMillis() - t0;
+            log.info("[NOTICE-SEARCH] 재색인 완료: docs={}, terms={}, {}ms", fresh.docCount(), fresh.termCount(), lastRebuildMs);
+            return stats();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("ready", ready);
+            out.put("rebuilding", rebuilding.get());
+            out.put("documents", state.docCount());
+            out.put("terms", state.termCount());
+            out.put("postings", state.postingCount());
+            out.put("lastRebuildMs", lastRebuildMs);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== 토크나이저 =====
+
+    // 검색어 → 2-gram 코드 (중복 제거). 2글자 미만 단어가 있으면 색인으로는 부분일치를 보장할 수 없으므로 null
+    static int[] queryGrams(String keyword) {
+        if (keyword == null || keyword.isBlank()) return null;
+        List<String> words = words(keyword);
+        if (words.isEmpty()) return null;
+        for (String w : words) {
+            if (w.length() < 2) return null;
+        }
+        return grams(words);
+    }
+
+    // 텍스트 → 2-gram 코드 (오름차순, 중복 제거)
+    static int[] docGrams(String title, String text) {
+        List<String> words = new ArrayList<>();
+        if (title != null) words.addAll(words(title));
+        if (text != null) words.addAll(words(text));
+        return grams(words);
+    }
+
+    private static int[] grams(List<String> words) {
+        int total = 0;
+        for (String w : words) total += Math.max(0, w.length() - 1);
+        int[] out = new int[total];
+        int n = 0;
+        for (String w : words) {
+            for (int i = 0; i + 2 <= w.length(); i++) out[n++] = gram(w.charAt(i), w.charAt(i + 1));
+        }
+        Arrays.sort(out);
+        return distinct(out);
+    }
+
+    // 2-gram 코드: 앞 글자를 상위 16비트, 뒷 글자를 하위 16비트에
+    static int gram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length == 0) return sorted;
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+        }
+        return (n == sorted.length) ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    // NFC 정규화 + 소문자화 후 글자/숫자 연속 구간으로 분리.
+    // HTML 태그/엔티티도 지우지 않음: LIKE 는 원문 그대로 비교하므로 후보가 LIKE 결과를 빠짐없이 포함해야 함
+    private static List<String> words(String raw) {
+        String s = Normalizer.normalize(raw, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < s.length(); i++) {
+            boolean wordChar = Character.isLetterOrDigit(s.charAt(i));
+            if (wordChar && start < 0) start = i;
+            if (!wordChar && start >= 0) {
+                words.add(s.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) words.add(s.substring(start));
+        return words;
+    }
+
+    // ===== 내부 자료구조 =====
+
+    // 색인에 필요한 값만 담은 스냅샷 (엔티티/영속성 컨텍스트와 분리)
+    private record IndexedNotice(long id, String title, String text, String department, Long authorId, long createdAt) {
+        static IndexedNotice of(Notice n) {
+            Long authorId = (n.getAuthor() == null) ? null : n.getAuthor().getId();
+            return new IndexedNotice(n.getId(), n.getTitle(), n.getText(), n.getDepartment(), authorId,
+                    createdAtKey(n.getCreatedAt()));
+        }
+    }
+
+    // 정렬 키: 시간대와 무관하게 LocalDateTime 순서 그대로 (마이크로초까지). null 은 DESC 정렬에서 맨 뒤
+    static long createdAtKey(LocalDateTime createdAt) {
+        if (createdAt == null) return Long.MIN_VALUE;
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+    }
+
+    // terms: 문서의 2-gram 코드 (삭제/수정 시 포스팅에서 빼는 데 사용)
+    private record DocMeta(String department, Long authorId, long createdAt, int[] terms) {}
+
+    private record Candidate(long id, long createdAt) {}
+
+    // id 오름차순으로 정렬된 docId 배열
+    private static final class PostingList {
+        long[] ids = new long[4];
+        int size;
+
+        void put(long id) {
+            int pos = (size > 0 && ids[size - 1] < id) ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            int at = -(pos + 1);
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    private static final class IndexState {
+        final Map<Integer, PostingList> postings = new HashMap<>();
+        final Map<Long, DocMeta> docs = new HashMap<>();
+        long postingCount;
+
+        void put(IndexedNotice doc) {
+            remove(doc.id());
+
+            int[] terms = docGrams(doc.title(), doc.text());
+            for (int term : terms) postings.computeIfAbsent(term, k -> new PostingList()).put(doc.id());
+            postingCount += terms.length;
+            docs.put(doc.id(), new DocMeta(doc.department(), doc.authorId(), doc.createdAt(), terms));
+        }
+
+        void remove(long id) {
+            DocMeta meta = docs.remove(id);
+            if (meta == null) return;
+            for (int term : meta.terms()) {
+                PostingList pl = postings.get(term);
+                if (pl == null) continue;
+                pl.remove(id);
+                if (pl.size == 0) postings.remove(term);
+            }
+            postingCount -= meta.terms().length;
+        }
+
+        // 검색어의 2-gram 을 모두 가진 공지(AND) 중 필터에 맞는 것. LIKE 결과를 빠짐없이 포함
+        List<Candidate> candidates(int[] grams, Set<String> deptFilter, Set<Long> authorFilter) {
+            List<Candidate> out = new ArrayList<>();
+            List<PostingList> lists = new ArrayList<>(grams.length);
+            for (int g : grams) {
+                PostingList pl = postings.get(g);
+                if (pl == null) return out;     // AND 검색: 한 gram 이라도 없으면 결과 없음
+                lists.add(pl);
+            }
+            lists.sort(Comparator.comparingInt(pl -> pl.size));   // 가장 짧은 목록부터 교집합
+
+            PostingList base = lists.get(0);
+            outer:
+            for (int k = 0; k < base.size; k++) {
+                long id = base.ids[k];
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) continue outer;
+                }
+                addIfAccepted(out, id, deptFilter, authorFilter);
+            }
+            return out;
+        }
+
+        private void addIfAccepted(List<Candidate> out, long id, Set<String> deptFilter, Set<Long> authorFilter) {
+            DocMeta meta = docs.get(id);
+            if (meta == null) return;
+            if (deptFilter != null && !deptFilter.contains(meta.department())) return;
+            if (authorFilter != null && !authorFilter.contains(meta.authorId())) return;
+            out.add(new Candidate(id, meta.createdAt()));
+        }
+
+        int docCount() { return docs.size(); }
+        int termCount() { return postings.size(); }
+        long postingCount() { return postingCount; }
+    }
+}
@@ -3,8 +3,9 @@ package com.community.demo.service.notice;
 import com.community.demo.domain.notice.*;
 import com.community.demo.domain.user.RoleType;
 import com.community.demo.domain.user.User;
+import com.community.demo.dto.common.CursorPage;
+import com.community.demo.dto.common.PageCursor;
 import com.community.demo.dto.notice.*;
-import com.community.demo.repository.BookmarkRepository;
 import com.community.demo.repository.NoticeRepository;
 import com.community.demo.repository.NotificationRepository;
 import com.community.demo.repository.UserRepository;
@@ -15,6 +16,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -22,15 +24,21 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.text.Normalizer;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -40,10 +48,12 @@ public class NoticeService {
     private final NoticeRepository noticeRepository;
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
-    private final BookmarkRepository bookmarkRepository;
     private final FileStorageService fileStorageService;
     private final BookmarkService bookmarkService;
     private final PublicUrlResolver url;
+    private final NoticeSearchIndex noticeSearchIndex;
+    private final NotificationFanoutService notificationFanoutService;
+    private final CrawlerIngestStats crawlerIngestStats;
 
     private static final EnumSet<RoleType> WRITER_ROLES =
             EnumSet.of(RoleType.STAFF, RoleType.MANAGER, RoleType.ADMIN);
@@ -51,6 +61,8 @@ public class NoticeService {
     private static final EnumSet<RoleType> EDIT_ANY_ROLES =
             EnumSet.of(RoleType.MANAGER, RoleType.ADMIN);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     // 작성 권한: STAFF/MANAGER/ADMIN
     private void requireWriterRole(User user) {
         if (user == null || user.getRoleType() == null || !WRITER_ROLES.contains(user.getRoleType())) {
@@ -75,7 +87,14 @@ public class NoticeService {
         boolean hasDepartments = departments != null && !departments.isEmpty();
         boolean hasKeyword = keyword != null && !keyword.isBlank();
 
-        if (hasDepartments && hasKeyword) {
+        NoticeSearchIndex.Hits hits = hasKeyword
+                ? searchIndex(keyword, hasDepartments ? departments : null, null, pageable)
+                : null;
+
+        if (hits != null) {
+            // 검색어 (+ 학과), 최신순: 색인 검색 (LIKE 와 같은 결과/건수)
+            notices = pageOfHits(hits, pageable);
+        } else if (hasDepartments && hasKeyword) {
             // 학과 + 검색어
             notices = noticeRepository.findByDepartmentsAndKeyword(departments, keyword, pageable);
         } else if (hasDepartments) {
@@ -89,30 +108,25 @@ public class NoticeService {
             notices = noticeRepository.findAll(pageable);
         }
 
-        return notices.map(notice -> {
-            List<FileItemResponse> imageItems = notice.getImages().stream()
-                    .map(img -> new FileItemResponse(img.getId(), img.getImageUrl()))
-                    .toList();
-            List<FileItemResponse> attachmentItems = notice.getAttachments().stream()
-                    .map(att -> new FileItemResponse(att.getId(), att.getFileUrl()))
-                    .toList();
+        return toListPage(notices, bookmarkedAuthors::contains);
+    }
 
-            return new NoticeListResponse(
-                    notice.getId(),
-                    notice.getTitle(),
-                    notice.getText(),
-                    notice.getAuthor().getId(),
-                    notice.getAuthor().getUsername(),
-                    notice.getAuthor().getDepartment(), //추가
-                    notice.getAuthor().getRoleType().name(),
-                    url.toAbsolute(notice.getAuthor().getProfileImageUrl()),    //추가
-                    notice.getCreatedAt(),
-                    notice.getUpdatedAt(),
-                    imageItems,
-                    attachmentItems,       // ← 첨부 전체 리스트
-                    bookmarkedAuthors.contains(notice.getAuthor().getId())
-            );
-        });
+    // 목록 커서 페이징 (최신순, 학과 필터). count 쿼리 없음. 검색어 검색은 기존 offset 목록을 사용
+    @Transactional(readOnly = true)
+    public CursorPage<NoticeListResponse> getNoticesByCursor(List<String> departments, String cursor, int size, User user) {
+        int n = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        PageCursor c = PageCursor.decode(cursor, 2);
+        List<String> deptParam = (departments == null || departments.isEmpty()) ? null : departments;
+
+        List<Notice> rows = noticeRepository.findLatestAfter(deptParam,
+                c == null ? null : c.timeAt(0),
+                c == null ? null : c.longAt(1),
+                PageRequest.of(0, n + 1));
+        Set<Long> bookmarkedAuthors = bookmarkService.getBookmarkedAuthorIds(user);
+
+        return CursorPage.of(rows, n,
+                list -> toListResponses(list, bookmarkedAuthors::contains),
+                x -> PageCursor.encode(x.getCreatedAt(), x.getId()));
     }
 
     //  상세 조회 - 공지사항 id, 제목, 내용, 작성자 이름, 작성자 역할, 날짜, 이미지, 첨부파일, 북마크 여부 + (내 알림 자동 읽음)
@@ -163,33 +177,14 @@ public class NoticeService {
         List<String> deptParam = (departments == null || departments.isEmpty()) ? null : departments;
         String kw = (keyword != null && !keyword.isBlank()) ? keyword : null;
 
-        Page<Notice> page = noticeRepository.findByBookmarkedAuthorsWithFilters(
-                bookmarkedAuthorIds, deptParam, kw, pageable);
-
-        return page.map(notice -> {
-            List<FileItemResponse> imageItems = notice.getImages().stream()
-                    .map(img -> new FileItemResponse(img.getId(), img.getImageUrl()))
-                    .toList();
-            List<FileItemResponse> attachmentItems = notice.getAttachments().stream()
-                    .map(att -> new FileItemResponse(att.getId(), att.getFileUrl()))
-                    .toList();
+        NoticeSearchIndex.Hits hits = (kw != null)
+                ? searchIndex(kw, deptParam, bookmarkedAuthorIds, pageable)
+                : null;
+        Page<Notice> page = (hits != null)
+                ? pageOfHits(hits, pageable)
+                : noticeRepository.findByBookmarkedAuthorsWithFilters(bookmarkedAuthorIds, deptParam, kw, pageable);
 
-            return new NoticeListResponse(
-                    notice.getId(),
-                    notice.getTitle(),
-                    notice.getText(),
-                    notice.getAuthor().getId(),
-                    notice.getAuthor().getUsername(),
-                    notice.getAuthor().getDepartment(),
-                    notice.getAuthor().getRoleType().name(),
-                    url.toAbsolute(notice.getAuthor().getProfileImageUrl()),
-                    notice.getCreatedAt(),
-                    notice.getUpdatedAt(),
-                    imageItems,
-                    attachmentItems,
-                    true
-            );
-        });
+        return toListPage(page, authorId -> true);
     }
 
 
@@ -199,64 +194,28 @@ public class NoticeService {
         // keyword 정규화 (null/blank → null)
         String kw = (keyword != null && !keyword.isBlank()) ? keyword : null;
 
-        Page<Notice> notices = noticeRepository.findByAuthorIdAndKeyword(authorId, kw, pageable);
+        NoticeSearchIndex.Hits hits = (kw != null)
+                ? searchIndex(kw, null, List.of(authorId), pageable)
+                : null;
+        Page<Notice> notices = (hits != null)
+                ? pageOfHits(hits, pageable)
+                : noticeRepository.findByAuthorIdAndKeyword(authorId, kw, pageable);
         Set<Long> bookmarkedAuthors = bookmarkService.getBookmarkedAuthorIds(currentUser);
 
-        return notices.map(notice -> {
-            List<FileItemResponse> imageItems = notice.getImages().stream()
-                    .map(img -> new FileItemResponse(img.getId(), img.getImageUrl()))
-                    .toList();
-            List<FileItemResponse> attachmentItems = notice.getAttachments().stream()
-                    .map(att -> new FileItemResponse(att.getId(), att.getFileUrl()))
-                    .toList();
-
-            return new NoticeListResponse(
-                    notice.getId(),
-                    notice.getTitle(),
-                    notice.getText(),
-                    notice.getAuthor().getId(),
-                    notice.getAuthor().getUsername(),
-                    notice.getAuthor().getDepartment(),
-                    notice.getAuthor().getRoleType().name(),
-                    url.toAbsolute(notice.getAuthor().getProfileImageUrl()),
-                    notice.getCreatedAt(),
-                    notice.getUpdatedAt(),
-                    imageItems,
-                    attachmentItems,
-                    bookmarkedAuthors.contains(notice.getAuthor().getId())
-            );
-        });
+        return toListPage(notices, bookmarkedAuthors::contains);
     }
 
     // 내가 작성한 공지사항 전체 리스트 조회 API ( 페이지 없이 전체 공지사항을 리스트로 반환)
     @Transactional(readOnly = true)
     public Page<NoticeListResponse> getMyNotices(String keyword, Pageable pageable, User user) {
-        Page<Notice> page = noticeRepository.findMyNotices(user.getId(), keyword, pageable);
-
-        return page.map(notice -> {
-            List<FileItemResponse> imageItems = notice.getImages().stream()
-                    .map(img -> new FileItemResponse(img.getId(), img.getImageUrl()))
-                    .toList();
-            List<FileItemResponse> attachmentItems = notice.getAttachments().stream()
-                    .map(att -> new FileItemResponse(att.getId(), att.getFileUrl()))
-                    .toList();
-
-            return new NoticeListResponse(
-                    notice.getId(),
-                    notice.getTitle(),
-                    notice.getText(),
-                    notice.getAuthor().getId(),
-                    notice.getAuthor().getUsername(),
-                    notice.getAuthor().getDepartment(),
-                    notice.getAuthor().getRoleType().name(),
-                    url.toAbsolute(notice.getAuthor().getProfileImageUrl()),
-                    notice.getCreatedAt(),
-                    notice.getUpdatedAt(),
-                    imageItems,
-                    attachmentItems,
-                    false   // 내가 쓴 글이므로 북마크는 false
-            );
-        });
+        NoticeSearchIndex.Hits hits = (keyword != null && !keyword.isBlank())
+                ? searchIndex(keyword, null, List.of(user.getId()), pageable)
+                : null;
+        Page<Notice> page = (hits != null)
+                ? pageOfHits(hits, pageable)
+                : noticeRepository.findMyNotices(user.getId(), keyword, pageable);
+
+        return toListPage(page, authorId -> false);   // 내가 쓴 글이므로 북마크는 false
     }
 
 
@@ -320,26 +279,11 @@ public class NoticeService {
         notice.setAttachments(attachments);
 
         noticeRepository.save(notice);
+        noticeSearchIndex.index(notice);
 
-        // ===== 알림 대상 계산 =====
-        // 1) 대상 학과 소속 학생들
-        List<User> deptUsers = userRepository.findByDepartmentAndRoleType(dto.getDepartment(), RoleType.STUDENT);
-
-        // 2) 공지 "작성자"를 북마크(=구독)한 사용자들
-        List<User> subscribers = bookmarkRepository.findSubscribersOfAuthor(user.getId());
-
-        // 3) 합집합 + 중복 제거 + (필요시) 작성자 본인 제외
-        Set<Long> seen = new HashSet<>();
-        List<Notification> notifications = new ArrayList<>();
-
-        Stream.concat(deptUsers.stream(), subscribers.stream())
-                .filter(u -> seen.add(u.getId()))                 // 중복 제거
-                // .filter(u -> !u.getId().equals(user.getId()))  // 작성자 본인에게 알림 보내지 않으려면 주석 해제
-                .forEach(u -> notifications.add(new Notification(u, notice)));
-
-        if (!notifications.isEmpty()) {
-            notificationRepository.saveAll(notifications);
-        }
+        // ===== 알림 발송 =====
+        // 수신자 계산/삽입은 커밋 이후 백그라운드에서 청크 단위로 처리 (outbox 는 같은 트랜잭션에 기록)
+        notificationFanoutService.enqueue(notice, user.getId());
 
         return toResponse(notice);
     }
@@ -370,9 +314,7 @@ public class NoticeService {
                     .toList();
 
             for (NoticeImage img : toRemove) {
-                // (선택) 물리 파일 삭제: img.getImageUrl()에서 접두어("/files/" 또는 "/uploads/") 제거 후 resolve → Files.deleteIfExists
-                // String logical = stripPublicPrefix(img.getImageUrl());
-                // Files.deleteIfExists(fileStorageService.resolve(logical));
+                fileStorageService.release(img.getImageUrl());  // 참조 카운트 저장소면 blob 참조 반납 (GC 대상)
                 notice.removeImage(img); // orphanRemoval=true 라면 DB에서도 삭제됨
             }
         }
@@ -386,9 +328,7 @@ public class NoticeService {
                     .toList();
 
             for (Attachment att : toRemove) {
-                // (선택) 물리 파일 삭제
-                // String logical = stripPublicPrefix(att.getFileUrl());
-                // Files.deleteIfExists(fileStorageService.resolve(logical));
+                fileStorageService.release(att.getFileUrl());
                 notice.removeAttachment(att);
             }
         }
@@ -419,6 +359,8 @@ public class NoticeService {
             }
         }
 
+        noticeSearchIndex.index(notice);
+
         // 영속 컨텍스트에 반영됨
         return toResponse(notice);
     }
@@ -433,35 +375,52 @@ public class NoticeService {
             throw new AccessDeniedException("권한 없음");
         }
 
+        releaseFiles(n);
         noticeRepository.delete(n);
-
-        // 필요 시 실제 파일 삭제 로직을 추가 가능:
-        // n.getImages() / n.getAttachments()의 url 에서 "/files/" 제거 → fileStorageService.resolve(논리경로)로 실제 Path 찾아 삭제
+        noticeSearchIndex.remove(id);
     }
 
     @Transactional(readOnly = true)
     public Page<NotificationList> getMyNotifications(User me, Pageable pageable) {
         Page<Notification> page = notificationRepository.findByReceiverOrderUnreadFirst(me, pageable);
 
-        return page.map(n -> {
-            Notice notice = n.getNotice();
-            User author = notice.getAuthor(); // ← 여기로 접근
+        return page.map(this::toNotificationItem);
+    }
 
-            // 기본 이미지가 필요하면 Optional.ofNullable(...).orElse("/images/default-profile.png")
-            String profileUrl = url.toAbsolute(notice.getAuthor().getProfileImageUrl());
+    // 알림 목록 커서 페이징 (미읽음 먼저 → 최신순). 커서 = (읽음 여부, createdAt, id)
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationList> getMyNotificationsByCursor(User me, String cursor, int size) {
+        int n = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        PageCursor c = PageCursor.decode(cursor, 3);
+        List<Notification> rows = notificationRepository.findUnreadFirstAfter(me.getId(),
+                c == null ? null : c.boolAt(0),
+                c == null ? null : c.timeAt(1),
+                c == null ? null : c.longAt(2),
+                PageRequest.of(0, n + 1));
+
+        return CursorPage.of(rows, n,
+                list -> list.stream().map(this::toNotificationItem).toList(),
+                x -> PageCursor.encode(x.isRead() ? 1 : 0, x.getCreatedAt(), x.getId()));
+    }
 
-            return new NotificationList(
-                    n.getId(),
-                    notice.getId(),
-                    notice.getTitle(),
-                    notice.getDepartment(),
-                    n.isRead(),
-                    n.getCreatedAt(),
-                    author.getId(),
-                    author.getUsername(),
-                    profileUrl
-            );
-        });
+    private NotificationList toNotificationItem(Notification n) {
+        Notice notice = n.getNotice();
+        User author = notice.getAuthor(); // ← 여기로 접근
+
+        // 기본 이미지가 필요하면 Optional.ofNullable(...).orElse("/images/default-profile.png")
+        String profileUrl = url.toAbsolute(notice.getAuthor().getProfileImageUrl());
+
+        return new NotificationList(
+                n.getId(),
+                notice.getId(),
+                notice.getTitle(),
+                notice.getDepartment(),
+                n.isRead(),
+                n.getCreatedAt(),
+                author.getId(),
+                author.getUsername(),
+                profileUrl
+        );
     }
 
     //  선택 알림 읽음 처리
@@ -486,90 +445,114 @@ public class NoticeService {
     /**
      * (API 2: POST /api/notices/school)
      * 크롤링한 공지사항을 '생성' 또는 '업데이트'합니다.
-     * 1. 'title' 과 'noticeType=SCHOOL' 로 기존 공지사항을 검색합니다.
+     * 1. 원본 키(externalKey, 없으면 학과+제목으로 만든 키)로 기존 공지사항을 검색합니다.
+     *    키 도입 이전에 저장된 공지는 'title' 과 'noticeType=SCHOOL' 로 찾고 키를 채워 둡니다.
      * 2. (신규) 없으면 새로 생성합니다.
-     * 3. (기존) 있으면 'text' 내용과 첨부파일 리스트를 비교합니다.
-     * 4. (기존+변경) 'text' 가 다르고 첨부파일 리스트가 다르다면, 기존 공지사항을 덮어쓰고(파일 포함) 'createdAt' 를 갱신합니다.
-     * 5. (기존+동일) 'text' 가 같고 첨부파일 리스트가 같다면, 아무것도 하지 않고 종료합니다.
+     * 3. (기존) 제목+본문 해시와 파일별 내용 해시(SHA-256)를 비교합니다.
+     *    파일은 내용이 같은 것은 그대로 두고, 사라진 것만 반납/삭제, 새로 생긴 것만 저장합니다. (이름만 바뀐 파일은 변경 아님)
+     * 4. (기존+변경) 본문 또는 파일 구성이 바뀌었으면 덮어쓰고 'createdAt' 를 갱신한 뒤 알림을 보냅니다.
+     * 5. (기존+동일) 학생에게 보이는 변경이 없으면 아무것도 쓰지 않고 종료합니다. (이전 공지의 키/해시 채우기만)
+     * 처리 결과는 커밋된 경우에만 CrawlerIngestStats 에 실행 단위로 집계됩니다.
+     * 여러 건을 한 번에 받는 경로는 SchoolNoticeBulkIngestService (같은 ingestSchoolNotice 사용)
      *
-     * @return NoticeResponse (신규 생성 또는 업데이트된 경우) / null (변경 사항이 없는 경우)
+     * @return CREATED/UPDATED + NoticeResponse, 변경 사항이 없으면 SKIPPED + null
      */
     @Transactional
-    public NoticeResponse createSchoolNotice(SchoolNoticeCreateDto dto,
-                                             List<MultipartFile> imageFiles,
-                                             List<MultipartFile> attachmentFiles) {
+    public SchoolNoticeIngestResult createSchoolNotice(SchoolNoticeCreateDto dto,
+                                                       List<MultipartFile> imageFiles,
+                                                       List<MultipartFile> attachmentFiles) {
+        return createSchoolNotice(dto, imageFiles, attachmentFiles, true);
+    }
+
+    // notify=false 는 수집 처리량 테스트용 (알림 없이 같은 경로 실행). 호출자의 트랜잭션 안에서
+    SchoolNoticeIngestResult createSchoolNotice(SchoolNoticeCreateDto dto,
+                                                List<MultipartFile> imageFiles,
+                                                List<MultipartFile> attachmentFiles,
+                                                boolean notify) {
 
         log.info("크롤링 공지 처리 시작: {}", dto.getTitle());
 
         // 1. '작성자' 유저 조회
+        requireSchoolNoticeFields(dto);
         String authorUsername = dto.getDepartment();
-        if (authorUsername == null || authorUsername.isBlank()) {
-            throw new IllegalArgumentException("작성자 학과(department) 정보가 누락되었습니다.");
-        }
         User authorUser = userRepository.findByUsername(authorUsername)
                 .orElseThrow(() -> new NoSuchElementException(
                         "크롤링 '"+ authorUsername +"'에 해당하는 유저를 DB에서 찾을 수 없습니다."
                 ));
 
-        // 2. 'title'로 기존 공지사항 검색
-        Optional<Notice> existingNoticeOpt =
-                noticeRepository.findByTitleAndNoticeType(dto.getTitle(), NoticeType.SCHOOL);
+        // 2. 받은 파일별 내용 해시 (디스크 임시 파일에서 스트리밍으로 읽음)
+        List<IncomingFile> images = fingerprint(imageFiles);
+        List<IncomingFile> attachments = fingerprint(attachmentFiles);
+
+        // 3. 원본 키 → (크롤러가 키를 보내기 전에 저장된) 학과+제목 키 → 키 없는 이전 공지 순으로 검색
+        String titleKey = titleKeyOf(dto);
+        String externalKey = externalKeyOf(dto);
+        Notice existing = noticeRepository.findByExternalKey(externalKey)
+                .or(() -> externalKey.equals(titleKey) ? Optional.empty() : noticeRepository.findByExternalKey(titleKey))
+                .or(() -> noticeRepository.findFirstByTitleAndNoticeTypeAndExternalKeyIsNullOrderByIdDesc(
+                        dto.getTitle(), NoticeType.SCHOOL))
+                .orElse(null);
+
+        Ingested result = ingestSchoolNotice(dto, authorUser, existing, images, attachments,
+                notice -> {
+                    if (notify) sendNotifications(notice, authorUser);
+                });
+        // 이 트랜잭션이 커밋된 뒤에만 반영 (afterCommit)
+        crawlerIngestStats.record(result.outcome(), result.filesAdded(), result.filesRemoved(), result.filesKept());
+
+        NoticeResponse response = (result.outcome() == SchoolNoticeIngestResult.Outcome.SKIPPED)
+                ? null
+                : buildNoticeResponse(result.notice(), false);
+        return new SchoolNoticeIngestResult(result.outcome(), response);
+    }
+
+    // 크롤링 공지 필수 값 확인 (파일 저장 전에)
+    static void requireSchoolNoticeFields(SchoolNoticeCreateDto dto) {
+        if (dto.getDepartment() == null || dto.getDepartment().isBlank()) {
+            throw new IllegalArgumentException("작성자 학과(department) 정보가 누락되었습니다.");
+        }
+        if (dto.getOriginalCreatedAt() == null) {
+            throw new IllegalArgumentException("크롤링 공지 처리 시 originalCreatedAt 시간이 누락되었습니다.");
+        }
+    }
 
-        // 3. 분기 처리
-        if (existingNoticeOpt.isEmpty()) {
+    /**
+     * 크롤링 공지 1건 반영 (단건/일괄 공용, 호출자의 트랜잭션 안에서).
+     * existing 은 호출자가 찾은 기존 공지 (없으면 null). 학생에게 보이는 변경이 있으면 notify 로 공지를 넘김
+     * (단건은 바로 fan-out 등록, 일괄은 학과별로 모아 한 번에 등록).
+     * 수집 집계는 하지 않음: 트랜잭션 결과를 아는 호출자가 커밋 후 Ingested 의 파일 수로 기록
+     */
+    Ingested ingestSchoolNotice(SchoolNoticeCreateDto dto, User authorUser, Notice existing,
+                                List<IncomingFile> images, List<IncomingFile> attachments,
+                                Consumer<Notice> notify) {
+        String externalKey = externalKeyOf(dto);
+        String contentHash = contentHashOf(dto.getTitle(), dto.getText());
+
+        if (existing == null) {
             // === [A] 신규 공지사항: 새로 생성 ===
             log.info("신규 공지사항으로 처리: {}", dto.getTitle());
-            return createNewSchoolNotice(dto, authorUser, imageFiles, attachmentFiles);
-        } else {
-            // === [B] 기존 공지사항: 내용 및 파일 비교 후 업데이트 결정 ===
-            Notice existingNotice = existingNoticeOpt.get();
-
-            // 1. 기존 파일 이름 목록 생성 (이미지 + 첨부파일)
-            Set<String> existingFileNames = Stream.concat(
-                    existingNotice.getAttachments().stream()
-                            .map(att -> Paths.get(att.getFileUrl()).getFileName().toString()),
-                    existingNotice.getImages().stream()
-                            .map(img -> Paths.get(img.getImageUrl()).getFileName().toString())
-            ).collect(Collectors.toSet());
-
-            // ▼▼▼ [수정된 부분] ▼▼▼
-            // 2. 새로 수신된 파일 이름 목록 생성 (타입 추론 오류 해결)
-
-            // null일 경우 Stream.empty()를, 아니면 stream()을 반환하는 변수 2개 생성
-            Stream<MultipartFile> imageStream = (imageFiles == null) ? Stream.empty() : imageFiles.stream();
-            Stream<MultipartFile> attachmentStream = (attachmentFiles == null) ? Stream.empty() : attachmentFiles.stream();
-
-            Set<String> newFileNames = Stream.concat(
-                    imageStream.map(MultipartFile::getOriginalFilename),
-                    attachmentStream.map(MultipartFile::getOriginalFilename)
-            ).collect(Collectors.toSet());
-            // ▲▲▲ [수정된 부분] ▲▲▲
-
-            // 3. 텍스트 내용과 파일 목록이 모두 동일한지 검사
-            boolean textIsSame = Objects.equals(existingNotice.getText(), dto.getText());
-            boolean filesAreSame = existingFileNames.equals(newFileNames);
-
-            if (textIsSame && filesAreSame) {
-                // 본문 내용과 첨부파일 목록이 모두 같으면 수정할 필요 없음
-                log.info("기존 공지사항과 내용 및 첨부파일 동일 (스킵): {}", dto.getTitle());
-                return null; // 👈 덮어쓰기를 "건너뜀"
-            }
+            Notice created = createNewSchoolNotice(dto, authorUser, externalKey, contentHash, images, attachments);
+            notify.accept(created);
+            return new Ingested(SchoolNoticeIngestResult.Outcome.CREATED, created, images.size() + attachments.size(), 0, 0);
+        }
 
-            // === [C] 텍스트 또는 파일이 다를 경우: 덮어쓰기(Update) 수행 ===
-            log.info("기존 공지사항 덮어쓰기 (내용 또는 파일 변경 감지): {}", dto.getTitle());
+        // === [B] 기존 공지사항: 지문 비교 후 바뀐 부분만 반영 ===
+        return updateExistingSchoolNotice(existing, dto, authorUser, externalKey, contentHash, images, attachments, notify);
+    }
 
-            // [확인] authorUser를 포함하여 호출
-            return updateExistingSchoolNotice(existingNotice, dto, authorUser, imageFiles, attachmentFiles);
-        }
+    /** ingestSchoolNotice 결과 (SKIPPED 여도 notice 는 기존 공지) + 파일 추가/삭제/재사용 수 */
+    record Ingested(SchoolNoticeIngestResult.Outcome outcome, Notice notice,
+                    int filesAdded, int filesRemoved, int filesKept) {
     }
 
 
 
     // [Helper] 신규 SCHOOL 공지 생성 로직 (createSchoolNotice 에서 분리)
 
-    private NoticeResponse createNewSchoolNotice(SchoolNoticeCreateDto dto, User authorUser,
-                                                 List<MultipartFile> imageFiles,
-                                                 List<MultipartFile> attachmentFiles) {
+    private Notice createNewSchoolNotice(SchoolNoticeCreateDto dto, User authorUser,
+                                         String externalKey, String contentHash,
+                                         List<IncomingFile> imageFiles,
+                                         List<IncomingFile> attachmentFiles) {
 
         Notice notice = new Notice();
         notice.setTitle(dto.getTitle());
@@ -577,112 +560,216 @@ public class NoticeService {
         notice.setAuthor(authorUser);
         notice.setDepartment(dto.getDepartment());
         notice.setNoticeType(NoticeType.SCHOOL);
-
-        if (dto.getOriginalCreatedAt() == null) {
-            throw new IllegalArgumentException("신규 공지 생성 시 originalCreatedAt 시간이 누락되었습니다.");
-        }
+        notice.setExternalKey(externalKey);
+        notice.setContentHash(contentHash);
         notice.setCreatedAt(dto.getOriginalCreatedAt());
 
-        // --- ▼ [수정됨] ---
-        List<NoticeImage> images = (imageFiles == null ? List.<MultipartFile>of() : imageFiles).stream()
-                .map(file -> {
-                    String logicalPath = fileStorageService.save(file, "notices/images");
-                    NoticeImage img = new NoticeImage();
-                    img.setImageUrl("/files/" + logicalPath);
-                    img.setNotice(notice);
-                    return img;
-                })
-                .toList();
-        notice.setImages(images);
-
-        // --- ▼ [수정됨] ---
-        List<Attachment> attachments = (attachmentFiles == null ? List.<MultipartFile>of() : attachmentFiles).stream()
-                .map(file -> {
-                    String logicalPath = fileStorageService.save(file, "notices/attachments");
-                    Attachment att = new Attachment();
-                    att.setFileUrl("/files/" + logicalPath);
-                    att.setNotice(notice);
-                    return att;
-                })
-                .toList();
-        notice.setAttachments(attachments);
+        for (IncomingFile file : imageFiles) {
+            notice.getImages().add(newImage(notice, storeIncoming(file, "notices/images")));
+        }
+        for (IncomingFile file : attachmentFiles) {
+            notice.getAttachments().add(newAttachment(notice, storeIncoming(file, "notices/attachments")));
+        }
 
         noticeRepository.save(notice);
-
-        sendNotifications(notice, authorUser);
-
-        return buildNoticeResponse(notice, false);
+        noticeSearchIndex.index(notice);
+        return notice;
     }
 
     // [Helper] 기존 SCHOOL 공지 업데이트 로직 (createSchoolNotice 에서 분리)
 
-    private NoticeResponse updateExistingSchoolNotice(Notice notice, SchoolNoticeCreateDto dto, User authorUser,
-                                                      List<MultipartFile> imageFiles,
-                                                      List<MultipartFile> attachmentFiles) {
+    private Ingested updateExistingSchoolNotice(Notice notice, SchoolNoticeCreateDto dto, User authorUser,
+                                                String externalKey, String contentHash,
+                                                List<IncomingFile> imageFiles,
+                                                List<IncomingFile> attachmentFiles,
+                                                Consumer<Notice> notify) {
+
+        // 1. 본문 비교 (해시 도입 이전 공지는 저장된 제목/본문으로 계산)
+        String storedHash = notice.getContentHash() != null
+                ? notice.getContentHash()
+                : contentHashOf(notice.getTitle(), notice.getText());
+        boolean textChanged = !contentHash.equals(storedHash);
+
+        // 2. 파일 비교: 같은 내용은 유지, 사라진 것만 반납/삭제, 새 것만 저장 (orphanRemoval = true 방식)
+        FileDiff imageDiff = syncFiles(notice.getImages(), imageFiles, "notices/images",
+                NoticeImage::getImageUrl, NoticeImage::getContentSha256, NoticeImage::setContentSha256,
+                stored -> newImage(notice, stored));
+        FileDiff attachmentDiff = syncFiles(notice.getAttachments(), attachmentFiles, "notices/attachments",
+                Attachment::getFileUrl, Attachment::getContentSha256, Attachment::setContentSha256,
+                stored -> newAttachment(notice, stored));
+
+        int added = imageDiff.added() + attachmentDiff.added();
+        int removed = imageDiff.removed() + attachmentDiff.removed();
+        int kept = imageDiff.kept() + attachmentDiff.kept();
+
+        if (!textChanged && added == 0 && removed == 0) {
+            // 학생에게 보이는 변경 없음: 공지 행은 건드리지 않음 (updatedAt 유지), 비어 있던 키/해시만 채움
+            log.info("기존 공지사항과 내용 및 첨부파일 동일 (스킵): {}", dto.getTitle());
+            if (!externalKey.equals(notice.getExternalKey()) || notice.getContentHash() == null) {
+                noticeRepository.updateFingerprint(notice.getId(), externalKey, contentHash);
+            }
+            return new Ingested(SchoolNoticeIngestResult.Outcome.SKIPPED, notice, 0, 0, kept);
+        }
+
+        // === [C] 본문 또는 파일이 다를 경우: 덮어쓰기(Update) 수행 ===
+        log.info("기존 공지사항 갱신 (본문 변경: {}, 파일 +{} -{} ={}): {}", textChanged, added, removed, kept, dto.getTitle());
 
-        // 1. 기본 정보 덮어쓰기
+        // 3. 기본 정보 덮어쓰기
+        notice.setTitle(dto.getTitle());
         notice.setText(dto.getText());
         notice.setAuthor(authorUser);       // 작성자(학과)가 변경되었을 수도 있으므로 덮어쓰기
         notice.setDepartment(dto.getDepartment());
+        notice.setExternalKey(externalKey);
+        notice.setContentHash(contentHash);
 
-        // 2. 'createdAt'을 FastAPI가 보낸 시간으로 덮어쓰기
-        if (dto.getOriginalCreatedAt() == null) {
-            throw new IllegalArgumentException("공지 업데이트 시 originalCreatedAt 시간이 누락되었습니다.");
-        }
+        // 4. 'createdAt'을 FastAPI가 보낸 시간으로 덮어쓰기
         notice.setCreatedAt(dto.getOriginalCreatedAt());
         // (@PreUpdate에 의해 'updatedAt'은 현재 시간으로 자동 갱신됨)
 
-        // 3. 파일 덮어쓰기 (orphanRemoval = true 방식)
+        noticeSearchIndex.index(notice);
 
-        // 3-1. 기존 컬렉션의 내용물을 비워 orphanRemoval 트리거
-        notice.getImages().clear();
-        notice.getAttachments().clear();
+        // 5. 학생에게 보이는 변경이 있을 때만 알림
+        notify.accept(notice);
 
-        // 3-2. 새 이미지 파일 저장 및 기존 컬렉션에 추가
-        if (imageFiles != null) {
-            for (MultipartFile file : imageFiles) {
-                if (file.isEmpty()) continue;
-                String logicalPath = fileStorageService.save(file, "notices/images");
-                NoticeImage img = new NoticeImage();
-                img.setImageUrl("/files/" + logicalPath);
-                img.setNotice(notice);
-                notice.getImages().add(img); // 👈 setImages가 아닌 add 사용
+        return new Ingested(SchoolNoticeIngestResult.Outcome.UPDATED, notice, added, removed, kept);
+    }
+
+    /* --------- 크롤링 지문 헬퍼 --------- */
+
+    // 받은 파일 1개 + 내용 해시. 일괄 수집에서 해시로만 참조한 파일은 file 이 null (기존 공지에 같은 내용이 있어야 함)
+    record IncomingFile(MultipartFile file, String sha256) {
+    }
+
+    // 파일 비교 결과 (추가 저장 / 반납 삭제 / 그대로 유지)
+    private record FileDiff(int added, int removed, int kept) {
+    }
+
+    static List<IncomingFile> fingerprint(List<MultipartFile> files) {
+        if (files == null) return List.of();
+        List<IncomingFile> out = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            if (file == null || file.isEmpty()) continue;
+            try (InputStream in = file.getInputStream()) {
+                out.add(new IncomingFile(file, StreamingFileWriter.sha256(in)));
+            } catch (IOException e) {
+                throw new RuntimeException("파일 읽기 실패: " + file.getOriginalFilename(), e);
             }
         }
+        return out;
+    }
 
-        // 3-3. 새 첨부 파일 저장 및 기존 컬렉션에 추가
-        if (attachmentFiles != null) {
-            for (MultipartFile file : attachmentFiles) {
-                if (file.isEmpty()) continue;
-                String logicalPath = fileStorageService.save(file, "notices/attachments");
-                Attachment att = new Attachment();
-                att.setFileUrl("/files/" + logicalPath);
-                att.setNotice(notice);
-                notice.getAttachments().add(att); // 👈 setAttachments가 아닌 add 사용
+    /**
+     * current 를 incoming 과 같은 파일 구성(내용 기준 다중집합)으로 맞춤.
+     * 내용이 같은 기존 행은 그대로 두고, 짝이 없는 기존 행은 반납 후 제거, 짝이 없는 받은 파일만 저장해 추가
+     */
+    private <T> FileDiff syncFiles(List<T> current, List<IncomingFile> incoming, String subDir,
+                                   Function<T, String> urlOf,
+                                   Function<T, String> shaOf,
+                                   BiConsumer<T, String> setSha,
+                                   Function<StoredFile, T> create) {
+        Map<String, Deque<T>> bySha = new HashMap<>();
+        for (T cur : current) {
+            String sha = shaOf.apply(cur);
+            if (sha == null) {
+                // 해시 없이 저장된 이전 파일: 한 번만 계산해 채움 (파일이 없으면 짝 없음 → 교체)
+                sha = fileStorageService.contentHash(urlOf.apply(cur));
+                if (sha != null) setSha.accept(cur, sha);
             }
+            if (sha != null) bySha.computeIfAbsent(sha, k -> new ArrayDeque<>()).add(cur);
         }
 
+        Set<T> keep = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<IncomingFile> toStore = new ArrayList<>();
+        for (IncomingFile file : incoming) {
+            Deque<T> same = bySha.get(file.sha256());
+            if (same != null && !same.isEmpty()) keep.add(same.poll());
+            else toStore.add(file);
+        }
 
-        // 5. (선택) 업데이트 시에도 알림을 보내도록 함
-        sendNotifications(notice, authorUser);
+        int removed = 0;
+        for (Iterator<T> it = current.iterator(); it.hasNext(); ) {
+            T cur = it.next();
+            if (keep.contains(cur)) continue;
+            fileStorageService.release(urlOf.apply(cur));
+            it.remove();
+            removed++;
+        }
+        for (IncomingFile file : toStore) {
+            current.add(create.apply(storeIncoming(file, subDir)));
+        }
+        return new FileDiff(toStore.size(), removed, keep.size());
+    }
+
+    private StoredFile storeIncoming(IncomingFile file, String subDir) {
+        if (file.file() == null) {
+            throw new IllegalArgumentException("업로드되지 않은 파일 해시입니다: " + file.sha256());
+        }
+        return fileStorageService.store(file.file(), subDir);
+    }
+
+    private static NoticeImage newImage(Notice notice, StoredFile stored) {
+        NoticeImage img = new NoticeImage();
+        img.setImageUrl("/files/" + stored.storagePath());
+        img.setContentSha256(stored.sha256());
+        img.setNotice(notice);
+        return img;
+    }
+
+    private static Attachment newAttachment(Notice notice, StoredFile stored) {
+        Attachment att = new Attachment();
+        att.setFileUrl("/files/" + stored.storagePath());
+        att.setContentSha256(stored.sha256());
+        att.setNotice(notice);
+        return att;
+    }
 
-        return buildNoticeResponse(notice, false); // DTO로 변환하여 반환
+    // 크롤러가 원본 키를 보내지 않을 때의 키: 학과+제목 해시
+    static String titleKeyOf(SchoolNoticeCreateDto dto) {
+        return "title:" + sha256Hex(dto.getDepartment() + "\n" + Objects.toString(dto.getTitle(), "").strip());
+    }
+
+    // 원본 키. 컬럼 길이(191)를 넘는 키(긴 URL 등)는 해시로 대체
+    static String externalKeyOf(SchoolNoticeCreateDto dto) {
+        String raw = dto.getExternalKey();
+        if (raw == null || raw.isBlank()) return titleKeyOf(dto);
+        String key = raw.strip();
+        return key.length() <= 191 ? key : "sha256:" + sha256Hex(key);
+    }
+
+    /**
+     * 학생에게 보이는 내용의 해시. 줄바꿈 형식/줄 끝 공백/유니코드 정규화 차이는 변경으로 보지 않음
+     */
+    static String contentHashOf(String title, String text) {
+        String t = Normalizer.normalize(Objects.toString(title, ""), Normalizer.Form.NFC).strip();
+        String body = Normalizer.normalize(Objects.toString(text, ""), Normalizer.Form.NFC)
+                .replace("\r\n", "\n")
+                .replace('\r', '\n')
+                .lines()
+                .map(String::stripTrailing)
+                .collect(Collectors.joining("\n"))
+                .strip();
+        return sha256Hex(t + "\u0000" + body);
+    }
+
+    private static String sha256Hex(String s) {
+        try {
+            return StreamingFileWriter.sha256(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);     // 메모리 스트림이라 발생하지 않음
+        }
+    }
+
+    // 공지의 이미지/첨부 파일 참조 반납 (삭제/덮어쓰기 전)
+    private void releaseFiles(Notice notice) {
+        notice.getImages().forEach(img -> fileStorageService.release(img.getImageUrl()));
+        notice.getAttachments().forEach(att -> fileStorageService.release(att.getFileUrl()));
     }
 
     /**
      * [Helper] 알림 전송 로직 (중복 제거)
      */
     private void sendNotifications(Notice notice, User authorUser) {
-        List<User> deptUsers = userRepository.findByDepartmentAndRoleType(notice.getDepartment(), RoleType.STUDENT);
-        List<User> subscribers = bookmarkRepository.findSubscribersOfAuthor(authorUser.getId());
-        Set<Long> seen = new HashSet<>();
-        List<Notification> notifications = new ArrayList<>();
-        Stream.concat(deptUsers.stream(), subscribers.stream())
-                .filter(u -> seen.add(u.getId()))
-                .forEach(u -> notifications.add(new Notification(u, notice)));
-        if (!notifications.isEmpty()) {
-            notificationRepository.saveAll(notifications);
-        }
+        notificationFanoutService.enqueue(notice, authorUser.getId());
     }
 
     /**
@@ -714,6 +801,70 @@ public class NoticeService {
     }
 
     /* --------- 헬퍼 --------- */
+
+    // 색인 검색은 최신순 결과만 만들므로, 다른 정렬을 요청하면 null → 호출 측이 기존 DB 쿼리로 처리
+    private NoticeSearchIndex.Hits searchIndex(String keyword, Collection<String> departments, Collection<Long> authorIds,
+                                               Pageable pageable) {
+        if (!NoticeSearchIndex.LATEST_FIRST_SORT.equals(pageable.getSort())) return null;
+        return noticeSearchIndex.search(keyword, departments, authorIds, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    // 색인 검색 결과(현재 페이지의 id, createdAt DESC, id DESC = 컨트롤러의 정렬)만 DB 조회해 순서를 유지한 Page 로 구성
+    private Page<Notice> pageOfHits(NoticeSearchIndex.Hits hits, Pageable pageable) {
+        Map<Long, Notice> byId = noticeRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Notice::getId, n -> n));
+        List<Notice> ordered = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, pageable, hits.total());
+    }
+
+    // 목록 DTO 조립: 행마다 author/images/attachments 를 lazy 로딩하지 않고
+    // 페이지의 공지 id 로 작성자·이미지·첨부를 각각 1회씩 일괄 조회한 뒤 메모리에서 합침
+    private Page<NoticeListResponse> toListPage(Page<Notice> page, Predicate<Long> bookmarkedAuthor) {
+        return new PageImpl<>(toListResponses(page.getContent(), bookmarkedAuthor), page.getPageable(), page.getTotalElements());
+    }
+
+    private List<NoticeListResponse> toListResponses(List<Notice> notices, Predicate<Long> bookmarkedAuthor) {
+        if (notices.isEmpty()) return List.of();
+
+        List<Long> noticeIds = notices.stream().map(Notice::getId).toList();
+
+        Map<Long, NoticeAuthorRow> authors = noticeRepository.findAuthorRowsByNoticeIds(noticeIds).stream()
+                .collect(Collectors.toMap(NoticeAuthorRow::id, a -> a, (a, b) -> a));
+        Map<Long, List<FileItemResponse>> images = groupByNotice(noticeRepository.findImageRowsByNoticeIds(noticeIds));
+        Map<Long, List<FileItemResponse>> attachments = groupByNotice(noticeRepository.findAttachmentRowsByNoticeIds(noticeIds));
+
+        return notices.stream().map(notice -> {
+            // getAuthor().getId() 는 프록시 초기화 없이 FK 값만 읽음
+            Long authorId = notice.getAuthor().getId();
+            NoticeAuthorRow author = authors.get(authorId);
+
+            return new NoticeListResponse(
+                    notice.getId(),
+                    notice.getTitle(),
+                    notice.getText(),
+                    authorId,
+                    author != null ? author.username() : null,
+                    author != null ? author.department() : null,
+                    author != null && author.roleType() != null ? author.roleType().name() : null,
+                    url.toAbsolute(author != null ? author.profileImageUrl() : null),
+                    notice.getCreatedAt(),
+                    notice.getUpdatedAt(),
+                    images.getOrDefault(notice.getId(), List.of()),
+                    attachments.getOrDefault(notice.getId(), List.of()),
+                    bookmarkedAuthor.test(authorId)
+            );
+        }).toList();
+    }
+
+    private Map<Long, List<FileItemResponse>> groupByNotice(List<NoticeFileRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(
+                NoticeFileRow::noticeId,
+                Collectors.mapping(r -> new FileItemResponse(r.id(), r.url()), Collectors.toList())));
+    }
+
     private Notice findOr404(Long id) {
         return noticeRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("notice"));
@@ -0,0 +1,405 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.FanoutStatus;
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.domain.notice.NotificationFanoutJob;
+import com.community.demo.repository.NoticeRepository;
+import com.community.demo.repository.NotificationFanoutJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 공지 알림 발송(fan-out) 백그라운드 파이프라인.
+ * - 공지 저장 트랜잭션에서 outbox(NotificationFanoutJob)만 기록하고, 커밋 이후 워커 스레드가 처리
+ * - 수신자(학과 학생 ∪ 작성자 구독자)는 id 만 keyset 방식으로 청크 조회 (User 엔티티 로딩 없음, UNION 으로 중복 제거)
+ * - 청크마다 multi-row INSERT 1회 + 작업 커서 갱신을 한 트랜잭션으로 묶어, 재기동 시 중복/누락 없이 이어서 처리
+ * - 기동 시 및 주기적으로 대기/중단 작업을 다시 집어 처리
+ * - 인스턴스가 여러 대여도 작업은 조건부 UPDATE 로 한 인스턴스만 선점하고(임대), 청크는 작업 행을 FOR UPDATE 로 잠근 채 처리.
+ *   임대는 청크마다 연장되며, 임대가 끝난(죽은 인스턴스의) 작업만 다른 인스턴스가 커서부터 이어받음
+ * - 수신자 집합이 같은(학과+작성자) 공지 여러 건은 작업 1개로 묶어, 수신자 조회 1번으로 공지 수만큼의 알림을 함께 삽입
+ */
+@Slf4j
+@Service
+public class NotificationFanoutService {
+
+    // 학과 학생 ∪ 작성자 구독자, 커서 이후 id 오름차순
+    private static final String RECEIVERS_SQL = """
+            select r.id from (
+                select u.id as id from users u
+                 where u.department = ? and u.role_type = 'STUDENT' and u.id > ?
+                union
+                select b.user_id as id from bookmarks b
+                 where b.author_id = ? and b.user_id > ?
+            ) r
+            order by r.id
+            limit ?
+            """;
+
+    private static final String COUNT_RECEIVERS_SQL = """
+            select count(*) from (
+                select u.id as id from users u
+                 where u.department = ? and u.role_type = 'STUDENT'
+                union
+                select b.user_id as id from bookmarks b
+                 where b.author_id = ?
+            ) r
+            """;
+
+    private static final String INSERT_PREFIX =
+            "insert into notification (receiver_id, notice_id, `read`, created_at) values ";
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int CLAIM_BATCH = 50;
+
+    private final NotificationFanoutJobRepository jobRepository;
+    private final NoticeRepository noticeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final long pollIntervalMs;
+    private final long leaseSeconds;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "notification-fanout");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean drainQueued = new AtomicBoolean(false);
+
+    // ===== 메트릭 =====
+    private final LongAdder insertedTotal = new LongAdder();
+    private final LongAdder chunksTotal = new LongAdder();
+    private final LongAdder jobsDone = new LongAdder();
+    private final LongAdder jobsFailed = new LongAdder();
+    private final LongAdder coalescedNotices = new LongAdder();
+    private final AtomicLong insertNanosTotal = new AtomicLong();
+    private volatile Long currentJobId;
+    private volatile double lastJobRowsPerSec;
+
+    public NotificationFanoutService(NotificationFanoutJobRepository jobRepository,
+                                     NoticeRepository noticeRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.notification-fanout.chunk-size:500}") int chunkSize,
+                                     @Value("${app.notification-fanout.poll-interval-ms:30000}") long pollIntervalMs,
+                                     @Value("${app.notification-fanout.lease-seconds:120}") long leaseSeconds) {
+        this.jobRepository = jobRepository;
+        this.noticeRepository = noticeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pollIntervalMs = pollIntervalMs;
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+    }
+
+    // ===== 등록 =====
+
+    /**
+     * 공지 저장 트랜잭션 안에서 호출. outbox 레코드를 같은 트랜잭션으로 저장하고, 커밋 이후 워커를 깨운다.
+     */
+    public void enqueue(Notice notice, Long authorId) {
+        enqueueAll(List.of(notice), authorId);
+    }
+
+    /**
+     * 같은 학과·같은 작성자의 공지 여러 건을 작업 1개로 등록 (크롤링 일괄 수집).
+     * 학과 학생/구독자 조회는 작업당 한 번만 하고, 청크마다 (수신자 × 공지) 행을 함께 삽입
+     */
+    public void enqueueAll(List<Notice> notices, Long authorId) {
+        if (notices.isEmpty()) return;
+        String department = notices.get(0).getDepartment();
+        for (Notice n : notices) {
+            if (!Objects.equals(department, n.getDepartment())) {
+                throw new IllegalArgumentException("한 작업으로 묶을 공지는 학과가 같아야 합니다.");
+            }
+        }
+        NotificationFanoutJob job = new NotificationFanoutJob(notices.get(0).getId(), authorId, department);
+        job.setAllNoticeIds(notices.stream().map(Notice::getId).toList());
+        job = jobRepository.save(job);
+        if (notices.size() > 1) coalescedNotices.add(notices.size() - 1);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    trigger();
+                }
+            });
+        } else {
+            trigger();
+        }
+        log.debug("[FANOUT] job {} 등록 (notices={})", job.getId(), job.allNoticeIds());
+    }
+
+    public void trigger() {
+        if (drainQueued.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorker() {
+        // 기동 직후 1회(중단된 작업 재개) + 이후 주기적으로 누락분 확인
+        worker.scheduleWithFixedDelay(this::drain, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행 중 청크는 커밋 또는 롤백되고, 남은 분량은 임대가 끝난 뒤 (다른 인스턴스나 다음 기동에서) 커서부터 이어서 처리됨
+        worker.shutdownNow();
+    }
+
+    // ===== 처리 =====
+
+    private void drain() {
+        try {
+            List<Long> jobIds = jobRepository.findClaimableIds(LocalDateTime.now(), PageRequest.of(0, CLAIM_BATCH));
+            for (Long jobId : jobIds) {
+                if (Thread.currentThread().isInterrupted()) return;
+                runJob(jobId);
+            }
+            // 한 번에 가져온 분량이 가득 찼으면 남은 작업이 있을 수 있으므로 바로 다음 회차 예약
+            // (실패해 PENDING 으로 돌아간 작업은 다음 회차/주기에 재시도)
+            if (jobIds.size() == CLAIM_BATCH) trigger();
+        } catch (Exception e) {
+            log.error("[FANOUT] 작업 처리 루프 오류", e);
+        }
+    }
+
+    private void runJob(Long jobId) {
+        // 다른 인스턴스가 먼저 선점했으면 건너뜀
+        if (!claim(jobId)) return;
+
+        currentJobId = jobId;
+        long t0 = System.nanoTime();
+        long insertedThisRun = 0;
+        try {
+            if (!start(jobId)) return;
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer n = tx.execute(status -> processChunk(jobId));
+                if (n == null || n < 0) break;     // 완료
+                insertedThisRun += n;
+            }
+
+            long elapsed = System.nanoTime() - t0;
+            if (insertedThisRun > 0 && elapsed > 0) {
+                lastJobRowsPerSec = insertedThisRun * 1_000_000_000.0 / elapsed;
+            }
+        } catch (Exception e) {
+            log.warn("[FANOUT] job {} 처리 실패: {}", jobId, e.toString());
+            markFailure(jobId, e);
+        } finally {
+            currentJobId = null;
+        }
+    }
+
+    private boolean claim(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer n = tx.execute(status -> jobRepository.claim(jobId, instanceId, now, now.plusSeconds(leaseSeconds)));
+        return n != null && n == 1;
+    }
+
+    // 작업 행을 잠그고 읽음. 이 인스턴스가 선점한 RUNNING 작업이 아니면(임대가 끝나 다른 인스턴스가 가져갔으면) null
+    private NotificationFanoutJob lockOwned(Long jobId) {
+        NotificationFanoutJob job = jobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || job.getStatus() != FanoutStatus.RUNNING || !instanceId.equals(job.getOwner())) return null;
+        return job;
+    }
+
+    // 최초 실행이면 예상 수신자 수를 계산. 공지가 이미 삭제됐으면 종료 처리
+    private boolean start(Long jobId) {
+        Boolean ok = tx.execute(status -> {
+            NotificationFanoutJob job = lockOwned(jobId);
+            if (job == null) return false;
+            // 그 사이 삭제된 공지는 빼고 발송
+            List<Long> ids = job.allNoticeIds();
+            Set<Long> existing = new HashSet<>(noticeRepository.findExistingIds(ids));
+            if (existing.isEmpty()) {
+                finish(job, "notice deleted");
+                return false;
+            }
+            if (existing.size() < ids.size()) {
+                job.setAllNoticeIds(ids.stream().filter(existing::contains).toList());
+            }
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+                Long receivers = jdbcTemplate.queryForObject(
+                        COUNT_RECEIVERS_SQL, Long.class, job.getDepartment(), job.getAuthorId());
+                job.setExpectedCount(receivers == null ? null : receivers * existing.size());
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(ok);
+    }
+
+    // 청크 1개 처리. 삽입 건수를 반환하고, 더 이상 수신자가 없으면 작업을 완료시키고 -1 반환.
+    // 선점을 잃었으면(임대 만료 후 다른 인스턴스가 가져감) 아무것도 하지 않고 -1 반환
+    private int processChunk(Long jobId) {
+        NotificationFanoutJob job = lockOwned(jobId);
+        if (job == null) return -1;
+        job.setLeaseUntil(LocalDateTime.now().plusSeconds(leaseSeconds));
+
+        // 묶인 공지 수만큼 수신자 청크를 줄여 INSERT 1회의 행 수는 chunkSize 근처로 유지
+        List<Long> noticeIds = job.allNoticeIds();
+        int receiverLimit = Math.max(1, chunkSize / noticeIds.size());
+
+        long cursor = job.getLastReceiverId();
+        List<Long> receiverIds = jdbcTemplate.queryForList(RECEIVERS_SQL, Long.class,
+                job.getDepartment(), cursor, job.getAuthorId(), cursor, receiverLimit);
+
+        if (receiverIds.isEmpty()) {
+            finish(job, null);
+            return -1;
+        }
+
+        long t0 = System.nanoTime();
+        int rows = insertChunk(noticeIds, receiverIds);
+        insertNanosTotal.addAndGet(System.nanoTime() - t0);
+
+        job.setLastReceiverId(receiverIds.get(receiverIds.size() - 1));
+        job.setInsertedCount(job.getInsertedCount() + rows);
+        insertedTotal.add(rows);
+        chunksTotal.increment();
+        return rows;
+    }
+
+    // multi-row INSERT 1회로 청크 전체(수신자 × 공지)를 삽입. 삽입 행 수 반환
+    private int insertChunk(List<Long> noticeIds, List<Long> receiverIds) {
+        int rows = receiverIds.size() * noticeIds.size();
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * 16).append(INSERT_PREFIX);
+        Object[] args = new Object[rows * 3];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int i = 0;
+        for (Long receiverId : receiverIds) {
+            for (Long noticeId : noticeIds) {
+                if (i > 0) sql.append(',');
+                sql.append("(?,?,false,?)");
+                args[i * 3] = receiverId;
+                args[i * 3 + 1] = noticeId;
+                args[i * 3 + 2] = now;
+                i++;
+            }
+        }
+        jdbcTemplate.update(sql.toString(), args);
+        return rows;
+    }
+
+    private void finish(NotificationFanoutJob job, String note) {
+        job.setStatus(FanoutStatus.DONE);
+        job.setLeaseUntil(null);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLastError(note);
+        jobsDone.increment();
+    }
+
+    private void markFailure(Long jobId, Exception e) {
+        try {
+            tx.executeWithoutResult(status -> Optional.ofNullable(lockOwned(jobId)).ifPresent(job -> {
+                job.setAttempts(job.getAttempts() + 1);
+                job.setOwner(null);
+                job.setLeaseUntil(null);
+                String msg = String.valueOf(e.getMessage());
+                job.setLastError(msg.length() > 500 ? msg.substring(0, 500) : msg);
+                if (job.getAttempts() >= MAX_ATTEMPTS) {
+                    job.setStatus(FanoutStatus.FAILED);
+                    job.setFinishedAt(LocalDateTime.now());
+                    jobsFailed.increment();
+                } else {
+                    job.setStatus(FanoutStatus.PENDING);   // 다음 주기에 커서부터 재시도
+                }
+            }));
+        } catch (Exception ex) {
+            log.error("[FANOUT] job {} 실패 상태 기록 오류", jobId, ex);
+        }
+    }
+
+    // ===== 관리 =====
+
+    // FAILED 작업을 다시 대기 상태로 (커서는 유지되므로 남은 수신자만 발송)
+    public void retry(Long jobId) {
+        tx.executeWithoutResult(status -> {
+            NotificationFanoutJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new NoSuchElementException("fan-out job"));
+            if (job.getStatus() != FanoutStatus.FAILED) {
+                throw new IllegalStateException("FAILED 상태의 작업만 재시도할 수 있습니다.");
+            }
+            job.setStatus(FanoutStatus.PENDING);
+            job.setAttempts(0);
+            job.setOwner(null);
+            job.setLeaseUntil(null);
+            job.setFinishedAt(null);
+        });
+        trigger();
+    }
+
+    public List<Map<String, Object>> recentJobs() {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (NotificationFanoutJob j : jobRepository.findTop20ByOrderByIdDesc()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", j.getId());
+            m.put("noticeId", j.getNoticeId());
+            m.put("noticeCount", j.allNoticeIds().size());
+            m.put("status", j.getStatus());
+            m.put("insertedCount", j.getInsertedCount());
+            m.put("expectedCount", j.getExpectedCount());
+            m.put("progress", (j.getExpectedCount() == null || j.getExpectedCount() == 0)
+                    ? null
+                    : Math.min(1.0, (double) j.getInsertedCount() / j.getExpectedCount()));
+            m.put("attempts", j.getAttempts());
+            m.put("owner", j.getOwner());
+            m.put("leaseUntil", j.getLeaseUntil());
+            m.put("lastError", j.getLastError());
+            m.put("createdAt", j.getCreatedAt());
+            m.put("startedAt", j.getStartedAt());
+            m.put("finishedAt", j.getFinishedAt());
+            out.add(m);
+        }
+        return out;
+    }
+
+    public Map<String, Object> stats() {
+        long inserted = insertedTotal.sum();
+        double insertSec = insertNanosTotal.get() / 1_000_000_000.0;
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("pendingJobs", jobRepository.countByStatus(FanoutStatus.PENDING));
+        m.put("runningJobs", jobRepository.countByStatus(FanoutStatus.RUNNING));
+        m.put("failedJobs", jobRepository.countByStatus(FanoutStatus.FAILED));
+        m.put("instanceId", instanceId);
+        m.put("currentJobId", currentJobId);
+        m.put("jobsCompletedSinceStart", jobsDone.sum());
+        m.put("jobsFailedSinceStart", jobsFailed.sum());
+        m.put("noticesCoalescedSinceStart", coalescedNotices.sum());
+        m.put("notificationsInsertedSinceStart", inserted);
+        m.put("chunksSinceStart", chunksTotal.sum());
+        m.put("chunkSize", chunkSize);
+        m.put("insertRowsPerSec", insertSec > 0 ? Math.round(inserted / insertSec) : null);
+        m.put("lastJobRowsPerSec", Math.round(lastJobRowsPerSec));
+        return m;
+    }
+}
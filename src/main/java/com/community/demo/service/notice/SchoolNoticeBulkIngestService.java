@@ -0,0 +1,242 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.domain.notice.NoticeType;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.SchoolNoticeBulkRequest;
+import com.community.demo.dto.notice.SchoolNoticeBulkResponse;
+import com.community.demo.dto.notice.SchoolNoticeBulkResponse.ItemResult;
+import com.community.demo.dto.notice.SchoolNoticeCreateDto;
+import com.community.demo.dto.notice.UsernameIdRow;
+import com.community.demo.repository.NoticeRepository;
+import com.community.demo.repository.UserRepository;
+import com.community.demo.service.notice.NoticeService.IncomingFile;
+import com.community.demo.service.notice.NoticeService.Ingested;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 크롤링 공지 일괄 수집 (POST /notices/school/bulk).
+ * 단건 API 와 같은 ingestSchoolNotice(지문 비교/최소 파일 diff)를 쓰되, 요청마다 하던 일을 묶어서 처리:
+ * - 업로드 파일은 내용 해시로 한 번씩만 받고 공지는 해시로 참조
+ * - 작성자(학과 계정)는 요청 전체에서 username IN 조회 1회, 엔티티 대신 참조 프록시 사용
+ * - chunk-size 건씩 한 트랜잭션: 기존 공지는 원본 키 IN 조회 1회(+키 없는 이전 공지는 제목 IN 조회 1회)
+ * - 알림은 청크마다 (학과, 작성자) 별로 fan-out 작업 1개로 합쳐 등록
+ * 청크 안 한 건이 실패하면 그 청크만 롤백하고 한 건씩 다시 처리해, 실패 항목만 FAILED 로 돌려줌.
+ * 수집 집계(CrawlerIngestStats)는 청크 트랜잭션이 커밋된 뒤 그 청크 결과로만 기록 (롤백 후 재시도한 항목이 두 번 세어지지 않음)
+ */
+@Slf4j
+@Service
+public class SchoolNoticeBulkIngestService {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final NoticeService noticeService;
+    private final NoticeRepository noticeRepository;
+    private final UserRepository userRepository;
+    private final NotificationFanoutService notificationFanoutService;
+    private final CrawlerIngestStats crawlerIngestStats;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public SchoolNoticeBulkIngestService(NoticeService noticeService,
+                                         NoticeRepository noticeRepository,
+                                         UserRepository userRepository,
+                                         NotificationFanoutService notificationFanoutService,
+                                         CrawlerIngestStats crawlerIngestStats,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${app.crawler.bulk.chunk-size:100}") int chunkSize,
+                                         @Value("${app.crawler.bulk.max-items:500}") int maxItems) {
+        this.noticeService = noticeService;
+        this.noticeRepository = noticeRepository;
+        this.userRepository = userRepository;
+        this.notificationFanoutService = notificationFanoutService;
+        this.crawlerIngestStats = crawlerIngestStats;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxItems = Math.max(1, maxItems);
+    }
+
+    // 검증을 마친 항목
+    private record Prepared(int index, SchoolNoticeBulkRequest.Item item, Long authorId, String externalKey,
+                            List<IncomingFile> images, List<IncomingFile> attachments) {
+    }
+
+    // 처리한 항목 1건 (응답 + 집계용 파일 수)
+    private record Done(ItemResult result, Ingested ingested) {
+    }
+
+    // 알림을 합쳐 보낼 단위 (수신자 집합이 같음)
+    private record FanoutKey(String department, Long authorId) {
+    }
+
+    public SchoolNoticeBulkResponse ingest(SchoolNoticeBulkRequest request, List<MultipartFile> files) {
+        return ingest(request, files, true);
+    }
+
+    // notify=false 는 처리량 테스트용 (알림 없이 같은 경로 실행)
+    SchoolNoticeBulkResponse ingest(SchoolNoticeBulkRequest request, List<MultipartFile> files, boolean notify) {
+        long t0 = System.nanoTime();
+        List<SchoolNoticeBulkRequest.Item> items =
+                (request == null || request.getNotices() == null) ? List.of() : request.getNotices();
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("notices 가 비어 있습니다.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxItems + "건까지 보낼 수 있습니다.");
+        }
+
+        // 1. 업로드 파일을 내용 해시로 색인 (여러 공지가 같은 파일을 참조해도 한 번만 올리면 됨)
+        Map<String, MultipartFile> uploads = new HashMap<>();
+        for (IncomingFile f : NoticeService.fingerprint(files)) uploads.putIfAbsent(f.sha256(), f.file());
+
+        // 2. 작성자(학과 계정) 일괄 조회
+        Set<String> usernames = items.stream()
+                .map(SchoolNoticeCreateDto::getDepartment)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> authorIds = usernames.isEmpty() ? Map.of()
+                : userRepository.findIdRowsByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(UsernameIdRow::username, UsernameIdRow::id, (a, b) -> a));
+
+        // 3. 검증 (실패 항목은 DB 작업 없이 FAILED)
+        ItemResult[] results = new ItemResult[items.size()];
+        List<Prepared> ready = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            SchoolNoticeBulkRequest.Item item = items.get(i);
+            try {
+                NoticeService.requireSchoolNoticeFields(item);
+                Long authorId = authorIds.get(item.getDepartment());
+                if (authorId == null) {
+                    throw new NoSuchElementException(
+                            "크롤링 '" + item.getDepartment() + "'에 해당하는 유저를 DB에서 찾을 수 없습니다.");
+                }
+                ready.add(new Prepared(i, item, authorId, NoticeService.externalKeyOf(item),
+                        referenced(item.getImages(), uploads), referenced(item.getAttachments(), uploads)));
+            } catch (IllegalArgumentException | NoSuchElementException e) {
+                results[i] = failed(i, item, e);
+            }
+        }
+
+        // 4. 청크 단위 트랜잭션. 실패한 청크는 한 건씩 다시 처리해 실패 항목만 골라냄
+        for (int from = 0; from < ready.size(); from += chunkSize) {
+            List<Prepared> chunk = ready.subList(from, Math.min(from + chunkSize, ready.size()));
+            try {
+                committed(tx.execute(status -> processChunk(chunk, notify)), results);
+            } catch (RuntimeException e) {
+                log.warn("[CRAWLER] 일괄 수집 청크 실패, 한 건씩 재시도: {}", e.toString());
+                for (Prepared p : chunk) {
+                    try {
+                        committed(tx.execute(status -> processChunk(List.of(p), notify)), results);
+                    } catch (RuntimeException ex) {
+                        results[p.index()] = failed(p.index(), p.item(), ex);
+                    }
+                }
+            }
+        }
+
+        int created = 0, updated = 0, skipped = 0, failed = 0;
+        for (ItemResult r : results) {
+            switch (r.outcome()) {
+                case "CREATED" -> created++;
+                case "UPDATED" -> updated++;
+                case "SKIPPED" -> skipped++;
+                default -> {
+                    failed++;
+                    crawlerIngestStats.recordFailure();
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - t0;
+        double perSec = elapsedNanos > 0 ? Math.round(items.size() * 1e9 / elapsedNanos * 10) / 10.0 : 0;
+        log.info("[CRAWLER] 일괄 수집 {}건 (생성 {}, 갱신 {}, 스킵 {}, 실패 {}) {}ms",
+                items.size(), created, updated, skipped, failed, elapsedNanos / 1_000_000);
+        return new SchoolNoticeBulkResponse(items.size(), created, updated, skipped, failed,
+                elapsedNanos / 1_000_000, perSec, Arrays.asList(results));
+    }
+
+    // 커밋된 청크의 결과를 응답에 담고 집계 (트랜잭션 밖이므로 바로 반영)
+    private void committed(List<Done> done, ItemResult[] results) {
+        if (done == null) return;
+        for (Done d : done) {
+            results[d.result().index()] = d.result();
+            Ingested r = d.ingested();
+            crawlerIngestStats.record(r.outcome(), r.filesAdded(), r.filesRemoved(), r.filesKept());
+        }
+    }
+
+    private List<Done> processChunk(List<Prepared> chunk, boolean notify) {
+        // 기존 공지 일괄 조회: 원본 키 → 학과+제목 키 → 키 없는 이전 공지(제목)
+        Set<String> keys = new HashSet<>();
+        for (Prepared p : chunk) {
+            keys.add(p.externalKey());
+            keys.add(NoticeService.titleKeyOf(p.item()));
+        }
+        Map<String, Notice> byKey = new HashMap<>();
+        for (Notice n : noticeRepository.findByExternalKeyIn(keys)) byKey.put(n.getExternalKey(), n);
+
+        Set<String> legacyTitles = new HashSet<>();
+        for (Prepared p : chunk) {
+            if (!byKey.containsKey(p.externalKey()) && !byKey.containsKey(NoticeService.titleKeyOf(p.item()))
+                    && p.item().getTitle() != null) {
+                legacyTitles.add(p.item().getTitle());
+            }
+        }
+        Map<String, Notice> legacyByTitle = legacyTitles.isEmpty() ? new HashMap<>()
+                : noticeRepository.findByNoticeTypeAndExternalKeyIsNullAndTitleIn(NoticeType.SCHOOL, legacyTitles).stream()
+                .collect(Collectors.toMap(Notice::getTitle, n -> n, (a, b) -> a.getId() > b.getId() ? a : b, HashMap::new));
+
+        // 공지 엔티티는 equals 를 재정의하지 않으므로 같은 공지가 두 번 바뀌어도 한 번만 담김
+        Map<FanoutKey, Set<Notice>> toNotify = new LinkedHashMap<>();
+        List<Done> out = new ArrayList<>(chunk.size());
+        for (Prepared p : chunk) {
+            SchoolNoticeBulkRequest.Item item = p.item();
+            Notice existing = byKey.get(p.externalKey());
+            if (existing == null) existing = byKey.get(NoticeService.titleKeyOf(item));
+            if (existing == null && item.getTitle() != null) existing = legacyByTitle.remove(item.getTitle());
+
+            User author = userRepository.getReferenceById(p.authorId());
+            Ingested r = noticeService.ingestSchoolNotice(item, author, existing, p.images(), p.attachments(),
+                    notice -> {
+                        if (notify) {
+                            toNotify.computeIfAbsent(new FanoutKey(notice.getDepartment(), p.authorId()),
+                                    k -> new LinkedHashSet<>()).add(notice);
+                        }
+                    });
+            // 같은 요청에서 같은 공지가 다시 나오면 방금 반영한 행을 기준으로 비교
+            byKey.put(p.externalKey(), r.notice());
+            out.add(new Done(new ItemResult(p.index(), p.externalKey(), r.outcome().name(), r.notice().getId(), null), r));
+        }
+
+        toNotify.forEach((k, notices) -> notificationFanoutService.enqueueAll(new ArrayList<>(notices), k.authorId()));
+        return out;
+    }
+
+    // 해시 목록 → 업로드된 파일 (없으면 file=null: 기존 공지에 같은 내용이 있을 때만 유효)
+    private static List<IncomingFile> referenced(List<String> hashes, Map<String, MultipartFile> uploads) {
+        if (hashes == null || hashes.isEmpty()) return List.of();
+        List<IncomingFile> out = new ArrayList<>(hashes.size());
+        for (String h : hashes) {
+            String sha = (h == null) ? "" : h.strip().toLowerCase(Locale.ROOT);
+            if (!SHA256_HEX.matcher(sha).matches()) {
+                throw new IllegalArgumentException("파일 해시 형식이 잘못되었습니다: " + h);
+            }
+            out.add(new IncomingFile(uploads.get(sha), sha));
+        }
+        return out;
+    }
+
+    private static ItemResult failed(int index, SchoolNoticeCreateDto item, Exception e) {
+        String key = (item.getDepartment() == null) ? item.getExternalKey() : NoticeService.externalKeyOf(item);
+        return new ItemResult(index, key, "FAILED", null, String.valueOf(e.getMessage()));
+    }
+}
@@ -0,0 +1,5 @@
+package com.community.demo.service.notice;
+
+// 저장 결과: 논리 경로(예: "community/images/a.jpg"), 바이트 수, 저장하면서 계산한 SHA-256(hex)
+public record StoredFile(String storagePath, long size, String sha256) {
+}
@@ -0,0 +1,98 @@
+package com.community.demo.service.notice;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 업로드 스트림을 힙에 올리지 않고 파일로 저장.
+ * - 같은 디렉터리의 임시 파일에 64KB 버퍼 단위로 쓰면서 SHA-256 을 함께 계산
+ * - 다 쓰면 fsync 후 대상 이름으로 원자적 이동 → 쓰다 만 파일이 대상 경로에 보이지 않음
+ * - 실패하면 임시 파일 삭제
+ * 파일 크기와 상관없이 요청당 버퍼 1개(64KB)만 사용
+ */
+public final class StreamingFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** 저장 결과 (실제 경로, 바이트 수, SHA-256 hex) */
+    public record Written(Path path, long size, String sha256) {
+    }
+
+    private StreamingFileWriter() {
+    }
+
+    /**
+     * in 을 끝까지 읽어 target 에 저장. target 이 이미 있으면 FileAlreadyExistsException
+     * (호출자가 이름 충돌을 피한 경로를 넘긴다는 전제, 경쟁 시에도 덮어쓰지 않음)
+     */
+    public static Written write(InputStream in, Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, ".upload-", ".part");
+
+        MessageDigest sha256 = newSha256();
+        long size = 0;
+        boolean moved = false;
+        try {
+            try (ReadableByteChannel src = Channels.newChannel(in);
+                 FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+                while (src.read(buf) != -1) {
+                    buf.flip();
+                    sha256.update(buf.array(), 0, buf.limit());
+                    while (buf.hasRemaining()) size += out.write(buf);
+                    buf.clear();
+                }
+                out.force(true);
+            }
+            moveNoReplace(tmp, target);
+            moved = true;
+            return new Written(target, size, HexFormat.of().formatHex(sha256.digest()));
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 원자적 이동은 대상이 있으면 덮어쓰는 플랫폼이 있으므로, 먼저 하드 링크로 "없을 때만 생성"을 시도
+    private static void moveNoReplace(Path tmp, Path target) throws IOException {
+        try {
+            Files.createLink(target, tmp);      // 대상이 있으면 FileAlreadyExistsException
+            Files.delete(tmp);
+            return;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            if (e instanceof FileAlreadyExistsException fae) throw fae;
+            // 하드 링크를 지원하지 않는 파일 시스템 → 원자적 이동 (존재 여부는 직전에 확인)
+        }
+        if (Files.exists(target)) throw new FileAlreadyExistsException(target.toString());
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target);
+        }
+    }
+
+    /** in 을 끝까지 읽어 SHA-256 hex 만 계산 (저장하지 않음). 64KB 버퍼 1개 */
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest sha256 = newSha256();
+        byte[] buf = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buf)) != -1) sha256.update(buf, 0, n);
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);      // 모든 JVM 에 있는 알고리즘
+        }
+    }
+}
@@ -5,12 +5,14 @@ import com.community.demo.domain.user.User;
 import com.community.demo.dto.inquiry.BotFileUploadResponse;
 import com.community.demo.dto.inquiry.FastApiBuildResult;
 import com.community.demo.repository.BotFileRepository;
+import com.community.demo.service.chat.ChatAnswerCache;
+import com.community.demo.service.notice.StreamingFileWriter;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
@@ -24,6 +26,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.Duration;
@@ -37,6 +40,7 @@ import java.util.concurrent.TimeUnit;
 public class AdminProcessingService {
 
     private final BotFileRepository botFileRepository;
+    private final ChatAnswerCache chatAnswerCache;
 
     // 로컬 저장 루트 (기존 LocalFileStorageService를 쓰고 있다면 그걸 주입해도 됩니다)
     @Value("${file.dir:uploads}")
@@ -117,11 +121,13 @@ public class AdminProcessingService {
         }
 
         Path savedPath = dir.resolve(originalFilename);
+        StreamingFileWriter.Written written;
         try {
             // 동일 이름 존재 시 덮어쓸지/뒤에 (1) 붙일지 정책 선택
             // 여기서는 덮어쓰기 회피: (1), (2) ... 붙이기
-            savedPath = avoidCollision(savedPath);
-            Files.write(savedPath, file.getBytes(), StandardOpenOption.CREATE_NEW);
+            // 업로드 스트림 → 임시 파일 → 원자적 이동 (50MB PDF 도 힙에 올리지 않음)
+            written = writeAvoidingCollision(file, savedPath);
+            savedPath = written.path();
         } catch (IOException e) {
             throw new RuntimeException("파일 저장 실패: " + savedPath, e);
         }
@@ -131,15 +137,16 @@ public class AdminProcessingService {
         bf.setCollectionName(collectionName);
         bf.setOriginalFilename(originalFilename);
         bf.setStoredPath(savedPath.toString().replace('\\', '/'));
-        bf.setSize(file.getSize());
+        bf.setSize(written.size());
         bf.setContentType(contentType);
         bf.setUploader(admin);
 
         BotFile saved = botFileRepository.save(bf);
 
         // 3) FastAPI로 전송 (한글 파일명 금지 → 안전 파일명으로 교체)
+        // 저장된 파일을 청크 단위로 읽어 multipart 본문으로 흘려보냄 (byte[] 없음)
         String safeFilename = toAsciiSafeFilename(originalFilename);
-        ByteArrayResource bodyFile = new NamedByteArrayResource(file, safeFilename);
+        FileSystemResource bodyFile = new NamedFileSystemResource(savedPath, safeFilename);
 
         FastApiBuildResult fastapiResult;
         try {
@@ -175,6 +182,9 @@ public class AdminProcessingService {
             throw new RuntimeException("FastAPI 전송/처리 실패: " + ex.getMessage(), ex);
         }
 
+        // 컬렉션이 재구성되었으므로 이전 문서 기준 챗봇 답변은 버림
+        chatAnswerCache.invalidateAll();
+
         return new BotFileUploadResponse(
                 saved.getId(),
                 saved.getCollectionName(),
@@ -194,6 +204,18 @@ public class AdminProcessingService {
         return (idx >= 0) ? filename.substring(idx) : "";
     }
 
+    // 이름 충돌을 피해 스트리밍 저장. 동시에 같은 이름을 고른 업로드가 먼저 저장했으면 다음 이름으로 재시도
+    private static StreamingFileWriter.Written writeAvoidingCollision(MultipartFile file, Path target) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Path candidate = avoidCollision(target);
+            try (InputStream in = file.getInputStream()) {
+                return StreamingFileWriter.write(in, candidate);
+            } catch (FileAlreadyExistsException e) {
+                if (attempt >= 5) throw e;
+            }
+        }
+    }
+
     private static Path avoidCollision(Path target) {
         if (!Files.exists(target)) return target;
         String name = target.getFileName().toString();
@@ -235,19 +257,15 @@ public class AdminProcessingService {
     }
 
     // Multipart 전송 시 파일명을 강제로 지정하려면 Resource의 getFilename()을 오버라이드해야 함
-    static class NamedByteArrayResource extends ByteArrayResource {
+    static class NamedFileSystemResource extends FileSystemResource {
         private final String filename;
-        NamedByteArrayResource(MultipartFile src, String filename) {
-            super(toBytes(src));
+        NamedFileSystemResource(Path path, String filename) {
+            super(path);
             this.filename = filename;
         }
         @Override
         public String getFilename() {
             return filename;
         }
-        private static byte[] toBytes(MultipartFile f) {
-            try { return f.getBytes(); }
-            catch (IOException e) { throw new RuntimeException(e); }
-        }
     }
-}
\ No newline at end of file
+}
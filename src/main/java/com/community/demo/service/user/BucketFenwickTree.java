@@ -0,0 +1,34 @@
+package com.community.demo.service.user;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 버킷별 개수에 대한 펜윅 트리 (Binary Indexed Tree).
+ * 갱신과 누적 개수(= 순위) 조회 모두 O(log 버킷 수).
+ * 갱신은 호출자가 직렬화하고 (보드 단위 synchronized), 조회는 락 없이 읽음 (AtomicLongArray 로 가시성만 보장)
+ */
+final class BucketFenwickTree {
+
+    private final int size;
+    private final AtomicLongArray tree;
+
+    BucketFenwickTree(int size) {
+        this.size = size;
+        this.tree = new AtomicLongArray(size + 1);      // 1-based
+    }
+
+    void add(int bucket, long delta) {
+        for (int i = bucket + 1; i <= size; i += i & -i) tree.addAndGet(i, delta);
+    }
+
+    /** 버킷 0..bucket 의 개수 합 (bucket < 0 이면 0) */
+    long prefix(int bucket) {
+        long sum = 0;
+        for (int i = Math.min(bucket, size - 1) + 1; i > 0; i -= i & -i) sum += tree.get(i);
+        return sum;
+    }
+
+    long total() {
+        return prefix(size - 1);
+    }
+}
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -34,6 +36,12 @@ public class CreditsService {
     @Value("${app.fastapi.ocr-path:/ocr/extract-credits}")
     private String ocrPath;
 
+    // principal 은 인증 캐시에서 만든 요약본이므로, 학점/전공 필드를 읽고 저장하려면 영속 엔티티로 다시 조회
+    private User loadMe(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+    }
+
     /**
      * 1) 파일을 FastAPI로 그대로 multipart 전송
      * 2) 응답 JSON을 사용자 전공 상태에 맞게 키명만 변경
@@ -42,7 +50,8 @@ public class CreditsService {
      * 5) 가공된 JSON을 반환
      */
     @Transactional
-    public Map<String, Object> forwardToOcrAndSave(User me, MultipartFile pdf) {
+    public Map<String, Object> forwardToOcrAndSave(User principal, MultipartFile pdf) {
+        User me = loadMe(principal);
         Map<String, Object> raw = callOcr(pdf);
 
         // 트랙 규칙(부/복 이름 치환/제거)은 그대로 적용
@@ -95,7 +104,8 @@ public class CreditsService {
      * - 프런트가 upload 응답을 편집해 보내는 걸 가정
      */
     @Transactional
-    public void applyEditedPayload(User me, Map<String, Object> edited) {
+    public void applyEditedPayload(User principal, Map<String, Object> edited) {
+        User me = loadMe(principal);
         // === 취득학점 ===
         Integer acqGeneral = getNestedInt(edited, "교양 필수", "취득학점");
         Integer acqBasic   = getNestedInt(edited, "기초전공", "취득학점");
@@ -176,7 +186,8 @@ public class CreditsService {
     }
 
     @Transactional
-    public void applyFlatPayload(User me, CreditsFlatRequest req) {
+    public void applyFlatPayload(User principal, CreditsFlatRequest req) {
+        User me = loadMe(principal);
         // 공통(취득학점)
         if (req.getGeneralRequired() != null)   me.setCreditsGeneralRequired(req.getGeneralRequired());
         if (req.getBasicMajor() != null)        me.setCreditsBasicMajor(req.getBasicMajor());
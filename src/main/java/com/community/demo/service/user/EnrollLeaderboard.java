@@ -0,0 +1,315 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import com.community.demo.dto.enroll.EnrollBestRow;
+import com.community.demo.repository.EnrollRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 수강신청 연습 타이머 리더보드 (모드별, 사용자당 최고 기록 1개). 요청 경로에서는 DB 를 조회하지 않음.
+ * 보드 = (모드) x (전체 기간 / 오늘) x (전체 학과 / 학과 1개). 기록 1건은 최대 4개 보드에 반영.
+ * - 보드마다 사용자 최고 기록의 10ms 버킷 개수를 펜윅 트리로 유지 → 순위, "X% 보다 빠름" 이 O(log 버킷 수)
+ *   (같은 10ms 구간 기록은 같은 순위)
+ * - 상위 N 은 (기록, 달성 시각, 사용자 id) 순으로 정렬된 ConcurrentSkipListSet 앞에서부터 → O(log n + N)
+ * - 갱신은 보드 단위 synchronized (더 좋은 기록일 때만 바뀜), 조회는 락 없음
+ * - 오늘 보드는 Asia/Seoul 날짜 기준, 날짜가 바뀌면 지난 날짜 보드는 버림
+ * - 기동 시 enroll_records 에서 다시 만들고, 이후 기록은 EnrollRecordWriteBehind 가 저장(커밋)한 뒤에만 반영
+ * - 재적재는 writer 를 잠깐 멈춘 상태에서 최대 id 를 읽고 그 뒤 반영분만 따로 모아, id <= 최대 id 조회 결과에 합쳐 교체
+ *   (이전 보드는 합치지 않음 → DB 에서 지워진 기록이 보드에 남지 않음)
+ */
+@Slf4j
+@Component
+public class EnrollLeaderboard {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    /** 보드 항목: 사용자 1명의 최고 기록 */
+    public record Entry(long userId, String username, String department, long durationMs, long finishedAtMs) {
+    }
+
+    /** 보드 안에서의 위치 */
+    public record Standing(Entry entry, long rank, long totalUsers, double fasterThanPercent) {
+    }
+
+    /** 기록 1건을 다른 사용자들의 최고 기록과 비교한 순위 (1 = 가장 빠름, totalUsers 는 나 포함) */
+    public record Rank(long rank, long totalUsers, double topPercent) {
+    }
+
+    // 빠른 기록 → 먼저 낸 기록 → 사용자 id
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::durationMs)
+            .thenComparingLong(Entry::finishedAtMs)
+            .thenComparingLong(Entry::userId);
+
+    // 재적재 중 반영된 기록 1건
+    private record Captured(EnrollMode mode, Entry entry) {
+    }
+
+    // day == null: 전체 기간, department == null: 전체 학과
+    private record BoardKey(EnrollMode mode, LocalDate day, String department) {
+    }
+
+    private static final class Board {
+        private final BucketFenwickTree fenwick = new BucketFenwickTree(EnrollStatsEngine.BUCKETS);
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+        private final ConcurrentHashMap<Long, Entry> bestByUser = new ConcurrentHashMap<>();
+
+        /** 기존 최고 기록보다 좋을 때만 교체 (같은 기록을 여러 번 넣어도 결과 같음) */
+        synchronized void offer(Entry e) {
+            Entry old = bestByUser.get(e.userId());
+            if (old != null && ORDER.compare(e, old) >= 0) return;
+            if (old != null) {
+                ranking.remove(old);
+                fenwick.add(EnrollStatsEngine.bucketOf(old.durationMs()), -1);
+            }
+            bestByUser.put(e.userId(), e);
+            fenwick.add(EnrollStatsEngine.bucketOf(e.durationMs()), 1);
+            ranking.add(e);
+        }
+
+        // 더 빠른 구간에 있는 사용자 수 + 1
+        long rankOf(long durationMs) {
+            return fenwick.prefix(EnrollStatsEngine.bucketOf(durationMs) - 1) + 1;
+        }
+
+        // durationMs 를 userId 를 뺀 나머지 사용자 최고 기록 사이에 넣었을 때의 순위
+        Rank rankAmongOthers(long userId, long durationMs) {
+            int bucket = EnrollStatsEngine.bucketOf(durationMs);
+            long faster = fenwick.prefix(bucket - 1);
+            long total = fenwick.total() + 1;
+            Entry mine = bestByUser.get(userId);
+            if (mine != null) {
+                total--;
+                if (EnrollStatsEngine.bucketOf(mine.durationMs()) < bucket) faster--;
+            }
+            long rank = faster + 1;
+            return new Rank(rank, total, Math.round(rank * 1000.0 / total) / 10.0);
+        }
+
+        // durationMs 가 userId 를 뺀 나머지 사용자 중 몇 % 보다 빠른지 (같은 구간은 빠르지 않은 것으로 봄)
+        double fasterThanPercent(long userId, long durationMs) {
+            int bucket = EnrollStatsEngine.bucketOf(durationMs);
+            long total = fenwick.total();
+            long slower = total - fenwick.prefix(bucket);
+            Entry mine = bestByUser.get(userId);
+            if (mine != null) {
+                total--;
+                if (EnrollStatsEngine.bucketOf(mine.durationMs()) > bucket) slower--;
+            }
+            if (total <= 0) return 100.0;
+            return Math.round(Math.max(slower, 0) * 1000.0 / total) / 10.0;
+        }
+    }
+
+    private final EnrollRecordRepository recordRepository;
+    private final EnrollRecordWriteBehind recordWriter;
+
+    private volatile Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+    private volatile LocalDate currentDay = LocalDate.now(SEOUL);
+    // 반영(read)과 재적재 후 교체(write)를 구분: 교체 직전 보드에 들어간 기록이 빠지지 않도록
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // 재적재 기준 id 이후 반영된 기록 (새 보드에 더해 줌). 재적재 중이 아니면 null
+    private volatile Queue<Captured> capture;
+    private volatile boolean loaded;
+
+    private final LongAdder recorded = new LongAdder();
+    private volatile long lastRebuildMs;
+    private volatile int lastRebuildRows;
+
+    public EnrollLeaderboard(EnrollRecordRepository recordRepository, EnrollRecordWriteBehind recordWriter) {
+        this.recordRepository = recordRepository;
+        this.recordWriter = recordWriter;
+    }
+
+    /** DB 와 연결되지 않은 빈 리더보드 (테스트용) */
+    static EnrollLeaderboard detached() {
+        EnrollLeaderboard board = new EnrollLeaderboard(null, null);
+        board.loaded = true;
+        return board;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("[ENROLL] 리더보드 적재 실패 (관리자 재적재로 복구): {}", e.toString());
+        }
+    }
+
+    // ===== 기록 =====
+
+    /** 저장된 기록 반영 (writer 스레드, 배치 커밋 직후. writer 의 writeLock 안) */
+    @EventListener
+    public void onWritten(EnrollRecordWriteBehind.BatchWritten batch) {
+        for (EnrollRecordWriteBehind.Written w : batch.records()) {
+            apply(w.mode(), new Entry(w.userId(), w.username(), w.department(), w.durationMs(),
+                    w.finishedAt().toEpochMilli()));
+        }
+    }
+
+    void apply(EnrollMode mode, Entry e) {
+        LocalDate today = LocalDate.now(SEOUL);
+        if (!today.equals(currentDay)) rollOver(today);
+
+        swapLock.readLock().lock();
+        try {
+            Queue<Captured> cap = capture;
+            if (cap != null) cap.add(new Captured(mode, e));
+            place(boards, today, mode, e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        recorded.increment();
+    }
+
+    // 전체 기간 보드 + (오늘 끝난 기록이면) 오늘 보드. 자정 직전 시작한 기록은 전체 기간에만
+    private static void place(Map<BoardKey, Board> b, LocalDate today, EnrollMode mode, Entry e) {
+        offer(b, mode, null, e);
+        LocalDate day = Instant.ofEpochMilli(e.finishedAtMs()).atZone(SEOUL).toLocalDate();
+        if (day.equals(today)) offer(b, mode, today, e);
+    }
+
+    private static void offer(Map<BoardKey, Board> b, EnrollMode mode, LocalDate day, Entry e) {
+        b.computeIfAbsent(new BoardKey(mode, day, null), k -> new Board()).offer(e);
+        if (e.department() != null) {
+            b.computeIfAbsent(new BoardKey(mode, day, e.department()), k -> new Board()).offer(e);
+        }
+    }
+
+    // 날짜가 바뀌면 지난 날짜 보드 제거
+    private synchronized void rollOver(LocalDate today) {
+        if (today.equals(currentDay)) return;
+        boards.keySet().removeIf(k -> k.day() != null && !k.day().equals(today));
+        currentDay = today;
+    }
+
+    // ===== 조회 (락 없음) =====
+
+    /** finish 응답용: durationMs 가 같은 모드 다른 사용자들(최고 기록 기준) 중 몇 % 보다 빠른지 */
+    public double fasterThanPercent(EnrollMode mode, long userId, long durationMs) {
+        Board b = boards.get(new BoardKey(mode, null, null));
+        return b == null ? 100.0 : b.fasterThanPercent(userId, durationMs);
+    }
+
+    /** 내 기록 1건(최고 기록이 아니어도 됨)이 같은 모드 다른 사용자들(최고 기록 기준) 사이에서 몇 등인지 */
+    public Rank rankAmongUsers(EnrollMode mode, long userId, long durationMs) {
+        Board b = boards.get(new BoardKey(mode, null, null));
+        return b == null ? new Rank(1, 1, 100.0) : b.rankAmongOthers(userId, durationMs);
+    }
+
+    /** 상위 limit 명 (today: 오늘 보드, department: null 이면 전체 학과) */
+    public List<Standing> top(EnrollMode mode, boolean today, String department, int limit) {
+        Board b = board(mode, today, department);
+        if (b == null || limit <= 0) return List.of();
+        long total = b.bestByUser.size();
+        List<Standing> out = new ArrayList<>(Math.min(limit, (int) Math.min(total, Integer.MAX_VALUE)));
+        for (Entry e : b.ranking) {
+            if (out.size() >= limit) break;
+            out.add(new Standing(e, b.rankOf(e.durationMs()), total, b.fasterThanPercent(e.userId(), e.durationMs())));
+        }
+        return out;
+    }
+
+    /** 내 최고 기록의 위치. 보드에 기록이 없으면 empty */
+    public Optional<Standing> standing(EnrollMode mode, boolean today, String department, long userId) {
+        Board b = board(mode, today, department);
+        Entry mine = (b == null) ? null : b.bestByUser.get(userId);
+        if (mine == null) return Optional.empty();
+        return Optional.of(new Standing(mine, b.rankOf(mine.durationMs()), b.bestByUser.size(),
+                b.fasterThanPercent(userId, mine.durationMs())));
+    }
+
+    /** 보드에 기록이 있는 사용자 수 */
+    public long totalUsers(EnrollMode mode, boolean today, String department) {
+        Board b = board(mode, today, department);
+        return b == null ? 0 : b.bestByUser.size();
+    }
+
+    private Board board(EnrollMode mode, boolean today, String department) {
+        LocalDate day = today ? LocalDate.now(SEOUL) : null;
+        return boards.get(new BoardKey(mode, day, department));
+    }
+
+    // ===== 적재 =====
+
+    /** enroll_records 기준으로 다시 만듦 (전체 기간은 사용자별 최고 기록, 오늘은 오늘 기록 전체) */
+    public synchronized Map<String, Object> rebuild() {
+        long t0 = System.nanoTime();
+        LocalDate today = LocalDate.now(SEOUL);
+        Map<BoardKey, Board> fresh = new ConcurrentHashMap<>();
+        Queue<Captured> cap = new ConcurrentLinkedQueue<>();
+        // 저장+발행 사이가 아닌 시점에 기준 id 를 잡고 모으기 시작: 기준 이하는 조회에, 이후는 cap 에만 들어감
+        long highWater = recordWriter.quiesce(() -> {
+            capture = cap;
+            return recordRepository.findMaxId();
+        });
+        List<EnrollBestRow> best;
+        List<EnrollBestRow> todays;
+        try {
+            best = recordRepository.findBestRowsPerUserAndMode(highWater);
+            for (EnrollBestRow r : best) offer(fresh, r.mode(), null, entryOf(r));
+            todays = recordRepository.findRowsFinishedSince(today.atStartOfDay(SEOUL).toInstant(), highWater);
+            for (EnrollBestRow r : todays) offer(fresh, r.mode(), today, entryOf(r));
+
+            // 기준 이후 반영분만 더해 교체 (offer 는 더 좋은 기록만 남기므로 겹쳐도 결과 같음)
+            recordWriter.quiesce(() -> {
+                swapLock.writeLock().lock();
+                try {
+                    for (Captured c : cap) place(fresh, today, c.mode(), c.entry());
+                    boards = fresh;
+                    capture = null;
+                    currentDay = today;
+                    loaded = true;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+                return null;
+            });
+        } finally {
+            capture = null;
+        }
+        lastRebuildMs = (System.nanoTime() - t0) / 1_000_000;
+        lastRebuildRows = best.size() + todays.size();
+        log.info("[ENROLL] 리더보드 적재: 보드 {}개, 기록 {}행, {}ms", fresh.size(), lastRebuildRows, lastRebuildMs);
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("boards", fresh.size());
+        m.put("rows", lastRebuildRows);
+        m.put("elapsedMs", lastRebuildMs);
+        return m;
+    }
+
+    private static Entry entryOf(EnrollBestRow r) {
+        return new Entry(r.userId(), r.username(), r.department(), r.durationMs(), r.finishedAt().toEpochMilli());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("loaded", loaded);
+        m.put("boards", boards.size());
+        m.put("currentDay", currentDay.toString());
+        for (EnrollMode mode : EnrollMode.values()) {
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("users", totalUsers(mode, false, null));
+            e.put("usersToday", totalUsers(mode, true, null));
+            m.put(mode.name(), e);
+        }
+        m.put("recordedSinceStart", recorded.sum());
+        m.put("lastRebuildMs", lastRebuildMs);
+        m.put("lastRebuildRows", lastRebuildRows);
+        return m;
+    }
+}
@@ -0,0 +1,409 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import com.community.demo.domain.user.RecentRing;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 수강신청 연습 타이머 기록 쓰기 지연 (write-behind).
+ * - finish 는 기록을 크기 제한 큐에 넣고 바로 응답. 백그라운드 writer 1개가 batch-size 건까지 모아 (첫 건 후 최대 linger-ms 대기)
+ *   한 트랜잭션에서 enroll_records 배치 INSERT + 사용자별 최근 5개 원형 버퍼(users.recent_*_ring) 배치 UPDATE
+ *   (IDENTITY INSERT 1건 + user_recent_* 컬렉션 전체 삭제/재삽입을 finish 마다 하던 것을 대체)
+ * - 저장이 커밋되면 같은 스레드에서 BatchWritten 을 발행 → 통계/리더보드는 DB 에 있는 기록만 셈
+ *   (큐에 있거나 저장에 실패한 기록은 어디에도 반영되지 않음). quiesce() 안에서는 저장+발행이 끼어들지 않음
+ * - 큐가 가득 차면 offer-timeout-ms 동안 기다리고, 그래도 자리가 없으면 요청 스레드에서 직접 저장.
+ *   직접 저장도 실패하면 (커밋 후라 요청을 실패시킬 수 없으므로) 유실로 세고 기록 내용을 로그에 남김
+ * - 종료 시 새 기록은 요청 스레드에서 직접 저장하고, writer 가 큐를 비울 때까지 shutdown-timeout-seconds 기다린 뒤 남은 것을 마지막으로 저장.
+ *   프로세스가 강제 종료되면 큐에 있던 기록(최대 큐 크기, 보통 linger-ms 분량)은 유실됨
+ * - DB 오류 시 같은 배치를 1초 간격으로 다시 시도 (그동안 새 기록은 큐에 쌓이고, 가득 차면 위 back-pressure).
+ *   3번 연속 실패하면 배치를 반씩 나눠 저장해 실패하는 기록만 골라냄. DB 가 살아 있는데 혼자 실패하는 기록은
+ *   직접 저장 실패와 같이 유실로 세고 내용을 로그에 남김 (DB 장애 중이면 버리지 않고 남은 기록째 다시 시도)
+ * 저장은 항상 별도 트랜잭션(REQUIRES_NEW)이고, 원형 버퍼는 users 행을 id 순으로 잠근 뒤 읽고 써서 인스턴스가 여러 대여도 갱신이 섞이지 않음
+ */
+@Slf4j
+@Component
+public class EnrollRecordWriteBehind {
+
+    private static final String INSERT_SQL = """
+            insert into enroll_records (user_id, mode, started_at, finished_at, duration_ms, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String RING_SELECT_SQL =
+            "select id, username, department, recent_basic_ring, recent_cart_ring from users where id in (%s) order by id for update";
+    private static final String RING_UPDATE_SQL =
+            "update users set recent_basic_ring = ?, recent_cart_ring = ? where id = ?";
+    private static final long RETRY_BACKOFF_MS = 1_000;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    /** 저장할 기록 1건 */
+    public record Finish(long userId, EnrollMode mode, Instant startedAt, Instant finishedAt, long durationMs) {
+    }
+
+    /** 저장이 커밋된 기록 1건 (리더보드용 사용자 정보는 저장 시점의 users 행) */
+    public record Written(long userId, String username, String department, EnrollMode mode, long durationMs,
+                          Instant finishedAt) {
+    }
+
+    /** 배치 1개 커밋 직후 writer(또는 직접 저장한 요청) 스레드에서 동기 발행 */
+    public record BatchWritten(List<Written> records) {
+    }
+
+    private record Saved(List<Written> records, int dropped) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final BlockingQueue<Finish> queue;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+
+    // 저장(원형 버퍼 읽기-쓰기)+발행은 writer 와 직접 저장하는 요청 스레드 사이에서 직렬화
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 큐에 넣기(read)와 종료 전환(write) 구분: 종료 후 큐에 남는 기록이 없도록
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private boolean accepting = true;
+    private volatile boolean running = true;
+    private volatile List<Finish> leftover = List.of();
+    private final Thread writer;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder handled = new LongAdder();             // 큐에서 꺼내 저장했거나 버린 건수
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder directWrites = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAccumulator maxQueued = new LongAccumulator(Math::max, 0);
+    private volatile int lastBatchSize;
+    private volatile long lastBatchMs;
+
+    public EnrollRecordWriteBehind(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher events,
+                                   @Value("${app.enroll-timer.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.enroll-timer.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${app.enroll-timer.write-behind.linger-ms:50}") long lingerMs,
+                                   @Value("${app.enroll-timer.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+                                   @Value("${app.enroll-timer.write-behind.shutdown-timeout-seconds:10}") long shutdownTimeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.events = events;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMs = Math.max(0, lingerMs);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.shutdownTimeoutMs = TimeUnit.SECONDS.toMillis(Math.max(1, shutdownTimeoutSeconds));
+        this.writer = new Thread(this::runWriter, "enroll-record-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWriter() {
+        writer.start();
+    }
+
+    // ===== 기록 =====
+
+    /** 기록 1건 저장 요청. 트랜잭션 안이면 커밋된 경우에만 */
+    public void record(Finish f) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(f);
+                }
+            });
+        } else {
+            enqueue(f);
+        }
+    }
+
+    void enqueue(Finish f) {
+        acceptLock.readLock().lock();
+        try {
+            if (accepting && queue.offer(f, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                maxQueued.accumulate(queue.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        // 큐가 가득 찼거나 종료 중: 요청 스레드에서 바로 저장
+        directWrites.increment();
+        try {
+            write(List.of(f));
+        } catch (RuntimeException e) {
+            // afterCommit 에서 던지면 응답만 깨지고 기록은 어차피 없음 → 유실로 세고 복구할 수 있게 내용을 남김
+            dropped.increment();
+            log.error("[ENROLL] 기록 저장 실패 (유실): userId={}, mode={}, startedAt={}, durationMs={}: {}",
+                    f.userId(), f.mode(), f.startedAt(), f.durationMs(), e.toString());
+        }
+    }
+
+    /**
+     * 진행 중인 저장+발행이 끝난 뒤, 다음 저장이 시작되기 전에 action 실행 (통계/리더보드 재적재 시작점 잡기용).
+     * action 이 끝날 때까지 이 인스턴스의 기록 저장은 멈추므로 짧은 작업만
+     */
+    public <T> T quiesce(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** 지금까지 큐에 들어간 기록이 모두 저장(또는 유실 처리)될 때까지 대기. 시간 안에 못 끝나면 false */
+    public boolean awaitDrained(long timeoutMs) throws InterruptedException {
+        long target = enqueued.sum();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (handled.sum() < target) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    // ===== writer =====
+
+    private void runWriter() {
+        List<Finish> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+        while (true) {
+            try {
+                if (batch.isEmpty() && !collect(batch)) {
+                    if (!running) break;
+                    continue;
+                }
+                if (attempts < MAX_BATCH_ATTEMPTS) {
+                    write(batch);
+                    handled.add(batch.size());
+                    batch.clear();
+                } else {
+                    writeIsolating(batch);
+                }
+                attempts = 0;
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                failures.increment();
+                attempts++;
+                log.warn("[ENROLL] 기록 {}건 저장 실패 ({}ms 후 재시도): {}", batch.size(), RETRY_BACKOFF_MS, e.toString());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+        leftover = new ArrayList<>(batch);
+    }
+
+    // 계속 실패하는 배치를 반씩 나눠 앞에서부터 저장. 저장했거나 버린 만큼 batch 앞부분에서 지움.
+    // 1건만 남아도 실패하면 DB 가 응답하는지 확인해, 살아 있으면 그 기록만 버리고 아니면 그대로 던짐 (남은 기록은 다음 시도에)
+    private void writeIsolating(List<Finish> batch) {
+        Deque<List<Finish>> parts = new ArrayDeque<>();
+        parts.push(List.copyOf(batch));
+        while (!parts.isEmpty()) {
+            List<Finish> part = parts.pop();
+            try {
+                write(part);
+            } catch (RuntimeException e) {
+                if (part.size() > 1) {
+                    int mid = part.size() / 2;
+                    parts.push(part.subList(mid, part.size()));
+                    parts.push(part.subList(0, mid));
+                    continue;
+                }
+                if (!databaseReachable()) throw e;
+                Finish f = part.get(0);
+                dropped.increment();
+                log.error("[ENROLL] 기록 저장 실패 (유실): userId={}, mode={}, startedAt={}, durationMs={}: {}",
+                        f.userId(), f.mode(), f.startedAt(), f.durationMs(), e.toString());
+            }
+            handled.add(part.size());
+            batch.subList(0, part.size()).clear();
+        }
+    }
+
+    private boolean databaseReachable() {
+        try {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // 첫 건을 기다린 뒤 linger-ms 동안 batch-size 까지 더 모음. 아무것도 없으면 false
+    private boolean collect(List<Finish> batch) throws InterruptedException {
+        Finish first = queue.poll(running ? 1_000 : 100, TimeUnit.MILLISECONDS);
+        if (first == null) return false;
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long left = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || left <= 0) break;
+            Finish next = queue.poll(left, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void write(List<Finish> batch) {
+        writeLock.lock();
+        try {
+            long t0 = System.nanoTime();
+            Saved saved = tx.execute(status -> writeBatch(batch));
+            written.add(saved.records().size());
+            dropped.add(saved.dropped());
+            batches.increment();
+            lastBatchSize = batch.size();
+            lastBatchMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+            publish(saved.records());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 이미 커밋됐으므로 리스너 오류로 배치를 다시 저장하지 않음 (통계는 다음 재적재에서 맞춰짐)
+    private void publish(List<Written> records) {
+        if (records.isEmpty()) return;
+        try {
+            events.publishEvent(new BatchWritten(records));
+        } catch (RuntimeException e) {
+            log.warn("[ENROLL] 저장된 기록 {}건 통계 반영 실패: {}", records.size(), e.toString());
+        }
+    }
+
+    // 기록 INSERT + 원형 버퍼 갱신. 저장한 기록 반환 (그 사이 탈퇴한 사용자 기록은 버림)
+    private Saved writeBatch(List<Finish> batch) {
+        Set<Long> ids = new TreeSet<>();
+        for (Finish f : batch) ids.add(f.userId());
+        Map<Long, byte[][]> rings = new HashMap<>();
+        Map<Long, String[]> names = new HashMap<>();
+        jdbcTemplate.query(String.format(RING_SELECT_SQL, String.join(",", Collections.nCopies(ids.size(), "?"))),
+                rs -> {
+                    long id = rs.getLong("id");
+                    rings.put(id, new byte[][]{rs.getBytes("recent_basic_ring"), rs.getBytes("recent_cart_ring")});
+                    names.put(id, new String[]{rs.getString("username"), rs.getString("department")});
+                }, ids.toArray());
+
+        // Hibernate 가 Instant 를 저장하는 방식(UTC 기준 datetime)과 같게 바인딩
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Finish> kept = new ArrayList<>(batch.size());
+        List<Written> out = new ArrayList<>(batch.size());
+        for (Finish f : batch) {
+            byte[][] r = rings.get(f.userId());
+            if (r == null) continue;
+            int i = (f.mode() == EnrollMode.BASIC) ? 0 : 1;
+            r[i] = RecentRing.push(r[i], f.durationMs());
+            kept.add(f);
+            String[] n = names.get(f.userId());
+            out.add(new Written(f.userId(), n[0], n[1], f.mode(), f.durationMs(), f.finishedAt()));
+        }
+        if (kept.isEmpty()) return new Saved(List.of(), batch.size());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, kept, kept.size(), (ps, f) -> {
+            ps.setLong(1, f.userId());
+            ps.setString(2, f.mode().name());
+            ps.setTimestamp(3, Timestamp.from(f.startedAt()), utc);
+            ps.setTimestamp(4, Timestamp.from(f.finishedAt()), utc);
+            ps.setLong(5, f.durationMs());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+        List<Object[]> ringArgs = new ArrayList<>(rings.size());
+        rings.forEach((id, r) -> ringArgs.add(new Object[]{r[0], r[1], id}));
+        jdbcTemplate.batchUpdate(RING_UPDATE_SQL, ringArgs);
+        return new Saved(out, batch.size() - kept.size());
+    }
+
+    // ===== 종료 =====
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;          // 이후 기록은 요청 스레드에서 바로 저장
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(shutdownTimeoutMs);
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(1_000);
+            }
+        }
+
+        List<Finish> rest = new ArrayList<>(leftover);
+        queue.drainTo(rest);
+        if (rest.isEmpty()) return;
+        try {
+            write(rest);
+            log.info("[ENROLL] 종료 시 남은 기록 {}건 저장", rest.size());
+        } catch (RuntimeException e) {
+            dropped.add(rest.size());
+            log.error("[ENROLL] 종료 시 기록 {}건 저장 실패 (유실): {}", rest.size(), e.toString());
+        } finally {
+            handled.add(rest.size());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("queued", queue.size());
+        m.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        m.put("maxQueued", maxQueued.get());
+        m.put("enqueued", enqueued.sum());
+        m.put("directWrites", directWrites.sum());     // 큐가 가득 차거나 종료 중이라 요청 스레드에서 저장
+        m.put("written", written.sum());
+        m.put("dropped", dropped.sum());               // 탈퇴 사용자 기록 / 혼자 계속 실패한 기록 / 직접 저장·종료 시 저장 실패
+        m.put("batches", batches.sum());
+        long b = batches.sum();
+        m.put("avgBatchSize", b == 0 ? null : Math.round(written.sum() * 10.0 / b) / 10.0);
+        m.put("lastBatchSize", lastBatchSize);
+        m.put("lastBatchMs", lastBatchMs);
+        m.put("failures", failures.sum());
+        m.put("batchSize", batchSize);
+        m.put("lingerMs", lingerMs);
+        return m;
+    }
+}
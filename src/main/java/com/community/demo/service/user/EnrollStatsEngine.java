@@ -0,0 +1,262 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 수강신청 연습 타이머 기록 통계 (모드별). 요청 경로에서는 DB 를 조회하지 않음.
+ * - 모드별 합계/건수는 LongAdder (finish 가 몰려도 락 경합 없음) → 평균 O(1)
+ * - 분포는 10ms 폭 고정 버킷 히스토그램 (0~30초, 그 이상은 마지막 버킷)
+ *   → 중앙값/p90 은 버킷 수(3001)만큼만 훑음 (기록 수와 무관), 오차는 버킷 폭 이내
+ * - 기록은 EnrollRecordWriteBehind 가 enroll_records 에 저장(커밋)한 뒤에만 반영 (BatchWritten)
+ * - 기동 시 enroll_records 를 (모드, 버킷) group by 1회로 적재, 이후 주기적으로 DB 기준으로 다시 적재해 어긋남 보정.
+ *   writer 를 잠깐 멈춘 상태에서 최대 id 를 읽고 그 뒤 저장분을 따로 모음 → id <= 최대 id 만 조회해 합치므로 겹치거나 빠지는 기록 없음
+ *   (다른 인스턴스가 저장한 기록은 원래 이 인스턴스에 반영되지 않으므로 다음 재조정에서 맞춰짐)
+ */
+@Slf4j
+@Component
+public class EnrollStatsEngine {
+
+    static final long BUCKET_MS = 10;
+    static final int BUCKETS = (int) (EnrollTimerService.MAX_DURATION_MS / BUCKET_MS) + 1;
+
+    private static final String LOAD_SQL = """
+            select mode, least(floor(duration_ms / ?), ?) as bucket, count(*) as cnt, sum(duration_ms) as total
+              from enroll_records
+             where id <= ?
+             group by mode, bucket
+            """;
+
+    /** 모드 1개의 누적 통계 */
+    private static final class ModeStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder sumMs = new LongAdder();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void add(long ms) {
+            buckets.incrementAndGet(bucketOf(ms));
+            sumMs.add(ms);
+            count.increment();
+        }
+
+        void addAll(ModeStats o) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = o.buckets.get(i);
+                if (c != 0) buckets.addAndGet(i, c);
+            }
+            sumMs.add(o.sumMs.sum());
+            count.add(o.count.sum());
+        }
+
+        long[] snapshot() {
+            long[] s = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) s[i] = buckets.get(i);
+            return s;
+        }
+    }
+
+    /** 분포 요약 (초 단위 변환은 호출자) */
+    public record Summary(long count, Double averageMs, Long medianMs, Long p90Ms, long[] secondBins) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrollRecordWriteBehind recordWriter;
+    private final long reconcileIntervalMinutes;
+
+    private volatile EnumMap<EnrollMode, ModeStats> stats = newStats();
+    // 재적재 기준 id 이후 저장된 기록 (적재 결과에 더해 줌). 재적재 중이 아니면 null
+    private volatile EnumMap<EnrollMode, ModeStats> capture;
+    private volatile boolean loaded;
+
+    private final LongAdder recorded = new LongAdder();
+    private volatile long lastReconcileMs;
+    private volatile long lastReconcileDrift;
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "enroll-stats-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EnrollStatsEngine(JdbcTemplate jdbcTemplate,
+                             EnrollRecordWriteBehind recordWriter,
+                             @Value("${app.enroll-stats.reconcile-interval-minutes:60}") long reconcileIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recordWriter = recordWriter;
+        this.reconcileIntervalMinutes = reconcileIntervalMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler.execute(this::reconcileQuietly);
+        if (reconcileIntervalMinutes > 0) {
+            reconciler.scheduleWithFixedDelay(this::reconcileQuietly,
+                    reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    // ===== 기록 =====
+
+    /** 저장된 기록 반영 (writer 스레드, 배치 커밋 직후. writer 의 writeLock 안) */
+    @EventListener
+    public void onWritten(EnrollRecordWriteBehind.BatchWritten batch) {
+        for (EnrollRecordWriteBehind.Written w : batch.records()) add(w.mode(), w.durationMs());
+    }
+
+    private void add(EnrollMode mode, long durationMs) {
+        EnumMap<EnrollMode, ModeStats> cap = capture;
+        if (cap != null) cap.get(mode).add(durationMs);
+        stats.get(mode).add(durationMs);
+        recorded.increment();
+    }
+
+    // ===== 조회 (O(1) 또는 버킷 수만큼) =====
+
+    /** 모드 전체 평균(ms). 기록이 없으면 null */
+    public Double average(EnrollMode mode) {
+        ModeStats s = stats.get(mode);
+        long n = s.count.sum();
+        return n == 0 ? null : (double) s.sumMs.sum() / n;
+    }
+
+    /** 아직 반영 전인 내 기록 1건을 포함한 평균 (finish 응답용) */
+    public double averageIncluding(EnrollMode mode, long durationMs) {
+        ModeStats s = stats.get(mode);
+        return (double) (s.sumMs.sum() + durationMs) / (s.count.sum() + 1);
+    }
+
+    public Summary summary(EnrollMode mode) {
+        ModeStats s = stats.get(mode);
+        long[] b = s.snapshot();
+        long total = 0;
+        for (long c : b) total += c;
+
+        long[] secondBins = new long[(int) (EnrollTimerService.MAX_DURATION_MS / 1000) + 1];
+        for (int i = 0; i < BUCKETS; i++) {
+            if (b[i] != 0) secondBins[(int) Math.min(i * BUCKET_MS / 1000, secondBins.length - 1)] += b[i];
+        }
+        long n = s.count.sum();
+        return new Summary(total,
+                n == 0 ? null : (double) s.sumMs.sum() / n,
+                quantile(b, total, 0.5),
+                quantile(b, total, 0.9),
+                secondBins);
+    }
+
+    // 누적 개수가 q 비율에 처음 닿는 버킷의 중앙값(ms)
+    private static Long quantile(long[] b, long total, double q) {
+        if (total == 0) return null;
+        long target = (long) Math.ceil(q * total);
+        long acc = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acc += b[i];
+            if (acc >= target) return Math.min(i * BUCKET_MS + BUCKET_MS / 2, EnrollTimerService.MAX_DURATION_MS);
+        }
+        return EnrollTimerService.MAX_DURATION_MS;
+    }
+
+    static int bucketOf(long ms) {
+        return (int) Math.min(Math.max(ms, 0) / BUCKET_MS, BUCKETS - 1);
+    }
+
+    // ===== 적재/재조정 =====
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("[ENROLL] 통계 재조정 실패 (다음 주기에 재시도): {}", e.toString());
+        }
+    }
+
+    /** DB 기준으로 다시 적재. 메모리 값과 달랐던 건수(모드별 차이 합) 반환 */
+    public synchronized Map<String, Object> reconcile() {
+        long t0 = System.nanoTime();
+        EnumMap<EnrollMode, ModeStats> cap = newStats();
+        // 저장+발행 사이가 아닌 시점에 기준 id 를 잡고 모으기 시작: 기준 이하는 조회에, 이후는 cap 에만 들어감
+        long highWater = recordWriter.quiesce(() -> {
+            capture = cap;
+            Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from enroll_records", Long.class);
+            return max == null ? 0L : max;
+        });
+        long drift;
+        try {
+            EnumMap<EnrollMode, ModeStats> fresh = newStats();
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                EnrollMode mode = EnrollMode.valueOf(rs.getString("mode"));
+                ModeStats s = fresh.get(mode);
+                long cnt = rs.getLong("cnt");
+                s.buckets.addAndGet(rs.getInt("bucket"), cnt);
+                s.count.add(cnt);
+                s.sumMs.add(rs.getLong("total"));
+            }, BUCKET_MS, BUCKETS - 1, highWater);
+
+            // 기준 이후 저장분을 더해 교체 (그 사이 add 가 끼어들지 않도록 writer 를 멈춘 채로)
+            drift = recordWriter.quiesce(() -> {
+                long d = 0;
+                for (EnrollMode mode : EnrollMode.values()) {
+                    fresh.get(mode).addAll(cap.get(mode));
+                    if (loaded) d += Math.abs(fresh.get(mode).count.sum() - stats.get(mode).count.sum());
+                }
+                stats = fresh;
+                capture = null;
+                loaded = true;
+                return d;
+            });
+        } finally {
+            capture = null;
+        }
+        lastReconcileMs = (System.nanoTime() - t0) / 1_000_000;
+        lastReconcileDrift = drift;
+        if (drift > 0) log.info("[ENROLL] 통계 재조정: 메모리와 DB 차이 {}건 보정", drift);
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("drift", drift);
+        m.put("highWaterId", highWater);
+        m.put("elapsedMs", lastReconcileMs);
+        return m;
+    }
+
+    private static EnumMap<EnrollMode, ModeStats> newStats() {
+        EnumMap<EnrollMode, ModeStats> m = new EnumMap<>(EnrollMode.class);
+        for (EnrollMode mode : EnrollMode.values()) m.put(mode, new ModeStats());
+        return m;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("loaded", loaded);
+        for (EnrollMode mode : EnrollMode.values()) {
+            ModeStats s = stats.get(mode);
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("count", s.count.sum());
+            e.put("averageMs", average(mode));
+            m.put(mode.name(), e);
+        }
+        m.put("bucketMs", BUCKET_MS);
+        m.put("buckets", BUCKETS);
+        m.put("recordedSinceStart", recorded.sum());
+        m.put("reconcileIntervalMinutes", reconcileIntervalMinutes);
+        m.put("lastReconcileMs", lastReconcileMs);
+        m.put("lastReconcileDrift", lastReconcileDrift);
+        return m;
+    }
+}
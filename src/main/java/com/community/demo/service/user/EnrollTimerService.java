@@ -1,14 +1,16 @@
 package com.community.demo.service.user;
 
 import com.community.demo.domain.user.EnrollMode;
-import com.community.demo.domain.user.EnrollRecord;
 import com.community.demo.domain.user.User;
 import com.community.demo.dto.enroll.AverageByModeResponse;
+import com.community.demo.dto.enroll.DistributionResponse;
+import com.community.demo.dto.enroll.LeaderboardResponse;
+import com.community.demo.dto.enroll.MyBestRankResponse;
+import com.community.demo.dto.enroll.MyRankResponse;
 import com.community.demo.dto.enroll.MyRecent5Response;
 import com.community.demo.dto.enroll.MyTop5SummaryResponse;
 import com.community.demo.dto.enroll.RecentItem;
 import com.community.demo.repository.EnrollRecordRepository;
-import com.community.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,30 +20,34 @@ import org.springframework.web.server.ResponseStatusException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnrollTimerService {
 
-    private final UserRepository userRepository;
     private final EnrollRecordRepository recordRepository;
+    private final EnrollRecordWriteBehind recordWriter;
+    private final EnrollStatsEngine enrollStats;
+    private final EnrollLeaderboard leaderboard;
 
-    // 유저별 타이머 시작시각(서버 메모리 보관)
-    private final Map<Long, Instant> startTimeByUser = new ConcurrentHashMap<>();
+    // 유저별 진행 중 타이머 (memory/jdbc, 시간이 지나면 자동 만료)
+    private final EnrollTimerSessionStore sessionStore;
 
     // 예: 최대 30초만 유효
-    private static final long MAX_DURATION_MS = 30_000L;
+    static final long MAX_DURATION_MS = 30_000L;
+
+    // 리더보드 한 번에 최대 조회 인원
+    private static final int MAX_LEADERBOARD_LIMIT = 100;
 
     // 타이머 시작: 기존 시작값이 있으면 덮어씀
     public Instant start(User me) {
-        Instant now = Instant.now();
-        startTimeByUser.put(me.getId(), now); // 이전 시작시각은 덮어씀
-        return now;
+        return sessionStore.start(me.getId()); // 이전 세션은 덮어씀
     }
 
 
@@ -49,47 +55,38 @@ public class EnrollTimerService {
     // 종료 + 기록 저장 + 평균 차이 계산
     @Transactional
     public FinishCalc finishAndSave(User me, EnrollMode mode) {
-        Instant startedAt = startTimeByUser.remove(me.getId());
-        if (startedAt == null) {
-            throw new ResponseStatusException(BAD_REQUEST, "시작하지 않았습니다. /start 먼저 호출하세요.");
-        }
-        Instant finishedAt = Instant.now();
-        long durationMs = Math.max(0, finishedAt.toEpochMilli() - startedAt.toEpochMilli());
+        EnrollTimerSessionStore.Session session = sessionStore.finish(me.getId())
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST,
+                        "시작하지 않았거나 만료된 타이머입니다. /start 먼저 호출하세요."));
+        // 경과 시간은 단조 시계 기준 (벽시계 보정에 영향 없음), 종료 시각은 시작 시각 + 경과 시간
+        long durationMs = session.elapsedMs();
+        Instant startedAt = session.startedAt();
+        Instant finishedAt = startedAt.plusMillis(durationMs);
 
         if (durationMs > MAX_DURATION_MS) {
             throw new ResponseStatusException(BAD_REQUEST, "타이머가 만료되었습니다. 다시 시작해 주세요.");
         }
 
-        // 1) 기록 저장
-        EnrollRecord rec = new EnrollRecord();
-        rec.setUser(me);
-        rec.setMode(mode);
-        rec.setStartedAt(startedAt);
-        rec.setFinishedAt(finishedAt);
-        rec.setDurationMs(durationMs);
-        recordRepository.save(rec);
-
-        // 2) (옵션) 유저 캐시 업데이트: 최근 5개 유지
-        if (mode == EnrollMode.BASIC) me.pushRecentBasic(durationMs);
-        else me.pushRecentCart(durationMs);
-        userRepository.save(me);
-
-        // 3) 타 유저 평균(동일 모드) 계산 → 차이(초)
-        // 저장 이후 (이미 내 방금 기록도 저장되어 있음)
-        Double globalAvgMs = recordRepository.averageByMode(mode); //  전체 평균 (본인 포함)
+        // 1) 기록 저장 + 최근 5개 캐시 갱신: 커밋 후 쓰기 지연 큐로 (백그라운드에서 배치 INSERT/UPDATE)
+        //    방금 기록은 다음 배치(기본 linger 50ms)가 저장된 뒤부터 최근 기록 조회/통계/리더보드에 보임
+        recordWriter.record(new EnrollRecordWriteBehind.Finish(me.getId(), mode, startedAt, finishedAt, durationMs));
+
+        // 2) 타 유저 평균(동일 모드) 계산 → 차이(초)
+        // 메모리 누적 통계에 방금 기록을 더해 계산 (enroll_records 전체 avg 조회 없음), 통계 반영은 저장 후
+        double globalAvgMs = enrollStats.averageIncluding(mode, durationMs); //  전체 평균 (본인 포함)
         BigDecimal measuredSeconds = toSeconds2f(durationMs);
-        BigDecimal diffSeconds = null;
-        if (globalAvgMs != null) {
-            BigDecimal globalAvgSec = toSeconds2f(globalAvgMs.longValue());
-            // 내기록 - "전체 평균(본인 포함)"
-            diffSeconds = measuredSeconds.subtract(globalAvgSec).setScale(2, RoundingMode.HALF_UP);
-        }
+        BigDecimal globalAvgSec = toSeconds2f((long) globalAvgMs);
+        // 내기록 - "전체 평균(본인 포함)"
+        BigDecimal diffSeconds = measuredSeconds.subtract(globalAvgSec).setScale(2, RoundingMode.HALF_UP);
+
+        // 3) 리더보드: 다른 사용자 최고 기록 중 몇 % 보다 빠른지 (O(log n)), 보드 반영은 저장 후
+        double fasterThanPercent = leaderboard.fasterThanPercent(mode, me.getId(), durationMs);
 
-        return new FinishCalc(durationMs, measuredSeconds, diffSeconds, mode, finishedAt);
+        return new FinishCalc(durationMs, measuredSeconds, diffSeconds, mode, finishedAt, fasterThanPercent);
     }
 
     public void cancel(User me) {
-        startTimeByUser.remove(me.getId());
+        sessionStore.cancel(me.getId());
     }
 
     // 내 최근 5개(모드별)
@@ -112,16 +109,73 @@ public class EnrollTimerService {
         return new MyRecent5Response(items, avg);
     }
 
-    // 전체 평균(모드별)
+    // 전체 평균(모드별) - 메모리 누적 통계 (DB 조회 없음)
     public AverageByModeResponse getAverageByMode() {
-        Double basicMs = recordRepository.averageByMode(EnrollMode.BASIC);
-        Double cartMs  = recordRepository.averageByMode(EnrollMode.CART);
+        Double basicMs = enrollStats.average(EnrollMode.BASIC);
+        Double cartMs  = enrollStats.average(EnrollMode.CART);
         return new AverageByModeResponse(
                 basicMs == null ? null : toSeconds2f(basicMs.longValue()),
                 cartMs  == null ? null : toSeconds2f(cartMs.longValue())
         );
     }
 
+    // 전체 분포(모드별): 중앙값, p90, 1초 단위 히스토그램 - 메모리 히스토그램 (DB 조회 없음)
+    public DistributionResponse getDistribution(EnrollMode mode) {
+        EnrollStatsEngine.Summary s = enrollStats.summary(mode);
+        List<DistributionResponse.Bin> bins = new ArrayList<>(s.secondBins().length);
+        for (int sec = 0; sec < s.secondBins().length; sec++) {
+            bins.add(new DistributionResponse.Bin(sec, s.secondBins()[sec]));
+        }
+        return new DistributionResponse(
+                mode,
+                s.count(),
+                s.averageMs() == null ? null : toSeconds2f(s.averageMs().longValue()),
+                s.medianMs() == null ? null : toSeconds2f(s.medianMs()),
+                s.p90Ms() == null ? null : toSeconds2f(s.p90Ms()),
+                bins
+        );
+    }
+
+    // 내 가장 최근 기록이 전체 사용자(다른 사용자는 최고 기록) 중 몇 등인지(모드별). 내 기록은 인덱스 조회, 순위는 리더보드 펜윅 트리
+    public MyRankResponse getMyRank(User me, EnrollMode mode) {
+        var latest = recordRepository.findTop5ByUserIdAndModeOrderByFinishedAtDesc(me.getId(), mode);
+        if (latest.isEmpty()) {
+            throw new ResponseStatusException(NOT_FOUND, "해당 모드의 기록이 없습니다.");
+        }
+        long ms = latest.get(0).getDurationMs();
+        EnrollLeaderboard.Rank r = leaderboard.rankAmongUsers(mode, me.getId(), ms);
+        return new MyRankResponse(mode, toSeconds2f(ms), r.rank(), r.totalUsers(), r.topPercent());
+    }
+
+    // 리더보드(모드별, 사용자당 최고 기록): today=true 면 오늘(Asia/Seoul), department 가 있으면 해당 학과만
+    public LeaderboardResponse getLeaderboard(EnrollMode mode, boolean today, String department, int limit) {
+        String dept = (department == null || department.isBlank()) ? null : department.strip();
+        int n = Math.min(Math.max(limit, 1), MAX_LEADERBOARD_LIMIT);
+        var entries = leaderboard.top(mode, today, dept, n).stream().map(s -> new LeaderboardResponse.Entry(
+                s.rank(),
+                s.entry().username(),
+                s.entry().department(),
+                toSeconds2f(s.entry().durationMs()),
+                Instant.ofEpochMilli(s.entry().finishedAtMs())
+        )).toList();
+        return new LeaderboardResponse(mode, today ? "TODAY" : "ALL", dept,
+                leaderboard.totalUsers(mode, today, dept), entries);
+    }
+
+    // 내 최고 기록의 리더보드 순위(모드별). myDepartment=true 면 내 학과 보드 기준
+    public MyBestRankResponse getMyBestRank(User me, EnrollMode mode, boolean today, boolean myDepartment) {
+        String dept = myDepartment ? me.getDepartment() : null;
+        if (myDepartment && dept == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "학과 정보가 없습니다.");
+        }
+        EnrollLeaderboard.Standing s = leaderboard.standing(mode, today, dept, me.getId())
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "해당 모드의 기록이 없습니다."));
+        return new MyBestRankResponse(mode, today ? "TODAY" : "ALL", dept,
+                toSeconds2f(s.entry().durationMs()),
+                Instant.ofEpochMilli(s.entry().finishedAtMs()),
+                s.rank(), s.totalUsers(), s.fasterThanPercent());
+    }
+
     // 내 1~5 기록 + 평균(모드별)
     public MyTop5SummaryResponse getMyTop5Summary(User me, EnrollMode mode) {
         var top5 = recordRepository.findTop5ByUserIdAndModeOrderByFinishedAtDesc(me.getId(), mode);
@@ -153,5 +207,6 @@ public class EnrollTimerService {
                              BigDecimal measuredSeconds2f,
                              BigDecimal diffVsOthersSeconds2f,
                              EnrollMode mode,
-                             Instant finishedAt) {}
+                             Instant finishedAt,
+                             double fasterThanPercent) {}
 }
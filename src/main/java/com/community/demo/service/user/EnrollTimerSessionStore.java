@@ -0,0 +1,28 @@
+package com.community.demo.service.user;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 수강신청 연습 타이머 세션 (사용자당 진행 중인 타이머 1개).
+ * 구현: memory(기본, 인스턴스 1대) / jdbc(enroll_timer_sessions 테이블, 여러 인스턴스) - app.enroll-timer.session-store
+ * 시작 후 MAX_DURATION_MS 가 지나도 끝나지 않은 세션은 스위퍼가 자동으로 지움
+ */
+public interface EnrollTimerSessionStore {
+
+    /** 끝낸 세션: 시작 시각(벽시계)과 경과 시간(가능하면 단조 시계로 잰 값) */
+    record Session(Instant startedAt, long elapsedMs) {
+    }
+
+    /** 타이머 시작. 진행 중인 세션이 있으면 덮어씀 */
+    Instant start(long userId);
+
+    /** 세션을 꺼내 끝냄 (없거나 이미 만료돼 지워졌으면 empty) */
+    Optional<Session> finish(long userId);
+
+    void cancel(long userId);
+
+    /** 진행 중/시작/완료/취소/만료 세션 수 */
+    Map<String, Object> stats();
+}
@@ -0,0 +1,56 @@
+package com.community.demo.service.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 메모리 타이머 세션 (app.enroll-timer.session-store=memory, 기본값). 인스턴스 1대일 때 사용.
+ * 경과 시간은 단조 시계(System.nanoTime)로 잼
+ */
+@Component
+@ConditionalOnProperty(name = "app.enroll-timer.session-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEnrollTimerSessionStore extends SweepingEnrollTimerSessionStore {
+
+    private record Local(long token, Instant startedAt, long startNanos) {
+    }
+
+    // 유저별 진행 중 세션 (끝내지 않은 세션은 만료 스위퍼가 지움)
+    private final Map<Long, Local> sessions = new ConcurrentHashMap<>();
+
+    public InMemoryEnrollTimerSessionStore(@Value("${app.enroll-timer.sweep-tick-ms:100}") long tickMs) {
+        super(tickMs);
+    }
+
+    @Override
+    protected void save(long userId, long token, Instant startedAt, long startNanos, long expiresAtMs) {
+        sessions.put(userId, new Local(token, startedAt, startNanos));   // 이전 세션은 덮어씀
+    }
+
+    @Override
+    protected Optional<Session> take(long userId) {
+        Local s = sessions.remove(userId);
+        return s == null ? Optional.empty() : Optional.of(new Session(s.startedAt(), elapsedSince(s.startNanos())));
+    }
+
+    @Override
+    protected int expire(List<Pending> due) {
+        int n = 0;
+        for (Pending p : due) {
+            Local s = sessions.get(p.userId());
+            if (s != null && s.token() == p.token() && sessions.remove(p.userId(), s)) n++;
+        }
+        return n;
+    }
+
+    @Override
+    protected long activeCount() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,107 @@
+package com.community.demo.service.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * enroll_timer_sessions 테이블 타이머 세션 (app.enroll-timer.session-store=jdbc). 인스턴스 여러 대가 같은 세션을 봄.
+ * - 끝내기: 행을 읽은 뒤 (user_id, token) 조건으로 지워 1행이 지워진 요청만 성공 (동시 finish/재시작과 경합해도 한 번만)
+ * - 경과 시간: 시작한 인스턴스면 단조 시계(start_nanos), 다른 인스턴스면 저장된 시작 시각과의 차이 (서버 시각 동기화 전제)
+ * - 만료: 이 인스턴스가 시작한 세션은 타이밍 휠로, 다른(종료된) 인스턴스가 남긴 세션은 orphan-sweep 주기마다 expires_at_ms 로 정리
+ * finishAndSave 트랜잭션 안에서 끝내면 기록 저장이 롤백될 때 세션도 되살아남
+ */
+@Component
+@ConditionalOnProperty(name = "app.enroll-timer.session-store", havingValue = "jdbc")
+public class JdbcEnrollTimerSessionStore extends SweepingEnrollTimerSessionStore {
+
+    private static final int MAX_TAKE_ATTEMPTS = 3;
+
+    private static final String UPSERT_SQL = """
+            insert into enroll_timer_sessions (user_id, token, instance_id, start_nanos, started_at_ms, expires_at_ms)
+            values (?, ?, ?, ?, ?, ?)
+            on duplicate key update token = values(token), instance_id = values(instance_id),
+                start_nanos = values(start_nanos), started_at_ms = values(started_at_ms), expires_at_ms = values(expires_at_ms)
+            """;
+    private static final String SELECT_SQL =
+            "select token, instance_id, start_nanos, started_at_ms from enroll_timer_sessions where user_id = ?";
+    private static final String DELETE_SQL = "delete from enroll_timer_sessions where user_id = ? and token = ?";
+    private static final String DELETE_USER_SQL = "delete from enroll_timer_sessions where user_id = ?";
+    private static final String DELETE_EXPIRED_SQL = "delete from enroll_timer_sessions where expires_at_ms < ?";
+
+    private record Row(long token, String instanceId, long startNanos, long startedAtMs) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long orphanSweepMs;
+    private volatile long lastOrphanSweepAt;
+
+    public JdbcEnrollTimerSessionStore(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.enroll-timer.sweep-tick-ms:100}") long tickMs,
+                                       @Value("${app.enroll-timer.orphan-sweep-seconds:60}") long orphanSweepSeconds) {
+        super(tickMs);
+        this.jdbcTemplate = jdbcTemplate;
+        this.orphanSweepMs = Math.max(1, orphanSweepSeconds) * 1000;
+    }
+
+    @Override
+    protected void save(long userId, long token, Instant startedAt, long startNanos, long expiresAtMs) {
+        jdbcTemplate.update(UPSERT_SQL, userId, token, instanceId, startNanos, startedAt.toEpochMilli(), expiresAtMs);
+    }
+
+    @Override
+    protected Optional<Session> take(long userId) {
+        for (int attempt = 0; attempt < MAX_TAKE_ATTEMPTS; attempt++) {
+            List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, i) -> new Row(
+                    rs.getLong("token"), rs.getString("instance_id"),
+                    rs.getLong("start_nanos"), rs.getLong("started_at_ms")), userId);
+            if (rows.isEmpty()) return Optional.empty();
+            Row r = rows.get(0);
+            // 읽은 뒤 다른 요청이 끝냈거나 다시 시작했으면 0행 → 다시 읽음
+            if (jdbcTemplate.update(DELETE_SQL, userId, r.token()) == 1) {
+                long elapsed = instanceId.equals(r.instanceId())
+                        ? elapsedSince(r.startNanos())
+                        : Math.max(0, System.currentTimeMillis() - r.startedAtMs());
+                return Optional.of(new Session(Instant.ofEpochMilli(r.startedAtMs()), elapsed));
+            }
+        }
+        // 계속 경합하면 (짧은 간격으로 start 반복) 세션을 지우고 다시 시작하게 함
+        jdbcTemplate.update(DELETE_USER_SQL, userId);
+        return Optional.empty();
+    }
+
+    @Override
+    protected int expire(List<Pending> due) {
+        List<Object[]> args = new ArrayList<>(due.size());
+        for (Pending p : due) args.add(new Object[]{p.userId(), p.token()});
+        int n = 0;
+        for (int c : jdbcTemplate.batchUpdate(DELETE_SQL, args)) n += Math.max(c, 0);
+        return n;
+    }
+
+    @Override
+    protected int expireOrphans(long nowMs) {
+        if (nowMs - lastOrphanSweepAt < orphanSweepMs) return 0;
+        lastOrphanSweepAt = nowMs;
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, nowMs);
+    }
+
+    @Override
+    protected long activeCount() {
+        Long n = jdbcTemplate.queryForObject("select count(*) from enroll_timer_sessions", Long.class);
+        return n == null ? 0 : n;
+    }
+
+    @Override
+    protected Map<String, Object> extraStats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("instanceId", instanceId);
+        m.put("orphanSweepSeconds", orphanSweepMs / 1000);
+        return m;
+    }
+}
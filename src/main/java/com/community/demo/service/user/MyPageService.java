@@ -2,6 +2,7 @@ package com.community.demo.service.user;
 
 import com.community.demo.domain.user.User;
 import com.community.demo.dto.user.*;
+import com.community.demo.jwt.AuthPrincipalCache;
 import com.community.demo.repository.UserRepository;
 import com.community.demo.service.notice.FileStorageService;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class MyPageService {
 
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final AuthPrincipalCache authPrincipalCache;
 
     public MyProfileResponse getMyProfile(Long userId) {
         User user = userRepository.findById(userId)
@@ -246,6 +248,7 @@ public class MyPageService {
         }
 
         // --- 프로필 이미지 업데이트 ---
+        String oldProfileImage = u.getProfileImageUrl();
         if (profileImage == null || profileImage.isEmpty()) {
             // 프런트에서 파일 필드를 아예 안 보냈거나 빈 파일 보낸 경우 → 기존 DB 값 삭제
             u.setProfileImageUrl(null);
@@ -258,6 +261,11 @@ public class MyPageService {
         }
 
         userRepository.save(u);
+        // 저장이 끝난 뒤 이전 프로필 이미지 참조 반납 (참조 카운트 저장소면 GC 대상)
+        if (oldProfileImage != null && !oldProfileImage.equals(u.getProfileImageUrl())) {
+            fileStorageService.release(oldProfileImage);
+        }
+        authPrincipalCache.invalidate(userId);  // 학과/프로필 이미지가 인증 캐시에 들어 있음
         return getMyBasicInfo(userId); // 응답은 기존 조회 포맷
     }
 
@@ -0,0 +1,214 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.RecentRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+/**
+ * 예전 최근 기록 테이블(user_recent_basic / user_recent_cart, User 의 EAGER 컬렉션)을 users 원형 버퍼 컬럼으로 옮김.
+ * - 기동 시 테이블이 남아 있으면 사용자 CHUNK 명씩 한 트랜잭션에서: users 행 잠금 → 예전 행 읽기 → 원형 버퍼에 합쳐 UPDATE
+ *   → 이전 완료 표시(user_recent_ring_migrated). 예전 행은 지우지 않음 (되돌릴 수 있도록)
+ *   (표시를 같은 트랜잭션에서 남기므로 중간에 중단돼도 다시 돌리면 이어서 진행, 두 번 합쳐지지 않음)
+ * - 원형 버퍼에 이미 있는 기록(쓰기 지연 도입 후 기록)이 더 최신이므로 그 뒤에 예전 기록을 붙여 5개까지 유지
+ * - 예전 테이블 삭제는 자동으로 하지 않음: verify() 로 남은 사용자가 없음을 확인한 뒤,
+ *   app.enroll-timer.recent-migration.drop-legacy-tables=true 일 때만 dropLegacyTables() 로 (관리자 요청)
+ */
+@Slf4j
+@Component
+public class RecentRingMigration {
+
+    private static final int CHUNK = 500;
+
+    // 예전 테이블 → 원형 버퍼 컬럼
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("user_recent_basic", "recent_basic_ring");
+        TABLES.put("user_recent_cart", "recent_cart_ring");
+    }
+
+    // 이전 완료 표시 (예전 테이블, 사용자). 예전 테이블을 삭제할 때 같이 삭제
+    private static final String MARKER_TABLE = "user_recent_ring_migrated";
+
+    private static final String EXISTS_SQL =
+            "select count(*) from information_schema.tables where table_schema = database() and table_name = ?";
+    private static final String CREATE_MARKER_SQL = "create table if not exists " + MARKER_TABLE
+            + " (table_name varchar(64) not null, user_id bigint not null, primary key (table_name, user_id))";
+    // 아직 옮기지 않은 사용자가 있는 예전 행 조건 (별칭 t)
+    private static final String PENDING =
+            " not exists (select 1 from " + MARKER_TABLE + " m where m.table_name = ? and m.user_id = t.user_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final boolean dropLegacyTablesEnabled;
+
+    public RecentRingMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${app.enroll-timer.recent-migration.drop-legacy-tables:false}") boolean dropLegacyTablesEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.dropLegacyTablesEnabled = dropLegacyTablesEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.warn("[ENROLL] 최근 기록 테이블 이전 실패 (다음 기동 시 이어서 진행): {}", e.toString());
+        }
+    }
+
+    /** 남아 있는 예전 테이블에서 아직 옮기지 않은 사용자를 모두 옮기고 테이블별 이전한 사용자/행 수 반환 */
+    public synchronized Map<String, Object> migrate() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        TABLES.forEach((table, column) -> {
+            if (!tableExists(table)) return;
+            jdbcTemplate.execute(CREATE_MARKER_SQL);
+
+            long users = 0, rows = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList("select distinct t.user_id from " + table + " t where"
+                        + PENDING + " order by t.user_id limit ?", Long.class, table, CHUNK);
+                if (ids.isEmpty()) break;
+                int[] moved = tx.execute(status -> migrateChunk(table, column, ids));
+                if (moved == null) break;
+                users += moved[0];
+                rows += moved[1];
+            }
+            if (users > 0) {
+                log.info("[ENROLL] {} → users.{} 이전: 사용자 {}명, 기록 {}행 (예전 테이블은 유지)", table, column, users, rows);
+            }
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("users", users);
+            m.put("rows", rows);
+            out.put(table, m);
+        });
+        return out;
+    }
+
+    // 사용자 ids 의 예전 행을 원형 버퍼로 합치고 이전 완료로 표시. {표시한 사용자 수, 옮긴 행 수} 반환
+    private int[] migrateChunk(String table, String column, List<Long> chunk) {
+        String chunkIn = String.join(",", Collections.nCopies(chunk.size(), "?"));
+
+        Map<Long, byte[]> rings = new HashMap<>();
+        jdbcTemplate.query("select id, " + column + " from users where id in (" + chunkIn + ") order by id for update",
+                rs -> {
+                    rings.put(rs.getLong("id"), rs.getBytes(column));
+                }, chunk.toArray());
+
+        // users 행을 잠근 뒤 다시 확인: 다른 인스턴스가 먼저 옮긴 사용자는 건너뜀
+        List<Object> doneArgs = new ArrayList<>(chunk.size() + 1);
+        doneArgs.add(table);
+        doneArgs.addAll(chunk);
+        Set<Long> done = new HashSet<>(jdbcTemplate.queryForList("select user_id from " + MARKER_TABLE
+                + " where table_name = ? and user_id in (" + chunkIn + ")", Long.class, doneArgs.toArray()));
+        List<Long> ids = chunk.stream().filter(id -> !done.contains(id)).toList();
+        if (ids.isEmpty()) return new int[]{0, 0};
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        // idx 0 이 가장 최근 (예전 pushRecent* 가 앞에 끼워 넣음)
+        Map<Long, List<Long>> old = new LinkedHashMap<>();
+        jdbcTemplate.query("select user_id, duration_ms from " + table + " where user_id in (" + in + ")"
+                        + " order by user_id, idx",
+                rs -> {
+                    long ms = rs.getLong("duration_ms");
+                    if (!rs.wasNull()) old.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>()).add(ms);
+                }, args);
+
+        int moved = 0;
+        List<Object[]> updates = new ArrayList<>(old.size());
+        for (Map.Entry<Long, List<Long>> e : old.entrySet()) {
+            if (!rings.containsKey(e.getKey())) continue;
+            List<Long> newestFirst = new ArrayList<>(RecentRing.SLOTS);
+            for (long ms : RecentRing.newestFirst(rings.get(e.getKey()))) newestFirst.add(ms);
+            for (Long ms : e.getValue()) {
+                if (newestFirst.size() >= RecentRing.SLOTS) break;
+                newestFirst.add(ms);
+            }
+            byte[] ring = null;
+            for (int k = newestFirst.size() - 1; k >= 0; k--) ring = RecentRing.push(ring, newestFirst.get(k));
+            updates.add(new Object[]{ring, e.getKey()});
+            moved += e.getValue().size();
+        }
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate("update users set " + column + " = ? where id = ?", updates);
+        // 탈퇴한 사용자도 표시 (옮길 곳이 없으므로)
+        List<Object[]> markers = new ArrayList<>(ids.size());
+        for (Long id : ids) markers.add(new Object[]{table, id});
+        jdbcTemplate.batchUpdate("insert into " + MARKER_TABLE + " (table_name, user_id) values (?, ?)", markers);
+        return new int[]{ids.size(), moved};
+    }
+
+    /** 예전 테이블별 남은 상태: 테이블 유무, 예전 행이 있는 사용자 수, 아직 옮기지 않은 사용자 수. 모두 옮겼으면 verified=true */
+    public Map<String, Object> verify() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        boolean verified = true;
+        boolean markers = tableExists(MARKER_TABLE);
+        for (String table : TABLES.keySet()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            boolean exists = tableExists(table);
+            m.put("exists", exists);
+            if (exists) {
+                Long users = jdbcTemplate.queryForObject(
+                        "select count(distinct user_id) from " + table, Long.class);
+                Long pending = !markers ? users : jdbcTemplate.queryForObject(
+                        "select count(distinct t.user_id) from " + table + " t where" + PENDING, Long.class, table);
+                m.put("users", users);
+                m.put("pendingUsers", pending);
+                if (pending != null && pending > 0) verified = false;
+            }
+            out.put(table, m);
+        }
+        out.put("verified", verified);
+        out.put("dropLegacyTablesEnabled", dropLegacyTablesEnabled);
+        return out;
+    }
+
+    /**
+     * 모두 옮긴 것이 확인된 예전 테이블과 이전 표시 테이블 삭제 (되돌릴 수 없음).
+     * app.enroll-timer.recent-migration.drop-legacy-tables=true 이고 verify() 가 통과할 때만
+     */
+    public synchronized Map<String, Object> dropLegacyTables() {
+        if (!dropLegacyTablesEnabled) {
+            throw new ResponseStatusException(CONFLICT,
+                    "app.enroll-timer.recent-migration.drop-legacy-tables=true 일 때만 예전 테이블을 삭제할 수 있습니다.");
+        }
+        Map<String, Object> check = verify();
+        if (!Boolean.TRUE.equals(check.get("verified"))) {
+            throw new ResponseStatusException(CONFLICT, "아직 원형 버퍼로 옮기지 않은 사용자가 있습니다. 먼저 이전을 실행하세요.");
+        }
+        List<String> dropped = new ArrayList<>();
+        for (String table : TABLES.keySet()) {
+            if (!tableExists(table)) continue;
+            jdbcTemplate.execute("drop table if exists " + table);
+            dropped.add(table);
+        }
+        if (tableExists(MARKER_TABLE)) {
+            jdbcTemplate.execute("drop table if exists " + MARKER_TABLE);
+            dropped.add(MARKER_TABLE);
+        }
+        log.info("[ENROLL] 예전 최근 기록 테이블 삭제: {}", dropped);
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("verified", check);
+        m.put("dropped", dropped);
+        return m;
+    }
+
+    private boolean tableExists(String table) {
+        Long exists = jdbcTemplate.queryForObject(EXISTS_SQL, Long.class, table);
+        return exists != null && exists > 0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.community.demo.service.user;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 타이머 세션 저장소 공통 부분: 만료 스위퍼(계층형 타이밍 휠)와 집계.
+ * 세션마다 임의 토큰을 붙여, 다시 시작해 덮어쓴 세션의 만료 예약은 지울 때 토큰이 달라 무시됨.
+ * 만료는 MAX_DURATION_MS + 유예(grace) 뒤에 지움: 그 사이 finish 는 "만료되었습니다" 로 거절되고 만료 건수로 집계
+ */
+@Slf4j
+abstract class SweepingEnrollTimerSessionStore implements EnrollTimerSessionStore {
+
+    private static final long GRACE_MS = 1_000;
+    private static final int WHEEL_SLOTS = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    /** 만료 예약 1건 */
+    protected record Pending(long userId, long token) {
+    }
+
+    private final long tickMs;
+    private final TimingWheel<Pending> wheel;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder expiredBySweeper = new LongAdder();
+    private final LongAdder expiredOnFinish = new LongAdder();
+    private volatile long lastSweepMs;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "enroll-timer-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    protected SweepingEnrollTimerSessionStore(long tickMs) {
+        this.tickMs = Math.max(10, tickMs);
+        this.wheel = new TimingWheel<>(this.tickMs, WHEEL_SLOTS, WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeper() {
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // ===== 저장소별 구현 =====
+
+    /** 세션 저장 (있으면 덮어씀) */
+    protected abstract void save(long userId, long token, Instant startedAt, long startNanos, long expiresAtMs);
+
+    /** 세션을 꺼내 지움. 경과 시간 계산까지 */
+    protected abstract Optional<Session> take(long userId);
+
+    /** 만료 예약된 세션 중 토큰이 같은 것만 지우고 지운 수 반환 */
+    protected abstract int expire(List<Pending> due);
+
+    /** 휠에 없는 만료 세션 정리 (다른 인스턴스가 시작한 세션 등). 지운 수 반환 */
+    protected int expireOrphans(long nowMs) {
+        return 0;
+    }
+
+    protected abstract long activeCount();
+
+    protected Map<String, Object> extraStats() {
+        return Map.of();
+    }
+
+    // ===== 세션 =====
+
+    @Override
+    public Instant start(long userId) {
+        long token = ThreadLocalRandom.current().nextLong();
+        Instant startedAt = Instant.now();
+        long expiresAtMs = startedAt.toEpochMilli() + EnrollTimerService.MAX_DURATION_MS + GRACE_MS;
+        save(userId, token, startedAt, System.nanoTime(), expiresAtMs);
+        wheel.schedule(new Pending(userId, token), expiresAtMs);
+        started.increment();
+        return startedAt;
+    }
+
+    @Override
+    public Optional<Session> finish(long userId) {
+        Optional<Session> s = take(userId);
+        s.ifPresent(x -> {
+            if (x.elapsedMs() > EnrollTimerService.MAX_DURATION_MS) expiredOnFinish.increment();
+            else finished.increment();
+        });
+        return s;
+    }
+
+    @Override
+    public void cancel(long userId) {
+        if (take(userId).isPresent()) cancelled.increment();
+    }
+
+    // 단조 시계 기준 경과 시간(ms)
+    protected static long elapsedSince(long startNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    // ===== 스위퍼 =====
+
+    private void sweepQuietly() {
+        try {
+            long t0 = System.nanoTime();
+            long now = System.currentTimeMillis();
+            List<Pending> due = wheel.advance(now);
+            int n = due.isEmpty() ? 0 : expire(due);
+            n += expireOrphans(now);
+            if (n > 0) expiredBySweeper.add(n);
+            lastSweepMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        } catch (Exception e) {
+            log.warn("[ENROLL] 타이머 세션 만료 처리 실패 (다음 tick 에 재시도): {}", e.toString());
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("store", getClass().getSimpleName());
+        m.put("active", activeCount());
+        m.put("started", started.sum());
+        m.put("finished", finished.sum());
+        m.put("cancelled", cancelled.sum());
+        m.put("expiredBySweeper", expiredBySweeper.sum());
+        m.put("expiredOnFinish", expiredOnFinish.sum());
+        m.put("scheduledExpiries", wheel.size());
+        m.put("tickMs", tickMs);
+        m.put("wheelRangeMs", wheel.rangeMs());
+        m.put("lastSweepMs", lastSweepMs);
+        m.putAll(extraStats());
+        return m;
+    }
+}
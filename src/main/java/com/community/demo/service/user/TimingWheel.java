@@ -0,0 +1,108 @@
+package com.community.demo.service.user;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠. 만료 시각이 정해진 항목을 tick 단위 슬롯에 넣어 두고, advance() 로 시간이 지난 항목만 꺼냄.
+ * - 0단계 슬롯 1칸 = tickMs, 위 단계 슬롯 1칸 = 아래 단계 한 바퀴. 단계 수만큼 범위가 slots 배로 늘어남
+ * - 아래 단계가 한 바퀴 돌 때마다 위 단계의 해당 슬롯을 아래로 다시 배치 (cascade)
+ * - 등록/취소 O(1), advance 는 지난 tick 수 + 꺼낸 항목 수에 비례 (전체 항목을 훑지 않음)
+ * 취소는 따로 없고, 꺼낸 쪽에서 이미 끝난 항목인지 확인해 무시함. 등록과 advance 는 짧은 synchronized
+ */
+final class TimingWheel<T> {
+
+    private record Timer<T>(T item, long deadlineTick) {
+    }
+
+    private final long tickMs;
+    private final int slots;
+    private final long[] span;                      // 단계별 슬롯 1칸의 tick 수 (1, slots, slots^2 ...)
+    private final List<List<ArrayDeque<Timer<T>>>> wheels;
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMs, int slots, int levels, long nowMs) {
+        this.tickMs = Math.max(1, tickMs);
+        this.slots = Math.max(2, slots);
+        this.span = new long[Math.max(1, levels)];
+        this.wheels = new ArrayList<>(span.length);
+        for (int l = 0; l < span.length; l++) {
+            span[l] = (l == 0) ? 1 : span[l - 1] * this.slots;
+            List<ArrayDeque<Timer<T>>> wheel = new ArrayList<>(this.slots);
+            for (int s = 0; s < this.slots; s++) wheel.add(new ArrayDeque<>());
+            wheels.add(wheel);
+        }
+        this.currentTick = nowMs / this.tickMs;
+    }
+
+    /** deadlineMs 이후 advance() 에서 꺼내지도록 등록 (이미 지난 시각이면 다음 tick) */
+    synchronized void schedule(T item, long deadlineMs) {
+        place(new Timer<>(item, Math.floorDiv(deadlineMs + tickMs - 1, tickMs)));
+        size++;
+    }
+
+    /** nowMs 까지 tick 을 진행하며 만료된 항목 반환 */
+    synchronized List<T> advance(long nowMs) {
+        long target = nowMs / tickMs;
+        List<T> due = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            // 위 단계부터 아래로 내려 보낸 뒤 0단계 슬롯 처리
+            for (int l = span.length - 1; l >= 1; l--) {
+                if (currentTick % span[l] == 0) {
+                    ArrayDeque<Timer<T>> slot = slotOf(l, currentTick);
+                    List<Timer<T>> moved = new ArrayList<>(slot);
+                    slot.clear();
+                    for (Timer<T> t : moved) {
+                        // 만료 tick 이 바로 이 tick 이면 아래로 내려 보내지 않고 지금 꺼냄 (place 는 다음 tick 이후에만 둠)
+                        if (t.deadlineTick() <= currentTick) {
+                            due.add(t.item());
+                            size--;
+                        } else {
+                            place(t);
+                        }
+                    }
+                }
+            }
+            ArrayDeque<Timer<T>> slot = slotOf(0, currentTick);
+            for (int n = slot.size(); n > 0; n--) {
+                Timer<T> t = slot.pollFirst();
+                if (t.deadlineTick() <= currentTick) {
+                    due.add(t.item());
+                    size--;
+                } else {
+                    place(t);               // 범위 밖이라 최상위 단계에 걸려 있던 항목
+                }
+            }
+        }
+        return due;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /** 휠이 한 번에 담을 수 있는 범위(ms) */
+    long rangeMs() {
+        return span[span.length - 1] * slots * tickMs;
+    }
+
+    private void place(Timer<T> t) {
+        long delta = Math.max(t.deadlineTick() - currentTick, 1);
+        for (int l = 0; l < span.length; l++) {
+            if (delta < span[l] * slots) {
+                slotOf(l, Math.max(t.deadlineTick(), currentTick + 1)).addLast(t);
+                return;
+            }
+        }
+        // 범위를 넘는 항목은 최상위 단계의 가장 먼 슬롯에 두고, 내려올 때 다시 배치
+        int top = span.length - 1;
+        slotOf(top, currentTick + span[top] * (slots - 1)).addLast(t);
+    }
+
+    private ArrayDeque<Timer<T>> slotOf(int level, long tick) {
+        return wheels.get(level).get((int) ((tick / span[level]) % slots));
+    }
+}
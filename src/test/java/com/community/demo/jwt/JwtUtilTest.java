@@ -0,0 +1,107 @@
+package com.community.demo.jwt;
+
+import com.community.demo.domain.user.RoleType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.crypto.SecretKey;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 액세스 토큰 검증 캐시 동작 + 검증 경로별 ns/op, 할당 바이트/op 비교.
+ * verificationBenchmark 는 -Dbenchmark=true 일 때만 실행 (JMH 대신 워밍업 후 반복 측정, 할당은 스레드별 할당 카운터)
+ * - before : 호출마다 파서 생성 + split/Base64 디코딩으로 alg:none 검사 (이전 구현)
+ * - after  : 미리 만든 파서 + 헤더 구간 직접 스캔 (캐시 끔)
+ * - cached : 검증 캐시 적중
+ */
+class JwtUtilTest {
+
+    private static final String ACCESS_SECRET = "access-secret-for-tests-0123456789abcdef";
+    private static final String REFRESH_SECRET = "refresh-secret-for-tests-0123456789abcdef";
+
+    private static JwtUtil jwtUtil(long cacheTtlSeconds) {
+        JwtUtil util = new JwtUtil(ACCESS_SECRET, REFRESH_SECRET, cacheTtlSeconds, 1000);
+        util.init();
+        return util;
+    }
+
+    @Test
+    void cachedVerificationReturnsSameClaimsAndStillRejectsTamperedTokens() {
+        JwtUtil util = jwtUtil(30);
+        String token = util.generateAccessToken(7L, RoleType.STUDENT);
+
+        Claims first = util.parseAccessToken(token);
+        assertSame(first, util.parseAccessToken(token));
+        assertEquals(Long.valueOf(7L), util.validateAccessToken(token));
+
+        // 캐시 키는 토큰 전체이므로 서명만 바꾼 토큰은 캐시를 타지 않고 검증에서 거절
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> util.parseAccessToken(tampered));
+        // 리프레시 키로 서명된 토큰은 액세스 토큰으로 통과하지 않음
+        assertThrows(JwtException.class, () -> util.parseAccessToken(util.generateRefreshToken(7L)));
+    }
+
+    @Test
+    void unsignedTokenIsRejectedBeforeParsing() {
+        String header = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String body = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        JwtException e = assertThrows(JwtException.class, () -> jwtUtil(30).parseAccessToken(header + "." + body + "."));
+        assertEquals("Unsigned token rejected", e.getMessage());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void verificationBenchmark() {
+        SecretKey key = Keys.hmacShaKeyFor(ACCESS_SECRET.getBytes(StandardCharsets.UTF_8));
+        JwtUtil uncached = jwtUtil(0);
+        JwtUtil cached = jwtUtil(30);
+        String token = uncached.generateAccessToken(7L, RoleType.STUDENT);
+
+        measure("before", 200_000, t -> parseLikeBefore(t, key), token);
+        measure("after", 200_000, uncached::parseAccessToken, token);
+        measure("cached", 2_000_000, cached::parseAccessToken, token);
+    }
+
+    private static void measure(String name, int iterations, Function<String, Claims> verify, String token) {
+        for (int i = 0; i < iterations / 4; i++) {
+            assertNotNull(verify.apply(token));     // 워밍업
+        }
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes0 = mx.getThreadAllocatedBytes(thread);
+        long t0 = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += verify.apply(token).getSubject().length();
+        }
+        long nanos = System.nanoTime() - t0;
+        long bytes = mx.getThreadAllocatedBytes(thread) - bytes0;
+        assertEquals((long) iterations, sink);
+        System.out.printf("[jwt-verify] %-6s %8.0f ns/op %8d B/op%n",
+                name, (double) nanos / iterations, bytes / iterations);
+    }
+
+    // 이전 구현: 호출마다 파서를 만들고, 헤더를 split + Base64 디코딩해 문자열 검색
+    private static Claims parseLikeBefore(String token, SecretKey key) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) throw new JwtException("Malformed JWT");
+        String headerJson = new String(Decoders.BASE64URL.decode(parts[0]), StandardCharsets.UTF_8);
+        if (headerJson.contains("\"alg\":\"none\"")) throw new JwtException("Unsigned token rejected");
+
+        Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        if (!"HS256".equals(jws.getHeader().getAlgorithm())) throw new JwtException("Unexpected alg");
+        return jws.getBody();
+    }
+}
@@ -0,0 +1,119 @@
+package com.community.demo.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserBusyRegistry 임대 획득/해제/연장/회수 (Spring 컨텍스트 없이).
+ * 만료 테스트는 최소 임대 시간(1초)으로 만들고 실제로 기다림. 스위퍼 스레드는 시작하지 않고 sweep() 을 직접 호출
+ */
+class UserBusyRegistryTest {
+
+    @Test
+    void concurrentAcquireReleaseNeverHasTwoOwners() throws Exception {
+        UserBusyRegistry registry = new UserBusyRegistry(660, 30);
+        int users = 8;
+        int threads = 32;
+        int rounds = 20_000;
+        AtomicIntegerArray holders = new AtomicIntegerArray(users);  // 사용자별 현재 임대 보유 스레드 수
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger busyWhileHeld = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < rounds; i++) {
+                    long userId = rnd.nextInt(users);
+                    UserBusyRegistry.Lease lease = registry.tryAcquire(userId);
+                    if (lease == null) {
+                        registry.isBusy(userId);
+                        continue;
+                    }
+                    if (holders.incrementAndGet((int) userId) != 1) overlaps.incrementAndGet();
+                    if (registry.isBusy(userId)) busyWhileHeld.incrementAndGet();
+                    if (rnd.nextInt(4) == 0) lease = registry.renew(lease);
+                    holders.decrementAndGet((int) userId);
+                    assertTrue(registry.release(lease));
+                    assertFalse(registry.release(lease));       // 두 번째 해제는 무시
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(0, overlaps.get());
+        assertTrue(busyWhileHeld.get() > 0);
+        for (long u = 0; u < users; u++) assertFalse(registry.isBusy(u));
+        assertEquals(0, registry.stats().get("active"));
+        assertEquals(registry.stats().get("acquired"), registry.stats().get("released"));
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndStaleReleaseDoesNotFreeNewerLease() throws Exception {
+        UserBusyRegistry registry = new UserBusyRegistry(1, 30);
+        UserBusyRegistry.Lease stale = registry.tryAcquire(1L);
+        assertNotNull(stale);
+        assertNull(registry.tryAcquire(1L));
+
+        Thread.sleep(1_100);                    // release 누락 → 만료
+        UserBusyRegistry.Lease fresh = registry.tryAcquire(1L);
+        assertNotNull(fresh);
+        assertNotEquals(stale.token(), fresh.token());
+
+        // 늦게 도착한 이전 소유자의 release/renew 는 새 임대를 건드리지 않음
+        assertFalse(registry.release(stale));
+        assertNull(registry.renew(stale));
+        assertTrue(registry.isBusy(1L));
+        assertTrue(registry.release(fresh));
+        assertFalse(registry.isBusy(1L));
+    }
+
+    @Test
+    void renewExtendsLeaseOnlyWhenHalfElapsed() throws Exception {
+        UserBusyRegistry registry = new UserBusyRegistry(1, 30);
+        UserBusyRegistry.Lease lease = registry.tryAcquire(2L);
+
+        assertSame(lease, registry.renew(lease));     // 남은 시간이 절반 넘게 남음 → 그대로
+        Thread.sleep(600);
+        UserBusyRegistry.Lease renewed = registry.renew(lease);
+        assertNotNull(renewed);
+        assertEquals(lease.token(), renewed.token());
+        assertTrue(renewed.expiresAtNanos() > lease.expiresAtNanos());
+
+        Thread.sleep(600);                      // 처음 임대 기준으로는 만료됐을 시각
+        assertTrue(registry.isBusy(2L));
+        assertTrue(registry.release(lease));    // 같은 token 이면 연장 전 Lease 로도 해제 가능
+
+        UserBusyRegistry.Lease other = registry.tryAcquire(2L);
+        assertTrue(registry.forceRelease(2L));
+        assertNull(registry.renew(other));      // 강제 해제된 임대는 연장 불가
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredLeases() throws Exception {
+        UserBusyRegistry registry = new UserBusyRegistry(1, 30);
+        registry.tryAcquire(1L);
+        Thread.sleep(1_100);
+        UserBusyRegistry.Lease live = registry.tryAcquire(2L);
+
+        assertEquals(1, registry.sweep());
+        assertNull(registry.find(1L));
+        assertEquals(live, registry.find(2L));
+        assertEquals(1, registry.stats().get("active"));
+        assertEquals(1L, registry.stats().get("expiredReclaimed"));
+        assertEquals(0, registry.sweep());
+    }
+}
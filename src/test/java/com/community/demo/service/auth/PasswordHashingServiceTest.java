@@ -0,0 +1,101 @@
+package com.community.demo.service.auth;
+
+import com.community.demo.security.LegacySha256PasswordEncoder;
+import com.community.demo.security.Pbkdf2Sha256PasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비밀번호 해싱 서비스 동작 (작은 cost) + cost 선택용 해싱 시간 벤치마크.
+ * costBenchmark 는 -Dbenchmark=true 일 때만 실행 (운영 서버의 로그인과 CPU 를 나눠 쓰지 않도록 테스트로만 둠).
+ * 알고리즘/후보는 -Dbenchmark.password.algorithm=pbkdf2-sha256|bcrypt, -Dbenchmark.password.costs=100000,210000,310000
+ */
+class PasswordHashingServiceTest {
+
+    private final PasswordHashingService service = new PasswordHashingService("pbkdf2-sha256", 10_000, 4, 1, 4);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void encodesWithConfiguredAlgorithmAndMatches() {
+        String hash = service.encode("Secret!123");
+        assertTrue(hash.startsWith("{pbkdf2-sha256}"));
+        assertTrue(service.matches("Secret!123", hash));
+        assertFalse(service.matches("secret!123", hash));
+        assertFalse(service.needsUpgrade(hash));
+        assertEquals(3L, service.stats().get("operations"));
+    }
+
+    @Test
+    void legacyAndWeakerHashesMatchButNeedUpgrade() {
+        String legacy = new LegacySha256PasswordEncoder().encode("Secret!123");
+        assertTrue(service.matches("Secret!123", legacy));
+        assertTrue(service.needsUpgrade(legacy));
+
+        String weaker = "{pbkdf2-sha256}" + new Pbkdf2Sha256PasswordEncoder(5_000).encode("Secret!123");
+        assertTrue(service.matches("Secret!123", weaker));
+        assertTrue(service.needsUpgrade(weaker));
+        assertFalse(service.matches("Secret!123", null));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void costBenchmark() throws Exception {
+        String algorithm = System.getProperty("benchmark.password.algorithm", "pbkdf2-sha256");
+        String costs = System.getProperty("benchmark.password.costs",
+                "bcrypt".equals(algorithm) ? "10,11,12" : "100000,210000,310000");
+        int samples = Integer.getInteger("benchmark.password.samples", 100);
+        // 해싱 풀 기본값과 같은 스레드 수로 동시에 돌려, 풀이 가득 찼을 때의 1건 처리 시간과 처리량을 잼
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ExecutorService bench = Executors.newFixedThreadPool(threads);
+        try {
+            for (String c : costs.split(",")) {
+                int cost = Integer.parseInt(c.trim());
+                PasswordEncoder pe = "bcrypt".equals(algorithm)
+                        ? new BCryptPasswordEncoder(cost)
+                        : new Pbkdf2Sha256PasswordEncoder(cost);
+                pe.encode("warm-up!A1");
+
+                List<Future<Long>> futures = new ArrayList<>(samples);
+                long wall0 = System.nanoTime();
+                for (int i = 0; i < samples; i++) {
+                    futures.add(bench.submit(() -> {
+                        long t0 = System.nanoTime();
+                        pe.encode("Benchmark!" + ThreadLocalRandom.current().nextInt());
+                        return System.nanoTime() - t0;
+                    }));
+                }
+                long[] nanos = new long[samples];
+                for (int i = 0; i < samples; i++) nanos[i] = futures.get(i).get();
+                long wall = System.nanoTime() - wall0;
+                Arrays.sort(nanos);
+
+                System.out.printf("[password-hash] %s cost=%d threads=%d p50=%.1fms p99=%.1fms max=%.1fms %d hashes/s%n",
+                        algorithm, cost, threads,
+                        nanos[samples / 2] / 1_000_000.0,
+                        nanos[Math.min(samples - 1, (int) Math.ceil(samples * 0.99) - 1)] / 1_000_000.0,
+                        nanos[samples - 1] / 1_000_000.0,
+                        Math.round(samples / (wall / 1_000_000_000.0)));
+            }
+        } finally {
+            bench.shutdownNow();
+        }
+    }
+}
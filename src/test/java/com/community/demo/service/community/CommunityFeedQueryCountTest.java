@@ -0,0 +1,142 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.Community;
+import com.community.demo.domain.community.CommunityBookmark;
+import com.community.demo.domain.community.CommunityImage;
+import com.community.demo.domain.community.Reaction;
+import com.community.demo.domain.community.ReactionType;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.common.CursorPage;
+import com.community.demo.dto.community.CommunityResponse;
+import com.community.demo.repository.CommunityRepository;
+import com.community.demo.repository.UserRepository;
+import com.community.demo.support.QueryCountTest;
+import com.community.demo.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 커뮤니티 피드 조립(CommunityFeedAssembler)의 쿼리 수.
+ * 내 글 목록은 페이지 크기와 무관하게 offset 페이징이 목록 1 + count 1 + 작성자/이미지/태그/북마크/내 반응 5 → 7회,
+ * 커서 페이징은 count 가 없어 6회. 글마다 lazy 연관을 건드리면 페이지 크기만큼 쿼리가 늘어남.
+ * 같은 글에 다른 학생의 북마크/반응도 달아 두어, 일괄 조회가 내 것만 골라 붙이는지도 확인
+ */
+@QueryCountTest
+class CommunityFeedQueryCountTest {
+
+    private static final int POSTS = 60;
+    private static final List<String> TOPICS = List.of("수강신청", "스터디", "중고거래", "기숙사", "동아리");
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User writer;
+    private User classmate;
+
+    @BeforeEach
+    void setUp() {
+        writer = userRepository.save(new User("글쓴이", "-", "writer@feed.test", "20240101",
+                RoleType.STUDENT, "경영학과"));
+        classmate = userRepository.save(new User("같은과", "-", "classmate@feed.test", "20240102",
+                RoleType.STUDENT, "경영학과"));
+
+        for (int i = 0; i < POSTS; i++) {
+            Community c = new Community();
+            c.setTitle(TOPICS.get(i % TOPICS.size()) + " 글 " + i);
+            c.setText("본문 " + i);
+            c.setAuthor(writer);
+            // 태그 1~2개, 이미지 0~2장: 글마다 개수가 달라야 글별로 묶였는지 확인됨
+            c.getTags().add(TOPICS.get(i % TOPICS.size()));
+            if (i % 2 == 1) c.getTags().add("질문");
+            for (int k = 0; k < i % 3; k++) {
+                CommunityImage img = new CommunityImage();
+                img.setImageUrl("/files/community/" + i + "-" + k + ".png");
+                img.setPost(c);
+                c.getImages().add(img);
+            }
+            // 같은과 학생은 모든 글을 북마크하고 싫어요, 글쓴이는 짝수 글만 북마크하고 3의 배수 글에만 좋아요
+            c.getBookmarks().add(bookmark(c, classmate));
+            c.getReactions().add(new Reaction(c, classmate, ReactionType.DISLIKE));
+            if (i % 2 == 0) c.getBookmarks().add(bookmark(c, writer));
+            if (i % 3 == 0) c.getReactions().add(new Reaction(c, writer, ReactionType.LIKE));
+            communityRepository.save(c);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        communityRepository.deleteAll();
+        userRepository.deleteAll(List.of(writer, classmate));
+    }
+
+    @Test
+    void feedPageQueryCountDoesNotGrowWithPageSize() {
+        StatementCounter.Counted<Page<CommunityResponse>> small = myPosts(5);
+        StatementCounter.Counted<Page<CommunityResponse>> large = myPosts(50);
+
+        assertEquals(7, small.count(), () -> String.join("\n", small.statements()));
+        assertEquals(small.count(), large.count(), () -> String.join("\n", large.statements()));
+    }
+
+    @Test
+    void cursorPageQueryCountDoesNotGrowWithPageSize() {
+        StatementCounter.Counted<CursorPage<CommunityResponse>> small = myPostsByCursor(5);
+        StatementCounter.Counted<CursorPage<CommunityResponse>> large = myPostsByCursor(50);
+
+        assertEquals(6, small.count(), () -> String.join("\n", small.statements()));
+        assertEquals(small.count(), large.count(), () -> String.join("\n", large.statements()));
+    }
+
+    private StatementCounter.Counted<Page<CommunityResponse>> myPosts(int size) {
+        StatementCounter.Counted<Page<CommunityResponse>> counted = StatementCounter.count(() ->
+                communityService.getMyPosts(0, size, null, "latest", writer));
+
+        assertEquals(size, counted.result().getContent().size());
+        assertEquals(POSTS, counted.result().getTotalElements());
+        assertResponses(counted.result().getContent());
+        return counted;
+    }
+
+    private StatementCounter.Counted<CursorPage<CommunityResponse>> myPostsByCursor(int size) {
+        StatementCounter.Counted<CursorPage<CommunityResponse>> counted = StatementCounter.count(() ->
+                communityService.getMyPostsByCursor(null, size, null, "latest", writer));
+
+        assertEquals(size, counted.result().content().size());
+        assertTrue(counted.result().hasNext());
+        assertResponses(counted.result().content());
+        return counted;
+    }
+
+    // 글 번호로 기대값을 다시 계산해 비교: 태그/이미지 수, 글쓴이 본인의 북마크/반응만 보임
+    private void assertResponses(List<CommunityResponse> responses) {
+        for (CommunityResponse r : responses) {
+            int i = Integer.parseInt(r.getTitle().substring(r.getTitle().lastIndexOf(' ') + 1));
+            String topic = TOPICS.get(i % TOPICS.size());
+            assertEquals(i % 2 == 1 ? Set.of(topic, "질문") : Set.of(topic), Set.copyOf(r.getTags()), r.getTitle());
+            assertEquals(i % 3, r.getImages().size(), r.getTitle());
+            assertEquals(writer.getUsername(), r.getAuthorName());
+            assertEquals(i % 2 == 0, r.isBookmarked(), r.getTitle());
+            assertEquals(i % 3 == 0 ? "LIKE" : null, r.getMyReaction(), r.getTitle());
+        }
+    }
+
+    private static CommunityBookmark bookmark(Community c, User user) {
+        CommunityBookmark b = new CommunityBookmark();
+        b.setPost(c);
+        b.setUser(user);
+        return b;
+    }
+}
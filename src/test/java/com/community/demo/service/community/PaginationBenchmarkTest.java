@@ -0,0 +1,183 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.Community;
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.repository.CommunityRepository;
+import com.community.demo.repository.NoticeRepository;
+import com.community.demo.repository.UserRepository;
+import com.community.demo.support.CommunityBenchmarkData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 깊은 페이지에서 offset 페이징(목록 + count)과 커서 페이징 지연 비교 (DB 필요, -Dbenchmark=true 일 때만 실행).
+ * 커뮤니티 최신순/인기순, 공지 최신순. 가짜 글 -Dbenchmark.pagination.rows 건씩 넣고
+ * -Dbenchmark.pagination.page 번째 페이지(크기 -Dbenchmark.pagination.size)를 두 방식으로 samples 번 조회해 중앙값/최대값 출력.
+ * 커서는 1페이지부터 커서 쿼리로 넘겨 가며 구함 (offset 을 page * size 로 곱해 만들지 않으므로 깊은 page 에서도 넘치지 않음).
+ * 두 방식이 같은 행을 돌려주는지도 확인
+ */
+@SpringBootTest
+@ImportAutoConfiguration(exclude = {
+        org.springdoc.core.configuration.SpringDocConfiguration.class
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PaginationBenchmarkTest {
+
+    private static final int BATCH = 1000;
+
+    private static final String INSERT_NOTICE_SQL = """
+            insert into notices (title, text, department, author_id, notice_type, created_at)
+            values (?, ?, ?, ?, 'INTERNAL', ?)
+            """;
+
+    private final int rows = Integer.getInteger("benchmark.pagination.rows", 5_000);
+    private final int page = Integer.getInteger("benchmark.pagination.page", 100);
+    private final int size = Integer.getInteger("benchmark.pagination.size", 20);
+    private final int samples = Integer.getInteger("benchmark.pagination.samples", 5);
+
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.community.popularity.decay-seconds:0}")
+    private double decaySeconds;
+
+    private User author;
+    private CommunityBenchmarkData communityData;
+    private long firstNoticeId = -1;
+    private long lastNoticeId = -1;
+
+    @BeforeEach
+    void setUp() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(new User("page-bench-" + tag, "-", "page-bench-" + tag + "@example.invalid",
+                "page-bench-" + tag, RoleType.STAFF, "page-bench-" + tag));
+        communityData = new CommunityBenchmarkData(jdbcTemplate, author.getId());
+        communityData.generate(rows, decaySeconds);
+        generateNotices();
+    }
+
+    @AfterEach
+    void tearDown() {
+        communityData.remove();
+        if (firstNoticeId > 0) {
+            jdbcTemplate.update("delete from notices where id between ? and ? and author_id = ?",
+                    firstNoticeId, lastNoticeId, author.getId());
+        }
+        userRepository.deleteById(author.getId());
+    }
+
+    @Test
+    void offsetVersusCursorAtDeepPage() {
+        Community lastLatest = walk(prev -> communityRepository.findLatestAfter(null, null, null, null,
+                prev == null ? null : prev.getCreatedAt(), prev == null ? null : prev.getId(), PageRequest.of(0, size)));
+        compare("community-latest",
+                () -> communityRepository.searchLatestFlexible(null, null, null, null, false, PageRequest.of(page, size)).getContent(),
+                () -> communityRepository.findLatestAfter(null, null, null, null,
+                        lastLatest.getCreatedAt(), lastLatest.getId(), PageRequest.of(0, size + 1)),
+                Community::getId);
+
+        Community lastPopular = walk(prev -> communityRepository.findPopularAfter(null, null, null, null,
+                prev == null ? null : prev.getPopularityScore(), prev == null ? null : prev.getCreatedAt(),
+                prev == null ? null : prev.getId(), PageRequest.of(0, size)));
+        compare("community-popular",
+                () -> communityRepository.searchPopularFlexible(null, null, null, null, false, PageRequest.of(page, size)).getContent(),
+                () -> communityRepository.findPopularAfter(null, null, null, null, lastPopular.getPopularityScore(),
+                        lastPopular.getCreatedAt(), lastPopular.getId(), PageRequest.of(0, size + 1)),
+                Community::getId);
+
+        Sort latest = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        Notice lastNotice = walk(prev -> noticeRepository.findLatestAfter(null,
+                prev == null ? null : prev.getCreatedAt(), prev == null ? null : prev.getId(), PageRequest.of(0, size)));
+        compare("notices-latest",
+                () -> noticeRepository.findAll(PageRequest.of(page, size, latest)).getContent(),
+                () -> noticeRepository.findLatestAfter(null, lastNotice.getCreatedAt(), lastNotice.getId(), PageRequest.of(0, size + 1)),
+                Notice::getId);
+    }
+
+    // 1페이지부터 page 페이지를 커서로 넘겨, 측정할 페이지 직전 행(= 커서)을 구함 (측정 대상 아님)
+    private <T> T walk(Function<T, List<T>> next) {
+        T last = null;
+        for (int i = 0; i < page; i++) {
+            List<T> rowsOfPage = next.apply(last);
+            assertEquals(size, rowsOfPage.size(), "page 까지 데이터가 부족함");
+            last = rowsOfPage.get(rowsOfPage.size() - 1);
+        }
+        return last;
+    }
+
+    private <T> void compare(String name, Supplier<List<T>> offset, Supplier<List<T>> cursor, Function<T, Long> id) {
+        List<Long> offsetIds = offset.get().stream().map(id).toList();
+        List<Long> cursorIds = cursor.get().stream().limit(size).map(id).toList();
+        assertEquals(offsetIds, cursorIds);
+
+        System.out.printf("[pagination] %-17s page=%d size=%d offset %s | cursor %s%n",
+                name, page, size, measure(offset), measure(cursor));
+    }
+
+    // 조회마다 새 영속성 컨텍스트 (테스트 스레드에 열린 트랜잭션 없음)
+    private String measure(Supplier<? extends List<?>> query) {
+        query.get();    // warm-up (쿼리 계획/커넥션)
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long t0 = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(nanos);
+        return String.format("p50=%.2fms max=%.2fms", nanos[samples / 2] / 1_000_000.0, nanos[samples - 1] / 1_000_000.0);
+    }
+
+    private void generateNotices() {
+        long before = maxNoticeId();
+        LocalDateTime now = LocalDateTime.now();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime createdAt = now.minusSeconds(rnd.nextLong(365L * 24 * 3600));
+            batch.add(new Object[]{"[bench] " + i, "benchmark notice " + i, author.getDepartment(), author.getId(),
+                    Timestamp.valueOf(createdAt)});
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(INSERT_NOTICE_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(INSERT_NOTICE_SQL, batch);
+        firstNoticeId = before + 1;
+        lastNoticeId = maxNoticeId();
+    }
+
+    private long maxNoticeId() {
+        Long id = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from notices", Long.class);
+        return id == null ? 0 : id;
+    }
+}
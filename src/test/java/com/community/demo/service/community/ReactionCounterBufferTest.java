@@ -0,0 +1,187 @@
+package com.community.demo.service.community;
+
+import com.community.demo.domain.community.ReactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReactionCounterBuffer 동시성 테스트 (DB 없이).
+ * 카운터 UPDATE 배치를 받아 합산하는 JdbcTemplate 과, 트랜잭션 동기화를 직접 돌리는 가짜 트랜잭션으로
+ * ReactionService.toggle 과 같은 순서(기록 → 커밋 → afterCommit)를 재현
+ */
+class ReactionCounterBufferTest {
+
+    private static final long POST_ID = 42L;
+
+    // 카운터 증감 배치를 글 id 별로 합산 (= community.like_count / dislike_count)
+    private static final class CounterTable extends JdbcTemplate {
+        final Map<Long, AtomicLong> likes = new ConcurrentHashMap<>();
+        final Map<Long, AtomicLong> dislikes = new ConcurrentHashMap<>();
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (sql.startsWith("update community set like_count")) {
+                for (Object[] a : batchArgs) {
+                    long id = ((Number) a[2]).longValue();
+                    likes.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(((Number) a[0]).longValue());
+                    dislikes.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(((Number) a[1]).longValue());
+                }
+            }
+            int[] counts = new int[batchArgs.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        }
+
+        long likes(long id) {
+            return likes.getOrDefault(id, new AtomicLong()).get();
+        }
+
+        long dislikes(long id) {
+            return dislikes.getOrDefault(id, new AtomicLong()).get();
+        }
+    }
+
+    private static final PlatformTransactionManager NO_TX = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private final CounterTable table = new CounterTable();
+    private final ReactionCounterBuffer buffer =
+            new ReactionCounterBuffer(table, NO_TX, new PopularityScorer(null, 0), 100);
+
+    @Test
+    void concurrentTogglesOnOneHotPostEndWithExactCounts() throws Exception {
+        int users = 2000;
+        int togglesPerUser = 5;
+        int threads = 32;
+        // reactions 테이블 (user → 반응). 한 사용자의 토글은 한 스레드에서만 (유니크 키 (post, user) 가 직렬화하는 것과 같음)
+        Map<Integer, ReactionType> reactions = new ConcurrentHashMap<>();
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) buffer.flush();
+        });
+        flusher.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            futures.add(pool.submit(() -> {
+                go.await();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int round = 0; round < togglesPerUser; round++) {
+                    for (int user = first; user < users; user += threads) {
+                        ReactionType type = rnd.nextBoolean() ? ReactionType.LIKE : ReactionType.DISLIKE;
+                        toggle(reactions, user, type, rnd.nextInt(10) != 0);     // 10% 는 롤백
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        done.set(true);
+        flusher.join();
+        buffer.flush();
+
+        long expectedLikes = reactions.values().stream().filter(r -> r == ReactionType.LIKE).count();
+        long expectedDislikes = reactions.values().stream().filter(r -> r == ReactionType.DISLIKE).count();
+        assertEquals(expectedLikes, table.likes(POST_ID));
+        assertEquals(expectedDislikes, table.dislikes(POST_ID));
+        assertEquals(0, buffer.stats().get("pendingPosts"));
+        assertEquals(0, buffer.stats().get("inFlightPosts"));
+    }
+
+    @Test
+    void pendingDeltasAreAddedToStoredCountsUntilFlushed() {
+        buffer.record(POST_ID, ReactionType.LIKE, +1);
+        buffer.record(POST_ID, ReactionType.LIKE, +1);
+        buffer.record(POST_ID, ReactionType.DISLIKE, +1);
+
+        assertEquals(12, buffer.likeCount(POST_ID, 10));
+        assertEquals(4, buffer.dislikeCount(POST_ID, 3));
+
+        assertEquals(1, buffer.flush());
+        assertEquals(2, table.likes(POST_ID));
+        assertEquals(10, buffer.likeCount(POST_ID, 10));
+    }
+
+    @Test
+    void reconcileSkipsPostsWhoseDeltasAreNotAppliedYet() throws Exception {
+        buffer.record(2L, ReactionType.LIKE, +1);                       // 커밋 완료, 버퍼에만 있음 → 보정 전에 flush
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.record(1L, ReactionType.LIKE, +1);                   // 아직 커밋 전 (반응 행은 커밋 때 쓰임)
+
+            List<Boolean> settled = buffer.runExclusive(s -> {
+                // 보정 도중 다른 요청이 기록한 글
+                Thread other = new Thread(() -> buffer.record(3L, ReactionType.DISLIKE, +1));
+                other.start();
+                try {
+                    other.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return List.of(s.test(1L), s.test(2L), s.test(3L), s.test(4L));
+            });
+
+            assertEquals(List.of(false, true, false, true), settled);
+            assertEquals(1, table.likes(2L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ReactionService.toggle 과 같은 분기. commit=false 면 롤백 (reactions 도 그대로)
+    private void toggle(Map<Integer, ReactionType> reactions, int user, ReactionType newType, boolean commit) {
+        ReactionType old = reactions.get(user);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            if (old == null) {
+                buffer.record(POST_ID, newType, +1);
+            } else if (old == newType) {
+                buffer.record(POST_ID, newType, -1);
+            } else {
+                buffer.record(POST_ID, old, -1);
+                buffer.record(POST_ID, newType, +1);
+            }
+            List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                if (old == newType) reactions.remove(user);
+                else reactions.put(user, newType);
+                syncs.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            syncs.forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
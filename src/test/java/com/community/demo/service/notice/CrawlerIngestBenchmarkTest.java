@@ -0,0 +1,156 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.SchoolNoticeBulkRequest;
+import com.community.demo.dto.notice.SchoolNoticeBulkResponse;
+import com.community.demo.repository.NoticeRepository;
+import com.community.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 크롤링 공지 수집 처리량 비교 (DB 필요, -Dbenchmark=true 일 때만 실행). 로컬 가짜 크롤러 역할.
+ * 테스트용 학과 계정으로 공지 COUNT 건을 만들어 두 경로로 보냄 (알림 없음):
+ * - single : 공지 1건 = 트랜잭션 1개 (단건 API 와 같은 경로: 작성자 조회, 기존 공지 조회, 응답 조립)
+ * - bulk   : SchoolNoticeBulkIngestService 로 BATCH 건씩
+ * 경로마다 신규 생성과 같은 내용 재전송(스킵)의 초당 처리 건수를 잼. HTTP/multipart 파싱 비용은 빠져 있음.
+ * 만든 공지는 삭제와 같은 트랜잭션에서 검색 색인 제거를 등록해 지우고, 색인에 남지 않았는지 확인
+ */
+@SpringBootTest
+@ImportAutoConfiguration(exclude = {
+        org.springdoc.core.configuration.SpringDocConfiguration.class
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CrawlerIngestBenchmarkTest {
+
+    private static final int COUNT = 500;
+    private static final int BATCH = 100;
+
+    @Autowired
+    private NoticeService noticeService;
+    @Autowired
+    private SchoolNoticeBulkIngestService bulkIngestService;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private NoticeSearchIndex noticeSearchIndex;
+    @Autowired
+    private CrawlerIngestStats crawlerIngestStats;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private String run;
+    private User department;
+    private final List<String> keys = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        run = UUID.randomUUID().toString().substring(0, 8);
+        department = userRepository.save(new User("bench-dept-" + run, "-", "bench-dept-" + run + "@example.invalid",
+                "bench-dept-" + run, RoleType.STAFF, "bench-dept-" + run));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 파일/알림이 없는 공지라 행만 지우면 됨. 색인 제거는 삭제가 커밋된 뒤 (NoticeService.delete 와 같은 순서)
+        tx.executeWithoutResult(status -> {
+            for (int from = 0; from < keys.size(); from += 500) {
+                List<Long> ids = noticeRepository.findByExternalKeyIn(keys.subList(from, Math.min(from + 500, keys.size())))
+                        .stream().map(n -> n.getId()).toList();
+                if (ids.isEmpty()) continue;
+                noticeRepository.deleteAllByIdInBatch(ids);
+                ids.forEach(noticeSearchIndex::remove);
+            }
+        });
+        List<Long> ghosts = noticeSearchIndex.search("bench" + run, null, null);
+        assertTrue(ghosts == null || ghosts.isEmpty(), "search index still has deleted notices: " + ghosts);
+        userRepository.deleteById(department.getId());
+    }
+
+    @Test
+    void bulkIngestIsFasterThanOneTransactionPerNotice() {
+        List<SchoolNoticeBulkRequest.Item> singleItems = items("single");
+        List<SchoolNoticeBulkRequest.Item> bulkItems = items("bulk");
+        long created0 = total("created"), skipped0 = total("skipped");
+
+        long singleCreate = timeSingle(singleItems);
+        long singleSkip = timeSingle(singleItems);          // 같은 내용 재전송
+        long bulkCreate = timeBulk(bulkItems);
+        long bulkSkip = timeBulk(bulkItems);
+
+        // 커밋된 항목만 한 번씩 집계됨
+        assertEquals(2L * COUNT, total("created") - created0);
+        assertEquals(2L * COUNT, total("skipped") - skipped0);
+
+        System.out.printf("single: create %.1f/s, skip %.1f/s%n", perSec(singleCreate), perSec(singleSkip));
+        System.out.printf("bulk  : create %.1f/s, skip %.1f/s (batch %d)%n", perSec(bulkCreate), perSec(bulkSkip), BATCH);
+        System.out.printf("speedup: create x%.2f, skip x%.2f%n",
+                (double) singleCreate / bulkCreate, (double) singleSkip / bulkSkip);
+    }
+
+    private long timeSingle(List<SchoolNoticeBulkRequest.Item> items) {
+        long t0 = System.nanoTime();
+        for (SchoolNoticeBulkRequest.Item item : items) {
+            tx.executeWithoutResult(status -> noticeService.createSchoolNotice(item, List.of(), List.of(), false));
+        }
+        return System.nanoTime() - t0;
+    }
+
+    private long timeBulk(List<SchoolNoticeBulkRequest.Item> items) {
+        long t0 = System.nanoTime();
+        for (int from = 0; from < items.size(); from += BATCH) {
+            SchoolNoticeBulkRequest request = new SchoolNoticeBulkRequest();
+            request.setNotices(new ArrayList<>(items.subList(from, Math.min(from + BATCH, items.size()))));
+            SchoolNoticeBulkResponse r = bulkIngestService.ingest(request, List.of(), false);
+            assertEquals(0, r.failed(), () -> String.valueOf(r.results()));
+        }
+        return System.nanoTime() - t0;
+    }
+
+    private List<SchoolNoticeBulkRequest.Item> items(String mode) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SchoolNoticeBulkRequest.Item> out = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            SchoolNoticeBulkRequest.Item item = new SchoolNoticeBulkRequest.Item();
+            item.setExternalKey("bench:" + run + ":" + mode + ":" + i);
+            item.setTitle("bench" + run + " " + mode + " #" + i);
+            item.setText("benchmark notice " + i + "\n" + "본문 ".repeat(200));
+            item.setDepartment(department.getUsername());
+            item.setOriginalCreatedAt(now.minusMinutes(i));
+            keys.add(item.getExternalKey());
+            out.add(item);
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long total(String field) {
+        Map<String, Object> total = (Map<String, Object>) crawlerIngestStats.stats().get("total");
+        return ((Number) total.get(field)).longValue();
+    }
+
+    private static double perSec(long nanos) {
+        return nanos > 0 ? COUNT * 1e9 / nanos : 0;
+    }
+}
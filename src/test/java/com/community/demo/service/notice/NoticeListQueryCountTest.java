@@ -0,0 +1,128 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.Attachment;
+import com.community.demo.domain.notice.Bookmark;
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.domain.notice.NoticeImage;
+import com.community.demo.domain.notice.NoticeType;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.NoticeListResponse;
+import com.community.demo.repository.BookmarkRepository;
+import com.community.demo.repository.NoticeRepository;
+import com.community.demo.repository.UserRepository;
+import com.community.demo.support.QueryCountTest;
+import com.community.demo.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 공지 목록 응답 조립(toListResponses)의 쿼리 수.
+ * 학과 필터 목록은 페이지 크기와 무관하게 북마크 1 + 목록 1 + count 1 + 작성자/이미지/첨부 일괄 조회 3 → 6회.
+ * 행마다 작성자/이미지/첨부를 lazy 로딩하던 때는 페이지 크기만큼 쿼리가 늘었음.
+ * 두 학과 조교가 공지를 올리고, 학생은 그중 한 조교만 북마크한 상태
+ */
+@QueryCountTest
+class NoticeListQueryCountTest {
+
+    private static final int CS_NOTICES = 20;
+
+    @Autowired
+    private NoticeService noticeService;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User csStaff;
+    private User eeStaff;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        csStaff = userRepository.save(new User("컴공 조교", "-", "cs-office@notice.test", "cs-office",
+                RoleType.STAFF, "컴퓨터공학과"));
+        eeStaff = userRepository.save(new User("전자 조교", "-", "ee-office@notice.test", "ee-office",
+                RoleType.STAFF, "전자공학과"));
+        student = userRepository.save(new User("김학생", "-", "student@notice.test", "20260001",
+                RoleType.STUDENT, "컴퓨터공학과"));
+
+        for (int i = 0; i < CS_NOTICES; i++) {
+            // 공지마다 포스터 1~2장, 첨부 0~1개 (개수가 섞여야 공지별로 묶였는지 확인됨)
+            save(csStaff, "컴공 학사 공지 " + i, 1 + i % 2, i % 3 == 0 ? 0 : 1);
+        }
+        for (int i = 0; i < 5; i++) save(eeStaff, "전자 학사 공지 " + i, 1, 1);
+
+        Bookmark b = new Bookmark();
+        b.setUser(student);
+        b.setAuthor(csStaff);
+        bookmarkRepository.save(b);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookmarkRepository.deleteAll();
+        noticeRepository.deleteAll();
+        userRepository.deleteAll(List.of(csStaff, eeStaff, student));
+    }
+
+    @Test
+    void departmentPageQueryCountDoesNotGrowWithPageSize() {
+        StatementCounter.Counted<Page<NoticeListResponse>> small = departmentPage(5);
+        StatementCounter.Counted<Page<NoticeListResponse>> large = departmentPage(CS_NOTICES);
+
+        assertEquals(6, small.count(), () -> String.join("\n", small.statements()));
+        assertEquals(small.count(), large.count(), () -> String.join("\n", large.statements()));
+    }
+
+    // 컴퓨터공학과 목록 1페이지. 응답에 공지별 이미지/첨부 수와 북마크 여부가 맞게 실렸는지도 확인
+    private StatementCounter.Counted<Page<NoticeListResponse>> departmentPage(int size) {
+        PageRequest pageable = PageRequest.of(0, size, NoticeSearchIndex.LATEST_FIRST_SORT);
+        StatementCounter.Counted<Page<NoticeListResponse>> counted = StatementCounter.count(() ->
+                noticeService.getFilteredNotices(List.of("컴퓨터공학과"), null, pageable, student));
+
+        Page<NoticeListResponse> page = counted.result();
+        assertEquals(size, page.getContent().size());
+        assertEquals(CS_NOTICES, page.getTotalElements());
+        for (NoticeListResponse r : page.getContent()) {
+            int i = Integer.parseInt(r.getTitle().substring(r.getTitle().lastIndexOf(' ') + 1));
+            assertEquals(1 + i % 2, r.getImages().size(), r.getTitle());
+            assertEquals(i % 3 == 0 ? 0 : 1, r.getAttachments().size(), r.getTitle());
+            assertEquals(csStaff.getUsername(), r.getAuthorName());
+            assertTrue(r.isBookmarked());
+        }
+        return counted;
+    }
+
+    private void save(User author, String title, int images, int attachments) {
+        Notice n = new Notice();
+        n.setTitle(title);
+        n.setText(title + " 본문");
+        n.setDepartment(author.getDepartment());
+        n.setAuthor(author);
+        n.setNoticeType(NoticeType.INTERNAL);
+        for (int k = 0; k < images; k++) {
+            NoticeImage img = new NoticeImage();
+            img.setImageUrl("/files/notices/images/" + title.hashCode() + "-" + k + ".png");
+            img.setNotice(n);
+            n.getImages().add(img);
+        }
+        for (int k = 0; k < attachments; k++) {
+            Attachment att = new Attachment();
+            att.setFileUrl("/files/notices/attachments/" + title.hashCode() + "-" + k + ".pdf");
+            att.setNotice(n);
+            n.getAttachments().add(att);
+        }
+        noticeRepository.save(n);
+    }
+}
@@ -0,0 +1,222 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.repository.NoticeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NoticeSearchIndex 검색 결과가 LIKE 검색과 같은지 (DB 없이).
+ * notices 테이블은 id → 공지 맵으로 흉내 내고, 후보 확인/count 쿼리는 lower(title/text) like '%keyword%' 와 같은 비교로 구현.
+ * likeScanBenchmark 는 -Dbenchmark=true 일 때만 실행 (공지 수는 -Dbenchmark.notices=10000,100000,1000000, 1M 은 -Xmx4g 정도 필요)
+ */
+class NoticeSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final Map<Long, Notice> table = new TreeMap<>();
+    private int verifyQueries;      // 후보 확인 쿼리 호출 수
+    private int countQueries;       // 나머지 후보 count 쿼리 호출 수
+
+    // 색인이 쓰는 조회 3개만 구현 (나머지 메서드는 호출되지 않음)
+    private final NoticeRepository repository = (NoticeRepository) Proxy.newProxyInstance(
+            NoticeRepository.class.getClassLoader(), new Class<?>[]{NoticeRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findBatchAfterId" -> table.values().stream().filter(n -> n.getId() > (Long) args[0]).toList();
+                case "findIdsMatchingKeyword" -> {
+                    verifyQueries++;
+                    yield likeMatches((Collection<?>) args[0], (String) args[1]);
+                }
+                case "countIdsMatchingKeyword" -> {
+                    countQueries++;
+                    yield (long) likeMatches((Collection<?>) args[0], (String) args[1]).size();
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final NoticeSearchIndex index = new NoticeSearchIndex(repository, 1000);
+
+    @Test
+    void candidatesWithAllGramsButNoContiguousMatchAreDropped() {
+        insert(1, "가나 나다", "본문", BASE);
+        insert(2, "공지", "가나다라 안내", BASE);
+        index.rebuild();
+
+        assertEquals(List.of(2L), index.search("가나다", null, null));
+    }
+
+    @Test
+    void matchDeepInLongTextIsFound() {
+        insert(1, "휴강 안내", "x".repeat(10_000) + " 보강 일정", BASE);
+        insert(2, "보강 일정", "짧은 본문", BASE.minusDays(1));
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), index.search("보강 일정", null, null));
+        assertEquals(List.of(), index.search("휴강 일정", null, null));
+    }
+
+    @Test
+    void resultsAreOrderedLikeTheListQuery() {
+        insert(1, "장학 공지", "", BASE);
+        insert(2, "장학 공지", "", BASE.plusHours(1));
+        insert(3, "장학 공지", "", BASE);
+        insert(4, "장학 공지", "", null);
+        index.rebuild();
+
+        // createdAt DESC, id DESC (작성일 없는 공지는 맨 뒤)
+        assertEquals(List.of(2L, 3L, 1L, 4L), index.search("장학", null, null));
+    }
+
+    @Test
+    void departmentFilterAndCaseInsensitiveMatch() {
+        insert(1, "Java 특강", "", BASE).setDepartment("컴퓨터공학과");
+        insert(2, "JAVA 특강", "", BASE).setDepartment("전자공학과");
+        index.rebuild();
+
+        assertEquals(List.of(1L), index.search("java", List.of("컴퓨터공학과"), null));
+        assertEquals(List.of(2L, 1L), index.search("jaVA", null, null));
+    }
+
+    @Test
+    void staleIndexEntriesAreFilteredByTheDatabaseCheck() {
+        insert(1, "등록금 납부", "", BASE);
+        index.rebuild();
+        table.remove(1L);                       // 삭제가 아직 색인에 반영되지 않은 상태
+
+        assertEquals(List.of(), index.search("등록금", null, null));
+        assertNull(index.search("등", null, null));     // 2글자 미만 → LIKE 로 대체
+    }
+
+    @Test
+    void commonKeywordPageVerifiesOnlyTheCandidatesItNeeds() {
+        for (long id = 1; id <= 5000; id++) {
+            insert(id, "학사 공지 " + id, "수강신청 안내 " + "y".repeat(5000), BASE.plusMinutes(id));
+        }
+        insert(5001, "수강 강신 신청", "", BASE.plusYears(1));   // 2-gram 은 모두 있지만 LIKE 에는 안 맞음
+        index.rebuild();
+
+        verifyQueries = 0;
+        countQueries = 0;
+        NoticeSearchIndex.Hits first = index.search("수강신청", null, null, 0, 10);
+        assertEquals(List.of(5000L, 4999L, 4998L, 4997L, 4996L, 4995L, 4994L, 4993L, 4992L, 4991L), first.ids());
+        assertEquals(1, verifyQueries);
+        assertEquals(1, countQueries);          // 확인하지 않은 후보 4950건은 count 1회
+        assertEquals(5000, first.total());
+
+        verifyQueries = 0;
+        NoticeSearchIndex.Hits deep = index.search("수강신청", null, null, 2000, 10);
+        assertEquals(3000L, (long) deep.ids().get(0));
+        assertTrue(verifyQueries <= 3, "verify queries: " + verifyQueries);
+
+        NoticeSearchIndex.Hits last = index.search("수강신청", null, null, 4990, 20);
+        assertEquals(10, last.ids().size());
+        assertEquals(5000, last.total());
+    }
+
+    @Test
+    void totalCountsOnlyCandidatesThatMatchEvenBeyondTheRequestedPage() {
+        for (long id = 1; id <= 300; id++) {
+            // 오래된 절반은 2-gram 만 모두 있고 LIKE 에는 안 맞음
+            String title = (id <= 150) ? "장학 학금 안내 " + id : "장학금 안내 " + id;
+            insert(id, title, "", BASE.plusMinutes(id));
+        }
+        index.rebuild();
+
+        countQueries = 0;
+        NoticeSearchIndex.Hits first = index.search("장학금", null, null, 0, 10);
+        assertEquals(300L, (long) first.ids().get(0));
+        assertEquals(150, first.total());       // 후보 300건 중 맞는 것만 (총 페이지 수가 부풀지 않음)
+        assertEquals(1, countQueries);
+
+        // 마지막 페이지까지 건수가 같고, 그 다음 페이지는 비어 있음
+        assertEquals(10, index.search("장학금", null, null, 140, 10).ids().size());
+        assertEquals(150, index.search("장학금", null, null, 140, 10).total());
+        NoticeSearchIndex.Hits past = index.search("장학금", null, null, 150, 10);
+        assertEquals(List.of(), past.ids());
+        assertEquals(150, past.total());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void likeScanBenchmark() {
+        String[] vocab = {"수강신청", "장학금", "등록금", "졸업", "휴학", "복학", "계절학기", "성적", "기숙사", "특강",
+                "채용", "공모전", "설명회", "교환학생", "봉사", "안내", "일정", "변경", "마감", "신청", "접수", "결과",
+                "java", "ai", "캡스톤", "세미나", "학과", "대학원", "연구실", "인턴십"};
+        String[] queries = {"수강신청", "장학금 신청", "캡스톤", "교환학생 설명회", "없는검색어"};
+        String[] sizes = System.getProperty("benchmark.notices", "10000,100000,1000000").split(",");
+
+        for (String size : sizes) {
+            int count = Integer.parseInt(size.trim());
+            table.clear();
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            for (long id = 1; id <= count; id++) {
+                StringBuilder text = new StringBuilder();
+                for (int w = 0; w < 30; w++) text.append(vocab[rnd.nextInt(vocab.length)]).append(' ');
+                insert(id, vocab[rnd.nextInt(vocab.length)] + " 공지 " + id, text.toString(),
+                        BASE.minusMinutes(rnd.nextInt(525_600)));
+            }
+
+            System.gc();
+            long heap0 = usedHeap();
+            long t0 = System.nanoTime();
+            index.rebuild();
+            long rebuildMs = (System.nanoTime() - t0) / 1_000_000;
+            System.gc();
+            long indexMb = (usedHeap() - heap0) / (1024 * 1024);
+
+            for (String q : queries) {
+                // LIKE '%q%' 와 같은 비교를 전체 행에 (인덱스 없이 테이블 전체를 훑는 것과 같은 양)
+                long s0 = System.nanoTime();
+                List<Long> scan = likeMatches(table.keySet(), q);
+                long scanUs = (System.nanoTime() - s0) / 1_000;
+
+                verifyQueries = 0;
+                long i0 = System.nanoTime();
+                NoticeSearchIndex.Hits page = index.search(q, null, null, 0, 20);
+                long indexUs = (System.nanoTime() - i0) / 1_000;
+                int pageQueries = verifyQueries;
+
+                assertEquals(scan.size(), index.search(q, null, null).size());
+                System.out.printf("[notice-search] n=%d q=%s like-scan=%dus (%d rows) index-page=%dus (%d verify queries)"
+                                + " rebuild=%dms index-heap=%dMB%n",
+                        count, q, scanUs, scan.size(), indexUs, pageQueries, rebuildMs, indexMb);
+                assertNotNull(page);
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private Notice insert(long id, String title, String text, LocalDateTime createdAt) {
+        Notice n = new Notice();
+        n.setId(id);
+        n.setTitle(title);
+        n.setText(text);
+        n.setCreatedAt(createdAt);
+        table.put(id, n);
+        return n;
+    }
+
+    private List<Long> likeMatches(Collection<?> ids, String keyword) {
+        String k = keyword.toLowerCase(Locale.ROOT);
+        List<Long> out = new ArrayList<>();
+        for (Object id : ids) {
+            Notice n = table.get((Long) id);
+            if (n == null) continue;
+            if (n.getTitle().toLowerCase(Locale.ROOT).contains(k) || n.getText().toLowerCase(Locale.ROOT).contains(k)) {
+                out.add(n.getId());
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,191 @@
+package com.community.demo.service.notice;
+
+import com.community.demo.domain.notice.Attachment;
+import com.community.demo.domain.notice.Notice;
+import com.community.demo.domain.notice.NoticeImage;
+import com.community.demo.domain.notice.NoticeType;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.dto.notice.SchoolNoticeCreateDto;
+import com.community.demo.dto.notice.SchoolNoticeIngestResult;
+import com.community.demo.repository.NoticeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 크롤링 공지 재수집 지문 비교 (DB 없이). 기존 공지는 메모리 엔티티, 저장소/공지 저장소는 호출을 기록하는 가짜.
+ * 이름만 바뀐 같은 내용의 파일과 줄바꿈/줄 끝 공백만 다른 본문은 변경이 아님 → SKIPPED, 알림/파일 저장/반납 없음
+ */
+class SchoolNoticeFingerprintTest {
+
+    private static final String KEY = "https://cs.example.ac.kr/notice/1024";
+    private static final String TITLE = "2026학년도 1학기 수강신청 안내";
+    private static final String TEXT = "수강신청 기간: 2월 10일 ~ 2월 14일\n장바구니는 2월 3일부터";
+    private static final byte[] POSTER = "poster-png-bytes".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMETABLE = "timetable-pdf-bytes".getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> stored = new ArrayList<>();
+    private final List<String> released = new ArrayList<>();
+    private final List<Object[]> fingerprintUpdates = new ArrayList<>();
+    private final List<Notice> notified = new ArrayList<>();
+
+    private final FileStorageService storage = (FileStorageService) Proxy.newProxyInstance(
+            FileStorageService.class.getClassLoader(), new Class<?>[]{FileStorageService.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "store" -> {
+                    MultipartFile file = (MultipartFile) args[0];
+                    String path = args[1] + "/stored_" + file.getOriginalFilename();
+                    stored.add(path);
+                    yield new StoredFile(path, file.getSize(), sha256(file.getBytes()));
+                }
+                case "release" -> {
+                    released.add((String) args[0]);
+                    yield null;
+                }
+                // 기존 행에는 해시가 있으므로 디스크에서 다시 계산하면 안 됨
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final NoticeRepository repository = (NoticeRepository) Proxy.newProxyInstance(
+            NoticeRepository.class.getClassLoader(), new Class<?>[]{NoticeRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "updateFingerprint" -> {
+                    fingerprintUpdates.add(args);
+                    yield 1;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final NoticeSearchIndex searchIndex = new NoticeSearchIndex(repository, 1000);
+
+    private final NoticeService service = new NoticeService(repository, null, null, storage, null, null,
+            searchIndex, null, null);
+
+    private final User department = new User("컴퓨터공학과", "-", "cs@example.invalid", "컴퓨터공학과",
+            RoleType.STAFF, "컴퓨터공학과");
+
+    @Test
+    void renamedButIdenticalFilesAndReformattedTextAreSkippedWithoutNotification() throws IOException {
+        Notice existing = existingNotice(KEY, NoticeService.contentHashOf(TITLE, TEXT));
+
+        // 파일 이름/순서가 바뀌고, 본문은 CRLF + 줄 끝 공백만 다름
+        SchoolNoticeCreateDto dto = dto(KEY, TEXT.replace("\n", "  \r\n") + "\r\n");
+        NoticeService.Ingested result = ingest(existing, dto,
+                List.of(file("images", "poster (1).png", POSTER)),
+                List.of(file("attachments", "시간표_최종.pdf", TIMETABLE)));
+
+        assertEquals(SchoolNoticeIngestResult.Outcome.SKIPPED, result.outcome());
+        assertSame(existing, result.notice());
+        assertEquals(0, result.filesAdded());
+        assertEquals(0, result.filesRemoved());
+        assertEquals(2, result.filesKept());
+        assertEquals(List.of(), notified);
+        assertEquals(List.of(), stored);
+        assertEquals(List.of(), released);
+        assertEquals(List.of(), fingerprintUpdates);     // 키/해시가 이미 있으면 공지 행을 건드리지 않음
+        assertEquals("/files/notices/images/a1_poster.png", existing.getImages().get(0).getImageUrl());
+        assertEquals(TEXT, existing.getText());
+        assertNull(existing.getUpdatedAt());
+    }
+
+    @Test
+    void unchangedNoticeSavedBeforeFingerprintsOnlyGetsKeyAndHashFilled() throws IOException {
+        Notice existing = existingNotice(null, null);
+
+        NoticeService.Ingested result = ingest(existing, dto(KEY, TEXT),
+                List.of(file("images", "poster.png", POSTER)),
+                List.of(file("attachments", "timetable.pdf", TIMETABLE)));
+
+        assertEquals(SchoolNoticeIngestResult.Outcome.SKIPPED, result.outcome());
+        assertEquals(List.of(), notified);
+        assertEquals(1, fingerprintUpdates.size());
+        assertEquals(existing.getId(), fingerprintUpdates.get(0)[0]);
+        assertEquals(KEY, fingerprintUpdates.get(0)[1]);
+        assertEquals(NoticeService.contentHashOf(TITLE, TEXT), fingerprintUpdates.get(0)[2]);
+    }
+
+    @Test
+    void changedFileIsReplacedAloneAndNotifiesOnce() throws IOException {
+        Notice existing = existingNotice(KEY, NoticeService.contentHashOf(TITLE, TEXT));
+        byte[] revised = "timetable-pdf-bytes-v2".getBytes(StandardCharsets.UTF_8);
+
+        NoticeService.Ingested result = ingest(existing, dto(KEY, TEXT),
+                List.of(file("images", "poster.png", POSTER)),
+                List.of(file("attachments", "timetable.pdf", revised)));
+
+        assertEquals(SchoolNoticeIngestResult.Outcome.UPDATED, result.outcome());
+        assertEquals(1, result.filesAdded());
+        assertEquals(1, result.filesRemoved());
+        assertEquals(1, result.filesKept());
+        assertEquals(List.of(existing), notified);
+        assertEquals(List.of("notices/attachments/stored_timetable.pdf"), stored);
+        assertEquals(List.of("/files/notices/attachments/b2_timetable.pdf"), released);
+        assertEquals("/files/notices/images/a1_poster.png", existing.getImages().get(0).getImageUrl());
+        assertEquals(1, existing.getAttachments().size());
+        assertEquals(sha256(revised), existing.getAttachments().get(0).getContentSha256());
+    }
+
+    private NoticeService.Ingested ingest(Notice existing, SchoolNoticeCreateDto dto,
+                                          List<MultipartFile> images, List<MultipartFile> attachments) {
+        return service.ingestSchoolNotice(dto, department, existing,
+                NoticeService.fingerprint(images), NoticeService.fingerprint(attachments), notified::add);
+    }
+
+    private Notice existingNotice(String externalKey, String contentHash) throws IOException {
+        Notice n = new Notice();
+        n.setId(7L);
+        n.setTitle(TITLE);
+        n.setText(TEXT);
+        n.setDepartment(department.getDepartment());
+        n.setAuthor(department);
+        n.setNoticeType(NoticeType.SCHOOL);
+        n.setExternalKey(externalKey);
+        n.setContentHash(contentHash);
+        n.setCreatedAt(LocalDateTime.of(2026, 1, 30, 10, 0));
+
+        NoticeImage img = new NoticeImage();
+        img.setImageUrl("/files/notices/images/a1_poster.png");
+        img.setContentSha256(sha256(POSTER));
+        img.setNotice(n);
+        n.getImages().add(img);
+
+        Attachment att = new Attachment();
+        att.setFileUrl("/files/notices/attachments/b2_timetable.pdf");
+        att.setContentSha256(sha256(TIMETABLE));
+        att.setNotice(n);
+        n.getAttachments().add(att);
+        return n;
+    }
+
+    private static SchoolNoticeCreateDto dto(String externalKey, String text) {
+        SchoolNoticeCreateDto dto = new SchoolNoticeCreateDto();
+        dto.setTitle(TITLE);
+        dto.setText(text);
+        dto.setDepartment("컴퓨터공학과");
+        dto.setExternalKey(externalKey);
+        dto.setOriginalCreatedAt(LocalDateTime.of(2026, 1, 30, 10, 0));
+        return dto;
+    }
+
+    private static MultipartFile file(String field, String name, byte[] content) {
+        return new MockMultipartFile(field, name, "application/octet-stream", content);
+    }
+
+    private static String sha256(byte[] content) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(content)) {
+            return StreamingFileWriter.sha256(in);
+        }
+    }
+}
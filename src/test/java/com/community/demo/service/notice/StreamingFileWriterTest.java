@@ -0,0 +1,129 @@
+package com.community.demo.service.notice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * StreamingFileWriter 저장 결과 + 업로드 저장 방식별 힙 할당량 비교.
+ * 할당량은 현재 스레드가 할당한 바이트 수(HotSpot ThreadMXBean)로 재므로 GC 시점과 무관하게 안정적임
+ */
+class StreamingFileWriterTest {
+
+    private static final long UPLOAD_BYTES = 32L * 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesContentAndSha256WithoutLeavingTempFiles() throws Exception {
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 31);
+        Path target = dir.resolve("a/b/file.bin");
+
+        StreamingFileWriter.Written w = StreamingFileWriter.write(new ByteArrayInputStream(data), target);
+
+        assertEquals(target, w.path());
+        assertEquals(data.length, w.size());
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)), w.sha256());
+        assertEquals(w.sha256(), StreamingFileWriter.sha256(new ByteArrayInputStream(data)));
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void neverOverwritesExistingTarget() throws Exception {
+        Path target = dir.resolve("file.txt");
+        Files.writeString(target, "original");
+
+        assertThrows(FileAlreadyExistsException.class,
+                () -> StreamingFileWriter.write(new ByteArrayInputStream(new byte[]{1, 2, 3}), target));
+
+        assertEquals("original", Files.readString(target));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());                 // 임시 파일 정리됨
+        }
+    }
+
+    @Test
+    void streamingAllocatesFarLessHeapThanBuffering() throws Exception {
+        com.sun.management.ThreadMXBean threads = hotspotThreads();
+        assumeTrue(threads != null && threads.isThreadAllocatedMemoryEnabled());
+
+        long streaming = allocatedBy(threads, () ->
+                StreamingFileWriter.write(new SyntheticInputStream(UPLOAD_BYTES), dir.resolve("streaming.bin")));
+        // 기존 방식 재현: getBytes() 로 전체를 읽어 저장하고, 전송용으로 한 번 더 복사
+        long buffered = allocatedBy(threads, () -> {
+            byte[] stored = new SyntheticInputStream(UPLOAD_BYTES).readAllBytes();
+            Files.write(dir.resolve("buffered.bin"), stored);
+            byte[] forwarded = stored.clone();
+            assertEquals(stored.length, forwarded.length);
+        });
+
+        assertEquals(UPLOAD_BYTES, Files.size(dir.resolve("streaming.bin")));
+        assertTrue(buffered >= 2 * UPLOAD_BYTES, "buffered=" + buffered);
+        assertTrue(streaming < UPLOAD_BYTES / 8, "streaming=" + streaming);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static long allocatedBy(com.sun.management.ThreadMXBean threads, IoAction action) throws IOException {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static com.sun.management.ThreadMXBean hotspotThreads() {
+        return (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t) ? t : null;
+    }
+
+    // 지정한 길이만큼 바이트를 만들어 내는 스트림 (테스트 데이터 자체가 힙을 차지하지 않도록)
+    private static final class SyntheticInputStream extends InputStream {
+        private long remaining;
+        private int seed = 0x9E3779B9;
+
+        SyntheticInputStream(long length) {
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) return -1;
+            remaining--;
+            return next() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) return -1;
+            int n = (int) Math.min(len, remaining);
+            for (int i = 0; i < n; i++) b[off + i] = (byte) next();
+            remaining -= n;
+            return n;
+        }
+
+        private int next() {
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            return seed;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 리더보드 동시 부하 테스트 (DB 없이, DB 와 연결되지 않은 EnrollLeaderboard).
+ * 가상 사용자 FINISHERS 명이 ATTEMPTS 번씩 동시에 기록을 내고, 매번 finish 응답과 같은 "X% 보다 빠름" 조회,
+ * 20번에 1번은 상위 10명 조회를 함께 수행. 끝나면 전체 정렬로 구한 순위/상위 순서와 비교
+ */
+class EnrollLeaderboardLoadTest {
+
+    private static final int FINISHERS = 10_000;
+    private static final int ATTEMPTS = 3;
+    private static final int THREADS = 64;
+    private static final int DEPARTMENTS = 12;
+
+    @Test
+    void concurrentFinishersKeepBoardsConsistent() throws Exception {
+        int ops = FINISHERS * ATTEMPTS;
+        EnrollLeaderboard board = EnrollLeaderboard.detached();
+        long[] latencyNanos = new long[ops];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        long elapsed;
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int i = next.getAndIncrement(); i < ops; i = next.getAndIncrement()) {
+                        long userId = i % FINISHERS + 1;
+                        long ms = Math.min(Math.max(Math.round(7_000 + rnd.nextGaussian() * 2_500), 300),
+                                EnrollTimerService.MAX_DURATION_MS);
+                        EnrollMode mode = (userId % 2 == 0) ? EnrollMode.BASIC : EnrollMode.CART;
+                        long s = System.nanoTime();
+                        board.apply(mode, new EnrollLeaderboard.Entry(userId, "load-" + userId,
+                                "dept-" + (userId % DEPARTMENTS), ms, System.currentTimeMillis()));
+                        board.fasterThanPercent(mode, userId, ms);
+                        if (i % 20 == 0) board.top(mode, false, null, 10);
+                        latencyNanos[i] = System.nanoTime() - s;
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            long t0 = System.nanoTime();
+            go.countDown();
+            for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+            elapsed = System.nanoTime() - t0;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(FINISHERS, board.totalUsers(EnrollMode.BASIC, false, null)
+                + board.totalUsers(EnrollMode.CART, false, null));
+        for (EnrollMode mode : EnrollMode.values()) assertEquals(0, mismatches(board, mode), mode.name());
+
+        Arrays.sort(latencyNanos);
+        System.out.printf("leaderboard: %d ops, %.1f finishes/s, p50 %dus, p99 %dus, max %dus%n",
+                ops, ops * 1e9 / elapsed, latencyNanos[ops / 2] / 1_000,
+                latencyNanos[(int) (ops * 0.99)] / 1_000, latencyNanos[ops - 1] / 1_000);
+    }
+
+    // 전체 보드를 전체 정렬 결과와 비교 (순위: 더 빠른 10ms 구간 사용자 수 + 1, 순서: 기록 → 달성 시각 → 사용자 id)
+    private static long mismatches(EnrollLeaderboard board, EnrollMode mode) {
+        List<EnrollLeaderboard.Standing> all = board.top(mode, false, null, Integer.MAX_VALUE);
+        List<EnrollLeaderboard.Entry> sorted = new ArrayList<>(all.size());
+        all.forEach(s -> sorted.add(s.entry()));
+        sorted.sort(Comparator.comparingLong(EnrollLeaderboard.Entry::durationMs)
+                .thenComparingLong(EnrollLeaderboard.Entry::finishedAtMs)
+                .thenComparingLong(EnrollLeaderboard.Entry::userId));
+        long mismatches = (all.size() == board.totalUsers(mode, false, null)) ? 0 : 1;
+
+        long faster = 0;
+        int prevBucket = -1;
+        for (int i = 0; i < sorted.size(); i++) {
+            int bucket = EnrollStatsEngine.bucketOf(sorted.get(i).durationMs());
+            if (bucket != prevBucket) {
+                faster = i;
+                prevBucket = bucket;
+            }
+            EnrollLeaderboard.Standing s = all.get(i);
+            if (!s.entry().equals(sorted.get(i)) || s.rank() != faster + 1) mismatches++;
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,107 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import com.community.demo.dto.enroll.EnrollBestRow;
+import com.community.demo.repository.EnrollRecordRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * EnrollLeaderboard.rebuild 의 기준 id 처리 (DB 없이).
+ * enroll_records 는 id 가 붙은 행 목록으로 흉내 내고, 조회 도중 writer 가 반영한 기록은 조회 쿼리 안에서 apply 로 재현
+ */
+class EnrollLeaderboardRebuildTest {
+
+    private static final EnrollMode MODE = EnrollMode.BASIC;
+    private static final long DAY_AGO = Instant.now().minusSeconds(2 * 24 * 3600).toEpochMilli();
+
+    private record Row(long id, EnrollLeaderboard.Entry entry) {
+    }
+
+    private final List<Row> table = new ArrayList<>();
+    private Runnable duringQuery = () -> {
+    };
+
+    // 리더보드가 쓰는 조회 3개만 구현 (나머지 메서드는 호출되지 않음)
+    private final EnrollRecordRepository repository = (EnrollRecordRepository) Proxy.newProxyInstance(
+            EnrollRecordRepository.class.getClassLoader(), new Class<?>[]{EnrollRecordRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findMaxId" -> table.stream().mapToLong(Row::id).max().orElse(0);
+                case "findBestRowsPerUserAndMode" -> {
+                    duringQuery.run();
+                    yield bestRows((Long) args[0]);
+                }
+                case "findRowsFinishedSince" -> List.of();
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final EnrollLeaderboard board = new EnrollLeaderboard(repository, new EnrollRecordWriteBehind(
+            null, null, event -> {
+    }, 1, 1, 0, 0, 1));
+
+    @Test
+    void rebuildDropsDeletedRecordsAndKeepsRecordsWrittenMeanwhile() {
+        insert(1, entry(1, 5_000));
+        insert(2, entry(2, 6_000));
+        board.rebuild();
+        assertEquals(2, board.totalUsers(MODE, false, null));
+
+        // 사용자 2 탈퇴로 기록 삭제 → 재적재 후 보드에 남으면 안 됨
+        table.removeIf(r -> r.entry().userId() == 2);
+        // 재적재 조회 도중 사용자 3 기록 저장(커밋) + 발행
+        duringQuery = () -> {
+            EnrollLeaderboard.Entry late = entry(3, 4_000);
+            insert(3, late);
+            board.apply(MODE, late);
+        };
+        board.rebuild();
+
+        List<EnrollLeaderboard.Standing> top = board.top(MODE, false, null, 10);
+        assertEquals(List.of(3L, 1L), top.stream().map(s -> s.entry().userId()).toList());
+        assertEquals(1, top.get(0).rank());
+        assertEquals(2, board.totalUsers(MODE, false, null));
+    }
+
+    @Test
+    void rankAmongUsersComparesWithOtherUsersBestRecords() {
+        insert(1, entry(1, 5_000));
+        insert(2, entry(2, 6_000));
+        insert(3, entry(3, 7_000));
+        board.rebuild();
+
+        // 사용자 3의 최근 기록 6.5초: 사용자 1, 2 의 최고 기록보다 느림 → 3명 중 3등
+        EnrollLeaderboard.Rank r = board.rankAmongUsers(MODE, 3, 6_500);
+        assertEquals(3, r.rank());
+        assertEquals(3, r.totalUsers());
+        // 사용자 1의 최근 기록이 자기 최고 기록보다 느려도 자기 자신과는 비교하지 않음
+        r = board.rankAmongUsers(MODE, 1, 5_500);
+        assertEquals(1, r.rank());
+        // 기록이 없는 사용자: 나를 더해 4명
+        r = board.rankAmongUsers(MODE, 9, 6_000);
+        assertEquals(2, r.rank());
+        assertEquals(4, r.totalUsers());
+        assertEquals(50.0, r.topPercent());
+    }
+
+    private void insert(long id, EnrollLeaderboard.Entry e) {
+        table.add(new Row(id, e));
+    }
+
+    private List<EnrollBestRow> bestRows(long maxId) {
+        return table.stream()
+                .filter(r -> r.id() <= maxId)
+                .map(r -> new EnrollBestRow(MODE, r.entry().userId(), r.entry().username(), r.entry().department(),
+                        r.entry().durationMs(), Instant.ofEpochMilli(r.entry().finishedAtMs())))
+                .toList();
+    }
+
+    private static EnrollLeaderboard.Entry entry(long userId, long ms) {
+        return new EnrollLeaderboard.Entry(userId, "user-" + userId, "dept", ms, DAY_AGO + userId);
+    }
+}
@@ -0,0 +1,158 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import com.community.demo.domain.user.EnrollRecord;
+import com.community.demo.domain.user.RecentRing;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.repository.EnrollRecordRepository;
+import com.community.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 타이머 기록 저장 처리량 비교 (DB 필요, -Dbenchmark=true 일 때만 실행). 테스트용 사용자 1명에 COUNT 건씩:
+ * - before : 기록 1건 = 트랜잭션 1개 (IDENTITY INSERT + 사용자 조회 + 최근 5개 원형 버퍼 행 잠금/갱신)
+ * - after  : EnrollRecordWriteBehind 큐에 넣기 → 배치 저장이 모두 끝날 때까지
+ * writer 는 애플리케이션 빈이 아닌 별도 인스턴스(발행 없음)라 통계/리더보드에 섞이지 않음.
+ * 정리는 writer 를 종료해 큐를 비운 뒤에만 하므로 나중에 저장되는 기록이 남지 않음
+ */
+@SpringBootTest
+@ImportAutoConfiguration(exclude = {
+        org.springdoc.core.configuration.SpringDocConfiguration.class
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EnrollRecordWriteBehindBenchmarkTest {
+
+    private static final int COUNT = 2000;
+    private static final int THREADS = 8;
+    private static final Instant BASE = Instant.now().minusSeconds(3600);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EnrollRecordRepository recordRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private long userId;
+
+    @BeforeEach
+    void createUser() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        userId = userRepository.save(new User("bench-" + tag, "-", "bench-" + tag + "@example.invalid",
+                "bench-" + tag, RoleType.STUDENT, "bench")).getId();
+    }
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("delete from enroll_records where user_id = ?", userId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void writeBehindPersistsFasterThanPerFinishTransactions() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger beforeErrors = new AtomicInteger();
+        long beforeNanos = runConcurrently(i -> {
+            try {
+                tx.executeWithoutResult(status -> {
+                    EnrollRecord rec = new EnrollRecord();
+                    rec.setUser(userRepository.getReferenceById(userId));
+                    rec.setMode(modeOf(i));
+                    rec.setStartedAt(startedAtOf(i));
+                    rec.setFinishedAt(startedAtOf(i).plusMillis(durationOf(i)));
+                    rec.setDurationMs(durationOf(i));
+                    recordRepository.save(rec);
+
+                    userRepository.findById(userId).orElseThrow();
+                    String column = (modeOf(i) == EnrollMode.BASIC) ? "recent_basic_ring" : "recent_cart_ring";
+                    byte[] ring = jdbcTemplate.queryForObject(
+                            "select " + column + " from users where id = ? for update", byte[].class, userId);
+                    jdbcTemplate.update("update users set " + column + " = ? where id = ?",
+                            RecentRing.push(ring, durationOf(i)), userId);
+                });
+            } catch (RuntimeException e) {
+                beforeErrors.incrementAndGet();            // 같은 사용자 행 경합으로 인한 교착 등
+            }
+        });
+
+        EnrollRecordWriteBehind writer = new EnrollRecordWriteBehind(jdbcTemplate, transactionManager, event -> {
+        }, 10_000, 500, 50, 100, 10);
+        writer.startWriter();
+        long t0 = System.nanoTime();
+        long acceptNanos = runConcurrently(i -> writer.enqueue(new EnrollRecordWriteBehind.Finish(
+                userId, modeOf(i), startedAtOf(i), startedAtOf(i).plusMillis(durationOf(i)), durationOf(i))));
+        boolean drained = writer.awaitDrained(60_000);
+        long afterNanos = System.nanoTime() - t0;
+        writer.shutdown();
+
+        assertTrue(drained, "write-behind did not drain within 60s");
+        Long rows = jdbcTemplate.queryForObject(
+                "select count(*) from enroll_records where user_id = ?", Long.class, userId);
+        assertEquals(2L * COUNT - beforeErrors.get(), rows);
+
+        System.out.printf("before: %.1f finishes/s (%d errors)%n", perSec(beforeNanos), beforeErrors.get());
+        System.out.printf("after : %.1f accepted/s, %.1f persisted/s%n", perSec(acceptNanos), perSec(afterNanos));
+        System.out.println("writer: " + writer.stats());
+    }
+
+    private long runConcurrently(IntConsumer task) throws InterruptedException, ExecutionException {
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    for (int i = next.getAndIncrement(); i < COUNT; i = next.getAndIncrement()) task.accept(i);
+                    return null;
+                }));
+            }
+            long t0 = System.nanoTime();
+            go.countDown();
+            for (Future<?> f : futures) f.get();
+            return System.nanoTime() - t0;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static EnrollMode modeOf(int i) {
+        return (i % 2 == 0) ? EnrollMode.BASIC : EnrollMode.CART;
+    }
+
+    private static Instant startedAtOf(int i) {
+        return BASE.plusMillis(i);
+    }
+
+    private static long durationOf(int i) {
+        return 3_000 + (i * 37L) % 9_000;
+    }
+
+    private static double perSec(long nanos) {
+        return nanos > 0 ? COUNT * 1e9 / nanos : 0;
+    }
+}
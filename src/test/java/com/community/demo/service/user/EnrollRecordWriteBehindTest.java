@@ -0,0 +1,141 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EnrollRecordWriteBehind 저장 실패 처리 (DB 없이).
+ * JdbcTemplate 은 저장된 기록을 목록에 쌓는 가짜로, 특정 durationMs 기록이 낀 INSERT 배치는 실패시키고 down 이면 모든 호출이 실패.
+ * 배치 재시도는 1초 간격이라 테스트 1개에 몇 초 걸림
+ */
+class EnrollRecordWriteBehindTest {
+
+    private static final long POISON_MS = 13_013;
+
+    private final List<Long> inserted = new CopyOnWriteArrayList<>();
+    private final List<EnrollRecordWriteBehind.Written> published = new CopyOnWriteArrayList<>();
+    private volatile boolean down;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            checkUp();
+            return requiredType.cast(1);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            checkUp();
+            try {
+                for (Object id : args) rch.processRow(user((Long) id));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            checkUp();
+            for (T f : batchArgs) {
+                if (((EnrollRecordWriteBehind.Finish) f).durationMs() == POISON_MS) {
+                    throw new DataIntegrityViolationException("Data truncation: Out of range value for column 'duration_ms'");
+                }
+            }
+            for (T f : batchArgs) inserted.add(((EnrollRecordWriteBehind.Finish) f).durationMs());
+            return new int[][]{new int[batchArgs.size()]};
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            checkUp();
+            return new int[batchArgs.size()];
+        }
+
+        private void checkUp() {
+            if (down) throw new DataAccessResourceFailureException("Communications link failure");
+        }
+    };
+
+    // 트랜잭션 없이 콜백만 실행
+    private final PlatformTransactionManager transactionManager = (PlatformTransactionManager) Proxy.newProxyInstance(
+            PlatformTransactionManager.class.getClassLoader(), new Class<?>[]{PlatformTransactionManager.class},
+            (proxy, method, args) -> method.getName().equals("getTransaction") ? new SimpleTransactionStatus() : null);
+
+    private final EnrollRecordWriteBehind writeBehind = new EnrollRecordWriteBehind(jdbcTemplate, transactionManager,
+            event -> published.addAll(((EnrollRecordWriteBehind.BatchWritten) event).records()), 100, 100, 200, 100, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void recordThatKeepsFailingIsDroppedAloneAndTheRestAreWritten() throws InterruptedException {
+        List<Long> durations = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) durations.add(i == 7 ? POISON_MS : i * 1_000);
+
+        writeBehind.startWriter();
+        for (long ms : durations) writeBehind.enqueue(finish(ms));
+        assertTrue(writeBehind.awaitDrained(10_000), "not drained: " + writeBehind.stats());
+
+        List<Long> expected = durations.stream().filter(ms -> ms != POISON_MS).toList();
+        assertEquals(expected, inserted);                           // 순서 그대로, 한 번씩만
+        assertEquals(expected, published.stream().map(EnrollRecordWriteBehind.Written::durationMs).toList());
+        Map<String, Object> stats = writeBehind.stats();
+        assertEquals(1L, stats.get("dropped"));
+        assertEquals(9L, stats.get("written"));
+        assertEquals(0, stats.get("queued"));
+    }
+
+    @Test
+    void nothingIsDroppedWhileTheDatabaseIsDown() throws InterruptedException {
+        down = true;
+        writeBehind.startWriter();
+        for (long i = 1; i <= 5; i++) writeBehind.enqueue(finish(i * 1_000));
+
+        // 나눠 저장하는 단계까지 가도록 기다림 (1초 간격 3번 실패)
+        assertFalse(writeBehind.awaitDrained(3_500));
+        assertEquals(0L, writeBehind.stats().get("dropped"));
+        assertEquals(List.of(), inserted);
+
+        down = false;
+        assertTrue(writeBehind.awaitDrained(5_000), "not drained: " + writeBehind.stats());
+        assertEquals(List.of(1_000L, 2_000L, 3_000L, 4_000L, 5_000L), inserted);
+        assertEquals(0L, writeBehind.stats().get("dropped"));
+    }
+
+    private static EnrollRecordWriteBehind.Finish finish(long durationMs) {
+        Instant finishedAt = Instant.now();
+        return new EnrollRecordWriteBehind.Finish(1L, EnrollMode.BASIC, finishedAt.minusMillis(durationMs), finishedAt,
+                durationMs);
+    }
+
+    private static ResultSet user(long id) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName() + ":" + args[0]) {
+                    case "getLong:id" -> id;
+                    case "getString:username" -> "user-" + id;
+                    case "getString:department" -> "dept";
+                    case "getBytes:recent_basic_ring", "getBytes:recent_cart_ring" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
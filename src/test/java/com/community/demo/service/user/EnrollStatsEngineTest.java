@@ -0,0 +1,176 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.EnrollMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EnrollStatsEngine 분포 요약과 재조정 (DB 없이).
+ * enroll_records 는 id 가 붙은 행 목록으로 흉내 내고, 적재 쿼리(모드, 버킷 group by)는 같은 집계를 자바로 계산해 ResultSet 으로 넘김.
+ * 조회 도중 writer 가 저장+발행한 기록은 적재 쿼리 안에서 onWritten 으로 재현
+ */
+class EnrollStatsEngineTest {
+
+    private static final EnrollMode MODE = EnrollMode.BASIC;
+
+    private record Row(long id, EnrollMode mode, long durationMs) {
+    }
+
+    private final List<Row> table = new ArrayList<>();
+    private Runnable duringLoad = () -> {
+    };
+
+    // 엔진이 쓰는 조회 2개만 구현 (최대 id, 적재 집계)
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast(table.stream().mapToLong(Row::id).max().orElse(0));
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            duringLoad.run();
+            long bucketMs = (Long) args[0];
+            int lastBucket = (Integer) args[1];
+            long highWater = (Long) args[2];
+            // select mode, least(floor(duration_ms / ?), ?) as bucket, count(*), sum(duration_ms) ... where id <= ?
+            Map<List<Object>, long[]> groups = new LinkedHashMap<>();
+            for (Row r : table) {
+                if (r.id() > highWater) continue;
+                long[] g = groups.computeIfAbsent(List.of(r.mode().name(), (int) Math.min(r.durationMs() / bucketMs, lastBucket)),
+                        k -> new long[2]);
+                g[0]++;
+                g[1] += r.durationMs();
+            }
+            try {
+                for (Map.Entry<List<Object>, long[]> e : groups.entrySet()) {
+                    rch.processRow(row(Map.of("mode", e.getKey().get(0), "bucket", e.getKey().get(1),
+                            "cnt", e.getValue()[0], "total", e.getValue()[1])));
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    };
+
+    private final EnrollStatsEngine engine = new EnrollStatsEngine(jdbcTemplate, new EnrollRecordWriteBehind(
+            null, null, event -> {
+    }, 1, 1, 0, 0, 1), 0);
+
+    @Test
+    void quantilesStayWithinOneBucketOfTheExactValue() {
+        Random rnd = new Random(42);
+        List<Long> durations = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // 대부분 2~8초, 일부 느린 기록
+            long ms = i % 10 == 0 ? 8_000 + rnd.nextInt(20_000) : 2_000 + rnd.nextInt(6_000);
+            durations.add(ms);
+        }
+        write(durations);
+
+        EnrollStatsEngine.Summary s = engine.summary(MODE);
+        List<Long> sorted = durations.stream().sorted().toList();
+        assertEquals(durations.size(), s.count());
+        assertEquals(durations.stream().mapToLong(Long::longValue).average().orElseThrow(), s.averageMs(), 1e-9);
+        assertWithinBucket(exact(sorted, 0.5), s.medianMs());
+        assertWithinBucket(exact(sorted, 0.9), s.p90Ms());
+        assertEquals(durations.size(), Arrays.stream(s.secondBins()).sum());
+        assertEquals(sorted.stream().filter(ms -> ms >= 3_000 && ms < 4_000).count(), s.secondBins()[3]);
+
+        // 다른 모드에는 섞이지 않음
+        assertEquals(0, engine.summary(EnrollMode.CART).count());
+        assertNull(engine.summary(EnrollMode.CART).medianMs());
+        assertNull(engine.average(EnrollMode.CART));
+    }
+
+    @Test
+    void smallAndOutOfRangeDurationsLandInEdgeBuckets() {
+        write(List.of(4L, 7L, 31_000L, 45_000L));
+
+        EnrollStatsEngine.Summary s = engine.summary(MODE);
+        assertEquals(Long.valueOf(5L), s.medianMs());                                         // 0~10ms 버킷 중앙
+        assertEquals(Long.valueOf(EnrollTimerService.MAX_DURATION_MS), s.p90Ms());            // 30초 이상은 마지막 버킷
+        assertEquals(2, s.secondBins()[s.secondBins().length - 1]);
+        assertEquals((4 + 7 + 31_000 + 45_000) / 4.0, s.averageMs(), 1e-9);                   // 평균은 실제 값 그대로
+    }
+
+    @Test
+    void reconcileKeepsRecordsWrittenDuringLoadAndDropsDeletedOnes() {
+        insert(1, 5_000);
+        insert(2, 6_000);
+        insert(3, 7_000);
+        engine.reconcile();
+        assertEquals(3, engine.summary(MODE).count());
+        assertEquals(Long.valueOf(6_005L), engine.summary(MODE).medianMs());
+
+        // 사용자 탈퇴로 기록 1건 삭제 + 적재 조회 도중 새 기록 2건 저장(커밋) + 발행
+        table.removeIf(r -> r.id() == 3);
+        duringLoad = () -> {
+            insert(4, 4_000);
+            insert(5, 9_000);
+            engine.onWritten(new EnrollRecordWriteBehind.BatchWritten(List.of(written(4_000), written(9_000))));
+        };
+        Map<String, Object> result = engine.reconcile();
+
+        // 기준 id(2) 이하는 조회에서, 이후(4, 5)는 모아 둔 것에서 한 번씩만
+        assertEquals(2L, result.get("highWaterId"));
+        EnrollStatsEngine.Summary s = engine.summary(MODE);
+        assertEquals(4, s.count());
+        assertEquals((5_000 + 6_000 + 4_000 + 9_000) / 4.0, s.averageMs(), 1e-9);
+        // 메모리(3 + 2 = 5건)와 DB(4건) 차이
+        assertEquals(1L, result.get("drift"));
+
+        // 다음 재조정에서는 차이 없음, 이후 반영분은 새 통계에 그대로 쌓임
+        duringLoad = () -> {
+        };
+        assertEquals(0L, engine.reconcile().get("drift"));
+        insert(6, 3_000);
+        engine.onWritten(new EnrollRecordWriteBehind.BatchWritten(List.of(written(3_000))));
+        assertEquals(5, engine.summary(MODE).count());
+        assertEquals(0L, engine.reconcile().get("drift"));
+    }
+
+    private void write(List<Long> durations) {
+        List<EnrollRecordWriteBehind.Written> batch = new ArrayList<>();
+        for (long ms : durations) batch.add(written(ms));
+        engine.onWritten(new EnrollRecordWriteBehind.BatchWritten(batch));
+    }
+
+    private void insert(long id, long durationMs) {
+        table.add(new Row(id, MODE, durationMs));
+    }
+
+    private static EnrollRecordWriteBehind.Written written(long durationMs) {
+        return new EnrollRecordWriteBehind.Written(1, "user-1", "dept", MODE, durationMs, Instant.now());
+    }
+
+    // 엔진과 같은 정의: 누적 개수가 ceil(q * n) 에 처음 닿는 값
+    private static long exact(List<Long> sorted, double q) {
+        return sorted.get((int) Math.ceil(q * sorted.size()) - 1);
+    }
+
+    private static void assertWithinBucket(long expected, Long actual) {
+        assertNotNull(actual);
+        assertTrue(Math.abs(expected - actual) <= EnrollStatsEngine.BUCKET_MS / 2,
+                () -> "expected ~" + expected + " but was " + actual);
+    }
+
+    private static ResultSet row(Map<String, Object> columns) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getString" -> (String) columns.get((String) args[0]);
+                    case "getInt" -> ((Number) columns.get((String) args[0])).intValue();
+                    case "getLong" -> ((Number) columns.get((String) args[0])).longValue();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
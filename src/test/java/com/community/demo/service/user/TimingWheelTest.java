@@ -0,0 +1,116 @@
+package com.community.demo.service.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimingWheel 만료 시점/단계 간 재배치와 타이머 세션 만료의 토큰 확인 (Spring 컨텍스트 없이).
+ * 휠은 시각을 인자로 받으므로 실제로 기다리지 않음. 작은 휠(10ms x 8칸 x 3단계 = 5.12초)로 단계 경계를 자주 넘게 함
+ */
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void itemIsDueAtItsTickAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 8, 3, 0);
+        wheel.schedule("a", 25);        // tick 3
+        wheel.schedule("b", 30);        // tick 3
+        wheel.schedule("c", 5);         // tick 1
+
+        assertEquals(List.of(), wheel.advance(9));
+        assertEquals(List.of("c"), wheel.advance(29));
+        assertEquals(Set.of("a", "b"), new HashSet<>(wheel.advance(30)));
+        assertEquals(0, wheel.size());
+        assertEquals(List.of(), wheel.advance(1_000));
+    }
+
+    @Test
+    void pastDeadlineIsDueOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 8, 3, 1_000);
+        wheel.schedule("late", 900);
+
+        assertEquals(List.of(), wheel.advance(1_009));
+        assertEquals(List.of("late"), wheel.advance(1_010));
+    }
+
+    @Test
+    void cascadedItemsExpireInTheAdvanceThatReachesTheirDeadline() {
+        long start = 123_457;
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, 8, 3, start);
+        assertEquals(5_120, wheel.rangeMs());
+
+        // 0단계 ~ 최상위 단계, 범위 밖(최상위에 걸려 여러 번 다시 배치)까지 섞어 등록
+        Random rnd = new Random(7);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long d = start + rnd.nextInt(3 * 5_120);
+            deadlines.put(i, d);
+            wheel.schedule(i, d);
+        }
+        assertEquals(2_000, wheel.size());
+
+        // 불규칙한 간격으로 진행: 각 항목은 now 가 만료 tick 에 처음 닿은 advance 에서 한 번만 나와야 함
+        Set<Integer> seen = new HashSet<>();
+        long prev = start;
+        while (seen.size() < deadlines.size()) {
+            long now = prev + 1 + rnd.nextInt(200);
+            for (int item : wheel.advance(now)) {
+                long dueTick = Math.floorDiv(deadlines.get(item) + TICK_MS - 1, TICK_MS);
+                assertTrue(dueTick <= now / TICK_MS, "too early: " + item);
+                assertTrue(dueTick > prev / TICK_MS, "too late: " + item);
+                assertTrue(seen.add(item), "twice: " + item);
+            }
+            assertTrue(now - start < 4 * 5_120, "items left in wheel: " + wheel.size());
+            prev = now;
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void itemFarBeyondRangeWaitsForItsDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 8, 3, 0);
+        long deadline = 10 * wheel.rangeMs() + 5;
+        wheel.schedule("far", deadline);
+
+        for (long now = 100; now < deadline; now += 100) {
+            assertEquals(List.of(), wheel.advance(now));
+        }
+        assertEquals(List.of(), wheel.advance(deadline + 4));       // 만료 tick 직전
+        assertEquals(List.of("far"), wheel.advance(deadline + 5));
+    }
+
+    @Test
+    void expiryOfRestartedSessionDoesNotRemoveTheNewSession() {
+        List<Long> tokens = new ArrayList<>();
+        InMemoryEnrollTimerSessionStore store = new InMemoryEnrollTimerSessionStore(100) {
+            @Override
+            protected void save(long userId, long token, Instant startedAt, long startNanos, long expiresAtMs) {
+                tokens.add(token);
+                super.save(userId, token, startedAt, startNanos, expiresAtMs);
+            }
+        };
+        try {
+            store.start(1L);
+            store.start(1L);            // 다시 시작: 첫 세션 덮어씀, 첫 만료 예약은 휠에 그대로 남음
+            store.start(2L);
+            assertEquals(3, store.stats().get("scheduledExpiries"));
+
+            // 첫 세션의 만료 예약 도착 → 토큰이 달라 무시
+            assertEquals(0, store.expire(List.of(new SweepingEnrollTimerSessionStore.Pending(1L, tokens.get(0)))));
+            assertEquals(2L, store.stats().get("active"));
+
+            // 현재 세션의 만료 예약은 지움, 다른 사용자 세션은 그대로
+            assertEquals(1, store.expire(List.of(new SweepingEnrollTimerSessionStore.Pending(1L, tokens.get(1)))));
+            assertTrue(store.finish(1L).isEmpty());
+            assertTrue(store.finish(2L).isPresent());
+            assertEquals(1L, store.stats().get("finished"));
+        } finally {
+            store.shutdown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.community.demo.service.user;
+
+import com.community.demo.domain.user.RecentRing;
+import com.community.demo.domain.user.RoleType;
+import com.community.demo.domain.user.User;
+import com.community.demo.repository.UserRepository;
+import com.community.demo.support.QueryCountTest;
+import com.community.demo.support.StatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 사용자 조회 경로별 SQL 수와 영속성 컨텍스트에 올라오는 엔티티/컬렉션 수.
+ * 최근 기록이 EAGER 컬렉션(user_recent_basic/cart)이던 때는 사용자 엔티티 1건마다 컬렉션 조회 2회가 더 나갔음
+ * (학과 학생 N명 조회 = 1 + 2N회) → 이제는 몇 명이든 users 1회, 원형 버퍼는 같은 행에 실려 옴.
+ * JWT 필터는 엔티티 없이 principal 프로젝션 1회
+ */
+@QueryCountTest
+class UserLoadProfileTest {
+
+    private static final String DEPARTMENT = "기계공학과";
+    private static final int STUDENTS = 30;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate tx;
+    private User staff;
+    private final List<User> students = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        // 학과 사무실 1명 + 최근 기록이 쌓인 학생들 (학생마다 기록 수가 달라 원형 버퍼 내용도 다름)
+        staff = userRepository.save(new User("기계 조교", "-", "me-office@users.test", "me-office",
+                RoleType.STAFF, DEPARTMENT));
+        for (int i = 0; i < STUDENTS; i++) {
+            User s = userRepository.save(new User("기계 " + i, "-", "me-" + i + "@users.test", "2025" + (1000 + i),
+                    RoleType.STUDENT, DEPARTMENT));
+            byte[] basic = null;
+            for (int k = 0; k <= i % RecentRing.SLOTS; k++) basic = RecentRing.push(basic, 4_000 + i * 10L + k);
+            jdbcTemplate.update("update users set recent_basic_ring = ? where id = ?", basic, s.getId());
+            students.add(s);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(students);
+        userRepository.deleteById(staff.getId());
+    }
+
+    @Test
+    void jwtPrincipalLookupIsOneQueryWithoutEntity() {
+        Load d = measure(() -> userRepository.findAuthPrincipalById(students.get(0).getId()).stream().toList());
+        assertEquals(1, d.rows());
+        assertEquals(1, d.statements(), d::sqlText);
+        assertEquals(0, d.entities());
+    }
+
+    @Test
+    void entityLookupsLoadRecentRingsWithoutCollectionQueries() {
+        User student = students.get(RecentRing.SLOTS - 1);
+        Load byId = measure(() -> userRepository.findById(student.getId()).stream().toList());
+        assertEquals(1, byId.statements(), byId::sqlText);
+        assertEquals(1, byId.entities());
+        assertEquals(0, byId.collections());
+
+        Load byEmail = measure(() -> userRepository.findByEmail(student.getEmail()).stream().toList());
+        assertEquals(1, byEmail.statements(), byEmail::sqlText);
+        assertEquals(0, byEmail.collections());
+
+        User loaded = tx.execute(status -> userRepository.findById(student.getId()).orElseThrow());
+        assertEquals(RecentRing.SLOTS, RecentRing.newestFirst(loaded.getRecentBasicRing()).length);
+        assertNull(loaded.getRecentCartRing());
+    }
+
+    @Test
+    void departmentStudentsIsOneQueryForAllUsers() {
+        Load d = measure(() -> userRepository.findByDepartmentAndRoleType(DEPARTMENT, RoleType.STUDENT));
+        assertEquals(STUDENTS, d.rows());               // 조교는 빠짐
+        assertEquals(1, d.statements(), d::sqlText);    // EAGER 컬렉션 시절: 1 + 2 * STUDENTS
+        assertEquals(STUDENTS, d.entities());
+        assertEquals(0, d.collections());
+    }
+
+    private record Load(long rows, long entities, long collections, List<String> sql) {
+        int statements() {
+            return sql.size();
+        }
+
+        String sqlText() {
+            return String.join("\n", sql);
+        }
+    }
+
+    // 새 읽기 전용 트랜잭션(영속성 컨텍스트)에서 1회 실행: 이 호출의 SQL 과 컨텍스트에 올라온 엔티티/컬렉션 수
+    private Load measure(Supplier<List<?>> path) {
+        StatementCounter.Counted<long[]> counted = StatementCounter.count(() -> tx.execute(status -> {
+            List<?> rows = path.get();
+            SessionStatistics s = entityManager.unwrap(Session.class).getStatistics();
+            return new long[]{rows.size(), s.getEntityCount(), s.getCollectionCount()};
+        }));
+        long[] r = counted.result();
+        return new Load(r[0], r[1], r[2], counted.statements());
+    }
+}
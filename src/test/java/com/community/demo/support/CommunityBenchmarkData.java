@@ -0,0 +1,79 @@
+package com.community.demo.support;
+
+import com.community.demo.repository.CommunityRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 페이징/인기순 벤치마크용 가짜 게시글 (테스트 전용 fixture).
+ * JDBC 배치로 넣고 인기 점수까지 계산. 넣은 글의 id 범위와 작성자를 기억해 두었다가 remove() 에서 그 글만 지움
+ * (제목 접두어로 지우면 같은 접두어의 실제 글까지 지워지므로)
+ */
+public class CommunityBenchmarkData {
+
+    private static final int BATCH = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into community (title, text, like_count, dislike_count, comment_count, popularity_score, author_id, created_at)
+            values (?, ?, ?, ?, ?, 0, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long authorId;
+    private long firstId = -1;
+    private long lastId = -1;
+
+    public CommunityBenchmarkData(JdbcTemplate jdbcTemplate, long authorId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authorId = authorId;
+    }
+
+    /** count 건 생성. 작성 시각은 최근 1년에 고르게, 반응 수는 소수 글에 몰리도록(세제곱 분포) */
+    public void generate(int count, double decaySeconds) {
+        long before = maxId();
+        LocalDateTime now = LocalDateTime.now();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            double heat = Math.pow(rnd.nextDouble(), 3);
+            int likes = (int) (heat * 500);
+            int dislikes = (int) (rnd.nextDouble() * heat * 100);
+            int comments = (int) (heat * 200 * rnd.nextDouble());
+            LocalDateTime createdAt = now.minusSeconds(rnd.nextLong(365L * 24 * 3600));
+            batch.add(new Object[]{"[bench] " + i, "benchmark post " + i, likes, dislikes, comments, authorId,
+                    Timestamp.valueOf(createdAt)});
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+
+        if (firstId < 0) firstId = before + 1;
+        lastId = maxId();
+        jdbcTemplate.update("update community set popularity_score = "
+                        + CommunityRepository.POPULARITY_EXPR.replace(":decay", "?")
+                        + " where id between ? and ? and author_id = ?",
+                decaySeconds, decaySeconds, firstId, lastId, authorId);
+    }
+
+    /** generate() 로 넣은 글만 삭제 (가짜 글에는 댓글/이미지/반응/태그가 없음) */
+    public int remove() {
+        if (firstId < 0) return 0;
+        int deleted = jdbcTemplate.update(
+                "delete from community where id between ? and ? and author_id = ?", firstId, lastId, authorId);
+        firstId = lastId = -1;
+        return deleted;
+    }
+
+    private long maxId() {
+        Long id = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from community", Long.class);
+        return id == null ? 0 : id;
+    }
+}
@@ -0,0 +1,27 @@
+package com.community.demo.support;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 쿼리 수 테스트 (DB 필요, -Dquerycount=true 일 때만 실행). 기본 test 에서는 빠짐.
+ * querycount 프로필로 개발 DB 가 아닌 별도 스키마(기본 unihelper_querycount)를 만들어 쓰고 컨텍스트 종료 시 지움.
+ * SQL 수는 StatementCounter 로 테스트 스레드의 호출만 셈
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfSystemProperty(named = "querycount", matches = "true")
+@SpringBootTest
+@ActiveProfiles("querycount")
+@ImportAutoConfiguration(exclude = {
+        org.springdoc.core.configuration.SpringDocConfiguration.class
+})
+public @interface QueryCountTest {
+}
@@ -0,0 +1,44 @@
+package com.community.demo.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 쿼리 수 테스트용 StatementInspector. count() 로 감싼 호출이 도는 스레드에서 Hibernate 가 준비한 SQL 만 모음.
+ * 기동 직후 재색인/알림 폴러 같은 백그라운드 작업은 다른 스레드라 섞이지 않음 (SessionFactory 전체 통계와 다른 점).
+ * application-querycount.properties 에서 hibernate.session_factory.statement_inspector 로 등록
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    /** 호출 결과와 그동안 실행된 SQL */
+    public record Counted<T>(T result, List<String> statements) {
+        public int count() {
+            return statements.size();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CURRENT.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+
+    public static <T> Counted<T> count(Supplier<T> action) {
+        List<String> statements = new ArrayList<>();
+        List<String> outer = CURRENT.get();
+        CURRENT.set(statements);
+        try {
+            T result = action.get();
+            return new Counted<>(result, List.copyOf(statements));
+        } finally {
+            if (outer == null) CURRENT.remove();
+            else CURRENT.set(outer);
+        }
+    }
+}